@@ -0,0 +1,72 @@
+package de.ochmanski.immutables.benchmark;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic input data shared by all benchmarks.
+ */
+final class BenchmarkData
+{
+
+  static final long SEED = 42L;
+
+  private BenchmarkData()
+  {
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  static List<@NotNull String> strings(final int size)
+  {
+    final List<@NotNull String> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(element(i));
+    }
+    return list;
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  static List<@NotNull String> strings(final int from, final int to)
+  {
+    final List<@NotNull String> list = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      list.add(element(i));
+    }
+    return list;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  static Map<@NotNull String, @NotNull Integer> map(final int size)
+  {
+    final Map<@NotNull String, @NotNull Integer> map = new LinkedHashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      map.put(element(i), i);
+    }
+    return map;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  static String element(final int i)
+  {
+    return "element-" + i;
+  }
+
+  /**
+   * Returns a pseudo-random index, which is stable between runs.
+   */
+  @Contract(pure = true)
+  static int index(final int size)
+  {
+    return new SplittableRandom(SEED).nextInt(size);
+  }
+}
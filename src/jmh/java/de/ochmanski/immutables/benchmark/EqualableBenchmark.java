@@ -0,0 +1,93 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.equalable.EqualableList;
+import de.ochmanski.immutables.equalable.EqualableSet;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EqualableBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  List<@NotNull String> source;
+
+  ImmutableList<@NotNull String> immutableList;
+
+  EqualableList<@NotNull EqualableString> list;
+
+  EqualableSet<@NotNull EqualableString> set;
+
+  EqualableString present;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.strings(size);
+    immutableList = ImmutableList.of(source, KEY);
+    list = EqualableList.of(source);
+    set = EqualableSet.of(source);
+    present = EqualableString.of(BenchmarkData.element(BenchmarkData.index(size)));
+  }
+
+  @Benchmark
+  public EqualableList<@NotNull EqualableString> listOf()
+  {
+    return EqualableList.of(source);
+  }
+
+  @Benchmark
+  public EqualableList<@NotNull EqualableString> listOfImmutableList()
+  {
+    return EqualableList.ofString(immutableList);
+  }
+
+  @Benchmark
+  public EqualableSet<@NotNull EqualableString> setOf()
+  {
+    return EqualableSet.of(source);
+  }
+
+  @Benchmark
+  public boolean listContains()
+  {
+    return list.contains(present);
+  }
+
+  @Benchmark
+  public boolean setContains()
+  {
+    return set.contains(present);
+  }
+
+  @Benchmark
+  public void iterateList(final Blackhole blackhole)
+  {
+    list.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public int hashList()
+  {
+    return list.hashCode();
+  }
+
+  @Benchmark
+  public String asStringList()
+  {
+    return list.toString();
+  }
+}
@@ -0,0 +1,92 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.equalable.EqualableSortedSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EqualableSortedSetBenchmark
+{
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  List<@NotNull String> source;
+
+  EqualableSortedSet<@NotNull EqualableString> set;
+
+  EqualableSortedSet<@NotNull EqualableString> copy;
+
+  EqualableString present;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.strings(size);
+    set = EqualableSortedSet.of(source);
+    copy = EqualableSortedSet.of(source);
+    present = EqualableString.of(BenchmarkData.element(BenchmarkData.index(size)));
+  }
+
+  @Benchmark
+  public EqualableSortedSet<@NotNull EqualableString> of()
+  {
+    return EqualableSortedSet.of(source);
+  }
+
+  @Benchmark
+  public boolean contains()
+  {
+    return set.contains(present);
+  }
+
+  @Benchmark
+  public EqualableString get()
+  {
+    return set.get(size / 2);
+  }
+
+  @Benchmark
+  public Optional<EqualableString> findFirst()
+  {
+    return set.findFirst();
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole)
+  {
+    set.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public EqualableSortedSet<@NotNull EqualableString> add()
+  {
+    return set.add(EqualableString.of(BenchmarkData.element(size)));
+  }
+
+  @Benchmark
+  public boolean equalTo()
+  {
+    return set.equals(copy);
+  }
+
+  @Benchmark
+  public int hash()
+  {
+    return set.hashCode();
+  }
+
+  @Benchmark
+  public String asString()
+  {
+    return set.toString();
+  }
+}
@@ -0,0 +1,129 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.fluent.Fluent;
+import de.ochmanski.immutables.fluent.FluentEnumList;
+import de.ochmanski.immutables.fluent.FluentEnumMap;
+import de.ochmanski.immutables.fluent.FluentEnumSet;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumMap;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Fluent enum collections wrap the immutable enum collections, so this measures the cost of the wrapper.
+ * The sizes are bounded by the number of constants of {@link Level}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FluentEnumBenchmark
+{
+
+  private static final IntFunction<@NotNull Level @NotNull []> KEY = Level[]::new;
+
+  private static final IntFunction<@NotNull EqualableString @NotNull []> VALUE = EqualableString[]::new;
+
+  EnumSet<@NotNull Level> source;
+
+  EnumMap<@NotNull Level, @NotNull EqualableString> sourceMap;
+
+  FluentEnumSet<@NotNull Level> low;
+
+  FluentEnumSet<@NotNull Level> high;
+
+  FluentEnumList<@NotNull Level> list;
+
+  FluentEnumMap<@NotNull Level, @NotNull EqualableString> map;
+
+  @Setup
+  public void setUp()
+  {
+    source = EnumSet.range(Level.L00, Level.L09);
+    sourceMap = new EnumMap<>(Level.class);
+    for (final Level level : Level.values()) {
+      sourceMap.put(level, EqualableString.of(level.name()));
+    }
+    low = FluentEnumSet.ofEnumSet(source, KEY);
+    high = FluentEnumSet.ofEnumSet(EnumSet.range(Level.L05, Level.L15), KEY);
+    list = FluentEnumList.of(List.of(Level.values()), KEY);
+    map = FluentEnumMap.of(ImmutableEnumMap.ofEnumMap(sourceMap, KEY, VALUE));
+  }
+
+  @Benchmark
+  public FluentEnumSet<@NotNull Level> setOf()
+  {
+    return FluentEnumSet.ofEnumSet(source, KEY);
+  }
+
+  @Benchmark
+  public boolean setContains()
+  {
+    return low.contains(Level.L07);
+  }
+
+  @Benchmark
+  public FluentEnumSet<@NotNull Level> union()
+  {
+    return low.union(high);
+  }
+
+  @Benchmark
+  public boolean isSubsetOf()
+  {
+    return low.isSubsetOf(high);
+  }
+
+  @Benchmark
+  public void iterateSet(final Blackhole blackhole)
+  {
+    low.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public FluentEnumList<@NotNull Level> listOf()
+  {
+    return FluentEnumList.of(List.of(Level.values()), KEY);
+  }
+
+  @Benchmark
+  public Level listGet()
+  {
+    return list.get(Level.L07.ordinal());
+  }
+
+  @Benchmark
+  public FluentEnumSet<@NotNull Level> listToSet()
+  {
+    return list.toSet();
+  }
+
+  @Benchmark
+  public FluentEnumMap<@NotNull Level, @NotNull EqualableString> mapOf()
+  {
+    return FluentEnumMap.of(ImmutableEnumMap.ofEnumMap(sourceMap, KEY, VALUE));
+  }
+
+  @Benchmark
+  public FluentEnumSet<@NotNull Level> mapKeySet()
+  {
+    return map.keySet();
+  }
+
+  @Benchmark
+  public String asStringMap()
+  {
+    return map.toString();
+  }
+
+  public enum Level implements Fluent<@NotNull Level>
+  {
+    L00, L01, L02, L03, L04, L05, L06, L07, L08, L09, L10, L11, L12, L13, L14, L15
+  }
+}
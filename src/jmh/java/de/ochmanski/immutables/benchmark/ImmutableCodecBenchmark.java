@@ -0,0 +1,119 @@
+package de.ochmanski.immutables.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ochmanski.immutables.codec.CodecReader;
+import de.ochmanski.immutables.codec.CodecWriter;
+import de.ochmanski.immutables.codec.ElementCodec;
+import de.ochmanski.immutables.codec.ImmutableCodec;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.jackson.ImmutablesModule;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the binary {@link ImmutableCodec} with JSON written by the {@link ImmutablesModule}, for a map of strings to
+ * integers and for a set of strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableCodecBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  private static final IntFunction<@NotNull Integer @NotNull []> VALUE = Integer[]::new;
+
+  private static final TypeReference<ImmutableMap<String, Integer>> MAP_TYPE = new TypeReference<>() {};
+
+  private static final TypeReference<ImmutableSet<String>> SET_TYPE = new TypeReference<>() {};
+
+  @Param({ "10", "1000", "100000" })
+  int size;
+
+  ObjectMapper mapper;
+
+  ImmutableMap<@NotNull String, @NotNull Integer> map;
+
+  ImmutableSet<@NotNull String> set;
+
+  ByteBuffer mapBytes;
+
+  ByteBuffer setBytes;
+
+  byte[] mapJson;
+
+  byte[] setJson;
+
+  @Setup
+  public void setUp() throws JsonProcessingException
+  {
+    mapper = new ObjectMapper().registerModule(new ImmutablesModule());
+    map = ImmutableMap.of(BenchmarkData.map(size), KEY, VALUE);
+    set = ImmutableSet.of(BenchmarkData.strings(size), KEY);
+    mapBytes = encodeMap();
+    setBytes = encodeSet();
+    mapJson = mapper.writeValueAsBytes(map);
+    setJson = mapper.writeValueAsBytes(set);
+  }
+
+  @Benchmark
+  public ByteBuffer encodeMap()
+  {
+    final CodecWriter out = CodecWriter.allocate(size * 16);
+    ImmutableCodec.writeMap(out, map, ElementCodec.strings(), ElementCodec.integers());
+    return out.toByteBuffer();
+  }
+
+  @Benchmark
+  public ImmutableMap<@NotNull String, @NotNull Integer> decodeMap()
+  {
+    return ImmutableCodec.readMap(CodecReader.of(mapBytes.duplicate()), ElementCodec.strings(), ElementCodec.integers(), KEY, VALUE);
+  }
+
+  @Benchmark
+  public byte[] encodeMapJackson() throws JsonProcessingException
+  {
+    return mapper.writeValueAsBytes(map);
+  }
+
+  @Benchmark
+  public ImmutableMap<String, Integer> decodeMapJackson() throws IOException
+  {
+    return mapper.readValue(mapJson, MAP_TYPE);
+  }
+
+  @Benchmark
+  public ByteBuffer encodeSet()
+  {
+    final CodecWriter out = CodecWriter.allocate(size * 16);
+    ImmutableCodec.writeSet(out, set, ElementCodec.strings());
+    return out.toByteBuffer();
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> decodeSet()
+  {
+    return ImmutableCodec.readSet(CodecReader.of(setBytes.duplicate()), ElementCodec.strings(), KEY);
+  }
+
+  @Benchmark
+  public byte[] encodeSetJackson() throws JsonProcessingException
+  {
+    return mapper.writeValueAsBytes(set);
+  }
+
+  @Benchmark
+  public ImmutableSet<String> decodeSetJackson() throws IOException
+  {
+    return mapper.readValue(setJson, SET_TYPE);
+  }
+}
@@ -0,0 +1,137 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumList;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumMap;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Enum lists and enum maps. Like {@link ImmutableEnumSetBenchmark}, the sizes are bounded by the number of
+ * constants, so the size parameter does not apply here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableEnumCollectionsBenchmark
+{
+
+  private static final IntFunction<@NotNull ChronoUnit @NotNull []> KEY = ChronoUnit[]::new;
+
+  private static final IntFunction<@NotNull Integer @NotNull []> VALUE = Integer[]::new;
+
+  List<@NotNull ChronoUnit> source;
+
+  EnumMap<@NotNull ChronoUnit, @NotNull Integer> sourceMap;
+
+  ImmutableEnumList<@NotNull ChronoUnit> list;
+
+  ImmutableEnumList<@NotNull ChronoUnit> listCopy;
+
+  ImmutableEnumMap<@NotNull ChronoUnit, @NotNull Integer> map;
+
+  ImmutableEnumMap<@NotNull ChronoUnit, @NotNull Integer> mapCopy;
+
+  @Setup
+  public void setUp()
+  {
+    source = List.of(ChronoUnit.values());
+    sourceMap = new EnumMap<>(ChronoUnit.class);
+    for (final ChronoUnit unit : ChronoUnit.values()) {
+      sourceMap.put(unit, unit.ordinal());
+    }
+    list = ImmutableEnumList.of(source, KEY);
+    listCopy = ImmutableEnumList.of(source, KEY);
+    map = ImmutableEnumMap.ofEnumMap(sourceMap, KEY, VALUE);
+    mapCopy = ImmutableEnumMap.ofEnumMap(new EnumMap<>(sourceMap), KEY, VALUE);
+  }
+
+  @Benchmark
+  public ImmutableEnumList<@NotNull ChronoUnit> listOf()
+  {
+    return ImmutableEnumList.of(source, KEY);
+  }
+
+  @Benchmark
+  public ChronoUnit listGet()
+  {
+    return list.get(ChronoUnit.HOURS.ordinal());
+  }
+
+  @Benchmark
+  public boolean listContains()
+  {
+    return list.contains(ChronoUnit.HOURS);
+  }
+
+  @Benchmark
+  public void iterateList(final Blackhole blackhole)
+  {
+    list.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> listToSet()
+  {
+    return list.toSet();
+  }
+
+  @Benchmark
+  public boolean equalToList()
+  {
+    return list.equals(listCopy);
+  }
+
+  @Benchmark
+  public ImmutableEnumMap<@NotNull ChronoUnit, @NotNull Integer> mapOf()
+  {
+    return ImmutableEnumMap.ofEnumMap(sourceMap, KEY, VALUE);
+  }
+
+  @Benchmark
+  public Optional<Integer> mapGet()
+  {
+    return map.get(ChronoUnit.HOURS);
+  }
+
+  @Benchmark
+  public void iterateMap(final Blackhole blackhole)
+  {
+    map.forEachEntry((k, v) -> {
+      blackhole.consume(k);
+      blackhole.consume(v);
+    });
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> mapKeySet()
+  {
+    return map.keySet();
+  }
+
+  @Benchmark
+  public EnumMap<@NotNull ChronoUnit, @NotNull Integer> unwrapMap()
+  {
+    return map.unwrap();
+  }
+
+  @Benchmark
+  public boolean equalToMap()
+  {
+    return map.equals(mapCopy);
+  }
+
+  @Benchmark
+  public String asStringMap()
+  {
+    return map.toString();
+  }
+}
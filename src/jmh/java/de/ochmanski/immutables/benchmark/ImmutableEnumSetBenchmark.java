@@ -0,0 +1,128 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Enum sets are bounded by the number of constants, so the size parameter does not apply here.
+ * The set algebra is compared against the stream-based approach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableEnumSetBenchmark
+{
+
+  private static final IntFunction<@NotNull ChronoUnit @NotNull []> KEY = ChronoUnit[]::new;
+
+  EnumSet<@NotNull ChronoUnit> source;
+
+  ImmutableEnumSet<@NotNull ChronoUnit> time;
+
+  ImmutableEnumSet<@NotNull ChronoUnit> date;
+
+  ImmutableEnumSet<@NotNull ChronoUnit> copy;
+
+  @Setup
+  public void setUp()
+  {
+    source = EnumSet.range(ChronoUnit.NANOS, ChronoUnit.DAYS);
+    time = ImmutableEnumSet.ofEnumSet(source, KEY);
+    date = ImmutableEnumSet.ofEnumSet(EnumSet.range(ChronoUnit.HALF_DAYS, ChronoUnit.FOREVER), KEY);
+    copy = ImmutableEnumSet.ofEnumSet(EnumSet.range(ChronoUnit.NANOS, ChronoUnit.DAYS), KEY);
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> of()
+  {
+    return ImmutableEnumSet.ofEnumSet(source, KEY);
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> allOf()
+  {
+    return ImmutableEnumSet.allOf(KEY);
+  }
+
+  @Benchmark
+  public boolean contains()
+  {
+    return time.contains(ChronoUnit.HOURS);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole)
+  {
+    time.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public EnumSet<@NotNull ChronoUnit> unwrap()
+  {
+    return time.unwrap();
+  }
+
+  @Benchmark
+  public boolean equalTo()
+  {
+    return time.equals(copy);
+  }
+
+  @Benchmark
+  public int hash()
+  {
+    return time.hashCode();
+  }
+
+  @Benchmark
+  public String asString()
+  {
+    return time.toString();
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> union()
+  {
+    return time.union(date);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull ChronoUnit> unionWithStreams()
+  {
+    return Stream.concat(time.stream(), date.stream()).collect(ImmutableCollectors.toSet(KEY));
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> intersect()
+  {
+    return time.intersect(copy);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull ChronoUnit> intersectWithStreams()
+  {
+    return time.stream().filter(copy::contains).collect(ImmutableCollectors.toSet(KEY));
+  }
+
+  @Benchmark
+  public ImmutableEnumSet<@NotNull ChronoUnit> difference()
+  {
+    return time.difference(date);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull ChronoUnit> differenceWithStreams()
+  {
+    return time.stream().filter(date::doesNotContain).collect(ImmutableCollectors.toSet(KEY));
+  }
+}
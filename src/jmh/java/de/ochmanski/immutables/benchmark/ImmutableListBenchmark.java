@@ -0,0 +1,133 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableListBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  List<@NotNull String> source;
+
+  ImmutableList<@NotNull String> list;
+
+  ImmutableList<@NotNull String> copy;
+
+  ImmutableList<@NotNull String> other;
+
+  String present;
+
+  String absent;
+
+  int index;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.strings(size);
+    list = ImmutableList.of(source, KEY);
+    copy = ImmutableList.of(BenchmarkData.strings(size), KEY);
+    other = ImmutableList.of(BenchmarkData.strings(size, size + Math.max(1, size / 10)), KEY);
+    index = BenchmarkData.index(size);
+    present = BenchmarkData.element(index);
+    absent = BenchmarkData.element(-1);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> of()
+  {
+    return ImmutableList.of(source, KEY);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> collector()
+  {
+    return source.stream().collect(ImmutableCollectors.toList(KEY));
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> builder()
+  {
+    return ImmutableList.builder(KEY, size).addAll(source).build();
+  }
+
+  @Benchmark
+  public boolean containsPresent()
+  {
+    return list.contains(present);
+  }
+
+  @Benchmark
+  public boolean containsAbsent()
+  {
+    return list.contains(absent);
+  }
+
+  @Benchmark
+  public String get()
+  {
+    return list.get(index);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole)
+  {
+    list.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> add()
+  {
+    return list.add(absent);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> addAll()
+  {
+    return list.addAll(other);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> merge()
+  {
+    return ImmutableList.merge(list, other, KEY);
+  }
+
+  @Benchmark
+  public List<@NotNull String> unwrap()
+  {
+    return list.unwrap();
+  }
+
+  @Benchmark
+  public boolean equalTo()
+  {
+    return list.equals(copy);
+  }
+
+  @Benchmark
+  public int hash()
+  {
+    return list.hashCode();
+  }
+
+  @Benchmark
+  public String asString()
+  {
+    return list.toString();
+  }
+}
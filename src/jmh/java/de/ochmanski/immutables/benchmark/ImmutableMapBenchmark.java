@@ -0,0 +1,113 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.IMap;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableMapBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  private static final IntFunction<@NotNull Integer @NotNull []> VALUE = Integer[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  Map<@NotNull String, @NotNull Integer> source;
+
+  ImmutableMap<@NotNull String, @NotNull Integer> map;
+
+  ImmutableMap<@NotNull String, @NotNull Integer> copy;
+
+  String present;
+
+  String absent;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.map(size);
+    map = ImmutableMap.of(source, KEY, VALUE);
+    copy = ImmutableMap.of(BenchmarkData.map(size), KEY, VALUE);
+    present = BenchmarkData.element(BenchmarkData.index(size));
+    absent = BenchmarkData.element(-1);
+  }
+
+  @Benchmark
+  public ImmutableMap<@NotNull String, @NotNull Integer> of()
+  {
+    return ImmutableMap.of(source, KEY, VALUE);
+  }
+
+  @Benchmark
+  public ImmutableMap<@NotNull String, @NotNull Integer> builder()
+  {
+    return ImmutableMap.builder(KEY, VALUE, size).putAll(source).build();
+  }
+
+  @Benchmark
+  public Optional<Integer> getPresent()
+  {
+    return map.get(present);
+  }
+
+  @Benchmark
+  public Optional<Integer> getAbsent()
+  {
+    return map.get(absent);
+  }
+
+  @Benchmark
+  public boolean containsKey()
+  {
+    return map.containsKey(present);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole)
+  {
+    map.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public ImmutableSet<IMap.@NotNull Entry<@NotNull String, @NotNull Integer>> entrySet()
+  {
+    return map.entrySet();
+  }
+
+  @Benchmark
+  public Map<@NotNull String, @NotNull Integer> unwrap()
+  {
+    return map.unwrap();
+  }
+
+  @Benchmark
+  public boolean equalTo()
+  {
+    return map.equals(copy);
+  }
+
+  @Benchmark
+  public int hash()
+  {
+    return map.hashCode();
+  }
+
+  @Benchmark
+  public String asString()
+  {
+    return map.toString();
+  }
+}
@@ -0,0 +1,182 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ISet;
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Besides the common operations, compares the set algebra of {@link ISet} against
+ * the stream-based approach which was needed before it existed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableSetBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  List<@NotNull String> source;
+
+  ImmutableSet<@NotNull String> set;
+
+  ImmutableSet<@NotNull String> copy;
+
+  /**
+   * Overlaps with the upper half of {@link #set}.
+   */
+  ImmutableSet<@NotNull String> overlapping;
+
+  /**
+   * Small subset of {@link #set}.
+   */
+  ImmutableSet<@NotNull String> subset;
+
+  String present;
+
+  String absent;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.strings(size);
+    set = ImmutableSet.of(source, KEY);
+    copy = ImmutableSet.of(BenchmarkData.strings(size), KEY);
+    overlapping = ImmutableSet.of(BenchmarkData.strings(size / 2, size + size / 2), KEY);
+    subset = ImmutableSet.of(BenchmarkData.strings(Math.max(1, size / 100)), KEY);
+    present = BenchmarkData.element(BenchmarkData.index(size));
+    absent = BenchmarkData.element(-1);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> of()
+  {
+    return ImmutableSet.of(source, KEY);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> collector()
+  {
+    return source.stream().collect(ImmutableCollectors.toSet(KEY));
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> builder()
+  {
+    return ImmutableSet.builder(KEY, size).addAll(source).build();
+  }
+
+  @Benchmark
+  public boolean containsPresent()
+  {
+    return set.contains(present);
+  }
+
+  @Benchmark
+  public boolean containsAbsent()
+  {
+    return set.contains(absent);
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole)
+  {
+    set.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> add()
+  {
+    return set.add(absent);
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> addAll()
+  {
+    return set.addAll(overlapping);
+  }
+
+  @Benchmark
+  public Set<@NotNull String> unwrap()
+  {
+    return set.unwrap();
+  }
+
+  @Benchmark
+  public boolean equalTo()
+  {
+    return set.equals(copy);
+  }
+
+  @Benchmark
+  public int hash()
+  {
+    return set.hashCode();
+  }
+
+  @Benchmark
+  public String asString()
+  {
+    return set.toString();
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> union()
+  {
+    return set.union(overlapping);
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> unionWithSubset()
+  {
+    return set.union(subset);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> unionWithStreams()
+  {
+    return Stream.concat(set.stream(), overlapping.stream()).collect(ImmutableCollectors.toSet(KEY));
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> intersect()
+  {
+    return set.intersect(overlapping);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> intersectWithStreams()
+  {
+    return set.stream().filter(overlapping::contains).collect(ImmutableCollectors.toSet(KEY));
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> difference()
+  {
+    return set.difference(overlapping);
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> differenceWithStreams()
+  {
+    return set.stream().filter(overlapping::doesNotContain).collect(ImmutableCollectors.toSet(KEY));
+  }
+
+  @Benchmark
+  public boolean isSubsetOf()
+  {
+    return subset.isSubsetOf(set);
+  }
+}
@@ -0,0 +1,133 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ISet;
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableSortedSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImmutableSortedSetBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  List<@NotNull String> source;
+
+  ImmutableSortedSet<@NotNull String> set;
+
+  ImmutableSortedSet<@NotNull String> copy;
+
+  ImmutableSortedSet<@NotNull String> other;
+
+  String present;
+
+  String absent;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.strings(size);
+    set = ImmutableSortedSet.of(source, KEY);
+    copy = ImmutableSortedSet.of(BenchmarkData.strings(size), KEY);
+    other = ImmutableSortedSet.of(BenchmarkData.strings(size, size + Math.max(1, size / 10)), KEY);
+    present = BenchmarkData.element(BenchmarkData.index(size));
+    absent = BenchmarkData.element(-1);
+  }
+
+  @Benchmark
+  public ImmutableSortedSet<@NotNull String> of()
+  {
+    return ImmutableSortedSet.of(source, KEY);
+  }
+
+  @Benchmark
+  public ImmutableSortedSet<@NotNull String> collector()
+  {
+    return source.stream().collect(ImmutableCollectors.toSortedSet(KEY));
+  }
+
+  @Benchmark
+  public boolean containsPresent()
+  {
+    return set.contains(present);
+  }
+
+  @Benchmark
+  public boolean containsAbsent()
+  {
+    return set.contains(absent);
+  }
+
+  @Benchmark
+  public String get()
+  {
+    return set.get(size / 2);
+  }
+
+  @Benchmark
+  public int indexOf()
+  {
+    return set.indexOf(present);
+  }
+
+  @Benchmark
+  public Optional<String> findLast()
+  {
+    return set.findLast();
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole)
+  {
+    set.forEach(blackhole::consume);
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> add()
+  {
+    return set.add(absent);
+  }
+
+  @Benchmark
+  public ISet<@NotNull String> addAll()
+  {
+    return set.addAll(other);
+  }
+
+  @Benchmark
+  public Collection<@NotNull String> unwrap()
+  {
+    return set.unwrap();
+  }
+
+  @Benchmark
+  public boolean equalTo()
+  {
+    return set.equals(copy);
+  }
+
+  @Benchmark
+  public int hash()
+  {
+    return set.hashCode();
+  }
+
+  @Benchmark
+  public String asString()
+  {
+    return set.toString();
+  }
+}
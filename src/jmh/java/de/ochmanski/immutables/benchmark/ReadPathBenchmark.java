@@ -0,0 +1,112 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the read path of {@link ImmutableList} and {@link ImmutableSet}, which validate the element type once at
+ * construction and hold their storage unwrapped, with the same storage behind {@code Collections.checkedList} and
+ * {@code Collections.checkedSet}, which the collections used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReadPathBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  @Param({ "10", "1000", "100000" })
+  int size;
+
+  ImmutableList<@NotNull String> list;
+
+  List<@NotNull String> checkedList;
+
+  ImmutableSet<@NotNull String> set;
+
+  Set<@NotNull String> checkedSet;
+
+  String present;
+
+  int index;
+
+  @Setup
+  public void setUp()
+  {
+    final List<@NotNull String> source = BenchmarkData.strings(size);
+    list = ImmutableList.of(source, KEY);
+    checkedList = Collections.checkedList(List.copyOf(source), String.class);
+    set = ImmutableSet.of(source, KEY);
+    checkedSet = Collections.checkedSet(Set.copyOf(source), String.class);
+    index = BenchmarkData.index(size);
+    present = BenchmarkData.element(index);
+  }
+
+  @Benchmark
+  public String listGet()
+  {
+    return list.get(index);
+  }
+
+  @Benchmark
+  public String checkedListGet()
+  {
+    return checkedList.get(index);
+  }
+
+  @Benchmark
+  public void listIterate(final Blackhole blackhole)
+  {
+    for (final String element : list) {
+      blackhole.consume(element);
+    }
+  }
+
+  @Benchmark
+  public void checkedListIterate(final Blackhole blackhole)
+  {
+    for (final String element : checkedList) {
+      blackhole.consume(element);
+    }
+  }
+
+  @Benchmark
+  public long listStream()
+  {
+    return list.stream().filter(s -> s.length() > 3).count();
+  }
+
+  @Benchmark
+  public long checkedListStream()
+  {
+    return checkedList.stream().filter(s -> s.length() > 3).count();
+  }
+
+  @Benchmark
+  public boolean setContains()
+  {
+    return set.contains(present);
+  }
+
+  @Benchmark
+  public boolean checkedSetContains()
+  {
+    return checkedSet.contains(present);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> listOfWithValidation()
+  {
+    return ImmutableList.of(checkedList, KEY);
+  }
+}
@@ -0,0 +1,112 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares collections of up to four elements, which are stored in fields, with the next larger size, which is
+ * stored in an array or a hash table. Run with {@code -prof gc} to see the bytes allocated per instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SmallCollectionsBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  private static final IntFunction<@NotNull Integer @NotNull []> VALUE = Integer[]::new;
+
+  @Param({ "1", "2", "4", "5" })
+  int size;
+
+  List<@NotNull String> source;
+
+  Map<@NotNull String, @NotNull Integer> entries;
+
+  ImmutableList<@NotNull String> list;
+
+  ImmutableSet<@NotNull String> set;
+
+  ImmutableMap<@NotNull String, @NotNull Integer> map;
+
+  String present;
+
+  String absent;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.strings(size);
+    entries = BenchmarkData.map(size);
+    list = ImmutableList.of(source, KEY);
+    set = ImmutableSet.of(source, KEY);
+    map = ImmutableMap.of(entries, KEY, VALUE);
+    present = BenchmarkData.element(size - 1);
+    absent = BenchmarkData.element(-1);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> listOf()
+  {
+    return ImmutableList.of(source, KEY);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> listCollector()
+  {
+    return source.stream().collect(ImmutableCollectors.toList(KEY));
+  }
+
+  @Benchmark
+  public ImmutableSet<@NotNull String> setOf()
+  {
+    return ImmutableSet.of(source, KEY);
+  }
+
+  @Benchmark
+  public ImmutableMap<@NotNull String, @NotNull Integer> mapOf()
+  {
+    return ImmutableMap.of(entries, KEY, VALUE);
+  }
+
+  @Benchmark
+  public String listGet()
+  {
+    return list.get(size - 1);
+  }
+
+  @Benchmark
+  public boolean listContainsAbsent()
+  {
+    return list.contains(absent);
+  }
+
+  @Benchmark
+  public boolean setContainsPresent()
+  {
+    return set.contains(present);
+  }
+
+  @Benchmark
+  public boolean setContainsAbsent()
+  {
+    return set.contains(absent);
+  }
+
+  @Benchmark
+  public Optional<Integer> mapGet()
+  {
+    return map.get(present);
+  }
+}
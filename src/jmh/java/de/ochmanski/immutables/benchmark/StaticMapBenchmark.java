@@ -0,0 +1,100 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the lookups of {@link ImmutableMap#ofStatic}, which are indexed by a minimal perfect hash function, with
+ * {@link ImmutableMap#of} and with a plain {@link Map#copyOf}. The {@code of*} benchmarks show the price paid at
+ * construction; run with {@code -prof gc} to compare the retained sizes as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StaticMapBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  private static final IntFunction<@NotNull Integer @NotNull []> VALUE = Integer[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  Map<@NotNull String, @NotNull Integer> source;
+
+  Map<@NotNull String, @NotNull Integer> plain;
+
+  ImmutableMap<@NotNull String, @NotNull Integer> map;
+
+  ImmutableMap<@NotNull String, @NotNull Integer> staticMap;
+
+  String present;
+
+  String absent;
+
+  @Setup
+  public void setUp()
+  {
+    source = BenchmarkData.map(size);
+    plain = Map.copyOf(source);
+    map = ImmutableMap.of(source, KEY, VALUE);
+    staticMap = ImmutableMap.ofStatic(source, KEY, VALUE);
+    present = BenchmarkData.element(BenchmarkData.index(size));
+    absent = BenchmarkData.element(-1);
+  }
+
+  @Benchmark
+  public ImmutableMap<@NotNull String, @NotNull Integer> of()
+  {
+    return ImmutableMap.of(source, KEY, VALUE);
+  }
+
+  @Benchmark
+  public ImmutableMap<@NotNull String, @NotNull Integer> ofStatic()
+  {
+    return ImmutableMap.ofStatic(source, KEY, VALUE);
+  }
+
+  @Benchmark
+  public Integer getPresentPlain()
+  {
+    return plain.get(present);
+  }
+
+  @Benchmark
+  public Optional<Integer> getPresent()
+  {
+    return map.get(present);
+  }
+
+  @Benchmark
+  public Optional<Integer> getPresentStatic()
+  {
+    return staticMap.get(present);
+  }
+
+  @Benchmark
+  public Integer getAbsentPlain()
+  {
+    return plain.get(absent);
+  }
+
+  @Benchmark
+  public Optional<Integer> getAbsent()
+  {
+    return map.get(absent);
+  }
+
+  @Benchmark
+  public Optional<Integer> getAbsentStatic()
+  {
+    return staticMap.get(absent);
+  }
+}
@@ -0,0 +1,58 @@
+package de.ochmanski.immutables.benchmark;
+
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares a lazy {@link de.ochmanski.immutables.immutable.View} pipeline against the equivalent stream pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ViewBenchmark
+{
+
+  private static final IntFunction<@NotNull String @NotNull []> KEY = String[]::new;
+
+  private static final IntFunction<@NotNull Integer @NotNull []> LENGTH = Integer[]::new;
+
+  @Param({ "10", "1000", "100000", "1000000" })
+  int size;
+
+  ImmutableList<@NotNull String> list;
+
+  @Setup
+  public void setUp()
+  {
+    list = ImmutableList.of(BenchmarkData.strings(size), KEY);
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull Integer> mapWithView()
+  {
+    return list.view().map(String::length, LENGTH).force();
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull Integer> mapWithStreams()
+  {
+    return list.stream().map(String::length).collect(ImmutableCollectors.toList(LENGTH));
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> filterWithView()
+  {
+    return list.view().filter(s -> s.hashCode() % 2 == 0).force();
+  }
+
+  @Benchmark
+  public ImmutableList<@NotNull String> filterWithStreams()
+  {
+    return list.stream().filter(s -> s.hashCode() % 2 == 0).collect(ImmutableCollectors.toList(KEY));
+  }
+}
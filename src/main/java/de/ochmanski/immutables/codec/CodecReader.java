@@ -0,0 +1,151 @@
+package de.ochmanski.immutables.codec;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static de.ochmanski.immutables.codec.CodecWriter.FIRST_REFERENCE;
+import static de.ochmanski.immutables.codec.CodecWriter.NEW_REFERENCE;
+import static de.ochmanski.immutables.codec.CodecWriter.NULL_REFERENCE;
+
+/**
+ * Reads the binary format written by {@link CodecWriter} from a {@link ByteBuffer}.
+ * <p>The reader consumes the buffer from its current position, and advances it. Truncated input throws
+ * {@link BufferUnderflowException}, malformed input throws {@link IllegalStateException}.
+ * <p>This class is not thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public final class CodecReader
+{
+
+  @NotNull
+  private final ArrayList<@NotNull String> dictionary = new ArrayList<>();
+
+  @NotNull
+  private final ByteBuffer buffer;
+
+  private CodecReader(@NotNull final ByteBuffer buffer)
+  {
+    this.buffer = buffer;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static CodecReader of(@NotNull final ByteBuffer buffer)
+  {
+    return new CodecReader(buffer);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. primitives">
+
+  public int readByte()
+  {
+    return buffer.get() & 0xFF;
+  }
+
+  public int readVarInt()
+  {
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      final byte b = buffer.get();
+      result |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalStateException("Malformed varint at position " + buffer.position() + ".");
+  }
+
+  public int readSignedVarInt()
+  {
+    final int v = readVarInt();
+    return (v >>> 1) ^ -(v & 1);
+  }
+
+  public long readVarLong()
+  {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final byte b = buffer.get();
+      result |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalStateException("Malformed varlong at position " + buffer.position() + ".");
+  }
+
+  public long readSignedVarLong()
+  {
+    final long v = readVarLong();
+    return (v >>> 1) ^ -(v & 1);
+  }
+
+  /**
+   * Reads a size or a count, which is at most the number of remaining bytes divided by {@code bytesPerElement}.
+   * <p>The bound protects against allocating huge arrays for corrupted input.
+   *
+   * @param bytesPerElement minimal number of bytes of every element which follows
+   * @return the size
+   */
+  public int readSize(final int bytesPerElement)
+  {
+    final int size = readVarInt();
+    if (size < 0 || (long) size * bytesPerElement > buffer.remaining()) {
+      throw new IllegalStateException("Size " + size + " exceeds the remaining " + buffer.remaining() + " bytes.");
+    }
+    return size;
+  }
+
+  @NotNull
+  public String readString()
+  {
+    final int length = readSize(1);
+    if (buffer.hasArray()) {
+      final int position = buffer.position();
+      final String s = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+      buffer.position(position + length);
+      return s;
+    }
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads a string written with {@link CodecWriter#writeDictionaryString(String)}.
+   *
+   * @return the string, or {@code null} if {@code null} was written
+   */
+  @Nullable
+  public String readDictionaryString()
+  {
+    final int reference = readVarInt();
+    if (reference == NULL_REFERENCE) {
+      return null;
+    }
+    if (reference == NEW_REFERENCE) {
+      final String s = readString();
+      dictionary.add(s);
+      return s;
+    }
+    final int index = reference - FIRST_REFERENCE;
+    if (index < 0 || index >= dictionary.size()) {
+      throw new IllegalStateException("Unknown dictionary reference " + reference + " at position " + buffer.position() + ".");
+    }
+    return dictionary.get(index);
+  }
+  //</editor-fold>
+
+  @Contract(pure = true)
+  public int remaining()
+  {
+    return buffer.remaining();
+  }
+}
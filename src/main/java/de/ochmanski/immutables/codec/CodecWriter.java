@@ -0,0 +1,219 @@
+package de.ochmanski.immutables.codec;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Writes the binary format of {@link ImmutableCodec} into a {@link ByteBuffer}.
+ * <p>Integers are written as unsigned LEB128 varints, so small sizes and ordinals take a single byte. Signed integers
+ * are zigzag-encoded first. Strings are written as a varint length, followed by the UTF-8 bytes.
+ * <p>Strings written with {@link #writeDictionaryString(String)} are deduplicated per writer: the first occurrence
+ * is written in full, and every repetition only as a varint reference to it. A snapshot must be read with a single
+ * {@link CodecReader}, in the same order as it was written, so that the references can be resolved.
+ * <p>This class is not thread-safe.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final CodecWriter out = CodecWriter.allocate(1024);
+ *   ImmutableCodec.writeList(out, list, ElementCodec.strings());
+ *   final ByteBuffer bytes = out.toByteBuffer();
+ *   }
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+public final class CodecWriter
+{
+
+  static final int NULL_REFERENCE = 0;
+
+  static final int NEW_REFERENCE = 1;
+
+  static final int FIRST_REFERENCE = 2;
+
+  private static final int MAX_VARINT_BYTES = 5;
+
+  private static final int MAX_VARLONG_BYTES = 10;
+
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  @NotNull
+  private final HashMap<@NotNull String, @NotNull Integer> dictionary = new HashMap<>();
+
+  private final boolean growable;
+
+  @NotNull
+  private ByteBuffer buffer;
+
+  private CodecWriter(@NotNull final ByteBuffer buffer, final boolean growable)
+  {
+    this.buffer = buffer;
+    this.growable = growable;
+  }
+
+  /**
+   * Returns a writer which writes into the given buffer, starting at its current position.
+   *
+   * @param buffer target buffer, which is not grown; a full buffer throws {@link BufferOverflowException}
+   * @return new writer
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static CodecWriter of(@NotNull final ByteBuffer buffer)
+  {
+    return new CodecWriter(buffer, false);
+  }
+
+  /**
+   * Returns a writer which writes into an internal heap buffer, which is doubled whenever it is full.
+   *
+   * @param initialCapacity initial capacity of the internal buffer in bytes
+   * @return new writer
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static CodecWriter allocate(final int initialCapacity)
+  {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+    }
+    return new CodecWriter(ByteBuffer.allocate(Math.max(initialCapacity, MAX_VARLONG_BYTES)), true);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. primitives">
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeByte(final int b)
+  {
+    ensureRemaining(1);
+    buffer.put((byte) b);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeVarInt(final int value)
+  {
+    ensureRemaining(MAX_VARINT_BYTES);
+    int v = value;
+    while ((v & ~0x7F) != 0) {
+      buffer.put((byte) ((v & 0x7F) | 0x80));
+      v >>>= 7;
+    }
+    buffer.put((byte) v);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeSignedVarInt(final int value)
+  {
+    return writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeVarLong(final long value)
+  {
+    ensureRemaining(MAX_VARLONG_BYTES);
+    long v = value;
+    while ((v & ~0x7FL) != 0) {
+      buffer.put((byte) ((v & 0x7F) | 0x80));
+      v >>>= 7;
+    }
+    buffer.put((byte) v);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeSignedVarLong(final long value)
+  {
+    return writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeString(@NotNull final String s)
+  {
+    final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(bytes.length);
+    ensureRemaining(bytes.length);
+    buffer.put(bytes);
+    return this;
+  }
+
+  /**
+   * Writes a string, which may be {@code null}, using the dictionary of this writer.
+   * <p>Encoding: {@value #NULL_REFERENCE} for {@code null}, {@value #NEW_REFERENCE} followed by the string for the first
+   * occurrence, or the index of the first occurrence plus {@value #FIRST_REFERENCE} for every repetition.
+   *
+   * @param s string to be written
+   * @return this writer
+   */
+  @NotNull
+  @Contract(value = "_ -> this")
+  public CodecWriter writeDictionaryString(@Nullable final String s)
+  {
+    if (s == null) {
+      return writeVarInt(NULL_REFERENCE);
+    }
+    final Integer index = dictionary.putIfAbsent(s, dictionary.size());
+    if (index != null) {
+      return writeVarInt(index + FIRST_REFERENCE);
+    }
+    writeVarInt(NEW_REFERENCE);
+    return writeString(s);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. buffer">
+
+  /**
+   * Returns the number of bytes written so far, or the position of the target buffer for writers created with
+   * {@link #of(ByteBuffer)}.
+   */
+  @Contract(pure = true)
+  public int position()
+  {
+    return buffer.position();
+  }
+
+  /**
+   * Returns the bytes written so far, from the beginning of the buffer up to the current position.
+   * <p>The returned buffer shares its content with this writer, so it is not copied. It is not read-only either,
+   * because {@link CodecReader} decodes strings straight from the backing array of heap buffers.
+   *
+   * @return new buffer, positioned at zero
+   */
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  public ByteBuffer toByteBuffer()
+  {
+    return buffer.duplicate().flip();
+  }
+
+  private void ensureRemaining(final int bytes)
+  {
+    if (buffer.remaining() >= bytes) {
+      return;
+    }
+    if (!growable) {
+      // the target buffer throws BufferOverflowException itself, once a put doesn't fit
+      return;
+    }
+    final int required = Math.addExact(buffer.position(), bytes);
+    final int doubled = (int) Math.min(MAX_CAPACITY, (long) buffer.capacity() << 1);
+    final ByteBuffer grown = ByteBuffer.allocate(Math.max(required, doubled));
+    grown.put(buffer.flip());
+    buffer = grown;
+  }
+  //</editor-fold>
+}
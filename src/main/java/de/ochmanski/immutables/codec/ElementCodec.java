@@ -0,0 +1,146 @@
+package de.ochmanski.immutables.codec;
+
+import de.ochmanski.immutables.Id;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntFunction;
+
+/**
+ * Writes and reads single elements in the binary format of {@link ImmutableCodec}.
+ * <p>Implementations must be stateless, so that one codec can be shared by many writers and readers. State which
+ * spans a whole snapshot, like the string dictionary, belongs to {@link CodecWriter} and {@link CodecReader}.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+public interface ElementCodec<E>
+{
+
+  void write(@NotNull final CodecWriter out, @NotNull final E e);
+
+  @NotNull
+  E read(@NotNull final CodecReader in);
+
+  /**
+   * Returns the minimal number of bytes of an encoded element. Used to bound sizes read from corrupted input.
+   */
+  @Contract(pure = true)
+  default int minimalSize()
+  {
+    return 1;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="built-in codecs">
+
+  /**
+   * Writes every string in full, as a varint length followed by the UTF-8 bytes.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static ElementCodec<@NotNull String> strings()
+  {
+    return ElementCodecs.STRING;
+  }
+
+  /**
+   * Writes every string only once per snapshot, and its repetitions as varint references.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static ElementCodec<@NotNull String> dictionaryStrings()
+  {
+    return ElementCodecs.DICTIONARY_STRING;
+  }
+
+  /**
+   * Writes {@link EqualableString} with the dictionary of the snapshot. Wrapped {@code null} is supported.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static ElementCodec<@NotNull EqualableString> equalableStrings()
+  {
+    return ElementCodecs.EQUALABLE_STRING;
+  }
+
+  /**
+   * Writes {@link Id} with the dictionary of the snapshot.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static ElementCodec<@NotNull Id> ids()
+  {
+    return ElementCodecs.ID;
+  }
+
+  /**
+   * Writes integers as zigzag varints, so small positive and negative numbers take a single byte.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static ElementCodec<@NotNull Integer> integers()
+  {
+    return ElementCodecs.INTEGER;
+  }
+
+  /**
+   * Writes longs as zigzag varints, so small positive and negative numbers take a single byte.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static ElementCodec<@NotNull Long> longs()
+  {
+    return ElementCodecs.LONG;
+  }
+
+  /**
+   * Writes enum constants as varint ordinals.
+   *
+   * @param key array constructor of the enum type, for example {@code DayOfWeek[]::new}
+   * @param <S> {@code @NotNull S} enum
+   * @return new codec
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  static <S extends @NotNull Enum<@NotNull S>> ElementCodec<@NotNull S> ordinals(@NotNull final IntFunction<@NotNull S @NotNull []> key)
+  {
+    return new ElementCodecs.OrdinalCodec<>(key);
+  }
+
+  /**
+   * Writes nested lists with {@link ImmutableCodec#writeList(CodecWriter, ImmutableList, ElementCodec)}.
+   *
+   * @param codec codec of the elements of the nested lists
+   * @param key array constructor of the element type, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} element
+   * @return new codec
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  static <S> ElementCodec<@NotNull ImmutableList<@NotNull S>> lists(
+    @NotNull final ElementCodec<@NotNull S> codec,
+    @NotNull final IntFunction<@NotNull S @NotNull []> key)
+  {
+    return new ElementCodecs.ListCodec<>(codec, key);
+  }
+
+  /**
+   * Writes nested sets with {@link ImmutableCodec#writeSet(CodecWriter, ImmutableSet, ElementCodec)}.
+   *
+   * @param codec codec of the elements of the nested sets
+   * @param key array constructor of the element type, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} element
+   * @return new codec
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  static <S> ElementCodec<@NotNull ImmutableSet<@NotNull S>> sets(
+    @NotNull final ElementCodec<@NotNull S> codec,
+    @NotNull final IntFunction<@NotNull S @NotNull []> key)
+  {
+    return new ElementCodecs.SetCodec<>(codec, key);
+  }
+  //</editor-fold>
+}
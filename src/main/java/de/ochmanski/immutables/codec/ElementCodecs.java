@@ -0,0 +1,211 @@
+package de.ochmanski.immutables.codec;
+
+import de.ochmanski.immutables.Id;
+import de.ochmanski.immutables.collection.ICollection;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Implementations of the built-in {@link ElementCodec}s.
+ */
+final class ElementCodecs
+{
+
+  @NotNull
+  static final ElementCodec<@NotNull String> STRING = new ElementCodec<>()
+  {
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final String e)
+    {
+      out.writeString(e);
+    }
+
+    @NotNull
+    @Override
+    public String read(@NotNull final CodecReader in)
+    {
+      return in.readString();
+    }
+  };
+
+  @NotNull
+  static final ElementCodec<@NotNull String> DICTIONARY_STRING = new ElementCodec<>()
+  {
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final String e)
+    {
+      out.writeDictionaryString(e);
+    }
+
+    @NotNull
+    @Override
+    public String read(@NotNull final CodecReader in)
+    {
+      return Objects.requireNonNull(in.readDictionaryString(), "Expected a string, but null was read.");
+    }
+  };
+
+  @NotNull
+  static final ElementCodec<@NotNull EqualableString> EQUALABLE_STRING = new ElementCodec<>()
+  {
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final EqualableString e)
+    {
+      out.writeDictionaryString(e.ofNullable().orElse(null));
+    }
+
+    @NotNull
+    @Override
+    public EqualableString read(@NotNull final CodecReader in)
+    {
+      return EqualableString.ofNullable(in.readDictionaryString());
+    }
+  };
+
+  @NotNull
+  static final ElementCodec<@NotNull Id> ID = new ElementCodec<>()
+  {
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final Id e)
+    {
+      out.writeDictionaryString(e.getId());
+    }
+
+    @NotNull
+    @Override
+    public Id read(@NotNull final CodecReader in)
+    {
+      return Id.of(Objects.requireNonNull(in.readDictionaryString(), "Expected an id, but null was read."));
+    }
+  };
+
+  @NotNull
+  static final ElementCodec<@NotNull Integer> INTEGER = new ElementCodec<>()
+  {
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final Integer e)
+    {
+      out.writeSignedVarInt(e);
+    }
+
+    @NotNull
+    @Override
+    public Integer read(@NotNull final CodecReader in)
+    {
+      return in.readSignedVarInt();
+    }
+  };
+
+  @NotNull
+  static final ElementCodec<@NotNull Long> LONG = new ElementCodec<>()
+  {
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final Long e)
+    {
+      out.writeSignedVarLong(e);
+    }
+
+    @NotNull
+    @Override
+    public Long read(@NotNull final CodecReader in)
+    {
+      return in.readSignedVarLong();
+    }
+  };
+
+  private ElementCodecs()
+  {
+  }
+
+  static final class OrdinalCodec<E extends @NotNull Enum<@NotNull E>> implements ElementCodec<@NotNull E>
+  {
+
+    @NotNull
+    private final E @NotNull [] universe;
+
+    OrdinalCodec(@NotNull final IntFunction<@NotNull E @NotNull []> key)
+    {
+      this.universe = ICollection.getComponentTypeFromConstructor(key).getEnumConstants();
+    }
+
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final E e)
+    {
+      out.writeVarInt(e.ordinal());
+    }
+
+    @NotNull
+    @Override
+    public E read(@NotNull final CodecReader in)
+    {
+      final int ordinal = in.readVarInt();
+      if (ordinal < 0 || ordinal >= universe.length) {
+        throw new IllegalStateException("Unknown ordinal " + ordinal + " of " + universe.getClass().getComponentType().getName() + ".");
+      }
+      return universe[ordinal];
+    }
+  }
+
+  static final class ListCodec<E> implements ElementCodec<@NotNull ImmutableList<@NotNull E>>
+  {
+
+    @NotNull
+    private final ElementCodec<@NotNull E> codec;
+
+    @NotNull
+    private final IntFunction<@NotNull E @NotNull []> key;
+
+    ListCodec(@NotNull final ElementCodec<@NotNull E> codec, @NotNull final IntFunction<@NotNull E @NotNull []> key)
+    {
+      this.codec = codec;
+      this.key = key;
+    }
+
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final ImmutableList<@NotNull E> e)
+    {
+      ImmutableCodec.writeList(out, e, codec);
+    }
+
+    @NotNull
+    @Override
+    public ImmutableList<@NotNull E> read(@NotNull final CodecReader in)
+    {
+      return ImmutableCodec.readList(in, codec, key);
+    }
+  }
+
+  static final class SetCodec<E> implements ElementCodec<@NotNull ImmutableSet<@NotNull E>>
+  {
+
+    @NotNull
+    private final ElementCodec<@NotNull E> codec;
+
+    @NotNull
+    private final IntFunction<@NotNull E @NotNull []> key;
+
+    SetCodec(@NotNull final ElementCodec<@NotNull E> codec, @NotNull final IntFunction<@NotNull E @NotNull []> key)
+    {
+      this.codec = codec;
+      this.key = key;
+    }
+
+    @Override
+    public void write(@NotNull final CodecWriter out, @NotNull final ImmutableSet<@NotNull E> e)
+    {
+      ImmutableCodec.writeSet(out, e, codec);
+    }
+
+    @NotNull
+    @Override
+    public ImmutableSet<@NotNull E> read(@NotNull final CodecReader in)
+    {
+      return ImmutableCodec.readSet(in, codec, key);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package de.ochmanski.immutables.codec;
+
+import de.ochmanski.immutables.collection.ICollection;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.ListBuilder;
+import de.ochmanski.immutables.immutable.MapBuilder;
+import de.ochmanski.immutables.immutable.SetBuilder;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumMap;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Compact binary format for immutable collections, for example to cache large snapshots on disk between restarts.
+ * <p>The format has no header and no type information; the reader must know the layout of the snapshot and use the
+ * same {@link ElementCodec}s as the writer. Layouts:
+ * <ul>
+ *   <li>list and set - varint size, followed by the elements in iteration order</li>
+ *   <li>map - varint size, followed by key and value of every entry</li>
+ *   <li>enum set - varint number of 64-bit words, followed by the words of the ordinal bitmask as varlongs</li>
+ *   <li>enum map - bitmask of the present keys like an enum set, followed by the values in ordinal order</li>
+ * </ul>
+ * Reading streams the elements straight into the transient builders, which are presized with the size read from
+ * the input, so no intermediate collection is created.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final CodecWriter out = CodecWriter.allocate(4096);
+ *   ImmutableCodec.writeMap(out, map, ElementCodec.dictionaryStrings(), ElementCodec.integers());
+ *
+ *   final CodecReader in = CodecReader.of(out.toByteBuffer());
+ *   final ImmutableMap<String, Integer> actual = ImmutableCodec.readMap(in, ElementCodec.dictionaryStrings(),
+ *     ElementCodec.integers(), String[]::new, Integer[]::new);
+ *   }
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+public final class ImmutableCodec
+{
+
+  private static final int WORD_BITS = Long.SIZE;
+
+  private ImmutableCodec()
+  {
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. lists and sets">
+
+  public static <E> void writeList(
+    @NotNull final CodecWriter out,
+    @NotNull final ImmutableList<@NotNull E> list,
+    @NotNull final ElementCodec<@NotNull E> codec)
+  {
+    out.writeVarInt(list.size());
+    for (final E e : list) {
+      codec.write(out, e);
+    }
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new")
+  public static <E> ImmutableList<@NotNull E> readList(
+    @NotNull final CodecReader in,
+    @NotNull final ElementCodec<@NotNull E> codec,
+    @NotNull final IntFunction<@NotNull E @NotNull []> key)
+  {
+    final int size = in.readSize(codec.minimalSize());
+    final ListBuilder<@NotNull E> builder = ImmutableList.<@NotNull E>builder(key, size);
+    for (int i = 0; i < size; i++) {
+      builder.add(codec.read(in));
+    }
+    return builder.build();
+  }
+
+  public static <E> void writeSet(
+    @NotNull final CodecWriter out,
+    @NotNull final ImmutableSet<@NotNull E> set,
+    @NotNull final ElementCodec<@NotNull E> codec)
+  {
+    out.writeVarInt(set.size());
+    for (final E e : set) {
+      codec.write(out, e);
+    }
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new")
+  public static <E> ImmutableSet<@NotNull E> readSet(
+    @NotNull final CodecReader in,
+    @NotNull final ElementCodec<@NotNull E> codec,
+    @NotNull final IntFunction<@NotNull E @NotNull []> key)
+  {
+    final int size = in.readSize(codec.minimalSize());
+    final SetBuilder<@NotNull E> builder = ImmutableSet.<@NotNull E>builder(key, size);
+    for (int i = 0; i < size; i++) {
+      builder.add(codec.read(in));
+    }
+    return builder.build();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. maps">
+
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> void writeMap(
+    @NotNull final CodecWriter out,
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> map,
+    @NotNull final ElementCodec<@NotNull K> keyCodec,
+    @NotNull final ElementCodec<@NotNull V> valueCodec)
+  {
+    out.writeVarInt(map.size());
+    map.forEachEntry((k, v) -> {
+      keyCodec.write(out, k);
+      valueCodec.write(out, v);
+    });
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _, _, _ -> new")
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> ImmutableMap<@NotNull K, @NotNull V> readMap(
+    @NotNull final CodecReader in,
+    @NotNull final ElementCodec<@NotNull K> keyCodec,
+    @NotNull final ElementCodec<@NotNull V> valueCodec,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value)
+  {
+    final int size = in.readSize(keyCodec.minimalSize() + valueCodec.minimalSize());
+    final MapBuilder<@NotNull K, @NotNull V> builder = ImmutableMap.<@NotNull K, @NotNull V>builder(key, value, size);
+    for (int i = 0; i < size; i++) {
+      final K k = keyCodec.read(in);
+      builder.put(k, valueCodec.read(in));
+    }
+    return builder.build();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. enum sets and enum maps">
+
+  public static <E extends @NotNull Enum<@NotNull E>> void writeEnumSet(
+    @NotNull final CodecWriter out,
+    @NotNull final ImmutableEnumSet<@NotNull E> set)
+  {
+    final long[] words = new long[wordCount(universe(set.getKey()).length)];
+    for (final E e : set) {
+      words[e.ordinal() / WORD_BITS] |= 1L << e.ordinal();
+    }
+    writeWords(out, words);
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new")
+  public static <E extends @NotNull Enum<@NotNull E>> ImmutableEnumSet<@NotNull E> readEnumSet(
+    @NotNull final CodecReader in,
+    @NotNull final IntFunction<@NotNull E @NotNull []> key)
+  {
+    final E[] universe = universe(key);
+    final long[] words = readWords(in, universe);
+    final EnumSet<@NotNull E> set = EnumSet.noneOf(ICollection.getComponentTypeFromConstructor(key));
+    forEachOrdinal(words, ordinal -> set.add(universe[ordinal]));
+    return ImmutableEnumSet.<@NotNull E>ofEnumSet(set, key);
+  }
+
+  @SuppressWarnings(UNCHECKED)
+  public static <K extends @NotNull Enum<@NotNull K>, V> void writeEnumMap(
+    @NotNull final CodecWriter out,
+    @NotNull final ImmutableEnumMap<@NotNull K, @NotNull V> map,
+    @NotNull final ElementCodec<@NotNull V> valueCodec)
+  {
+    final Object[] values = new Object[universe(map.getKey()).length];
+    final long[] words = new long[wordCount(values.length)];
+    map.forEachEntry((k, v) -> {
+      values[k.ordinal()] = v;
+      words[k.ordinal() / WORD_BITS] |= 1L << k.ordinal();
+    });
+    writeWords(out, words);
+    for (final Object v : values) {
+      if (v != null) {
+        valueCodec.write(out, (V) v);
+      }
+    }
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _, _ -> new")
+  public static <K extends @NotNull Enum<@NotNull K>, V> ImmutableEnumMap<@NotNull K, @NotNull V> readEnumMap(
+    @NotNull final CodecReader in,
+    @NotNull final ElementCodec<@NotNull V> valueCodec,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value)
+  {
+    final K[] universe = universe(key);
+    final long[] words = readWords(in, universe);
+    final EnumMap<@NotNull K, @NotNull V> map = new EnumMap<>(ICollection.<@NotNull K>getComponentTypeFromConstructor(key));
+    forEachOrdinal(words, ordinal -> map.put(universe[ordinal], valueCodec.read(in)));
+    return ImmutableEnumMap.<@NotNull K, @NotNull V>ofEnumMap(map, key, value);
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private static <E extends @NotNull Enum<@NotNull E>> E @NotNull [] universe(@NotNull final IntFunction<@NotNull E @NotNull []> key)
+  {
+    return ICollection.getComponentTypeFromConstructor(key).getEnumConstants();
+  }
+
+  @Contract(pure = true)
+  private static int wordCount(final int universeSize)
+  {
+    return (universeSize + WORD_BITS - 1) / WORD_BITS;
+  }
+
+  private static void writeWords(@NotNull final CodecWriter out, final long @NotNull [] words)
+  {
+    int count = words.length;
+    while (count > 0 && words[count - 1] == 0) {
+      count--;
+    }
+    out.writeVarInt(count);
+    for (int i = 0; i < count; i++) {
+      out.writeVarLong(words[i]);
+    }
+  }
+
+  private static long @NotNull [] readWords(@NotNull final CodecReader in, @NotNull final Enum<?> @NotNull [] universe)
+  {
+    final int count = in.readSize(1);
+    final int capacity = wordCount(universe.length);
+    if (count > capacity) {
+      throw new IllegalStateException("Bitmask of " + count + " words exceeds " + universe.length + " enum constants.");
+    }
+    final long[] words = new long[count];
+    for (int i = 0; i < count; i++) {
+      words[i] = in.readVarLong();
+    }
+    final int tail = universe.length % WORD_BITS;
+    if (count == capacity && tail != 0 && words[count - 1] >>> tail != 0) {
+      throw new IllegalStateException("Bitmask contains ordinals beyond " + universe.length + " enum constants.");
+    }
+    return words;
+  }
+
+  private static void forEachOrdinal(final long @NotNull [] words, @NotNull final IntConsumer action)
+  {
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        action.accept(i * WORD_BITS + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+  }
+  //</editor-fold>
+}
@@ -6,17 +6,39 @@
 
 import java.util.function.IntFunction;
 
-import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
-
 public interface Checked<E> {
 
   @NotNull
   @Unmodifiable
-  @Contract(value = "_ -> new", pure = true)
-  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
   static <S> Class<@NotNull S> getComponentTypeFromConstructor(
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
-    return (Class<@NotNull S>) constructor.apply(0).getClass().getComponentType();
+    return ComponentTypes.<@NotNull S>of(constructor);
+  }
+
+  /**
+   * Verifies once that every element is an instance of {@code type}. Collections which are validated at construction
+   * can hold their storage unwrapped, instead of behind a {@code Collections.checkedList}-like view, which adds a layer
+   * of indirection to every read although nothing is ever added afterward.
+   * <p>Elements of exactly {@code type} pass with a single reference comparison, and for {@code Object} the loop
+   * is skipped.
+   *
+   * @param elements elements to validate
+   * @param type expected component type
+   * @throws ClassCastException if one of the elements is not an instance of {@code type}
+   */
+  @Contract(pure = true)
+  static void requireInstancesOf(@NotNull final Iterable<?> elements, @NotNull final Class<?> type) {
+    if (type == Object.class) {
+      return;
+    }
+    for (final Object element : elements) {
+      final Class<?> actual = element.getClass();
+      if (actual != type && !type.isAssignableFrom(actual)) {
+        throw new ClassCastException("Given collection cannot contain an element of " + actual
+          + ", because its element type is " + type + ".");
+      }
+    }
   }
 
   @NotNull
@@ -0,0 +1,284 @@
+package de.ochmanski.immutables.collection;
+
+import de.ochmanski.immutables.equalable.Equalable;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Caches what the collections derive from their array constructor, like {@code String[]::new}: the zero-length
+ * array, its component type and the empty collection instances.
+ * <p>The cache is a {@link ClassValue} keyed on the class of the constructor. A method reference or a lambda which
+ * captures nothing always creates arrays of the same type, so its class identifies the component type. Constructors
+ * with instance fields, for example {@code n -> (T[]) Array.newInstance(type, n)}, may share their class across
+ * component types and are therefore never cached. They are resolved by calling {@code apply(0)} every time.
+ * <p>A {@code ClassValue} keeps its values alive as long as the key class. The constructors and the zero-length arrays
+ * are keyed on classes of the callers, which already reach this library, so caching them strongly pins no class loader.
+ * The constructors derived by {@link #typedFor(IntFunction, Iterable)} are keyed on element classes instead, which may
+ * belong to a parent class loader, like {@code String}. They are held weakly, so the key does not pin the class loader
+ * of this library.
+ */
+public final class ComponentTypes
+{
+
+  @NotNull
+  private static final Slot STATEFUL = new Slot();
+
+  @NotNull
+  private static final ClassValue<@NotNull Slot> CONSTRUCTORS = new ClassValue<>()
+  {
+    @NotNull
+    @Override
+    protected Slot computeValue(@NotNull final Class<?> type)
+    {
+      return isStateless(type) ? new Slot() : STATEFUL;
+    }
+  };
+
+  @NotNull
+  private static final ClassValue<@NotNull Object> ZERO_LENGTH_ARRAYS = new ClassValue<>()
+  {
+    @NotNull
+    @Override
+    protected Object computeValue(@NotNull final Class<?> type)
+    {
+      return Array.newInstance(type, 0);
+    }
+  };
+
+  @NotNull
+  private static final ClassValue<@NotNull WeakReference<IntFunction<?>>> DERIVED_CONSTRUCTORS = new ClassValue<>()
+  {
+    @NotNull
+    @Override
+    protected WeakReference<IntFunction<?>> computeValue(@NotNull final Class<?> type)
+    {
+      return new WeakReference<>(n -> (Object[]) Array.newInstance(type, n));
+    }
+  };
+
+  private ComponentTypes()
+  {
+  }
+
+  /**
+   * Returns the component type of the arrays created by the given constructor.
+   *
+   * @param constructor array constructor, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} component type
+   * @return component type of the array constructor
+   */
+  @NotNull
+  @Unmodifiable
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  public static <S> Class<@NotNull S> of(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    return (Class<@NotNull S>) zeroLengthArray(constructor).getClass().getComponentType();
+  }
+
+  /**
+   * Returns a zero-length array created by the given constructor. Zero-length arrays cannot be modified, so the
+   * same array is returned for every call with a stateless constructor.
+   *
+   * @param constructor array constructor, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} component type
+   * @return shared zero-length array
+   */
+  @NotNull
+  @Unmodifiable
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  public static <S> S @NotNull [] zeroLengthArray(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    final Slot slot = CONSTRUCTORS.get(constructor.getClass());
+    if (slot == STATEFUL) {
+      return constructor.apply(0);
+    }
+    Object[] array = slot.zeroLengthArray;
+    if (array == null) {
+      array = constructor.apply(0);
+      slot.constructor = constructor;
+      slot.zeroLengthArray = array;
+    }
+    return (S[]) array;
+  }
+
+  /**
+   * Returns the shared zero-length array of the given component type.
+   *
+   * @param type component type
+   * @param <T> {@code @NotNull T} component type
+   * @return shared zero-length array
+   */
+  @NotNull
+  @Unmodifiable
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  public static <T> T @NotNull [] zeroLengthArray(@NotNull final Class<@NotNull T> type)
+  {
+    return (T[]) ZERO_LENGTH_ARRAYS.get(type);
+  }
+
+  /**
+   * Returns the empty collection of the given kind for the given constructor, and creates it with {@code factory}
+   * on the first call.
+   * <p>Only the first constructor instance seen for a class is cached, because the constructor is part of the
+   * equality of the collections. Other instances of the same class get a new empty collection each time.
+   *
+   * @param constructor array constructor, for example {@code String[]::new}
+   * @param kind class of the collection, for example {@code ImmutableList.class}
+   * @param factory creates the empty collection for the given constructor
+   * @param <S> {@code @NotNull S} component type
+   * @param <C> type of the collection
+   * @return shared empty collection
+   */
+  @NotNull
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  public static <S, C> C empty(
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor,
+    @NotNull final Class<?> kind,
+    @NotNull final Function<@NotNull IntFunction<@NotNull S @NotNull []>, @NotNull C> factory)
+  {
+    zeroLengthArray(constructor);
+    final Slot slot = CONSTRUCTORS.get(constructor.getClass());
+    if (slot == STATEFUL || slot.constructor != constructor) {
+      return factory.apply(constructor);
+    }
+    final Object empty = slot.empties.get(kind);
+    if (empty != null) {
+      return (C) empty;
+    }
+    final C created = factory.apply(constructor);
+    final Object previous = slot.empties.putIfAbsent(kind, created);
+    return previous == null ? created : (C) previous;
+  }
+
+  /**
+   * Returns whether the given constructor is the placeholder {@link Equalable#defaultKey()} of the untyped empty
+   * collections, like {@code ImmutableList.empty()}, which does not know the real component type.
+   *
+   * @param constructor array constructor
+   * @return {@code true} if the constructor is the placeholder
+   */
+  @Contract(pure = true)
+  public static boolean isUntyped(@NotNull final IntFunction<?> constructor)
+  {
+    return constructor == Equalable.defaultKey();
+  }
+
+  /**
+   * Returns the type which elements must be instances of before they are stored with the given constructor: its
+   * component type, or {@code Object} for the {@linkplain #isUntyped(IntFunction) placeholder}, whose elements
+   * determine the type later through {@link #typedFor(IntFunction, Iterable)}.
+   *
+   * @param constructor array constructor, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} component type
+   * @return type to check the elements against
+   */
+  @NotNull
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  public static <S> Class<@NotNull S> elementType(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    return isUntyped(constructor) ? (Class<@NotNull S>) Object.class : of(constructor);
+  }
+
+  /**
+   * Returns the given constructor, or, if it is the {@linkplain #isUntyped(IntFunction) placeholder}, a constructor
+   * of the most specific class which all given elements are instances of. The placeholder is kept if there are no
+   * elements. The derived constructors are cached per class as long as a collection uses them, so collections derived
+   * from the same class are equal.
+   *
+   * @param constructor array constructor, for example {@code String[]::new}
+   * @param elements elements which will be stored in arrays of the returned constructor
+   * @param <S> {@code @NotNull S} component type
+   * @return constructor which can hold all elements
+   */
+  @NotNull
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  public static <S> IntFunction<@NotNull S @NotNull []> typedFor(
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor,
+    @NotNull final Iterable<? extends @NotNull S> elements)
+  {
+    if (!isUntyped(constructor)) {
+      return constructor;
+    }
+    final Iterator<? extends @NotNull S> iterator = elements.iterator();
+    if (!iterator.hasNext()) {
+      return constructor;
+    }
+    Class<?> type = iterator.next().getClass();
+    while (type.isAnonymousClass() || type.isSynthetic()) {
+      type = type.getSuperclass();
+    }
+    while (iterator.hasNext()) {
+      final S element = iterator.next();
+      while (!type.isInstance(element)) {
+        type = type.getSuperclass();
+      }
+    }
+    return (IntFunction<@NotNull S @NotNull []>) derivedConstructor(type);
+  }
+
+  /**
+   * Returns the cached constructor of the given component type, and replaces it if it has already been collected.
+   * Only one thread replaces it at a time, so a constructor which is in use is never replaced.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private static IntFunction<?> derivedConstructor(@NotNull final Class<?> type)
+  {
+    final IntFunction<?> cached = DERIVED_CONSTRUCTORS.get(type).get();
+    if (cached != null) {
+      return cached;
+    }
+    synchronized (DERIVED_CONSTRUCTORS) {
+      while (true) {
+        final IntFunction<?> constructor = DERIVED_CONSTRUCTORS.get(type).get();
+        if (constructor != null) {
+          return constructor;
+        }
+        DERIVED_CONSTRUCTORS.remove(type);
+      }
+    }
+  }
+
+  @Contract(pure = true)
+  private static boolean isStateless(@NotNull final Class<?> type)
+  {
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (final Field field : current.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static final class Slot
+  {
+
+    private volatile IntFunction<?> constructor;
+
+    private volatile Object[] zeroLengthArray;
+
+    @NotNull
+    private final Map<@NotNull Class<?>, @NotNull Object> empties = new ConcurrentHashMap<>(4);
+  }
+}
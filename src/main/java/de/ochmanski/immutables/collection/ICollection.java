@@ -2,20 +2,18 @@
 
 import de.ochmanski.immutables.immutable.IList;
 import de.ochmanski.immutables.immutable.ISet;
+import de.ochmanski.immutables.immutable.View;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
-import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
-
 public interface ICollection<E> extends Checked<@NotNull E>, Iterable<@NotNull E>
 {
 
@@ -31,16 +29,16 @@
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   static <T> T @NotNull [] zeroLengthArray(@NotNull final IntFunction<@NotNull T @NotNull []> constructor)
   {
-    return zeroLengthArray(getComponentTypeFromConstructor(constructor));
+    return ComponentTypes.<@NotNull T>zeroLengthArray(constructor);
   }
 
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   static <@Unmodifiable S> Class<@NotNull S> getComponentTypeFromConstructor(
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
@@ -50,11 +48,10 @@
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @SuppressWarnings(UNCHECKED)
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   static <T> T @NotNull [] zeroLengthArray(@NotNull final Class<@NotNull T> type)
   {
-    return (@NotNull T @NotNull []) Array.newInstance(type, 0);
+    return ComponentTypes.<@NotNull T>zeroLengthArray(type);
   }
 
   @Contract(pure = true)
@@ -117,6 +114,20 @@ default void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer
   Stream<@NotNull E> stream();
 
 
+  /**
+   * Returns a lazy projection of this collection. Transformations applied to the view are evaluated
+   * on iteration and don't create intermediate collections.
+   *
+   * @return a lazy view over the elements of this collection
+   */
+  @NotNull
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  default View<@NotNull E> view()
+  {
+    return View.<@NotNull E>of(this, getKey());
+  }
+
   @NotNull
   @Unmodifiable
   @UnmodifiableView
@@ -3,6 +3,8 @@
 import de.ochmanski.immutables.immutable.IList;
 import de.ochmanski.immutables.immutable.ISet;
 import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableListMultimap;
+import de.ochmanski.immutables.immutable.ImmutableMap;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
@@ -136,6 +138,34 @@ default E get(final int index) {
     return getList().get(index);
   }
 
+  /**
+   * Returns the index of the wrapped list, which keeps it for later calls with the same {@code classifier}.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default <K> ImmutableListMultimap<@NotNull K, @NotNull E> indexBy(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key) {
+    return getList().indexBy(classifier, key);
+  }
+
+  /**
+   * Returns the unique index of the wrapped list, which keeps it for later calls with the same {@code classifier}.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default <K extends @NotNull Comparable<? super @NotNull K>> ImmutableMap<@NotNull K, @NotNull E> uniqueIndexBy(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key) {
+    return getList().uniqueIndexBy(classifier, key);
+  }
+
   @Override
   @Contract(pure = true)
   default void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer, @NotNull final Comparator<? super @NotNull E> comparator)
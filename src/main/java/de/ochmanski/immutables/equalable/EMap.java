@@ -13,6 +13,9 @@
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
+import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
 public interface EMap<K extends @NotNull Comparable<@NotNull K> & @NotNull Equalable<@NotNull K>, V extends @NotNull Comparable<@NotNull V> & @NotNull Equalable<@NotNull V>> extends IMap<@NotNull K, @NotNull V>
 {
 
@@ -55,7 +58,7 @@ static void of()
   @Contract(pure = true)
   default Stream<IMap.@NotNull Entry<@NotNull K, @NotNull V>> stream()
   {
-    return getMap().stream().map(EMap.Entry::of);
+    return getMap().stream();
   }
 
   @NotNull
@@ -140,10 +143,19 @@ default boolean containsKey(@NotNull final K o)
 
   @Value
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-  @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
   class Entry<K, V> implements Equalable<EMap.@NotNull Entry<@NotNull K, @NotNull V>>, Comparable<EMap.@NotNull Entry<@NotNull K, @NotNull V>>
   {
 
+    @NotNull
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
+    private static final Comparator<EMap.@NotNull Entry> KEY_ORDER = (@NotNull Comparator<EMap.@NotNull Entry> & @NotNull Serializable)
+      (c1, c2) -> ((Comparable) c1.getKey()).compareTo(c2.getKey());
+
+    @NotNull
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
+    private static final Comparator<EMap.@NotNull Entry> VALUE_ORDER = (@NotNull Comparator<EMap.@NotNull Entry> & @NotNull Serializable)
+      (c1, c2) -> ((Comparable) c1.getValue()).compareTo(c2.getValue());
+
     @NonNull
     @NotNull("Given keyType cannot be null.")
     @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
@@ -170,10 +182,10 @@ default boolean containsKey(@NotNull final K o)
      */
     @NotNull
     @Contract(pure = true)
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
     static <K extends @NotNull Comparable<? super @NotNull K>, V> Comparator<EMap.@NotNull Entry<@NotNull K, @NotNull V>> comparingByKey()
     {
-      return (@NotNull Comparator<EMap.@NotNull Entry<@NotNull K, @NotNull V>> & @NotNull Serializable)
-        (c1, c2) -> c1.getKey().compareTo(c2.getKey());
+      return (Comparator) KEY_ORDER;
     }
 
     /**
@@ -192,10 +204,10 @@ default boolean containsKey(@NotNull final K o)
      */
     @NotNull
     @Contract(pure = true)
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
     static <K extends @NotNull Comparable<? super @NotNull K>, V extends @NotNull Comparable<? super @NotNull V>> Comparator<EMap.@NotNull Entry<@NotNull K, @NotNull V>> comparingByValue()
     {
-      return (@NotNull Comparator<EMap.@NotNull Entry<@NotNull K, @NotNull V>> & @NotNull Serializable)
-        (c1, c2) -> c1.getValue().compareTo(c2.getValue());
+      return (Comparator) VALUE_ORDER;
     }
 
     /**
@@ -247,7 +259,7 @@ default boolean containsKey(@NotNull final K o)
     }
 
     @NotNull
-    @Contract(value = "_ -> new", pure = true)
+    @Contract(value = "_ -> param1", pure = true)
     public static <K extends @NotNull Comparable<? super @NotNull K>, V> IMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> of(
       @NotNull final IMap.@NotNull Entry<@NotNull K, @NotNull V> entry)
     {
@@ -259,7 +271,7 @@ default boolean containsKey(@NotNull final K o)
     public static <K extends @NotNull Comparable<? super @NotNull K>, V> EMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> of2(
       @NotNull final IMap.@NotNull Entry<@NotNull K, @NotNull V> entry)
     {
-      return EMap.Entry.<@NotNull K, @NotNull V>builder().key(entry.getKey()).value(entry.getValue()).build();
+      return new EMap.Entry<>(entry.getKey(), entry.getValue());
     }
 
     @NotNull
@@ -267,14 +279,14 @@ default boolean containsKey(@NotNull final K o)
     public static <K extends @NotNull Comparable<? super @NotNull K>, V> EMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> of(
       @NotNull final Map.@NotNull Entry<@NotNull K, @NotNull V> entry)
     {
-      return EMap.Entry.<@NotNull K, @NotNull V>builder().key(entry.getKey()).value(entry.getValue()).build();
+      return new EMap.Entry<>(entry.getKey(), entry.getValue());
     }
 
     @NotNull
     @Contract(value = "-> new", pure = true)
     public EMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> deepClone()
     {
-      return toBuilder().build();
+      return new EMap.Entry<>(key, value);
     }
 
     /**
@@ -324,7 +336,7 @@ private static <K, V> int orderAsc(@Nullable final EMap.Entry<@NotNull K, @NotNu
       {
         return 0;
       }
-      return a != null ? b != null ? comparingByKey().compare((EMap.Entry)a, (EMap.Entry)b) : -1 : 1;
+      return a != null ? b != null ? KEY_ORDER.compare(a, b) : -1 : 1;
     }
 
   }
@@ -2,6 +2,9 @@
 
 import de.ochmanski.immutables.immutable.IList;
 import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.Split;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
@@ -574,6 +577,7 @@ public static void of()
   public static EqualableList<@NotNull EqualableString> ofString(
     @NotNull final ImmutableList<@NotNull String> immutableList) {
     final List<EqualableString> list = immutableList.map(EqualableString::of).toList();
+    CollectionMetrics.copied(EqualableList.class, Operation.CONVERT, list.size());
     final ImmutableList<@NotNull EqualableString> wrappers = ImmutableList.<@NotNull EqualableString>of(list, EqualableString @NotNull []::new);
     return EqualableList.<@NotNull EqualableString>of(wrappers);
   }
@@ -584,6 +588,7 @@ public static void of()
   @Contract(value = "_ -> new", pure = true)
   public static <S extends @NotNull Comparable<@NotNull S> & @NotNull Equalable<@NotNull S>> EqualableList<@NotNull S> of(
     @NotNull final ImmutableList<@NotNull S> immutableList) {
+    CollectionMetrics.created(EqualableList.class, immutableList.size());
     return EqualableList.<@NotNull S>builder().list(immutableList).build();
   }
 
@@ -724,6 +729,60 @@ public E get(final int index)
   {
     return findFirst();
   }
+
+  /**
+   * Returns a view of the portion of this list between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+   * <p>This is an O(1) operation. The view shares the backing storage of this list.
+   *
+   * @param fromIndex low endpoint (inclusive) of the slice
+   * @param toIndex high endpoint (exclusive) of the slice
+   * @return a view of the specified range within this list
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex}
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public EqualableList<@NotNull E> slice(final int fromIndex, final int toIndex)
+  {
+    Objects.checkFromToIndex(fromIndex, toIndex, size());
+    if (fromIndex == 0 && toIndex == size()) {
+      return this;
+    }
+    return toBuilder().list(list.slice(fromIndex, toIndex)).build();
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public EqualableList<@NotNull E> head(final int n)
+  {
+    return (EqualableList<@NotNull E>) EList.super.head(n);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public EqualableList<@NotNull E> tail(final int n)
+  {
+    return (EqualableList<@NotNull E>) EList.super.tail(n);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  public Split<@NotNull EqualableList<@NotNull E>> splitAt(final int index)
+  {
+    Objects.checkIndex(index, size() + 1);
+    return Split.of(slice(0, index), slice(index, size()));
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="5. converters to family classes">
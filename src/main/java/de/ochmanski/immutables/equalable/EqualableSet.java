@@ -2,6 +2,9 @@
 
 import de.ochmanski.immutables.immutable.ISet;
 import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.SetDiff;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
@@ -609,6 +612,7 @@ static void of() {
   public static EqualableSet<@NotNull EqualableString> ofString(
     @NotNull final ImmutableSet<@NotNull String> immutableSet) {
     final List<EqualableString> list = immutableSet.map(EqualableString::of).toList();
+    CollectionMetrics.copied(EqualableSet.class, Operation.CONVERT, list.size());
     final ImmutableSet<@NotNull EqualableString> wrappers = ImmutableSet.<@NotNull EqualableString>of(list, EqualableString @NotNull []::new);
     return EqualableSet.<@NotNull EqualableString>of(wrappers);
   }
@@ -619,6 +623,7 @@ static void of() {
   @Contract(value = "_ -> new", pure = true)
   public static <S extends @NotNull Comparable<@NotNull S> & @NotNull Equalable<@NotNull S>> EqualableSet<@NotNull S> of(
     @NotNull final ISet<@NotNull S> immutableSet) {
+    CollectionMetrics.created(EqualableSet.class, immutableSet.size());
     return EqualableSet.<@NotNull S>builder().set(immutableSet).build();
   }
 
@@ -966,6 +971,27 @@ public boolean isSizeGreaterThanOne()
   }
   //</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="9. diff">
+
+  /**
+   * Compares two versions of a set through the sets which they wrap, see {@link ImmutableSet#diff(ISet, ISet)}.
+   * Versions which wrap the same set are compared without looking at any element.
+   *
+   * @param previous the previous version
+   * @param next the next version
+   * @param <S> {@code @NotNull S} element
+   * @return the elements only in {@code next} as added, and the elements only in {@code previous} as removed
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S extends @NotNull Comparable<@NotNull S> & @NotNull Equalable<@NotNull S>> SetDiff<@NotNull S> diff(
+    @NotNull final EqualableSet<@NotNull S> previous,
+    @NotNull final EqualableSet<@NotNull S> next)
+  {
+    return ImmutableSet.<@NotNull S>diff(previous.getSet(), next.getSet());
+  }
+  //</editor-fold>
+
   @NotNull
   @Override
   @Unmodifiable
@@ -718,8 +718,7 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @Contract(value = " -> new", pure = true)
   public Optional<@Nullable E> findFirst()
   {
-    final Comparator<? super E> c = Comparator.nullsLast(Comparator.naturalOrder());
-    return min(c);
+    return set.findFirst();
   }
 
   @NotNull
@@ -734,8 +733,7 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @Contract(value = " -> new", pure = true)
   public Optional<@Nullable E> findLast()
   {
-    final Comparator<? super E> c = Comparator.nullsFirst(Comparator.naturalOrder());
-    return max(c);
+    return set.findLast();
   }
 
   @NotNull
@@ -826,12 +824,38 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @Contract(value = "_ -> new", pure = true)
   public EqualableSortedSet<@NotNull E> addAll(@NotNull final Stream<? extends @NotNull E> c)
   {
-    return Stream.concat(stream(), c).collect(EqualableCollectors.toSortedSet(getKey()));
+    return EqualableSortedSet.<@NotNull E>builder().set(set.addAll(c)).build();
   }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="4. Positional Access Operations">
 
+  /**
+   * Returns the element at the specified position in ascending order. Costs O(1).
+   *
+   * @param index index of the element to return
+   * @return the element at the specified position in this set
+   * @throws IndexOutOfBoundsException if the index is out of range ({@code index < 0 || index >= size()})
+   */
+  @NotNull
+  @Contract(pure = true)
+  public E get(final int index)
+  {
+    return set.get(index);
+  }
+
+  /**
+   * Returns the position of the specified element in ascending order, or -1 if this set does not contain it.
+   * Costs O(log n).
+   *
+   * @param o element to search for
+   * @return the index of the element, or -1
+   */
+  @Contract(pure = true)
+  public int indexOf(@NotNull final E o)
+  {
+    return set.indexOf(o);
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="5. converters to family classes">
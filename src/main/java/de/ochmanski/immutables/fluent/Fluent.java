@@ -6,7 +6,6 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
@@ -101,7 +100,7 @@ default boolean isInRange(
     @NotNull final Equalable<@NotNull Fluent<@NotNull F>> to)
   {
     final EnumSet range = EnumSet.<@NotNull F>range((F)from, (F)to);
-    return isIn(toEnumSet(range));
+    return range.contains(this);
   }
 
   @Override
@@ -116,80 +115,42 @@ default boolean isIn(@NotNull final Equalable<@NotNull Fluent<@NotNull F>> @NotN
   @Contract(pure = true)
   default boolean isNotInArray(@NotNull final Equalable<@NotNull Fluent<@NotNull F>> @NotNull [] array)
   {
-    return 0 == array.length || isNotIn(Fluent.<@NotNull F>toEnumSet(array));
+    return !isInArray(array);
   }
 
+  /**
+   * Enum constants are singletons, so the array is scanned by identity, without copying it into an {@link EnumSet}.
+   */
   @Override
   @Contract(pure = true)
   default boolean isInArray(@NotNull final Equalable<@NotNull Fluent<@NotNull F>> @NotNull [] array)
   {
-    return 0 != array.length && isIn(Fluent.<@NotNull F>toEnumSet(array));
+    for (final Equalable<@NotNull Fluent<@NotNull F>> e : array) {
+      if (this == e) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
   @Contract(pure = true)
   default boolean isNotIn(@NotNull final Collection<? extends @NotNull Equalable<@NotNull Fluent<@NotNull F>>> elements)
   {
-    return elements.isEmpty() || isNotIn(Fluent.<@NotNull F>toEnumSet(elements));
+    return !isIn(elements);
   }
 
   @Override
   @Contract(pure = true)
   default boolean isIn(@NotNull final Collection<? extends @NotNull Equalable<@NotNull Fluent<@NotNull F>>> elements)
   {
-    return !elements.isEmpty() && isIn(Fluent.<@NotNull F>toEnumSet(elements));
-  }
-
-  /**
-   * Creates an enum set initialized from the specified collection.
-   * If the specified collection is an {@code EnumSet} instance, this static
-   * factory method behaves identically to {@link Fluent#toEnumSet(Collection)}.
-   * Otherwise, the specified collection must contain at least one element
-   * (in order to determine the new enum set's element type).
-   *
-   * @param array the collection from which to initialize this enum set
-   * @return An enum set initialized from the given collection.
-   * @throws IllegalArgumentException if {@code c} is not an
-   *     {@code EnumSet} instance and contains no elements
-   * @throws NullPointerException if {@code c} is null
-   */
-  @NotNull
-  @Contract(value = "_ -> new", pure = true)
-  private static <F extends @NotNull Enum<@NotNull F> & @NotNull Fluent<? extends @NotNull F>>
-  EnumSet<? extends @NotNull Equalable<@NotNull Fluent<@NotNull F>>> toEnumSet(
-    @NotNull final Equalable<@NotNull Fluent<@NotNull F>> @NotNull [] array)
-  {
-    return Fluent.<@NotNull F>toEnumSet(List.of(array));
-  }
-
-  /**
-   * Creates an enum set initialized from the specified collection.
-   * If the specified collection is an {@code EnumSet} instance, this static
-   * factory method behaves identically to {@link EnumSet#copyOf(EnumSet)}.
-   * Otherwise, the specified collection must contain at least one element
-   * (in order to determine the new enum set's element type).
-   *
-   * @param <F>        The class of the elements in the collection
-   * @param collection the collection from which to initialize this enum set
-   * @return An enum set initialized from the given collection.
-   * @throws IllegalArgumentException if {@code c} is not an
-   *     {@code EnumSet} instance and contains no elements
-   * @throws NullPointerException if {@code c} is null
-   */
-  @NotNull
-  @Contract(value = "_ -> new", pure = true)
-  private static <F extends @NotNull Enum<@NotNull F> & @NotNull Fluent<? extends @NotNull F>>
-  EnumSet<? extends @NotNull Equalable<@NotNull Fluent<@NotNull F>>> toEnumSet(
-    @NotNull final Collection<? extends @NotNull Equalable<@NotNull Fluent<@NotNull F>>> collection)
-  {
-    //noinspection unchecked,rawtypes
-    return EnumSet.<@NotNull Enum>copyOf((Collection)collection);
+    return !elements.isEmpty() && elements.contains(this);
   }
 
   @Contract(pure = true)
   default boolean isNotIn(@NotNull final EnumSet<? extends @NotNull Equalable<@NotNull Fluent<@NotNull F>>> elements)
   {
-    return elements.isEmpty() || EnumSet.complementOf(elements).contains(this);
+    return !elements.contains(this);
   }
 
   @Contract(pure = true)
@@ -1,6 +1,7 @@
 package de.ochmanski.immutables.fluent;
 
 import de.ochmanski.immutables.fluent.Fluent.Dummy;
+import de.ochmanski.immutables.immutable.ISet;
 import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -290,6 +291,60 @@ public static void of()
   public FluentEnumSet<? extends @NotNull E> range(@NotNull final E from, @NotNull final E to) {
     return FluentEnumSet.<@NotNull E>ofEnumSet(EnumSet.range(from, to), getKey());
   }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public FluentEnumSet<@NotNull E> union(@NotNull final ISet<@NotNull E> other)
+  {
+    return wrap(set.union(unwrapFluent(other)), other);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public FluentEnumSet<@NotNull E> intersect(@NotNull final ISet<@NotNull E> other)
+  {
+    return wrap(set.intersect(unwrapFluent(other)), other);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public FluentEnumSet<@NotNull E> difference(@NotNull final ISet<@NotNull E> other)
+  {
+    return wrap(set.difference(unwrapFluent(other)), other);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public FluentEnumSet<@NotNull E> symmetricDifference(@NotNull final ISet<@NotNull E> other)
+  {
+    return wrap(set.symmetricDifference(unwrapFluent(other)), other);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean isSubsetOf(@NotNull final ISet<@NotNull E> other)
+  {
+    return set.isSubsetOf(unwrapFluent(other));
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean disjoint(@NotNull final ISet<@NotNull E> other)
+  {
+    return set.disjoint(unwrapFluent(other));
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="4. converters to family classes">
@@ -312,6 +367,32 @@ public static void of()
   }
   //</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="5. custom methods">
+  @NotNull
+  @Contract(pure = true)
+  private static <S extends @NotNull Enum<@NotNull S> & Fluent<? extends @NotNull S>> ISet<@NotNull S> unwrapFluent(
+    @NotNull final ISet<@NotNull S> other)
+  {
+    return other instanceof FluentEnumSet<@NotNull S> that ? that.getSet() : other;
+  }
+
+  /**
+   * Reuses this set or the other operand, when the underlying operation returned one of them unchanged.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private FluentEnumSet<@NotNull E> wrap(@NotNull final ImmutableEnumSet<@NotNull E> result, @NotNull final ISet<@NotNull E> other)
+  {
+    if (result == set) {
+      return this;
+    }
+    if (other instanceof FluentEnumSet<@NotNull E> that && result == that.getSet()) {
+      return that;
+    }
+    return FluentEnumSet.<@NotNull E>of(result);
+  }
+  //</editor-fold>
+
   @NotNull
   @Override
   @Unmodifiable
@@ -0,0 +1,157 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only {@code List} over a window of an array which was handed off by its previous owner.
+ * <p>The array is never copied and never written to. The caller of the constructor transfers
+ * the ownership of the array and must not keep a reference to it.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+final class ArrayBackedList<E> extends AbstractList<@NotNull E> implements RandomAccess
+{
+
+  @NotNull
+  private final E @NotNull [] elements;
+
+  private final int offset;
+
+  private final int size;
+
+  @Contract(pure = true)
+  ArrayBackedList(@NotNull final E @NotNull [] elements, final int offset, final int size)
+  {
+    Objects.checkFromIndexSize(offset, size, elements.length);
+    this.elements = elements;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public E get(final int index)
+  {
+    return elements[offset + Objects.checkIndex(index, size)];
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return size;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int indexOf(@NotNull final Object o)
+  {
+    for (int i = 0; i < size; i++) {
+      if (o.equals(elements[offset + i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int lastIndexOf(@NotNull final Object o)
+  {
+    for (int i = size - 1; i >= 0; i--) {
+      if (o.equals(elements[offset + i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean contains(@NotNull final Object o)
+  {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+  {
+    for (int i = offset, end = offset + size; i < end; i++) {
+      action.accept(elements[i]);
+    }
+  }
+
+  /**
+   * Performs the given action for each element and its index.
+   */
+  @Contract(pure = true)
+  void forEachIndexed(@NotNull final ObjIntConsumer<? super @NotNull E> action)
+  {
+    for (int i = 0; i < size; i++) {
+      action.accept(elements[offset + i], i);
+    }
+  }
+
+  /**
+   * Copies all elements into {@code dest} at {@code destPos} with a single {@link System#arraycopy}.
+   */
+  void copyInto(@NotNull final Object @NotNull [] dest, final int destPos)
+  {
+    System.arraycopy(elements, offset, dest, destPos, size);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = " -> new", pure = true)
+  public Object @NotNull [] toArray()
+  {
+    return Arrays.copyOfRange(elements, offset, offset + size, Object[].class);
+  }
+
+  @NotNull
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  @Contract(value = "_ -> new", pure = true)
+  public <T> T @NotNull [] toArray(@NotNull final T @NotNull [] a)
+  {
+    if (a.length < size) {
+      return (T[]) Arrays.copyOfRange(elements, offset, offset + size, a.getClass());
+    }
+    System.arraycopy(elements, offset, a, 0, size);
+    if (a.length > size) {
+      a[size] = null;
+    }
+    return a;
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_, _ -> new", pure = true)
+  public List<@NotNull E> subList(final int fromIndex, final int toIndex)
+  {
+    Objects.checkFromToIndex(fromIndex, toIndex, size);
+    return new ArrayBackedList<>(elements, offset + fromIndex, toIndex - fromIndex);
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public Spliterator<@NotNull E> spliterator()
+  {
+    return Spliterators.spliterator(elements, offset, offset + size,
+      Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+  }
+}
@@ -0,0 +1,187 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Read-only {@code Set} over a window of an array of distinct elements, which was handed off by its previous owner.
+ * <p>The array is never copied and never written to. The elements are iterated in array order. {@code contains}
+ * scans a window of up to {@value #LINEAR_SCAN_LIMIT} elements. Larger windows are searched with a {@link HashIndex},
+ * which the owner of the array builds once for all of its windows, so no hash table is built per window.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+final class ArrayBackedSet<E> extends AbstractSet<@NotNull E>
+{
+
+  /**
+   * Windows up to this size are scanned, because comparing a handful of elements is cheaper than a binary search.
+   */
+  static final int LINEAR_SCAN_LIMIT = 8;
+
+  @NotNull
+  private final E @NotNull [] elements;
+
+  private final int offset;
+
+  private final int size;
+
+  @Nullable
+  private final HashIndex index;
+
+  @Contract(pure = true)
+  ArrayBackedSet(@NotNull final E @NotNull [] elements, final int offset, final int size)
+  {
+    this(elements, offset, size, null);
+  }
+
+  /**
+   * @param index index of {@code elements}, or {@code null} to scan the window
+   */
+  @Contract(pure = true)
+  ArrayBackedSet(@NotNull final E @NotNull [] elements, final int offset, final int size, @Nullable final HashIndex index)
+  {
+    Objects.checkFromIndexSize(offset, size, elements.length);
+    this.elements = elements;
+    this.offset = offset;
+    this.size = size;
+    this.index = index;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return size;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean contains(@Nullable final Object o)
+  {
+    if (index != null && size > LINEAR_SCAN_LIMIT) {
+      return index.contains(elements, offset, size, o);
+    }
+    for (int i = offset, end = offset + size; i < end; i++) {
+      if (elements[i].equals(o)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+  {
+    for (int i = offset, end = offset + size; i < end; i++) {
+      action.accept(elements[i]);
+    }
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Iterator<@NotNull E> iterator()
+  {
+    return Spliterators.iterator(spliterator());
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Spliterator<@NotNull E> spliterator()
+  {
+    return Spliterators.spliterator(elements, offset, offset + size,
+      Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Object @NotNull [] toArray()
+  {
+    return Arrays.copyOfRange(elements, offset, offset + size, Object[].class);
+  }
+
+  /**
+   * Positions of the elements of every window larger than {@value #LINEAR_SCAN_LIMIT}, sorted by hash code within
+   * the window, and the hash codes in the same order. A lookup is a binary search for the hash code followed by
+   * {@code equals} on the elements with that hash code. Building it costs O(n log g) for n elements in windows of at
+   * most g elements.
+   */
+  @Unmodifiable
+  static final class HashIndex
+  {
+
+    private final int @NotNull [] hashes;
+
+    private final int @NotNull [] positions;
+
+    private HashIndex(final int @NotNull [] hashes, final int @NotNull [] positions)
+    {
+      this.hashes = hashes;
+      this.positions = positions;
+    }
+
+    /**
+     * Indexes the windows {@code elements[bounds[w]..bounds[w + 1])} which are larger than
+     * {@value #LINEAR_SCAN_LIMIT}.
+     */
+    @NotNull
+    @Contract(value = "_, _ -> new", pure = true)
+    static HashIndex of(@NotNull final Object @NotNull [] elements, final int @NotNull [] bounds)
+    {
+      final int[] hashes = new int[elements.length];
+      final int[] positions = new int[elements.length];
+      for (int w = 0; w + 1 < bounds.length; w++) {
+        final int from = bounds[w];
+        final int to = bounds[w + 1];
+        if (to - from <= LINEAR_SCAN_LIMIT) {
+          continue;
+        }
+        final long[] sorted = new long[to - from];
+        for (int i = from; i < to; i++) {
+          sorted[i - from] = (long) elements[i].hashCode() << 32 | i;
+        }
+        Arrays.sort(sorted);
+        for (int i = from; i < to; i++) {
+          hashes[i] = (int) (sorted[i - from] >> 32);
+          positions[i] = (int) sorted[i - from];
+        }
+      }
+      return new HashIndex(hashes, positions);
+    }
+
+    @Contract(pure = true)
+    boolean contains(@NotNull final Object @NotNull [] elements, final int offset, final int size,
+                     @Nullable final Object o)
+    {
+      if (o == null) {
+        return false;
+      }
+      final int hash = o.hashCode();
+      int i = Arrays.binarySearch(hashes, offset, offset + size, hash);
+      if (i < 0) {
+        return false;
+      }
+      while (i > offset && hashes[i - 1] == hash) {
+        i--;
+      }
+      for (final int end = offset + size; i < end && hashes[i] == hash; i++) {
+        if (elements[positions[i]].equals(o)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
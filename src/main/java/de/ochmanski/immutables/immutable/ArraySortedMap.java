@@ -0,0 +1,446 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only {@code SortedMap} over a window of two parallel arrays: the keys sorted by natural order, and their
+ * values at the same positions.
+ * <p>Compared to a {@link TreeMap}, it takes two references per entry instead of a tree node, and {@code get},
+ * {@link #floorIndex(Object)} and {@link #ceilingIndex(Object)} are binary searches over contiguous memory.
+ * Sub-map views share both arrays, and like the views of a {@link TreeMap}, they reject bounds which lie outside of
+ * their own range. Adding or removing an entry copies both arrays once.
+ * <p>The component types of the arrays are the key and value types of the map, so a key or value of another type is
+ * rejected with an {@link ArrayStoreException} when the map is created.
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Unmodifiable
+@UnmodifiableView
+final class ArraySortedMap<K extends @NotNull Comparable<? super @NotNull K>, V> extends AbstractMap<@NotNull K, @NotNull V>
+  implements SortedMap<@NotNull K, @NotNull V>
+{
+
+  @NotNull
+  private final K @NotNull [] keys;
+
+  @NotNull
+  private final V @NotNull [] values;
+
+  private final int from;
+
+  private final int to;
+
+  /**
+   * Inclusive lower bound of this view, or {@code null} if unbounded.
+   */
+  @Nullable
+  private final K low;
+
+  /**
+   * Exclusive upper bound of this view, or {@code null} if unbounded.
+   */
+  @Nullable
+  private final K high;
+
+  @Contract(pure = true)
+  private ArraySortedMap(
+    @NotNull final K @NotNull [] keys,
+    @NotNull final V @NotNull [] values,
+    final int from,
+    final int to,
+    @Nullable final K low,
+    @Nullable final K high)
+  {
+    this.keys = keys;
+    this.values = values;
+    this.from = from;
+    this.to = to;
+    this.low = low;
+    this.high = high;
+  }
+
+  @NotNull
+  @SuppressWarnings({ UNCHECKED, RAWTYPES })
+  private static final ArraySortedMap EMPTY = new ArraySortedMap(new Comparable[0], new Object[0], 0, 0, null, null);
+
+  //<editor-fold defaultstate="collapsed" desc="1. construction">
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <K extends @NotNull Comparable<? super @NotNull K>, V> ArraySortedMap<@NotNull K, @NotNull V> empty()
+  {
+    return (ArraySortedMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Copies the entries of the given map into two arrays sorted by key. If the map is a {@link SortedMap} in natural
+   * order, the entries are not sorted again. Keys which are equal according to {@link Comparable#compareTo(Object)}
+   * are kept once, with the value of the last of them.
+   *
+   * @throws NullPointerException if the map contains a {@code null} key or value
+   * @throws ArrayStoreException if a key or value is not an instance of the component type of its constructor
+   */
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <K extends @NotNull Comparable<? super @NotNull K>, V> ArraySortedMap<@NotNull K, @NotNull V> copyOf(
+    @NotNull final Map<? extends @NotNull K, ? extends @NotNull V> map,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value)
+  {
+    final Object[] entries = map.entrySet().toArray();
+    for (final Object entry : entries) {
+      Objects.requireNonNull(((Entry<K, V>) entry).getKey(), "Given map cannot contain null keys.");
+      Objects.requireNonNull(((Entry<K, V>) entry).getValue(), "Given map cannot contain null values.");
+    }
+    if (!(map instanceof SortedMap<?, ?> sorted && sorted.comparator() == null)) {
+      Arrays.sort(entries, (a, b) -> ((Entry<K, V>) a).getKey().compareTo(((Entry<K, V>) b).getKey()));
+    }
+    final K[] keys = key.apply(entries.length);
+    final V[] values = value.apply(entries.length);
+    int size = 0;
+    for (final Object o : entries) {
+      final Entry<K, V> entry = (Entry<K, V>) o;
+      if (size > 0 && keys[size - 1].compareTo(entry.getKey()) == 0) {
+        values[size - 1] = entry.getValue();
+        continue;
+      }
+      keys[size] = entry.getKey();
+      values[size++] = entry.getValue();
+    }
+    return size == entries.length
+      ? new ArraySortedMap<>(keys, values, 0, size, null, null)
+      : new ArraySortedMap<>(Arrays.copyOf(keys, size), Arrays.copyOf(values, size), 0, size, null, null);
+  }
+
+  /**
+   * Returns a map with the given entry added, or with the value of an existing key replaced. Both arrays are copied
+   * once. If the key is already mapped to an equal value, this map is returned.
+   */
+  @NotNull
+  @Contract(pure = true)
+  ArraySortedMap<@NotNull K, @NotNull V> with(@NotNull final K key, @NotNull final V value)
+  {
+    Objects.requireNonNull(value, "Given map cannot contain null values.");
+    final int i = Arrays.binarySearch(keys, from, to, Objects.requireNonNull(key, "Given map cannot contain null keys."));
+    final int size = size();
+    if (i >= 0) {
+      if (values[i].equals(value)) {
+        return this;
+      }
+      final K[] k = Arrays.copyOfRange(keys, from, to);
+      final V[] v = Arrays.copyOfRange(values, from, to);
+      v[i - from] = value;
+      return new ArraySortedMap<>(k, v, 0, size, null, null);
+    }
+    final int insertion = -i - 1 - from;
+    final K[] k = newArray(keys, size + 1);
+    final V[] v = newArray(values, size + 1);
+    System.arraycopy(keys, from, k, 0, insertion);
+    System.arraycopy(values, from, v, 0, insertion);
+    k[insertion] = key;
+    v[insertion] = value;
+    System.arraycopy(keys, from + insertion, k, insertion + 1, size - insertion);
+    System.arraycopy(values, from + insertion, v, insertion + 1, size - insertion);
+    return new ArraySortedMap<>(k, v, 0, size + 1, null, null);
+  }
+
+  /**
+   * Returns a map without the given key. Both arrays are copied once. If the key is absent, this map is returned.
+   */
+  @NotNull
+  @Contract(pure = true)
+  ArraySortedMap<@NotNull K, @NotNull V> without(@NotNull final K key)
+  {
+    final int i = Arrays.binarySearch(keys, from, to, Objects.requireNonNull(key));
+    if (i < 0) {
+      return this;
+    }
+    final int size = size() - 1;
+    final int removed = i - from;
+    final K[] k = newArray(keys, size);
+    final V[] v = newArray(values, size);
+    System.arraycopy(keys, from, k, 0, removed);
+    System.arraycopy(values, from, v, 0, removed);
+    System.arraycopy(keys, i + 1, k, removed, size - removed);
+    System.arraycopy(values, i + 1, v, removed, size - removed);
+    return new ArraySortedMap<>(k, v, 0, size, null, null);
+  }
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(value = "_, _ -> new", pure = true)
+  private static <T> T @NotNull [] newArray(@NotNull final T @NotNull [] template, final int length)
+  {
+    return (T[]) Array.newInstance(template.getClass().getComponentType(), length);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. positional access">
+
+  @NotNull
+  @Contract(pure = true)
+  K keyAt(final int index)
+  {
+    return keys[from + Objects.checkIndex(index, size())];
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  V valueAt(final int index)
+  {
+    return values[from + Objects.checkIndex(index, size())];
+  }
+
+  /**
+   * Returns the position of the greatest key less than or equal to the given key, or {@code -1}.
+   */
+  @Contract(pure = true)
+  int floorIndex(@NotNull final K key)
+  {
+    final int i = Arrays.binarySearch(keys, from, to, Objects.requireNonNull(key));
+    return (i >= 0 ? i : -i - 2) - from;
+  }
+
+  /**
+   * Returns the position of the least key greater than or equal to the given key, or {@link #size()}.
+   */
+  @Contract(pure = true)
+  int ceilingIndex(@NotNull final K key)
+  {
+    return lowerBound(key) - from;
+  }
+
+  /**
+   * Returns a copy of the keys of this window, in ascending order.
+   */
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  K @NotNull [] keysToArray()
+  {
+    return Arrays.copyOfRange(keys, from, to);
+  }
+
+  /**
+   * Returns a copy of the values of this window, in the order of their keys.
+   */
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  V @NotNull [] valuesToArray()
+  {
+    return Arrays.copyOfRange(values, from, to);
+  }
+
+  /**
+   * Returns {@code true} if both maps are windows over the same arrays, so they differ only at their ends and map
+   * every common key to the same value.
+   */
+  @Contract(pure = true)
+  boolean sharesEntriesWith(@NotNull final ArraySortedMap<?, ?> other)
+  {
+    return keys == other.keys && values == other.values;
+  }
+
+  /**
+   * Performs the given action for each entry of this window which is outside the window of {@code other}, in
+   * ascending order of keys. Both maps must share their arrays, so this costs time proportional to the difference.
+   */
+  @Contract(pure = true)
+  void forEachOutside(@NotNull final ArraySortedMap<@NotNull K, @NotNull V> other,
+                      @NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    for (int i = from, end = Math.min(to, other.from); i < end; i++) {
+      action.accept(keys[i], values[i]);
+    }
+    for (int i = Math.max(from, other.to); i < to; i++) {
+      action.accept(keys[i], values[i]);
+    }
+  }
+  //</editor-fold>
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return to - from;
+  }
+
+  @Nullable
+  @Override
+  @Contract(pure = true)
+  public V get(@Nullable final Object key)
+  {
+    if (!keys.getClass().getComponentType().isInstance(key)) {
+      return null;
+    }
+    @SuppressWarnings(UNCHECKED)
+    final int i = Arrays.binarySearch(keys, from, to, (K) key);
+    return i >= 0 ? values[i] : null;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean containsKey(@Nullable final Object key)
+  {
+    return get(key) != null;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    for (int i = from; i < to; i++) {
+      action.accept(keys[i], values[i]);
+    }
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Set<@NotNull Entry<@NotNull K, @NotNull V>> entrySet()
+  {
+    return new AbstractSet<>()
+    {
+      @Override
+      public int size()
+      {
+        return ArraySortedMap.this.size();
+      }
+
+      @NotNull
+      @Override
+      public Iterator<@NotNull Entry<@NotNull K, @NotNull V>> iterator()
+      {
+        return new Iterator<>()
+        {
+          private int cursor = from;
+
+          @Override
+          public boolean hasNext()
+          {
+            return cursor < to;
+          }
+
+          @NotNull
+          @Override
+          public Entry<@NotNull K, @NotNull V> next()
+          {
+            if (cursor >= to) {
+              throw new NoSuchElementException();
+            }
+            final int index = cursor++;
+            return Map.entry(keys[index], values[index]);
+          }
+        };
+      }
+    };
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="3. implementation of SortedMap interface">
+
+  /**
+   * Returns {@code null}, because the keys are ordered by natural order.
+   */
+  @Nullable
+  @Override
+  @Contract(value = "-> null", pure = true)
+  public Comparator<? super @NotNull K> comparator()
+  {
+    return null;
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public K firstKey()
+  {
+    if (from == to) {
+      throw new NoSuchElementException();
+    }
+    return keys[from];
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public K lastKey()
+  {
+    if (from == to) {
+      throw new NoSuchElementException();
+    }
+    return keys[to - 1];
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_, _ -> new", pure = true)
+  public ArraySortedMap<@NotNull K, @NotNull V> subMap(@NotNull final K fromKey, @NotNull final K toKey)
+  {
+    if (fromKey.compareTo(toKey) > 0) {
+      throw new IllegalArgumentException("fromKey " + fromKey + " is greater than toKey " + toKey + ".");
+    }
+    inRange(fromKey, false);
+    inRange(toKey, true);
+    return new ArraySortedMap<>(keys, values, lowerBound(fromKey), lowerBound(toKey), fromKey, toKey);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_ -> new", pure = true)
+  public ArraySortedMap<@NotNull K, @NotNull V> headMap(@NotNull final K toKey)
+  {
+    inRange(toKey, true);
+    return new ArraySortedMap<>(keys, values, from, lowerBound(toKey), low, toKey);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_ -> new", pure = true)
+  public ArraySortedMap<@NotNull K, @NotNull V> tailMap(@NotNull final K fromKey)
+  {
+    inRange(fromKey, false);
+    return new ArraySortedMap<>(keys, values, lowerBound(fromKey), to, fromKey, high);
+  }
+
+  /**
+   * Verifies that the given bound lies within the range of this view. An upper bound may equal the exclusive upper bound
+   * of this view, a lower bound may not.
+   *
+   * @throws IllegalArgumentException if the bound lies outside of the range of this view
+   */
+  @Contract(pure = true)
+  private void inRange(@NotNull final K key, final boolean upper)
+  {
+    Objects.requireNonNull(key);
+    final boolean tooLow = low != null && key.compareTo(low) < 0;
+    final boolean tooHigh = high != null && (upper ? key.compareTo(high) > 0 : key.compareTo(high) >= 0);
+    if (tooLow || tooHigh) {
+      throw new IllegalArgumentException("Given bound " + key + " is outside of the range of this view.");
+    }
+  }
+
+  /**
+   * Returns the index into {@link #keys} of the first key which is not less than {@code key}.
+   */
+  @Contract(pure = true)
+  private int lowerBound(@NotNull final K key)
+  {
+    final int i = Arrays.binarySearch(keys, from, to, Objects.requireNonNull(key));
+    return i >= 0 ? i : -i - 1;
+  }
+  //</editor-fold>
+}
@@ -0,0 +1,321 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only {@code SortedSet} over a window of a sorted, duplicate-free array, ordered by natural order.
+ * <p>Compared to a {@link TreeSet}, it takes a single reference per element instead of a tree node, iterates over
+ * contiguous memory, and supports positional access: {@link #get(int)} costs O(1) and {@link #indexOf(Object)} is
+ * a binary search. Sub-set views share the array, and like the views of a {@link TreeSet}, they reject bounds which lie
+ * outside of their own range.
+ * <p>The component type of the array is the element type of the set, so an element of another type is rejected with
+ * an {@link ArrayStoreException} when the set is created.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+final class ArraySortedSet<E extends @NotNull Comparable<? super @NotNull E>> extends AbstractSet<@NotNull E>
+  implements SortedSet<@NotNull E>
+{
+
+  @NotNull
+  private final E @NotNull [] elements;
+
+  private final int from;
+
+  private final int to;
+
+  /**
+   * Inclusive lower bound of this view, or {@code null} if unbounded.
+   */
+  @Nullable
+  private final E low;
+
+  /**
+   * Exclusive upper bound of this view, or {@code null} if unbounded.
+   */
+  @Nullable
+  private final E high;
+
+  @Contract(pure = true)
+  private ArraySortedSet(
+    @NotNull final E @NotNull [] elements,
+    final int from,
+    final int to,
+    @Nullable final E low,
+    @Nullable final E high)
+  {
+    this.elements = elements;
+    this.from = from;
+    this.to = to;
+    this.low = low;
+    this.high = high;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. construction">
+
+  /**
+   * Copies, sorts and deduplicates the given elements. Elements which are equal according to
+   * {@link Comparable#compareTo(Object)} are kept once, like in a {@link TreeSet}.
+   *
+   * @throws NullPointerException if the collection contains {@code null}
+   * @throws ArrayStoreException if an element is not an instance of the component type of {@code constructor}
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  static <S extends @NotNull Comparable<? super @NotNull S>> ArraySortedSet<@NotNull S> copyOf(
+    @NotNull final Collection<? extends @NotNull S> collection,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    final S[] sorted = collection.toArray(constructor.apply(collection.size()));
+    for (final S element : sorted) {
+      Objects.requireNonNull(element, "Given set cannot contain null elements.");
+    }
+    Arrays.sort(sorted);
+    final int size = distinct(sorted, sorted.length);
+    return new ArraySortedSet<>(size == sorted.length ? sorted : Arrays.copyOf(sorted, size), 0, size, null, null);
+  }
+
+  /**
+   * Returns the union of a sorted set and further elements, in O(n + k log k) for k additions, without sorting the
+   * elements of {@code base} again.
+   */
+  @NotNull
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <S extends @NotNull Comparable<? super @NotNull S>> ArraySortedSet<@NotNull S> union(
+    @NotNull final SortedSet<@NotNull S> base,
+    @NotNull final Collection<? extends @NotNull S> additions,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    final ArraySortedSet<@NotNull S> extra = copyOf(additions, constructor);
+    final S[] merged = constructor.apply(base.size() + extra.size());
+    int size = 0;
+    int j = extra.from;
+    for (final S e : base) {
+      while (j < extra.to && extra.elements[j].compareTo(e) < 0) {
+        merged[size++] = extra.elements[j++];
+      }
+      if (j < extra.to && extra.elements[j].compareTo(e) == 0) {
+        j++;
+      }
+      merged[size++] = e;
+    }
+    while (j < extra.to) {
+      merged[size++] = extra.elements[j++];
+    }
+    return new ArraySortedSet<>(size == merged.length ? merged : Arrays.copyOf(merged, size), 0, size, null, null);
+  }
+
+  /**
+   * Removes adjacent duplicates from the sorted prefix {@code a[0..length)} in place.
+   *
+   * @return the number of distinct elements
+   */
+  @Contract(mutates = "param1")
+  private static <S extends @NotNull Comparable<? super @NotNull S>> int distinct(@NotNull final S @NotNull [] a, final int length)
+  {
+    if (length == 0) {
+      return 0;
+    }
+    int size = 1;
+    for (int i = 1; i < length; i++) {
+      if (a[i].compareTo(a[size - 1]) != 0) {
+        a[size++] = a[i];
+      }
+    }
+    return size;
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. positional access">
+
+  @NotNull
+  @Contract(pure = true)
+  E get(final int index)
+  {
+    return elements[from + Objects.checkIndex(index, size())];
+  }
+
+  /**
+   * Returns the position of the given element in ascending order, or {@code -1}.
+   */
+  @Contract(pure = true)
+  int indexOf(@Nullable final Object o)
+  {
+    if (!elements.getClass().getComponentType().isInstance(o)) {
+      return -1;
+    }
+    @SuppressWarnings(UNCHECKED)
+    final int i = Arrays.binarySearch(elements, from, to, (E) o);
+    return i >= 0 ? i - from : -1;
+  }
+  //</editor-fold>
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return to - from;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean contains(@Nullable final Object o)
+  {
+    return indexOf(o) >= 0;
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Iterator<@NotNull E> iterator()
+  {
+    return Spliterators.iterator(spliterator());
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Spliterator<@NotNull E> spliterator()
+  {
+    return Spliterators.spliterator(elements, from, to,
+      Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+  {
+    for (int i = from; i < to; i++) {
+      action.accept(elements[i]);
+    }
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Object @NotNull [] toArray()
+  {
+    return Arrays.copyOfRange(elements, from, to, Object[].class);
+  }
+
+  @NotNull
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  @Contract(value = "_ -> new", pure = true)
+  public <T> T @NotNull [] toArray(@NotNull final T @NotNull [] a)
+  {
+    final int size = size();
+    final T[] target = a.length >= size ? a : (T[]) Arrays.copyOf(a, size, a.getClass());
+    System.arraycopy(elements, from, target, 0, size);
+    if (target.length > size) {
+      target[size] = null;
+    }
+    return target;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="3. implementation of SortedSet interface">
+
+  /**
+   * Returns {@code null}, because the elements are ordered by natural order.
+   */
+  @Nullable
+  @Override
+  @Contract(value = "-> null", pure = true)
+  public Comparator<? super @NotNull E> comparator()
+  {
+    return null;
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public E first()
+  {
+    if (from == to) {
+      throw new NoSuchElementException();
+    }
+    return elements[from];
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public E last()
+  {
+    if (from == to) {
+      throw new NoSuchElementException();
+    }
+    return elements[to - 1];
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_, _ -> new", pure = true)
+  public SortedSet<@NotNull E> subSet(@NotNull final E fromElement, @NotNull final E toElement)
+  {
+    if (fromElement.compareTo(toElement) > 0) {
+      throw new IllegalArgumentException("fromElement " + fromElement + " is greater than toElement " + toElement + ".");
+    }
+    inRange(fromElement, false);
+    inRange(toElement, true);
+    return new ArraySortedSet<>(elements, lowerBound(fromElement), lowerBound(toElement), fromElement, toElement);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_ -> new", pure = true)
+  public SortedSet<@NotNull E> headSet(@NotNull final E toElement)
+  {
+    inRange(toElement, true);
+    return new ArraySortedSet<>(elements, from, lowerBound(toElement), low, toElement);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_ -> new", pure = true)
+  public SortedSet<@NotNull E> tailSet(@NotNull final E fromElement)
+  {
+    inRange(fromElement, false);
+    return new ArraySortedSet<>(elements, lowerBound(fromElement), to, fromElement, high);
+  }
+
+  /**
+   * Verifies that the given bound lies within the range of this view. An upper bound may equal the exclusive upper bound
+   * of this view, a lower bound may not.
+   *
+   * @throws IllegalArgumentException if the bound lies outside of the range of this view
+   */
+  @Contract(pure = true)
+  private void inRange(@NotNull final E e, final boolean upper)
+  {
+    Objects.requireNonNull(e);
+    final boolean tooLow = low != null && e.compareTo(low) < 0;
+    final boolean tooHigh = high != null && (upper ? e.compareTo(high) > 0 : e.compareTo(high) >= 0);
+    if (tooLow || tooHigh) {
+      throw new IllegalArgumentException("Given bound " + e + " is outside of the range of this view.");
+    }
+  }
+
+  /**
+   * Returns the index into {@link #elements} of the first element which is not less than {@code e}.
+   */
+  @Contract(pure = true)
+  private int lowerBound(@NotNull final E e)
+  {
+    final int i = Arrays.binarySearch(elements, from, to, Objects.requireNonNull(e));
+    return i >= 0 ? i : -i - 1;
+  }
+  //</editor-fold>
+}
@@ -0,0 +1,165 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.collection.ComponentTypes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe holder of an {@link ImmutableMap} snapshot, which is read by many threads and updated by a few.
+ * <p>{@link #get()} is a single volatile read and never waits. Writers do not need a compare-and-set loop: their
+ * updates are queued and applied in batches, so concurrent puts copy the snapshot once per batch instead of once
+ * per attempt. Every update method returns the published snapshot which contains the update.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final AtomicImmutableMap<String, Integer> prices = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+ *   prices.put("apple", 3);
+ *   final ImmutableMap<String, Integer> snapshot = prices.get();
+ *   }
+ * </pre>
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@ParametersAreNonnullByDefault
+public final class AtomicImmutableMap<K extends @NotNull Comparable<? super @NotNull K>, V>
+{
+
+  @NotNull
+  private final FlatCombiner<@NotNull ImmutableMap<@NotNull K, @NotNull V>, @NotNull MapBuilder<@NotNull K, @NotNull V>> combiner;
+
+  @Contract(pure = true)
+  private AtomicImmutableMap(@NotNull final ImmutableMap<@NotNull K, @NotNull V> initial)
+  {
+    this.combiner = new FlatCombiner<>(initial, AtomicImmutableMap::open, MapBuilder::build);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. static factory methods">
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> AtomicImmutableMap<@NotNull K, @NotNull V> noneOf(
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value)
+  {
+    return new AtomicImmutableMap<>(ImmutableMap.<@NotNull K, @NotNull V>noneOf(key, value));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> AtomicImmutableMap<@NotNull K, @NotNull V> of(
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> initial)
+  {
+    return new AtomicImmutableMap<>(Objects.requireNonNull(initial, "Given map cannot be null."));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  private static <K extends @NotNull Comparable<? super @NotNull K>, V> MapBuilder<@NotNull K, @NotNull V> open(
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> map)
+  {
+    return ImmutableMap.<@NotNull K, @NotNull V>builder(map.getKey(), map.getValue(), map.size() + 1).putAll(map);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. reads">
+
+  /**
+   * Returns the current snapshot without waiting.
+   *
+   * @return the latest published map
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableMap<@NotNull K, @NotNull V> get()
+  {
+    return combiner.get();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. updates">
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableMap<@NotNull K, @NotNull V> put(@NotNull final K k, @NotNull final V v)
+  {
+    Objects.requireNonNull(k, "Given key cannot be null.");
+    Objects.requireNonNull(v, "Given value cannot be null.");
+    return combiner.mutate(builder -> builder.put(k, v));
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableMap<@NotNull K, @NotNull V> putAll(@NotNull final Map<@NotNull K, @NotNull V> map)
+  {
+    final ImmutableMap<@NotNull K, @NotNull V> current = get();
+    final ImmutableMap<@NotNull K, @NotNull V> copy = ImmutableMap.<@NotNull K, @NotNull V>of(map,
+      ComponentTypes.typedFor(current.getKey(), map.keySet()),
+      ComponentTypes.typedFor(current.getValue(), map.values()));
+    return combiner.mutate(builder -> builder.putAll(copy));
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableMap<@NotNull K, @NotNull V> remove(@NotNull final K k)
+  {
+    Objects.requireNonNull(k, "Given key cannot be null.");
+    return combiner.mutate(builder -> builder.remove(k));
+  }
+
+  /**
+   * Replaces the snapshot with the result of the given function. The function is called by the thread which
+   * applies the batch, with the snapshot which contains all updates queued before this one. It must be free of side
+   * effects, because it is called again if the snapshot is replaced through
+   * {@link #compareAndSet(ImmutableMap, ImmutableMap)} while the batch is applied.
+   *
+   * @param function computes the next snapshot from the current one
+   * @return the published snapshot which contains the update
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableMap<@NotNull K, @NotNull V> update(@NotNull final UnaryOperator<@NotNull ImmutableMap<@NotNull K, @NotNull V>> function)
+  {
+    Objects.requireNonNull(function, "Given function cannot be null.");
+    return combiner.update(map -> Objects.requireNonNull(function.apply(map), "Given function cannot return null."));
+  }
+
+  /**
+   * Publishes {@code next} if the current snapshot is {@code expected}, without waiting.
+   *
+   * @param expected the snapshot which is expected to be current
+   * @param next the snapshot to publish
+   * @return {@code true} if {@code next} was published
+   */
+  @Contract(mutates = "this")
+  public boolean compareAndSet(@NotNull final ImmutableMap<@NotNull K, @NotNull V> expected,
+                               @NotNull final ImmutableMap<@NotNull K, @NotNull V> next)
+  {
+    return combiner.compareAndSet(expected, Objects.requireNonNull(next, "Given map cannot be null."));
+  }
+  //</editor-fold>
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public String toString()
+  {
+    return get().toString();
+  }
+}
@@ -0,0 +1,156 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe holder of an {@link ImmutableSet} snapshot, which is read by many threads and updated by a few.
+ * <p>{@link #get()} is a single volatile read and never waits. Concurrent additions and removals are applied in
+ * batches, so they copy the snapshot once per batch instead of once per compare-and-set attempt. Every update
+ * method returns the published snapshot which contains the update.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final AtomicImmutableSet<String> sessions = AtomicImmutableSet.noneOf(String[]::new);
+ *   sessions.add("s1");
+ *   final boolean active = sessions.get().contains("s1");
+ *   }
+ * </pre>
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@ParametersAreNonnullByDefault
+public final class AtomicImmutableSet<E>
+{
+
+  @NotNull
+  private final FlatCombiner<@NotNull ImmutableSet<@NotNull E>, @NotNull SetBuilder<@NotNull E>> combiner;
+
+  @Contract(pure = true)
+  private AtomicImmutableSet(@NotNull final ImmutableSet<@NotNull E> initial)
+  {
+    this.combiner = new FlatCombiner<>(initial, AtomicImmutableSet::open, SetBuilder::build);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. static factory methods">
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static <E> AtomicImmutableSet<@NotNull E> noneOf(@NotNull final IntFunction<@NotNull E @NotNull []> key)
+  {
+    return new AtomicImmutableSet<>(ImmutableSet.<@NotNull E>noneOf(key));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static <E> AtomicImmutableSet<@NotNull E> of(@NotNull final ImmutableSet<@NotNull E> initial)
+  {
+    return new AtomicImmutableSet<>(Objects.requireNonNull(initial, "Given set cannot be null."));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  private static <E> SetBuilder<@NotNull E> open(@NotNull final ImmutableSet<@NotNull E> set)
+  {
+    return ImmutableSet.<@NotNull E>builder(set.getKey(), set.size() + 1).addAll(set);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. reads">
+
+  /**
+   * Returns the current snapshot without waiting.
+   *
+   * @return the latest published set
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableSet<@NotNull E> get()
+  {
+    return combiner.get();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. updates">
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableSet<@NotNull E> add(@NotNull final E e)
+  {
+    Objects.requireNonNull(e, "Given element cannot be null.");
+    return combiner.mutate(builder -> builder.add(e));
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableSet<@NotNull E> addAll(@NotNull final Collection<? extends @NotNull E> collection)
+  {
+    final ImmutableSet<@NotNull E> copy = ImmutableSet.<@NotNull E>builder(get().getKey(), collection.size())
+      .addAll(collection)
+      .build();
+    return combiner.mutate(builder -> builder.addAll(copy));
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableSet<@NotNull E> remove(@NotNull final E e)
+  {
+    Objects.requireNonNull(e, "Given element cannot be null.");
+    return combiner.mutate(builder -> builder.remove(e));
+  }
+
+  /**
+   * Replaces the snapshot with the result of the given function. The function is called by the thread which
+   * applies the batch, with the snapshot which contains all updates queued before this one. It must be free of side
+   * effects, because it is called again if the snapshot is replaced through
+   * {@link #compareAndSet(ImmutableSet, ImmutableSet)} while the batch is applied.
+   *
+   * @param function computes the next snapshot from the current one
+   * @return the published snapshot which contains the update
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(mutates = "this")
+  public ImmutableSet<@NotNull E> update(@NotNull final UnaryOperator<@NotNull ImmutableSet<@NotNull E>> function)
+  {
+    Objects.requireNonNull(function, "Given function cannot be null.");
+    return combiner.update(set -> Objects.requireNonNull(function.apply(set), "Given function cannot return null."));
+  }
+
+  /**
+   * Publishes {@code next} if the current snapshot is {@code expected}, without waiting.
+   *
+   * @param expected the snapshot which is expected to be current
+   * @param next the snapshot to publish
+   * @return {@code true} if {@code next} was published
+   */
+  @Contract(mutates = "this")
+  public boolean compareAndSet(@NotNull final ImmutableSet<@NotNull E> expected, @NotNull final ImmutableSet<@NotNull E> next)
+  {
+    return combiner.compareAndSet(expected, Objects.requireNonNull(next, "Given set cannot be null."));
+  }
+  //</editor-fold>
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public String toString()
+  {
+    return get().toString();
+  }
+}
@@ -0,0 +1,356 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only {@code List} of at most {@link #MAX_SIZE} elements, which are held in fields instead of an array.
+ * <p>Most lists hold only a few elements. Storing them in fields saves the array and its header, and makes
+ * {@code get}, {@code indexOf} and {@code contains} a fixed sequence of branches. The elements are immutable,
+ * so the storage does not need a checked or unmodifiable wrapper either.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+abstract sealed class CompactList<E> extends AbstractList<@NotNull E> implements RandomAccess
+{
+
+  /**
+   * Largest number of elements which is stored in fields.
+   */
+  static final int MAX_SIZE = 4;
+
+  @NotNull
+  private static final CompactList<?> EMPTY = new List0<>();
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <E> CompactList<@NotNull E> empty()
+  {
+    return (CompactList<E>) EMPTY;
+  }
+
+  /**
+   * Copies the given collection into a compact list, or into a {@link List#copyOf(Collection)} if it is too large.
+   *
+   * @throws NullPointerException if the collection contains a {@code null} element
+   */
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <E> List<@NotNull E> copyOf(@NotNull final Collection<? extends @NotNull E> collection)
+  {
+    if (collection instanceof CompactList) {
+      return (List<E>) collection;
+    }
+    if (collection.size() > MAX_SIZE) {
+      return List.copyOf(collection);
+    }
+    final Object[] elements = collection.toArray();
+    return elements.length > MAX_SIZE
+      ? (List<E>) List.of(elements)
+      : CompactList.<@NotNull E>of(elements, elements.length);
+  }
+
+  /**
+   * Copies the first {@code size} elements of the given array into a compact list.
+   *
+   * @throws NullPointerException if one of the elements is {@code null}
+   */
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <E> CompactList<@NotNull E> of(@NotNull final Object @NotNull [] elements, final int size)
+  {
+    return switch (Objects.checkIndex(size, MAX_SIZE + 1)) {
+      case 0 -> empty();
+      case 1 -> new List1<>((E) element(elements, 0));
+      case 2 -> new List2<>((E) element(elements, 0), (E) element(elements, 1));
+      case 3 -> new List3<>((E) element(elements, 0), (E) element(elements, 1), (E) element(elements, 2));
+      default -> new List4<>((E) element(elements, 0), (E) element(elements, 1), (E) element(elements, 2), (E) element(elements, 3));
+    };
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private static Object element(@NotNull final Object @NotNull [] elements, final int index)
+  {
+    return Objects.requireNonNull(elements[index], "Given list cannot contain null elements.");
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean contains(@NotNull final Object o)
+  {
+    return indexOf(o) >= 0;
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "_, _ -> new", pure = true)
+  public List<@NotNull E> subList(final int fromIndex, final int toIndex)
+  {
+    Objects.checkFromToIndex(fromIndex, toIndex, size());
+    final Object[] elements = toArray();
+    return CompactList.<@NotNull E>of(Arrays.copyOfRange(elements, fromIndex, toIndex), toIndex - fromIndex);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="specializations">
+  static final class List0<E> extends CompactList<@NotNull E>
+  {
+
+    @NotNull
+    @Override
+    public E get(final int index)
+    {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 0");
+    }
+
+    @Override
+    public int size()
+    {
+      return 0;
+    }
+
+    @Override
+    public int indexOf(@NotNull final Object o)
+    {
+      Objects.requireNonNull(o);
+      return -1;
+    }
+
+    @Override
+    public int lastIndexOf(@NotNull final Object o)
+    {
+      return indexOf(o);
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      Objects.requireNonNull(action);
+    }
+  }
+
+  static final class List1<E> extends CompactList<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    List1(@NotNull final E e1)
+    {
+      this.e1 = e1;
+    }
+
+    @NotNull
+    @Override
+    public E get(final int index)
+    {
+      Objects.checkIndex(index, 1);
+      return e1;
+    }
+
+    @Override
+    public int size()
+    {
+      return 1;
+    }
+
+    @Override
+    public int indexOf(@NotNull final Object o)
+    {
+      return o.equals(e1) ? 0 : -1;
+    }
+
+    @Override
+    public int lastIndexOf(@NotNull final Object o)
+    {
+      return indexOf(o);
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+    }
+  }
+
+  static final class List2<E> extends CompactList<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    @NotNull
+    private final E e2;
+
+    List2(@NotNull final E e1, @NotNull final E e2)
+    {
+      this.e1 = e1;
+      this.e2 = e2;
+    }
+
+    @NotNull
+    @Override
+    public E get(final int index)
+    {
+      return Objects.checkIndex(index, 2) == 0 ? e1 : e2;
+    }
+
+    @Override
+    public int size()
+    {
+      return 2;
+    }
+
+    @Override
+    public int indexOf(@NotNull final Object o)
+    {
+      return o.equals(e1) ? 0 : o.equals(e2) ? 1 : -1;
+    }
+
+    @Override
+    public int lastIndexOf(@NotNull final Object o)
+    {
+      return o.equals(e2) ? 1 : o.equals(e1) ? 0 : -1;
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+      action.accept(e2);
+    }
+  }
+
+  static final class List3<E> extends CompactList<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    @NotNull
+    private final E e2;
+
+    @NotNull
+    private final E e3;
+
+    List3(@NotNull final E e1, @NotNull final E e2, @NotNull final E e3)
+    {
+      this.e1 = e1;
+      this.e2 = e2;
+      this.e3 = e3;
+    }
+
+    @NotNull
+    @Override
+    public E get(final int index)
+    {
+      return switch (Objects.checkIndex(index, 3)) {
+        case 0 -> e1;
+        case 1 -> e2;
+        default -> e3;
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 3;
+    }
+
+    @Override
+    public int indexOf(@NotNull final Object o)
+    {
+      return o.equals(e1) ? 0 : o.equals(e2) ? 1 : o.equals(e3) ? 2 : -1;
+    }
+
+    @Override
+    public int lastIndexOf(@NotNull final Object o)
+    {
+      return o.equals(e3) ? 2 : o.equals(e2) ? 1 : o.equals(e1) ? 0 : -1;
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+      action.accept(e2);
+      action.accept(e3);
+    }
+  }
+
+  static final class List4<E> extends CompactList<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    @NotNull
+    private final E e2;
+
+    @NotNull
+    private final E e3;
+
+    @NotNull
+    private final E e4;
+
+    List4(@NotNull final E e1, @NotNull final E e2, @NotNull final E e3, @NotNull final E e4)
+    {
+      this.e1 = e1;
+      this.e2 = e2;
+      this.e3 = e3;
+      this.e4 = e4;
+    }
+
+    @NotNull
+    @Override
+    public E get(final int index)
+    {
+      return switch (Objects.checkIndex(index, 4)) {
+        case 0 -> e1;
+        case 1 -> e2;
+        case 2 -> e3;
+        default -> e4;
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 4;
+    }
+
+    @Override
+    public int indexOf(@NotNull final Object o)
+    {
+      return o.equals(e1) ? 0 : o.equals(e2) ? 1 : o.equals(e3) ? 2 : o.equals(e4) ? 3 : -1;
+    }
+
+    @Override
+    public int lastIndexOf(@NotNull final Object o)
+    {
+      return o.equals(e4) ? 3 : o.equals(e3) ? 2 : o.equals(e2) ? 1 : o.equals(e1) ? 0 : -1;
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+      action.accept(e2);
+      action.accept(e3);
+      action.accept(e4);
+    }
+  }
+  //</editor-fold>
+}
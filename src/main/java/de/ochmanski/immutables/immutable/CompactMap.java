@@ -0,0 +1,428 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only {@code Map} of at most {@link #MAX_SIZE} entries, whose keys and values are held in fields instead of
+ * a hash table.
+ * <p>{@code get} and {@code containsKey} compare the given key with each stored key in turn, which for a handful of
+ * entries is cheaper than hashing and probing a table. The entries are iterated in insertion order.
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Unmodifiable
+@UnmodifiableView
+abstract sealed class CompactMap<K, V> extends AbstractMap<@NotNull K, @NotNull V>
+{
+
+  /**
+   * Largest number of entries which is stored in fields.
+   */
+  static final int MAX_SIZE = 4;
+
+  @NotNull
+  private static final CompactMap<?, ?> EMPTY = new Map0<>();
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <K, V> CompactMap<@NotNull K, @NotNull V> empty()
+  {
+    return (CompactMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Copies the given map into a compact map, or into a {@link Map#copyOf(Map)} if it is too large.
+   *
+   * @throws NullPointerException if the map contains a {@code null} key or value
+   */
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <K, V> Map<@NotNull K, @NotNull V> copyOf(@NotNull final Map<? extends @NotNull K, ? extends @NotNull V> map)
+  {
+    if (map instanceof CompactMap) {
+      return (Map<K, V>) map;
+    }
+    if (map.size() > MAX_SIZE) {
+      return Map.copyOf(map);
+    }
+    final Object[] entries = map.entrySet().toArray();
+    if (entries.length > MAX_SIZE) {
+      return Map.copyOf(map);
+    }
+    final Object[] keys = new Object[entries.length];
+    final Object[] values = new Object[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      final Entry<K, V> entry = (Entry<K, V>) entries[i];
+      keys[i] = Objects.requireNonNull(entry.getKey(), "Given map cannot contain null keys.");
+      values[i] = Objects.requireNonNull(entry.getValue(), "Given map cannot contain null values.");
+    }
+    return switch (entries.length) {
+      case 0 -> empty();
+      case 1 -> new Map1<>((K) keys[0], (V) values[0]);
+      case 2 -> new Map2<>((K) keys[0], (V) values[0], (K) keys[1], (V) values[1]);
+      case 3 -> new Map3<>((K) keys[0], (V) values[0], (K) keys[1], (V) values[1], (K) keys[2], (V) values[2]);
+      default -> new Map4<>((K) keys[0], (V) values[0], (K) keys[1], (V) values[1],
+        (K) keys[2], (V) values[2], (K) keys[3], (V) values[3]);
+    };
+  }
+
+  /**
+   * Returns the key at the given position in insertion order.
+   */
+  @NotNull
+  @Contract(pure = true)
+  abstract K keyAt(int index);
+
+  /**
+   * Returns the value at the given position in insertion order.
+   */
+  @NotNull
+  @Contract(pure = true)
+  abstract V valueAt(int index);
+
+  @Override
+  @Contract(pure = true)
+  public boolean containsKey(@NotNull final Object key)
+  {
+    return get(key) != null;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    for (int i = 0, size = size(); i < size; i++) {
+      action.accept(keyAt(i), valueAt(i));
+    }
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = " -> new", pure = true)
+  public Set<@NotNull Entry<@NotNull K, @NotNull V>> entrySet()
+  {
+    return new AbstractSet<>()
+    {
+      @Override
+      public int size()
+      {
+        return CompactMap.this.size();
+      }
+
+      @NotNull
+      @Override
+      public Iterator<@NotNull Entry<@NotNull K, @NotNull V>> iterator()
+      {
+        return new Iterator<>()
+        {
+          private int cursor;
+
+          @Override
+          public boolean hasNext()
+          {
+            return cursor < size();
+          }
+
+          @NotNull
+          @Override
+          public Entry<@NotNull K, @NotNull V> next()
+          {
+            if (cursor >= size()) {
+              throw new NoSuchElementException();
+            }
+            final int index = cursor++;
+            return Map.entry(keyAt(index), valueAt(index));
+          }
+        };
+      }
+    };
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="specializations">
+  static final class Map0<K, V> extends CompactMap<@NotNull K, @NotNull V>
+  {
+
+    @NotNull
+    @Override
+    K keyAt(final int index)
+    {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 0");
+    }
+
+    @NotNull
+    @Override
+    V valueAt(final int index)
+    {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 0");
+    }
+
+    @Override
+    public int size()
+    {
+      return 0;
+    }
+
+    @Nullable
+    @Override
+    public V get(@NotNull final Object key)
+    {
+      Objects.requireNonNull(key);
+      return null;
+    }
+  }
+
+  static final class Map1<K, V> extends CompactMap<@NotNull K, @NotNull V>
+  {
+
+    @NotNull
+    private final K k1;
+
+    @NotNull
+    private final V v1;
+
+    Map1(@NotNull final K k1, @NotNull final V v1)
+    {
+      this.k1 = k1;
+      this.v1 = v1;
+    }
+
+    @NotNull
+    @Override
+    K keyAt(final int index)
+    {
+      Objects.checkIndex(index, 1);
+      return k1;
+    }
+
+    @NotNull
+    @Override
+    V valueAt(final int index)
+    {
+      Objects.checkIndex(index, 1);
+      return v1;
+    }
+
+    @Override
+    public int size()
+    {
+      return 1;
+    }
+
+    @Nullable
+    @Override
+    public V get(@NotNull final Object key)
+    {
+      return key.equals(k1) ? v1 : null;
+    }
+  }
+
+  static final class Map2<K, V> extends CompactMap<@NotNull K, @NotNull V>
+  {
+
+    @NotNull
+    private final K k1;
+
+    @NotNull
+    private final V v1;
+
+    @NotNull
+    private final K k2;
+
+    @NotNull
+    private final V v2;
+
+    Map2(@NotNull final K k1, @NotNull final V v1, @NotNull final K k2, @NotNull final V v2)
+    {
+      this.k1 = k1;
+      this.v1 = v1;
+      this.k2 = k2;
+      this.v2 = v2;
+    }
+
+    @NotNull
+    @Override
+    K keyAt(final int index)
+    {
+      return Objects.checkIndex(index, 2) == 0 ? k1 : k2;
+    }
+
+    @NotNull
+    @Override
+    V valueAt(final int index)
+    {
+      return Objects.checkIndex(index, 2) == 0 ? v1 : v2;
+    }
+
+    @Override
+    public int size()
+    {
+      return 2;
+    }
+
+    @Nullable
+    @Override
+    public V get(@NotNull final Object key)
+    {
+      return key.equals(k1) ? v1 : key.equals(k2) ? v2 : null;
+    }
+  }
+
+  static final class Map3<K, V> extends CompactMap<@NotNull K, @NotNull V>
+  {
+
+    @NotNull
+    private final K k1;
+
+    @NotNull
+    private final V v1;
+
+    @NotNull
+    private final K k2;
+
+    @NotNull
+    private final V v2;
+
+    @NotNull
+    private final K k3;
+
+    @NotNull
+    private final V v3;
+
+    Map3(@NotNull final K k1, @NotNull final V v1, @NotNull final K k2, @NotNull final V v2,
+         @NotNull final K k3, @NotNull final V v3)
+    {
+      this.k1 = k1;
+      this.v1 = v1;
+      this.k2 = k2;
+      this.v2 = v2;
+      this.k3 = k3;
+      this.v3 = v3;
+    }
+
+    @NotNull
+    @Override
+    K keyAt(final int index)
+    {
+      return switch (Objects.checkIndex(index, 3)) {
+        case 0 -> k1;
+        case 1 -> k2;
+        default -> k3;
+      };
+    }
+
+    @NotNull
+    @Override
+    V valueAt(final int index)
+    {
+      return switch (Objects.checkIndex(index, 3)) {
+        case 0 -> v1;
+        case 1 -> v2;
+        default -> v3;
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 3;
+    }
+
+    @Nullable
+    @Override
+    public V get(@NotNull final Object key)
+    {
+      return key.equals(k1) ? v1 : key.equals(k2) ? v2 : key.equals(k3) ? v3 : null;
+    }
+  }
+
+  static final class Map4<K, V> extends CompactMap<@NotNull K, @NotNull V>
+  {
+
+    @NotNull
+    private final K k1;
+
+    @NotNull
+    private final V v1;
+
+    @NotNull
+    private final K k2;
+
+    @NotNull
+    private final V v2;
+
+    @NotNull
+    private final K k3;
+
+    @NotNull
+    private final V v3;
+
+    @NotNull
+    private final K k4;
+
+    @NotNull
+    private final V v4;
+
+    Map4(@NotNull final K k1, @NotNull final V v1, @NotNull final K k2, @NotNull final V v2,
+         @NotNull final K k3, @NotNull final V v3, @NotNull final K k4, @NotNull final V v4)
+    {
+      this.k1 = k1;
+      this.v1 = v1;
+      this.k2 = k2;
+      this.v2 = v2;
+      this.k3 = k3;
+      this.v3 = v3;
+      this.k4 = k4;
+      this.v4 = v4;
+    }
+
+    @NotNull
+    @Override
+    K keyAt(final int index)
+    {
+      return switch (Objects.checkIndex(index, 4)) {
+        case 0 -> k1;
+        case 1 -> k2;
+        case 2 -> k3;
+        default -> k4;
+      };
+    }
+
+    @NotNull
+    @Override
+    V valueAt(final int index)
+    {
+      return switch (Objects.checkIndex(index, 4)) {
+        case 0 -> v1;
+        case 1 -> v2;
+        case 2 -> v3;
+        default -> v4;
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 4;
+    }
+
+    @Nullable
+    @Override
+    public V get(@NotNull final Object key)
+    {
+      return key.equals(k1) ? v1 : key.equals(k2) ? v2 : key.equals(k3) ? v3 : key.equals(k4) ? v4 : null;
+    }
+  }
+  //</editor-fold>
+}
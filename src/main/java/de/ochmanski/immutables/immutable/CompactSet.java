@@ -0,0 +1,343 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only {@code Set} of at most {@link #MAX_SIZE} distinct elements, which are held in fields instead of a
+ * hash table.
+ * <p>For a handful of elements, comparing each of them with {@code equals} is cheaper than hashing and probing
+ * a table, and the fields save the table and its header. The elements are iterated in insertion order.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+abstract sealed class CompactSet<E> extends AbstractSet<@NotNull E>
+{
+
+  /**
+   * Largest number of elements which is stored in fields.
+   */
+  static final int MAX_SIZE = 4;
+
+  @NotNull
+  private static final CompactSet<?> EMPTY = new Set0<>();
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <E> CompactSet<@NotNull E> empty()
+  {
+    return (CompactSet<E>) EMPTY;
+  }
+
+  /**
+   * Copies the distinct elements of the given collection into a compact set, or into a {@link Set#copyOf(Collection)}
+   * if it is too large.
+   *
+   * @throws NullPointerException if the collection contains a {@code null} element
+   */
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <E> Set<@NotNull E> copyOf(@NotNull final Collection<? extends @NotNull E> collection)
+  {
+    if (collection instanceof CompactSet) {
+      return (Set<E>) collection;
+    }
+    if (collection.size() > MAX_SIZE) {
+      return Set.copyOf(collection);
+    }
+    final Object[] elements = collection.toArray();
+    if (elements.length > MAX_SIZE) {
+      return Set.copyOf((Collection<E>) Arrays.asList(elements));
+    }
+    int size = 0;
+    for (final Object element : elements) {
+      Objects.requireNonNull(element, "Given set cannot contain null elements.");
+      if (!contains(elements, size, element)) {
+        elements[size++] = element;
+      }
+    }
+    return switch (size) {
+      case 0 -> empty();
+      case 1 -> new Set1<>((E) elements[0]);
+      case 2 -> new Set2<>((E) elements[0], (E) elements[1]);
+      case 3 -> new Set3<>((E) elements[0], (E) elements[1], (E) elements[2]);
+      default -> new Set4<>((E) elements[0], (E) elements[1], (E) elements[2], (E) elements[3]);
+    };
+  }
+
+  @Contract(pure = true)
+  private static boolean contains(@NotNull final Object @NotNull [] elements, final int size, @NotNull final Object o)
+  {
+    for (int i = 0; i < size; i++) {
+      if (o.equals(elements[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the element at the given position in insertion order.
+   */
+  @NotNull
+  @Contract(pure = true)
+  abstract E get(int index);
+
+  @NotNull
+  @Override
+  @Contract(value = " -> new", pure = true)
+  public Iterator<@NotNull E> iterator()
+  {
+    return new Iterator<>()
+    {
+      private int cursor;
+
+      @Override
+      public boolean hasNext()
+      {
+        return cursor < size();
+      }
+
+      @NotNull
+      @Override
+      public E next()
+      {
+        if (cursor >= size()) {
+          throw new NoSuchElementException();
+        }
+        return get(cursor++);
+      }
+    };
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="specializations">
+  static final class Set0<E> extends CompactSet<@NotNull E>
+  {
+
+    @NotNull
+    @Override
+    E get(final int index)
+    {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length 0");
+    }
+
+    @Override
+    public int size()
+    {
+      return 0;
+    }
+
+    @Override
+    public boolean contains(@NotNull final Object o)
+    {
+      Objects.requireNonNull(o);
+      return false;
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      Objects.requireNonNull(action);
+    }
+  }
+
+  static final class Set1<E> extends CompactSet<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    Set1(@NotNull final E e1)
+    {
+      this.e1 = e1;
+    }
+
+    @NotNull
+    @Override
+    E get(final int index)
+    {
+      Objects.checkIndex(index, 1);
+      return e1;
+    }
+
+    @Override
+    public int size()
+    {
+      return 1;
+    }
+
+    @Override
+    public boolean contains(@NotNull final Object o)
+    {
+      return o.equals(e1);
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+    }
+  }
+
+  static final class Set2<E> extends CompactSet<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    @NotNull
+    private final E e2;
+
+    Set2(@NotNull final E e1, @NotNull final E e2)
+    {
+      this.e1 = e1;
+      this.e2 = e2;
+    }
+
+    @NotNull
+    @Override
+    E get(final int index)
+    {
+      return Objects.checkIndex(index, 2) == 0 ? e1 : e2;
+    }
+
+    @Override
+    public int size()
+    {
+      return 2;
+    }
+
+    @Override
+    public boolean contains(@NotNull final Object o)
+    {
+      return o.equals(e1) || o.equals(e2);
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+      action.accept(e2);
+    }
+  }
+
+  static final class Set3<E> extends CompactSet<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    @NotNull
+    private final E e2;
+
+    @NotNull
+    private final E e3;
+
+    Set3(@NotNull final E e1, @NotNull final E e2, @NotNull final E e3)
+    {
+      this.e1 = e1;
+      this.e2 = e2;
+      this.e3 = e3;
+    }
+
+    @NotNull
+    @Override
+    E get(final int index)
+    {
+      return switch (Objects.checkIndex(index, 3)) {
+        case 0 -> e1;
+        case 1 -> e2;
+        default -> e3;
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 3;
+    }
+
+    @Override
+    public boolean contains(@NotNull final Object o)
+    {
+      return o.equals(e1) || o.equals(e2) || o.equals(e3);
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+      action.accept(e2);
+      action.accept(e3);
+    }
+  }
+
+  static final class Set4<E> extends CompactSet<@NotNull E>
+  {
+
+    @NotNull
+    private final E e1;
+
+    @NotNull
+    private final E e2;
+
+    @NotNull
+    private final E e3;
+
+    @NotNull
+    private final E e4;
+
+    Set4(@NotNull final E e1, @NotNull final E e2, @NotNull final E e3, @NotNull final E e4)
+    {
+      this.e1 = e1;
+      this.e2 = e2;
+      this.e3 = e3;
+      this.e4 = e4;
+    }
+
+    @NotNull
+    @Override
+    E get(final int index)
+    {
+      return switch (Objects.checkIndex(index, 4)) {
+        case 0 -> e1;
+        case 1 -> e2;
+        case 2 -> e3;
+        default -> e4;
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 4;
+    }
+
+    @Override
+    public boolean contains(@NotNull final Object o)
+    {
+      return o.equals(e1) || o.equals(e2) || o.equals(e3) || o.equals(e4);
+    }
+
+    @Override
+    public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+    {
+      action.accept(e1);
+      action.accept(e2);
+      action.accept(e3);
+      action.accept(e4);
+    }
+  }
+  //</editor-fold>
+}
@@ -0,0 +1,384 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only concatenation tree (rope) of immutable lists.
+ * <p>Every node joins a left and a right list without copying them. The tree is kept height-balanced
+ * like an AVL tree, so the concatenation of two ropes costs O(log k) and positional access costs O(log k),
+ * where k is the number of concatenated pieces.
+ * <p>A small piece is copied together with the adjacent leaf of the other side, at any depth, as long as both
+ * hold at most {@link #SMALL_PIECE} elements. The leaf is replaced along one spine, so appending single elements
+ * one by one does not build deep trees of tiny leaves. A rope which is deeper than {@link #FLATTEN_DEPTH} is
+ * lazily flattened into an array on the first positional access through that rope.
+ * <p>The lists passed to {@link #concat(List, List)} must never be modified afterward.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+final class ConcatList<E> extends AbstractList<@NotNull E> implements RandomAccess
+{
+
+  static final int SMALL_PIECE = 32;
+
+  static final int FLATTEN_DEPTH = 24;
+
+  @NotNull
+  private final List<@NotNull E> left;
+
+  @NotNull
+  private final List<@NotNull E> right;
+
+  private final int size;
+
+  private final int depth;
+
+  @Nullable
+  private volatile Object[] flat;
+
+  @Contract(pure = true)
+  private ConcatList(@NotNull final List<@NotNull E> left, @NotNull final List<@NotNull E> right)
+  {
+    this.left = left;
+    this.right = right;
+    this.size = Math.addExact(left.size(), right.size());
+    this.depth = 1 + Math.max(depth(left), depth(right));
+  }
+
+  /**
+   * Returns a list containing all elements of {@code a} followed by all elements of {@code b}.
+   * <p>Neither list is copied, except a small piece together with the adjacent small leaf of the other list.
+   * The result is height-balanced.
+   */
+  @NotNull
+  @Contract(pure = true)
+  static <S> List<@NotNull S> concat(@NotNull final List<@NotNull S> a, @NotNull final List<@NotNull S> b)
+  {
+    if (a.isEmpty()) {
+      return b;
+    }
+    if (b.isEmpty()) {
+      return a;
+    }
+    if (depth(a) == 0 && depth(b) == 0 && a.size() + b.size() <= SMALL_PIECE) {
+      return copyOf(a, b);
+    }
+    if (a instanceof ConcatList<@NotNull S> rope && depth(b) == 0 && rightmostLeaf(rope).size() + b.size() <= SMALL_PIECE) {
+      return appendToRightmostLeaf(rope, b);
+    }
+    if (b instanceof ConcatList<@NotNull S> rope && depth(a) == 0 && a.size() + leftmostLeaf(rope).size() <= SMALL_PIECE) {
+      return prependToLeftmostLeaf(a, rope);
+    }
+    return join(a, b);
+  }
+
+  @Contract(pure = true)
+  static int depth(@NotNull final List<?> list)
+  {
+    return list instanceof ConcatList<?> node ? node.depth : 0;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="coalescing">
+
+  @NotNull
+  @Contract(pure = true)
+  private static <S> List<@NotNull S> rightmostLeaf(@NotNull final ConcatList<@NotNull S> rope)
+  {
+    List<@NotNull S> node = rope;
+    while (node instanceof ConcatList<@NotNull S> concat) {
+      node = concat.right;
+    }
+    return node;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private static <S> List<@NotNull S> leftmostLeaf(@NotNull final ConcatList<@NotNull S> rope)
+  {
+    List<@NotNull S> node = rope;
+    while (node instanceof ConcatList<@NotNull S> concat) {
+      node = concat.left;
+    }
+    return node;
+  }
+
+  /**
+   * Replaces the rightmost leaf of the rope by a copy of that leaf followed by {@code b}. The depth of every node
+   * stays the same, so the rope stays balanced.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private static <S> ConcatList<@NotNull S> appendToRightmostLeaf(@NotNull final ConcatList<@NotNull S> rope, @NotNull final List<@NotNull S> b)
+  {
+    final List<@NotNull S> right = rope.right instanceof ConcatList<@NotNull S> concat
+      ? appendToRightmostLeaf(concat, b)
+      : copyOf(rope.right, b);
+    return new ConcatList<>(rope.left, right);
+  }
+
+  /**
+   * Replaces the leftmost leaf of the rope by a copy of {@code a} followed by that leaf. The depth of every node
+   * stays the same, so the rope stays balanced.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private static <S> ConcatList<@NotNull S> prependToLeftmostLeaf(@NotNull final List<@NotNull S> a, @NotNull final ConcatList<@NotNull S> rope)
+  {
+    final List<@NotNull S> left = rope.left instanceof ConcatList<@NotNull S> concat
+      ? prependToLeftmostLeaf(a, concat)
+      : copyOf(a, rope.left);
+    return new ConcatList<>(left, rope.right);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="balancing">
+
+  @NotNull
+  @Contract(pure = true)
+  private static <S> List<@NotNull S> join(@NotNull final List<@NotNull S> a, @NotNull final List<@NotNull S> b)
+  {
+    final int ha = depth(a);
+    final int hb = depth(b);
+    if (ha > hb + 1) {
+      return joinRight((ConcatList<@NotNull S>) a, b);
+    }
+    if (hb > ha + 1) {
+      return joinLeft(a, (ConcatList<@NotNull S>) b);
+    }
+    return new ConcatList<>(a, b);
+  }
+
+  /**
+   * Joins a shorter tree {@code b} into the right spine of the taller tree {@code a}.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private static <S> List<@NotNull S> joinRight(@NotNull final ConcatList<@NotNull S> a, @NotNull final List<@NotNull S> b)
+  {
+    final List<@NotNull S> l = a.left;
+    final List<@NotNull S> c = a.right;
+    if (depth(c) <= depth(b) + 1) {
+      final ConcatList<@NotNull S> t = new ConcatList<>(c, b);
+      if (t.depth <= depth(l) + 1) {
+        return new ConcatList<>(l, t);
+      }
+      return rotateLeft(new ConcatList<>(l, rotateRight(t)));
+    }
+    final List<@NotNull S> t = joinRight((ConcatList<@NotNull S>) c, b);
+    if (depth(t) <= depth(l) + 1) {
+      return new ConcatList<>(l, t);
+    }
+    return rotateLeft(new ConcatList<>(l, t));
+  }
+
+  /**
+   * Joins a shorter tree {@code a} into the left spine of the taller tree {@code b}.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private static <S> List<@NotNull S> joinLeft(@NotNull final List<@NotNull S> a, @NotNull final ConcatList<@NotNull S> b)
+  {
+    final List<@NotNull S> r = b.right;
+    final List<@NotNull S> c = b.left;
+    if (depth(c) <= depth(a) + 1) {
+      final ConcatList<@NotNull S> t = new ConcatList<>(a, c);
+      if (t.depth <= depth(r) + 1) {
+        return new ConcatList<>(t, r);
+      }
+      return rotateRight(new ConcatList<>(rotateLeft(t), r));
+    }
+    final List<@NotNull S> t = joinLeft(a, (ConcatList<@NotNull S>) c);
+    if (depth(t) <= depth(r) + 1) {
+      return new ConcatList<>(t, r);
+    }
+    return rotateRight(new ConcatList<>(t, r));
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private static <S> ConcatList<@NotNull S> rotateLeft(@NotNull final ConcatList<@NotNull S> node)
+  {
+    if (!(node.right instanceof ConcatList<@NotNull S> r)) {
+      return node;
+    }
+    return new ConcatList<>(new ConcatList<>(node.left, r.left), r.right);
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private static <S> ConcatList<@NotNull S> rotateRight(@NotNull final ConcatList<@NotNull S> node)
+  {
+    if (!(node.left instanceof ConcatList<@NotNull S> l)) {
+      return node;
+    }
+    return new ConcatList<>(l.left, new ConcatList<>(l.right, node.right));
+  }
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  private static <S> List<@NotNull S> copyOf(@NotNull final List<@NotNull S> a, @NotNull final List<@NotNull S> b)
+  {
+    final Object[] elements = new Object[a.size() + b.size()];
+    copyInto(a, elements, 0);
+    copyInto(b, elements, a.size());
+    return new ArrayBackedList<>((S[]) elements, 0, elements.length);
+  }
+  //</editor-fold>
+
+  @NotNull
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  public E get(final int index)
+  {
+    Objects.checkIndex(index, size);
+    final Object[] flattened = flat;
+    if (flattened != null) {
+      return (E) flattened[index];
+    }
+    if (depth > FLATTEN_DEPTH) {
+      return (E) flatten()[index];
+    }
+    List<@NotNull E> node = this;
+    int i = index;
+    while (node instanceof ConcatList<@NotNull E> concat) {
+      final int leftSize = concat.left.size();
+      if (i < leftSize) {
+        node = concat.left;
+      } else {
+        i -= leftSize;
+        node = concat.right;
+      }
+    }
+    return node.get(i);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return size;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+  {
+    left.forEach(action);
+    right.forEach(action);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Iterator<@NotNull E> iterator()
+  {
+    return new LeafIterator<>(this);
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = " -> new", pure = true)
+  public Object @NotNull [] toArray()
+  {
+    final Object[] elements = new Object[size];
+    copyInto(this, elements, 0);
+    return elements;
+  }
+
+  @NotNull
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  @Contract(value = "_ -> new", pure = true)
+  public <T> T @NotNull [] toArray(@NotNull final T @NotNull [] a)
+  {
+    final T[] target = a.length >= size ? a : (T[]) Arrays.copyOf(a, size, a.getClass());
+    copyInto(this, target, 0);
+    if (target.length > size) {
+      target[size] = null;
+    }
+    return target;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private Object[] flatten()
+  {
+    Object[] flattened = flat;
+    if (flattened == null) {
+      flattened = toArray();
+      flat = flattened;
+    }
+    return flattened;
+  }
+
+  @Contract(mutates = "param2")
+  private static void copyInto(@NotNull final List<?> list, @NotNull final Object @NotNull [] target, final int offset)
+  {
+    if (list instanceof ConcatList<?> node) {
+      copyInto(node.left, target, offset);
+      copyInto(node.right, target, offset + node.left.size());
+      return;
+    }
+    int i = offset;
+    for (final Object e : list) {
+      target[i++] = e;
+    }
+  }
+
+  /**
+   * In-order iterator over the leaves of a rope. Each element is visited in O(1) amortized time.
+   */
+  private static final class LeafIterator<E> implements Iterator<@NotNull E>
+  {
+
+    @NotNull
+    private final Deque<@NotNull List<@NotNull E>> stack = new ArrayDeque<>();
+
+    @NotNull
+    private Iterator<@NotNull E> current = Collections.emptyIterator();
+
+    private LeafIterator(@NotNull final List<@NotNull E> root)
+    {
+      stack.push(root);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (!current.hasNext()) {
+        if (stack.isEmpty()) {
+          return false;
+        }
+        List<@NotNull E> node = stack.pop();
+        while (node instanceof ConcatList<@NotNull E> concat) {
+          stack.push(concat.right);
+          node = concat.left;
+        }
+        current = node.iterator();
+      }
+      return true;
+    }
+
+    @NotNull
+    @Override
+    public E next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+  }
+}
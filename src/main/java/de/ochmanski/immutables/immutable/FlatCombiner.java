@@ -0,0 +1,248 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Publishes immutable snapshots to any number of readers and applies the updates of concurrent writers in batches.
+ * <p>A writer does not copy the snapshot itself. It queues its update and competes for the combiner lock. The
+ * winner drains every queued update, applies them all to one mutable builder, which copies the snapshot once, and
+ * publishes the result with a single compare-and-set. The other writers find their updates already applied when
+ * they get the lock. Under contention, {@code n} queued puts therefore cost one copy instead of {@code n}, and no
+ * update is thrown away because another writer published first.
+ * <p>Reads are a single volatile read and never wait. The compare-and-set fails only if the snapshot was replaced
+ * through {@link #compareAndSet(Object, Object)} in the meantime; the batch is then applied again to the new
+ * snapshot.
+ *
+ * @param <C> type of the immutable snapshot
+ * @param <B> type of the builder which applies a batch of mutations
+ */
+@ParametersAreNonnullByDefault
+final class FlatCombiner<C, B>
+{
+
+  @NotNull
+  private final AtomicReference<@NotNull C> snapshot;
+
+  @NotNull
+  private final Function<? super @NotNull C, ? extends @NotNull B> open;
+
+  @NotNull
+  private final Function<? super @NotNull B, ? extends @NotNull C> close;
+
+  @NotNull
+  private final Queue<@NotNull Update<@NotNull C, @NotNull B>> pending = new ConcurrentLinkedQueue<>();
+
+  @NotNull
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * @param initial first published snapshot
+   * @param open copies a snapshot into a new builder
+   * @param close builds the next snapshot from the builder
+   */
+  @Contract(pure = true)
+  FlatCombiner(@NotNull final C initial,
+               @NotNull final Function<? super @NotNull C, ? extends @NotNull B> open,
+               @NotNull final Function<? super @NotNull B, ? extends @NotNull C> close)
+  {
+    this.snapshot = new AtomicReference<>(initial);
+    this.open = open;
+    this.close = close;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  C get()
+  {
+    return snapshot.get();
+  }
+
+  @Contract(mutates = "this")
+  boolean compareAndSet(@NotNull final C expected, @NotNull final C next)
+  {
+    return snapshot.compareAndSet(expected, next);
+  }
+
+  /**
+   * Applies the given mutation to the builder of the next batch.
+   *
+   * @return the published snapshot which contains the mutation
+   */
+  @NotNull
+  @Contract(mutates = "this")
+  C mutate(@NotNull final Consumer<? super @NotNull B> mutation)
+  {
+    return submit(new Update<>(mutation, null));
+  }
+
+  /**
+   * Replaces the current snapshot of the next batch with the result of the given function.
+   *
+   * @return the published snapshot which contains the update
+   */
+  @NotNull
+  @Contract(mutates = "this")
+  C update(@NotNull final UnaryOperator<@NotNull C> function)
+  {
+    return submit(new Update<>(null, function));
+  }
+
+  @NotNull
+  private C submit(@NotNull final Update<@NotNull C, @NotNull B> update)
+  {
+    pending.add(update);
+    lock.lock();
+    try {
+      if (!update.done) {
+        combine();
+      }
+    } finally {
+      lock.unlock();
+    }
+    final Throwable failure = update.failure;
+    if (failure instanceof RuntimeException e) {
+      throw e;
+    }
+    if (failure instanceof Error e) {
+      throw e;
+    }
+    if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+    return Objects.requireNonNull(update.result);
+  }
+
+  /**
+   * Drains the queue and publishes all drained updates with one compare-and-set. Must hold the lock.
+   * <p>Every drained update is completed, even if building the next snapshot fails: its writer then gets the failure
+   * instead of waiting for a result which no other combiner would publish, because its update left the queue.
+   */
+  private void combine()
+  {
+    final List<@NotNull Update<@NotNull C, @NotNull B>> batch = new ArrayList<>();
+    for (Update<@NotNull C, @NotNull B> update; (update = pending.poll()) != null; ) {
+      batch.add(update);
+    }
+    try {
+      C base;
+      C next;
+      do {
+        base = snapshot.get();
+        final Batch batched = new Batch(base);
+        for (final Update<@NotNull C, @NotNull B> update : batch) {
+          batched.apply(update);
+        }
+        next = batched.snapshot();
+      } while (next != base && !snapshot.compareAndSet(base, next));
+      for (final Update<@NotNull C, @NotNull B> update : batch) {
+        update.result = next;
+      }
+    } catch (final Throwable e) {
+      for (final Update<@NotNull C, @NotNull B> update : batch) {
+        if (update.failure == null) {
+          update.failure = e;
+        }
+      }
+    } finally {
+      for (final Update<@NotNull C, @NotNull B> update : batch) {
+        update.done = true;
+      }
+    }
+  }
+
+  /**
+   * One queued update: either a mutation of the builder or a function of the snapshot. The fields are written by
+   * the combiner and read by the writer after it got the lock.
+   */
+  private static final class Update<C, B>
+  {
+
+    @Nullable
+    private final Consumer<? super @NotNull B> mutation;
+
+    @Nullable
+    private final UnaryOperator<@NotNull C> function;
+
+    private boolean done;
+
+    @Nullable
+    private C result;
+
+    @Nullable
+    private Throwable failure;
+
+    @Contract(pure = true)
+    private Update(@Nullable final Consumer<? super @NotNull B> mutation, @Nullable final UnaryOperator<@NotNull C> function)
+    {
+      this.mutation = mutation;
+      this.function = function;
+    }
+  }
+
+  /**
+   * State of one batch. The snapshot is copied into a builder only on the first mutation, and the builder is built
+   * only when a function needs the snapshot or the batch is published.
+   */
+  private final class Batch
+  {
+
+    @NotNull
+    private C current;
+
+    @Nullable
+    private B builder;
+
+    @Contract(pure = true)
+    private Batch(@NotNull final C base)
+    {
+      this.current = base;
+    }
+
+    private void apply(@NotNull final Update<@NotNull C, @NotNull B> update)
+    {
+      update.failure = null;
+      try {
+        if (update.mutation != null) {
+          update.mutation.accept(builder());
+        } else if (update.function != null) {
+          current = update.function.apply(snapshot());
+        }
+      } catch (final Throwable e) {
+        update.failure = e;
+      }
+    }
+
+    @NotNull
+    private B builder()
+    {
+      if (builder == null) {
+        builder = open.apply(current);
+      }
+      return builder;
+    }
+
+    @NotNull
+    private C snapshot()
+    {
+      if (builder != null) {
+        current = close.apply(builder);
+        builder = null;
+      }
+      return current;
+    }
+  }
+}
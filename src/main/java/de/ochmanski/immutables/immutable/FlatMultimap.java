@@ -0,0 +1,231 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Flat storage of a multimap: all values in one array, grouped by key, and the offset of each group in a second
+ * array.
+ * <p>The values of the key at position {@code g} are {@code values[offsets[g]..offsets[g + 1])}. An index maps each
+ * key to its position, so looking up a group costs one hash lookup, and the group is returned as a slice of the
+ * shared array without copying it. The keys are kept in the order in which they were first put.
+ * <p>All arrays are handed off by {@link MultimapBuilder} and are never written to afterward.
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Unmodifiable
+final class FlatMultimap<K, V>
+{
+
+  @NotNull
+  @SuppressWarnings({ UNCHECKED, RAWTYPES })
+  private static final FlatMultimap EMPTY = new FlatMultimap(Map.of(), new Object[0], new int[1], new Object[0], false);
+
+  @NotNull
+  private final Map<@NotNull K, @NotNull Integer> index;
+
+  @NotNull
+  private final K @NotNull [] keys;
+
+  private final int @NotNull [] offsets;
+
+  @NotNull
+  private final V @NotNull [] values;
+
+  private final boolean distinct;
+
+  /**
+   * Built on the first lookup in a group of distinct values larger than {@link ArrayBackedSet#LINEAR_SCAN_LIMIT}.
+   */
+  @Nullable
+  private volatile ArrayBackedSet.HashIndex hashIndex;
+
+  @Contract(pure = true)
+  FlatMultimap(@NotNull final Map<@NotNull K, @NotNull Integer> index,
+               @NotNull final K @NotNull [] keys,
+               final int @NotNull [] offsets,
+               @NotNull final V @NotNull [] values,
+               final boolean distinct)
+  {
+    this.index = index;
+    this.keys = keys;
+    this.offsets = offsets;
+    this.values = values;
+    this.distinct = distinct;
+  }
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  static <K, V> FlatMultimap<@NotNull K, @NotNull V> empty()
+  {
+    return (FlatMultimap<K, V>) EMPTY;
+  }
+
+  /**
+   * Returns the number of values.
+   */
+  @Contract(pure = true)
+  int size()
+  {
+    return offsets[keys.length];
+  }
+
+  /**
+   * Returns the number of distinct keys.
+   */
+  @Contract(pure = true)
+  int keyCount()
+  {
+    return keys.length;
+  }
+
+  /**
+   * Returns the position of the group of the given key, or {@code -1}.
+   */
+  @Contract(pure = true)
+  int groupOf(@Nullable final Object key)
+  {
+    final Integer group = key == null ? null : index.get(key);
+    return group == null ? -1 : group;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  K keyAt(final int group)
+  {
+    return keys[group];
+  }
+
+  /**
+   * Returns the values of the given group as a list, without copying them.
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  List<@NotNull V> list(final int group)
+  {
+    return new ArrayBackedList<>(values, offsets[group], offsets[group + 1] - offsets[group]);
+  }
+
+  /**
+   * Returns the values of the given group as a set, without copying them. The values of a group must be distinct.
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  Set<@NotNull V> set(final int group)
+  {
+    final int size = offsets[group + 1] - offsets[group];
+    return new ArrayBackedSet<>(values, offsets[group], size, size > ArrayBackedSet.LINEAR_SCAN_LIMIT ? hashIndex() : null);
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private ArrayBackedSet.HashIndex hashIndex()
+  {
+    ArrayBackedSet.HashIndex index = hashIndex;
+    if (index == null) {
+      index = ArrayBackedSet.HashIndex.of(values, offsets);
+      hashIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Returns all values, grouped by key, without copying them.
+   */
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  List<@NotNull V> values()
+  {
+    return new ArrayBackedList<>(values, 0, size());
+  }
+
+  /**
+   * Returns all keys in the order in which they were first put, without copying them.
+   */
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  List<@NotNull K> keys()
+  {
+    return new ArrayBackedList<>(keys, 0, keys.length);
+  }
+
+  @Contract(pure = true)
+  boolean containsEntry(@Nullable final Object key, @Nullable final Object value)
+  {
+    final int group = groupOf(key);
+    if (group < 0) {
+      return false;
+    }
+    if (distinct) {
+      return set(group).contains(value);
+    }
+    for (int i = offsets[group], end = offsets[group + 1]; i < end; i++) {
+      if (values[i].equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Contract(pure = true)
+  void forEach(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    for (int group = 0; group < keys.length; group++) {
+      final K key = keys[group];
+      for (int i = offsets[group], end = offsets[group + 1]; i < end; i++) {
+        action.accept(key, values[i]);
+      }
+    }
+  }
+
+  /**
+   * Two multimaps are equal if they map the same keys to equal groups. Groups are compared as lists, or as sets if
+   * the values of each group are distinct. The order of the keys does not matter.
+   */
+  @Override
+  @Contract(value = "null -> false", pure = true)
+  public boolean equals(@Nullable final Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof FlatMultimap<?, ?> other) || distinct != other.distinct
+      || keys.length != other.keys.length || size() != other.size()) {
+      return false;
+    }
+    for (int group = 0; group < keys.length; group++) {
+      final int otherGroup = other.groupOf(keys[group]);
+      if (otherGroup < 0) {
+        return false;
+      }
+      final boolean equal = distinct
+        ? set(group).equals(other.set(otherGroup))
+        : list(group).equals(other.list(otherGroup));
+      if (!equal) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int hashCode()
+  {
+    int hash = 0;
+    for (int group = 0; group < keys.length; group++) {
+      hash += keys[group].hashCode() ^ (distinct ? set(group).hashCode() : list(group).hashCode());
+    }
+    return hash;
+  }
+}
@@ -6,6 +6,7 @@
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Stream;
 
 public interface IList<E> extends ImmutableCollection<@NotNull E>
@@ -116,6 +117,97 @@ default int lastIndexOf(@NotNull final E o) {
     return getList().toArray();
   }
 
+  /**
+   * Copies all elements of this list, in proper sequence, into {@code dest} starting at {@code offset}.
+   * <p>Unlike {@link #toArray()}, no array is allocated, so several collections can be exported into one array
+   * with exactly one copy of each element.
+   *
+   * @param dest the array to copy the elements into
+   * @param offset the index in {@code dest} of the first element
+   * @return the index in {@code dest} following the last copied element
+   * @throws IndexOutOfBoundsException if the elements do not fit into {@code dest} at {@code offset}
+   */
+  @Contract(mutates = "param1")
+  default int copyInto(@NotNull final E @NotNull [] dest, final int offset) {
+    Objects.checkFromIndexSize(offset, size(), dest.length);
+    int index = offset;
+    for (final E element : this) {
+      dest[index++] = element;
+    }
+    return index;
+  }
+
+  /**
+   * Performs the given action for each element of this list and its index, in proper sequence.
+   *
+   * @param action the action to be performed for each element and its index
+   */
+  @Contract(pure = true)
+  default void forEachIndexed(@NotNull final ObjIntConsumer<? super @NotNull E> action) {
+    int index = 0;
+    for (final E element : this) {
+      action.accept(element, index++);
+    }
+  }
+
+  /**
+   * Returns a hash index of the elements of this list by the key computed with {@code classifier}, so that repeated
+   * lookups by key cost one hash lookup instead of a scan of the list.
+   * <p>{@link ImmutableList} keeps the index built by the last call and returns it again if the next call has the
+   * same classifier, which is matched by identity. A call with another classifier replaces it, so alternating
+   * classifiers rebuild the index every time. The default implementation builds a new index.
+   *
+   * @param classifier computes the key of each element
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param <K> {@code @NotNull K} key
+   * @return multimap from each key to the elements with that key, in list order
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default <K> ImmutableListMultimap<@NotNull K, @NotNull E> indexBy(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key) {
+    final MultimapBuilder<@NotNull K, @NotNull E, @NotNull ImmutableListMultimap<@NotNull K, @NotNull E>> builder =
+      ImmutableListMultimap.<@NotNull K, @NotNull E>builder(key, getKey());
+    for (final E element : this) {
+      builder.put(classifier.apply(element), element);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a hash index of the elements of this list by the key computed with {@code classifier}, which must be
+   * unique, so that repeated lookups by key cost one hash lookup instead of a scan of the list.
+   * <p>{@link ImmutableList} keeps the index built by the last call and returns it again if the next call has the
+   * same classifier, which is matched by identity. A call with another classifier replaces it, so alternating
+   * classifiers rebuild the index every time. The default implementation builds a new index.
+   *
+   * @param classifier computes the unique key of each element
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param <K> {@code @NotNull K} key
+   * @return map from each key to the element with that key
+   * @throws IllegalArgumentException if {@code classifier} computes the same key for two elements
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default <K extends @NotNull Comparable<? super @NotNull K>> ImmutableMap<@NotNull K, @NotNull E> uniqueIndexBy(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key) {
+    final MapBuilder<@NotNull K, @NotNull E> builder = ImmutableMap.<@NotNull K, @NotNull E>builder(key, getKey(), size());
+    for (final E element : this) {
+      final K k = classifier.apply(element);
+      final int before = builder.size();
+      if (builder.put(k, element).size() == before) {
+        throw new IllegalArgumentException("Given classifier computes the same key for more than one element: " + k);
+      }
+    }
+    return builder.build();
+  }
+
   /**
    * Returns the element at the specified position in this list.
    *
@@ -128,6 +220,79 @@ default E get(final int index) {
     return getList().get(index);
   }
 
+  /**
+   * Returns a view of the portion of this list between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+   * <p>The view shares the backing storage of this list, so no element is copied. The bounds are checked once,
+   * when the view is created. Note that the view keeps the whole backing storage of this list reachable.
+   *
+   * @param fromIndex low endpoint (inclusive) of the slice
+   * @param toIndex high endpoint (exclusive) of the slice
+   * @return a view of the specified range within this list
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex}
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default IList<@NotNull E> slice(final int fromIndex, final int toIndex) {
+    return getList().slice(fromIndex, toIndex);
+  }
+
+  /**
+   * Returns a view of the first {@code n} elements of this list, or of the whole list if it is shorter.
+   *
+   * @param n maximal number of elements of the view
+   * @return a view of the first {@code n} elements of this list
+   * @throws IllegalArgumentException if {@code n} is negative
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default IList<@NotNull E> head(final int n) {
+    return slice(0, clamp(n, size()));
+  }
+
+  /**
+   * Returns a view of the last {@code n} elements of this list, or of the whole list if it is shorter.
+   *
+   * @param n maximal number of elements of the view
+   * @return a view of the last {@code n} elements of this list
+   * @throws IllegalArgumentException if {@code n} is negative
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default IList<@NotNull E> tail(final int n) {
+    return slice(size() - clamp(n, size()), size());
+  }
+
+  /**
+   * Splits this list into two views at the given index. The head contains the elements before {@code index},
+   * the tail contains the remaining elements. Both share the backing storage of this list.
+   *
+   * @param index index of the first element of the tail
+   * @return both parts of this list
+   * @throws IndexOutOfBoundsException if {@code index < 0 || index > size()}
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  default Split<? extends @NotNull IList<@NotNull E>> splitAt(final int index) {
+    Objects.checkIndex(index, size() + 1);
+    return Split.of(slice(0, index), slice(index, size()));
+  }
+
+  @Contract(pure = true)
+  private static int clamp(final int n, final int size) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Given n cannot be negative: " + n);
+    }
+    return Math.min(n, size);
+  }
+
   @Override
   @Contract(pure = true)
   default void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer, @NotNull final Comparator<? super @NotNull E> comparator)
@@ -277,6 +442,15 @@ default void forEachRemaining(@NotNull final Consumer<? super @NotNull E> consum
     return Stream.concat(stream(), c).collect(ImmutableCollectors.toList(getKey()));
   }
 
+  @NotNull
+  @Override
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  default View<@NotNull E> view()
+  {
+    return View.<@NotNull E>of(this, getKey(), size());
+  }
+
   @NotNull
   @Override
   @Unmodifiable
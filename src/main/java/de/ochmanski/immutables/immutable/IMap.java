@@ -7,10 +7,14 @@
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
+import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
 public interface IMap<K, V> extends Checked<@NotNull K>, Iterable<IMap.@NotNull Entry<@NotNull K, @NotNull V>>
 {
 
@@ -111,10 +115,22 @@ default boolean containsKey(@NotNull final K o) {
 
   @Value
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-  @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
   class Entry<K, V> implements Equalable<@NotNull Entry<@NotNull K, @NotNull V>>, Comparable<@NotNull Entry<@NotNull K, @NotNull V>>
   {
 
+    /**
+     * Shared by {@link #comparingByKey()} and {@link #compareTo(Entry)}, so comparing entries allocates nothing.
+     */
+    @NotNull
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
+    private static final Comparator<@NotNull Entry> KEY_ORDER = (@NotNull Comparator<@NotNull Entry> & @NotNull Serializable)
+      (c1, c2) -> ((Comparable) c1.getKey()).compareTo(c2.getKey());
+
+    @NotNull
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
+    private static final Comparator<@NotNull Entry> VALUE_ORDER = (@NotNull Comparator<@NotNull Entry> & @NotNull Serializable)
+      (c1, c2) -> ((Comparable) c1.getValue()).compareTo(c2.getValue());
+
     @NonNull
     @NotNull("Given keyType cannot be null.")
     @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
@@ -139,10 +155,10 @@ default boolean containsKey(@NotNull final K o) {
      */
     @NotNull
     @Contract(pure = true)
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
     static <K extends @NotNull Comparable<? super @NotNull K>, V> Comparator<@NotNull Entry<@NotNull K, @NotNull V>> comparingByKey()
     {
-      return (@NotNull Comparator<@NotNull Entry<@NotNull K, @NotNull V>> & @NotNull Serializable)
-        (c1, c2) -> c1.getKey().compareTo(c2.getKey());
+      return (Comparator) KEY_ORDER;
     }
 
     /**
@@ -159,10 +175,10 @@ default boolean containsKey(@NotNull final K o) {
      */
     @NotNull
     @Contract(pure = true)
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
     static <K extends @NotNull Comparable<? super @NotNull K>, V extends @NotNull Comparable<? super @NotNull V>> Comparator<@NotNull Entry<@NotNull K, @NotNull V>> comparingByValue()
     {
-      return (@NotNull Comparator<@NotNull Entry<@NotNull K, @NotNull V>> & @NotNull Serializable)
-        (c1, c2) -> c1.getValue().compareTo(c2.getValue());
+      return (Comparator) VALUE_ORDER;
     }
 
     /**
@@ -210,24 +226,34 @@ default boolean containsKey(@NotNull final K o) {
     }
 
     @NotNull
-    @Contract(value = "_ -> new", pure = true)
+    @Contract(value = "_, _ -> new", pure = true)
+    public static <K, V> IMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> of(@NotNull final K key, @NotNull final V value)
+    {
+      return new Entry<>(key, value);
+    }
+
+    /**
+     * Returns the given entry, which is immutable, instead of a copy.
+     */
+    @NotNull
+    @Contract(value = "_ -> param1", pure = true)
     public static <K extends @NotNull Comparable<? super @NotNull K>, V> IMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> of(
       @NotNull final IMap.@NotNull Entry<@NotNull K, @NotNull V> entry)
     {
-      return IMap.Entry.<@NotNull K, @NotNull V>builder().key(entry.getKey()).value(entry.getValue()).build();
+      return Objects.requireNonNull(entry, "Given entry cannot be null.");
     }
 
     @NotNull
     @Contract(value = "_ -> new", pure = true)
     public static <K, V> IMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> of(
       @NotNull final Map.@NotNull Entry<@NotNull K, @NotNull V> entry) {
-      return IMap.Entry.<@NotNull K, @NotNull V>builder().key(entry.getKey()).value(entry.getValue()).build();
+      return new Entry<>(entry.getKey(), entry.getValue());
     }
 
     @NotNull
     @Contract(value = "-> new", pure = true)
     public IMap.@Unmodifiable @NotNull Entry<@NotNull K, @NotNull V> deepClone() {
-      return toBuilder().build();
+      return new Entry<>(key, value);
     }
 
     /**
@@ -276,7 +302,7 @@ private static <K, V> int orderAsc(@Nullable final Entry<@NotNull K, @NotNull V>
       if (a == b) {
         return 0;
       }
-      return a != null ? b != null ? comparingByKey().compare((Entry)a, (Entry)b) : -1 : 1;
+      return a != null ? b != null ? KEY_ORDER.compare(a, b) : -1 : 1;
     }
 
   }
@@ -329,6 +355,19 @@ default void forEachOrdered(@NotNull final Consumer<? super IMap.@NotNull Entry<
     stream().forEachOrdered(consumer);
   }
 
+  /**
+   * Performs the given action for each key and value of this map, without creating {@link Entry} instances.
+   * <p>Implementations which own their storage iterate it directly. The default implementation goes through
+   * {@link #entrySet()}.
+   *
+   * @param action the action to be performed for each key and value
+   */
+  @Contract(pure = true)
+  default void forEachEntry(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    forEach(e -> action.accept(e.getKey(), e.getValue()));
+  }
+
   /**
    * Returns an iterator over the elements in this set.  The elements are returned in no particular order (unless this
    * set is an instance of some class that provides a guarantee).
@@ -86,6 +86,26 @@ default boolean contains(@NotNull final E o) {
     return getSet().toArray();
   }
 
+  /**
+   * Copies all elements of this set, in iteration order, into {@code dest} starting at {@code offset}.
+   * <p>Unlike {@link #toArray()}, no array is allocated, so several collections can be exported into one array
+   * with exactly one copy of each element.
+   *
+   * @param dest the array to copy the elements into
+   * @param offset the index in {@code dest} of the first element
+   * @return the index in {@code dest} following the last copied element
+   * @throws IndexOutOfBoundsException if the elements do not fit into {@code dest} at {@code offset}
+   */
+  @Contract(mutates = "param1")
+  default int copyInto(@NotNull final E @NotNull [] dest, final int offset) {
+    Objects.checkFromIndexSize(offset, size(), dest.length);
+    int index = offset;
+    for (final E element : this) {
+      dest[index++] = element;
+    }
+    return index;
+  }
+
   /**
    * Returns an iterator over the elements in this set.  The elements are returned in no particular order (unless this
    * set is an instance of some class that provides a guarantee).
@@ -236,6 +256,172 @@ default void forEachRemaining(@NotNull final Consumer<? super @NotNull E> consum
     return Stream.concat(stream(), c).collect(ImmutableCollectors.toSet(getKey()));
   }
 
+  /**
+   * Returns a set containing all elements of this set and of the given set.
+   * <p>First, the smaller operand is iterated: when all of its elements are already present in the larger operand,
+   * the larger operand is returned unchanged. Otherwise, both operands are copied into a new set.
+   *
+   * @param other set to be united with this set
+   * @return union of both sets
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default ISet<@NotNull E> union(@NotNull final ISet<@NotNull E> other)
+  {
+    final boolean thisIsSmaller = size() <= other.size();
+    final ISet<@NotNull E> smaller = thisIsSmaller ? this : other;
+    final ISet<@NotNull E> larger = thisIsSmaller ? other : this;
+    if (smaller.isSubsetOf(larger)) {
+      return larger;
+    }
+    return ImmutableSet.<@NotNull E>builder(getKey(), size() + other.size())
+      .addAll(larger)
+      .addAll(smaller)
+      .build();
+  }
+
+  /**
+   * Returns a set containing only the elements present in both this set and the given set.
+   * <p>The smaller operand is iterated. When all of its elements are present in the larger operand,
+   * the smaller operand is returned unchanged.
+   *
+   * @param other set to be intersected with this set
+   * @return intersection of both sets
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default ISet<@NotNull E> intersect(@NotNull final ISet<@NotNull E> other)
+  {
+    final boolean thisIsSmaller = size() <= other.size();
+    final ISet<@NotNull E> smaller = thisIsSmaller ? this : other;
+    final ISet<@NotNull E> larger = thisIsSmaller ? other : this;
+    if (smaller.isSubsetOf(larger)) {
+      return smaller;
+    }
+    final SetBuilder<@NotNull E> builder = ImmutableSet.<@NotNull E>builder(getKey(), smaller.size());
+    smaller.forEach(e -> {
+      if (larger.contains(e)) {
+        builder.add(e);
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Returns a set containing the elements of this set which are not present in the given set.
+   * <p>First, the smaller operand is iterated: when no element of this set is present in the given set, this set is
+   * returned unchanged. Otherwise, every element of this set is looked up in the given set and copied if absent.
+   *
+   * @param other set whose elements are to be removed from this set
+   * @return difference of both sets
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default ISet<@NotNull E> difference(@NotNull final ISet<@NotNull E> other)
+  {
+    if (isEmpty() || disjoint(other)) {
+      return this;
+    }
+    final SetBuilder<@NotNull E> builder = ImmutableSet.<@NotNull E>builder(getKey(), size());
+    forEach(e -> {
+      if (!other.contains(e)) {
+        builder.add(e);
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Returns a set containing the elements which are present in exactly one of both sets.
+   * <p>When one of the operands is empty, the other operand is returned unchanged.
+   *
+   * @param other set to be compared with this set
+   * @return symmetric difference of both sets
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  default ISet<@NotNull E> symmetricDifference(@NotNull final ISet<@NotNull E> other)
+  {
+    if (other.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return other;
+    }
+    final SetBuilder<@NotNull E> builder = ImmutableSet.<@NotNull E>builder(getKey(), size() + other.size());
+    forEach(e -> {
+      if (!other.contains(e)) {
+        builder.add(e);
+      }
+    });
+    other.forEach(e -> {
+      if (!contains(e)) {
+        builder.add(e);
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Returns {@code true} if every element of this set is present in the given set.
+   * <p>A larger set is never a subset of a smaller one, so the elements are visited only when
+   * this set is not larger than the given set.
+   *
+   * @param other potential superset of this set
+   * @return {@code true} if this set is a subset of the given set
+   */
+  @Contract(pure = true)
+  default boolean isSubsetOf(@NotNull final ISet<@NotNull E> other)
+  {
+    if (size() > other.size()) {
+      return false;
+    }
+    for (final E e : this) {
+      if (!other.contains(e)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if this set and the given set have no elements in common.
+   * <p>The smaller operand is iterated.
+   *
+   * @param other set to be compared with this set
+   * @return {@code true} if both sets have no elements in common
+   */
+  @Contract(pure = true)
+  default boolean disjoint(@NotNull final ISet<@NotNull E> other)
+  {
+    final boolean thisIsSmaller = size() <= other.size();
+    final ISet<@NotNull E> smaller = thisIsSmaller ? this : other;
+    final ISet<@NotNull E> larger = thisIsSmaller ? other : this;
+    for (final E e : smaller) {
+      if (larger.contains(e)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @NotNull
+  @Override
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  default View<@NotNull E> view()
+  {
+    return View.<@NotNull E>of(this, getKey(), size());
+  }
+
   @NotNull
   @Override
   @Unmodifiable
@@ -3,6 +3,7 @@
 import de.ochmanski.immutables.collection.CollectorImpl;
 import de.ochmanski.immutables.immutable.enums.ImmutableEnumList;
 import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
@@ -11,10 +12,12 @@
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+import static de.ochmanski.immutables.collection.CollectorImpl.Constants.CH_NOID;
 import static de.ochmanski.immutables.collection.CollectorImpl.Constants.CH_UNORDERED_ID;
 
 public interface ImmutableCollectors
@@ -94,7 +97,7 @@
   CollectorImpl<@NotNull E, @NotNull HashSet<@NotNull E>, @NotNull ImmutableSet<@NotNull E>> toSet(
     @NotNull final IntFunction<@NotNull E @NotNull []> constructor)
   {
-    return CollectorImpl.toImmutableSetCollector(set -> ImmutableSet.<@NotNull E>of(set, constructor));
+    return CollectorImpl.toImmutableSetCollector(set -> ImmutableSet.<@NotNull E>copyOf(set, constructor, Operation.COLLECT));
   }
 
   @NotNull
@@ -160,7 +163,7 @@ void replaceDuplicates(@NotNull final Set<@NotNull E> ts, @NotNull final E e)
     @NotNull final IntFunction<@NotNull E @NotNull []> constructor
   )
   {
-    return CollectorImpl.toImmutableListCollector(set -> ImmutableList.of(set, constructor));
+    return CollectorImpl.toImmutableListCollector(list -> ImmutableList.<@NotNull E>copyOf(list, constructor, Operation.COLLECT));
   }
 
   @NotNull
@@ -173,4 +176,66 @@ void replaceDuplicates(@NotNull final Set<@NotNull E> ts, @NotNull final E e)
     return CollectorImpl.toImmutableEnumListCollector(set -> ImmutableEnumList.<@NotNull E>of(set, constructor));
   }
   //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="10. Multimap">
+
+  /**
+   * Groups the elements by the key computed with {@code classifier} into an {@link ImmutableListMultimap}, in a
+   * single pass. The elements are appended to one buffer and moved into their groups once, when the stream ends,
+   * so no list is created per key and no value is copied twice.
+   *
+   * @param classifier computes the key of each element
+   * @param key array constructor of the key type, for example {@code Integer[]::new}
+   * @param value array constructor of the element type, for example {@code String[]::new}
+   * @param <T> {@code @NotNull T} element
+   * @param <K> {@code @NotNull K} key
+   * @return collector which groups the elements by key, keeping their encounter order within each key
+   */
+  @NotNull
+  @Unmodifiable
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <T, K>
+  Collector<@NotNull T, @NotNull MultimapBuilder<@NotNull K, @NotNull T, @NotNull ImmutableListMultimap<@NotNull K, @NotNull T>>, @NotNull ImmutableListMultimap<@NotNull K, @NotNull T>> groupingBy(
+    @NotNull final Function<? super @NotNull T, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull T @NotNull []> value)
+  {
+    return CollectorImpl.<@NotNull T, @NotNull MultimapBuilder<@NotNull K, @NotNull T, @NotNull ImmutableListMultimap<@NotNull K, @NotNull T>>, @NotNull ImmutableListMultimap<@NotNull K, @NotNull T>>builder()
+      .supplier(() -> ImmutableListMultimap.<@NotNull K, @NotNull T>builder(key, value))
+      .accumulator((builder, t) -> builder.put(classifier.apply(t), t))
+      .combiner(MultimapBuilder::putAll)
+      .finisher(MultimapBuilder::build)
+      .characteristics(CH_NOID)
+      .build();
+  }
+
+  /**
+   * Groups the elements by the key computed with {@code classifier} into an {@link ImmutableSetMultimap}, in a
+   * single pass. Equal elements of the same key are kept once.
+   *
+   * @param classifier computes the key of each element
+   * @param key array constructor of the key type, for example {@code Integer[]::new}
+   * @param value array constructor of the element type, for example {@code String[]::new}
+   * @param <T> {@code @NotNull T} element
+   * @param <K> {@code @NotNull K} key
+   * @return collector which groups the distinct elements by key
+   */
+  @NotNull
+  @Unmodifiable
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <T, K>
+  Collector<@NotNull T, @NotNull MultimapBuilder<@NotNull K, @NotNull T, @NotNull ImmutableSetMultimap<@NotNull K, @NotNull T>>, @NotNull ImmutableSetMultimap<@NotNull K, @NotNull T>> groupingByToSet(
+    @NotNull final Function<? super @NotNull T, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull T @NotNull []> value)
+  {
+    return CollectorImpl.<@NotNull T, @NotNull MultimapBuilder<@NotNull K, @NotNull T, @NotNull ImmutableSetMultimap<@NotNull K, @NotNull T>>, @NotNull ImmutableSetMultimap<@NotNull K, @NotNull T>>builder()
+      .supplier(() -> ImmutableSetMultimap.<@NotNull K, @NotNull T>builder(key, value))
+      .accumulator((builder, t) -> builder.put(classifier.apply(t), t))
+      .combiner(MultimapBuilder::putAll)
+      .finisher(MultimapBuilder::build)
+      .characteristics(CH_NOID)
+      .build();
+  }
+  //</editor-fold>
 }
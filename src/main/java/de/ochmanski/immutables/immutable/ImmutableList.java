@@ -3,10 +3,15 @@
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.ochmanski.immutables.collection.Checked;
+import de.ochmanski.immutables.collection.ComponentTypes;
 import de.ochmanski.immutables.collection.ICollection;
 import de.ochmanski.immutables.equalable.Equalable;
 import de.ochmanski.immutables.equalable.Equalable.Dummy;
+import de.ochmanski.immutables.metrics.CollectionEvents;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
 import lombok.*;
+import lombok.experimental.NonFinal;
 import org.jetbrains.annotations.*;
 
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -14,6 +19,7 @@
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Stream;
 
 import static de.ochmanski.immutables.constants.Constants.Warning.*;
@@ -24,8 +30,8 @@
 @UnmodifiableView
 @ParametersAreNonnullByDefault
 @EqualsAndHashCode(doNotUseGetters = true)
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@Builder(toBuilder = true, access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true, builderMethodName = "internalBuilder", access = AccessLevel.PRIVATE)
 public class ImmutableList<E> implements IList<@NotNull E>
 {
 
@@ -34,13 +40,23 @@
   @UnmodifiableView
   @javax.validation.constraints.NotNull(message = "Given list cannot be null.")
   @Builder.Default
-  List<@NotNull E> list = (List)Collections.checkedList(List.of(), Equalable.Dummy.class);
+  List<@NotNull E> list = CompactList.empty();
 
   @NotNull("Given keyType cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
   @Builder.Default
   IntFunction<@NotNull E @NotNull []> key = Equalable.defaultKey();
 
+  /**
+   * Created by the first {@link #indexBy} or {@link #uniqueIndexBy}, so lists which are never indexed, like the
+   * slices of a multimap, do not pay for it.
+   */
+  @Nullable
+  @NonFinal
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  transient volatile IndexCache indexes;
+
   //<editor-fold defaultstate="collapsed" desc="1. eager static initializers">
 
   @NotNull
@@ -64,7 +80,7 @@
   @Contract(value = "-> new", pure = true)
   private static ImmutableList<@NotNull Dummy> createConstant()
   {
-    return ImmutableList.<@NotNull Dummy>builder().build();
+    return ImmutableList.<@NotNull Dummy>internalBuilder().build();
   }
   //</editor-fold>
 
@@ -216,11 +232,11 @@
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   public static <S> ImmutableList<@NotNull S> noneOf(
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    return ImmutableList.<@NotNull S>of(List.of(), constructor);
+    return ComponentTypes.empty(constructor, ImmutableList.class, c -> ImmutableList.<@NotNull S>of(List.of(), c));
   }
 
   @NotNull
@@ -384,7 +400,7 @@
   @Contract(value = "_ -> new", pure = true)
   public static ImmutableList<@NotNull String> of(
     @NotNull final String @NotNull [] array) {
-    return ImmutableList.<@NotNull String>of(List.of(array));
+    return ImmutableList.<@NotNull String>of(array, String @NotNull []::new);
   }
 
   @NotNull
@@ -394,7 +410,28 @@
   public static <S> ImmutableList<@NotNull S> of(
     @NotNull final S @NotNull [] array,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
-    return ImmutableList.<@NotNull S>of(List.of(array), constructor);
+    if (array.length <= CompactList.MAX_SIZE) {
+      final List<@NotNull S> elements = CompactList.<@NotNull S>of(array, array.length);
+      final IntFunction<@NotNull S @NotNull []> typed = ComponentTypes.typedFor(constructor, elements);
+      final List<@NotNull S> storage = validated(elements, typed);
+      CollectionMetrics.copied(ImmutableList.class, Operation.OF, storage.size());
+      return ImmutableList.<@NotNull S>ofTrusted(storage, typed);
+    }
+    for (final S element : array) {
+      Objects.requireNonNull(element, "Given list cannot contain null elements.");
+    }
+    final IntFunction<@NotNull S @NotNull []> typed = ComponentTypes.typedFor(constructor, Arrays.asList(array));
+    final S[] copy = typed.apply(array.length);
+    try {
+      // The copy into the typed array checks every element, so no separate validation pass is needed.
+      System.arraycopy(array, 0, copy, 0, array.length);
+    } catch (final ArrayStoreException e) {
+      // Reports the offending element the same way as the other factories.
+      Checked.requireInstancesOf(Arrays.asList(array), getComponentTypeFromConstructor(typed));
+      throw e;
+    }
+    CollectionMetrics.copied(ImmutableList.class, Operation.OF, copy.length);
+    return ImmutableList.<@NotNull S>ofTrustedArray(copy, copy.length, typed);
   }
 
   @NotNull
@@ -405,6 +442,18 @@
     return ImmutableList.<@NotNull String>of(collection, String @NotNull []::new);
   }
 
+  /**
+   * Returns a list containing all elements of {@code a} followed by all elements of {@code b}.
+   * <p>When the elements of both lists are already known to be instances of the component type of
+   * {@code constructor}, no element is copied. Both lists are joined in a balanced concatenation tree instead,
+   * so merging k lists one after another costs O(log k) per merge, and positional access stays O(log k).
+   *
+   * @param a first part of the result
+   * @param b second part of the result
+   * @param constructor array constructor of the element type
+   * @param <S> {@code @NotNull S} element
+   * @return the concatenation of both lists
+   */
   @NotNull
   @Unmodifiable
   @UnmodifiableView
@@ -413,10 +462,24 @@
                                                     @NotNull final ImmutableList<@NotNull S> b,
                                                     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
+    if (ComponentTypes.isUntyped(constructor) && (a.isEmpty() || b.isEmpty())) {
+      return a.isEmpty() ? b : a;
+    }
+    final Class<@NotNull S> type = getComponentTypeFromConstructor(constructor);
+    if (type.isAssignableFrom(a.getComponentTypeFromKey()) && type.isAssignableFrom(b.getComponentTypeFromKey())) {
+      final List<@NotNull S> concatenated = ConcatList.<@NotNull S>concat(a.list, b.list);
+      CollectionMetrics.created(ImmutableList.class, concatenated.size());
+      return ImmutableList.<@NotNull S>internalBuilder().list(concatenated).key(constructor).build();
+    }
+    CollectionMetrics.slowPath(ImmutableList.class, Operation.MERGE);
     final Collection<@NotNull S> collection = new ArrayList<>(a.unwrap());
     collection.addAll(b.unwrap());
-    final List<@NotNull S> checkedList = Collections.checkedList(List.copyOf(collection), getComponentTypeFromConstructor(constructor));
-    return ImmutableList.<@NotNull S>builder().list(checkedList).key(constructor).build();
+    CollectionMetrics.copied(ImmutableList.class, Operation.MERGE, collection.size());
+    CollectionMetrics.created(ImmutableList.class, collection.size());
+    final List<@NotNull S> elements = CompactList.copyOf(collection);
+    final IntFunction<@NotNull S @NotNull []> typed = ComponentTypes.typedFor(constructor, elements);
+    final List<@NotNull S> storage = validated(elements, typed);
+    return ImmutableList.<@NotNull S>internalBuilder().list(storage).key(typed).build();
   }
 
   @NotNull
@@ -427,8 +490,7 @@
     @NotNull final Collection<? extends @NotNull S> collection,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    final List<@NotNull S> checkedList = Collections.checkedList(List.copyOf(collection), getComponentTypeFromConstructor(constructor));
-    return ImmutableList.<@NotNull S>builder().list(checkedList).key(constructor).build();
+    return ImmutableList.<@NotNull S>copyOf(collection, constructor, Operation.OF);
   }
 
   @NotNull
@@ -439,8 +501,113 @@
     @NotNull final Collection<? extends @NotNull S> collection,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    final List<@NotNull S> checkedList = Collections.checkedList(List.copyOf(collection), getComponentTypeFromConstructor(constructor));
-    return ImmutableList.<@NotNull S>builder().list(checkedList).key(constructor).build();
+    return ImmutableList.<@NotNull S>copyOf(collection, constructor, Operation.OF);
+  }
+
+  /**
+   * Copies the given collection and reports the copy to the {@link CollectionMetrics} as the given operation.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <S> ImmutableList<@NotNull S> copyOf(
+    @NotNull final Collection<? extends @NotNull S> collection,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor,
+    @NotNull final Operation operation)
+  {
+    final List<@NotNull S> elements = CompactList.copyOf(collection);
+    final IntFunction<@NotNull S @NotNull []> typed = ComponentTypes.typedFor(constructor, elements);
+    final List<@NotNull S> storage = validated(elements, typed);
+    CollectionMetrics.copied(ImmutableList.class, operation, storage.size());
+    CollectionMetrics.created(ImmutableList.class, storage.size());
+    return ImmutableList.<@NotNull S>internalBuilder().list(storage).key(typed).build();
+  }
+
+  /**
+   * Returns a new transient builder. The elements are appended in place and handed off to the
+   * {@link ImmutableList} on {@link ListBuilder#build()}, without a final copy.
+   *
+   * @param constructor array constructor of the element type, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} element
+   * @return new single-use builder
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static <S> ListBuilder<@NotNull S> builder(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    return new ListBuilder<>(constructor, 0);
+  }
+
+  /**
+   * Returns a new transient builder with an internal buffer presized for {@code expectedSize} elements.
+   *
+   * @param constructor array constructor of the element type, for example {@code String[]::new}
+   * @param expectedSize number of elements which are going to be added
+   * @param <S> {@code @NotNull S} element
+   * @return new single-use builder
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S> ListBuilder<@NotNull S> builder(
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor,
+    final int expectedSize)
+  {
+    return new ListBuilder<>(constructor, expectedSize);
+  }
+
+  /**
+   * Wraps the given storage without copying or validating it. The caller transfers the ownership of the storage,
+   * guarantees that it is read-only and that all elements are instances of the component type of {@code constructor}.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new", pure = true)
+  static <S> ImmutableList<@NotNull S> ofTrusted(
+    @NotNull final List<@NotNull S> storage,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    CollectionMetrics.created(ImmutableList.class, storage.size());
+    return ImmutableList.<@NotNull S>internalBuilder().list(storage).key(constructor).build();
+  }
+
+  /**
+   * Wraps the first {@code size} elements of the given array without copying it, or moves them into fields if there
+   * are only a few of them. The caller transfers the ownership of the array and must not write to it afterward. All
+   * elements must be non-null instances of the component type of {@code constructor}.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <S> ImmutableList<@NotNull S> ofTrustedArray(
+    @NotNull final S @NotNull [] array,
+    final int size,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    final List<@NotNull S> storage = size <= CompactList.MAX_SIZE
+      ? CompactList.<@NotNull S>of(array, size)
+      : new ArrayBackedList<>(array, 0, size);
+    return ImmutableList.<@NotNull S>ofTrusted(storage, constructor);
+  }
+
+  /**
+   * Verifies once that all elements of the freshly copied storage are instances of the component type of
+   * {@code constructor}, so the storage is held without a checked view. Callers resolve the placeholder constructor
+   * of the untyped empty collection with {@link ComponentTypes#typedFor} first.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> param1", pure = true)
+  private static <S> List<@NotNull S> validated(
+    @NotNull final List<@NotNull S> storage,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    Checked.requireInstancesOf(storage, getComponentTypeFromConstructor(constructor));
+    return storage;
   }
 
   @NotNull
@@ -581,6 +748,37 @@ public int lastIndexOf(@NotNull final E o)
     return list.toArray(getKey().apply(size()));
   }
 
+  @Override
+  @Contract(mutates = "param1")
+  public int copyInto(@NotNull final E @NotNull [] dest, final int offset)
+  {
+    final int size = list.size();
+    Objects.checkFromIndexSize(offset, size, dest.length);
+    if (list instanceof ArrayBackedList<@NotNull E> array) {
+      array.copyInto(dest, offset);
+    } else {
+      int index = offset;
+      for (final E element : list) {
+        dest[index++] = element;
+      }
+    }
+    return offset + size;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEachIndexed(@NotNull final ObjIntConsumer<? super @NotNull E> action)
+  {
+    if (list instanceof ArrayBackedList<@NotNull E> array) {
+      array.forEachIndexed(action);
+      return;
+    }
+    int index = 0;
+    for (final E element : list) {
+      action.accept(element, index++);
+    }
+  }
+
   @NotNull
   @Override
   @Unmodifiable
@@ -615,8 +813,13 @@ public int lastIndexOf(@NotNull final E o)
   @Unmodifiable
   @UnmodifiableView
   @Contract(value = "_ -> new", pure = true)
+  @SuppressWarnings(UNCHECKED)
   public ImmutableList<@NotNull E> addAll(@NotNull final ImmutableCollection<? extends @NotNull E> c)
   {
+    if (c instanceof ImmutableList<?> other) {
+      return ImmutableList.<@NotNull E>merge(this, (ImmutableList<@NotNull E>) other, key);
+    }
+    CollectionMetrics.slowPath(ImmutableList.class, Operation.ADD_ALL);
     return addAll(c.stream());
   }
 
@@ -678,6 +881,56 @@ public E get(final int index)
   public Optional<@Nullable E> findAny() {
     return findFirst();
   }
+
+  /**
+   * Returns a view of the portion of this list between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+   * <p>This is an O(1) operation. The view shares the backing storage of this list.
+   *
+   * @param fromIndex low endpoint (inclusive) of the slice
+   * @param toIndex high endpoint (exclusive) of the slice
+   * @return a view of the specified range within this list
+   * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex}
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableList<@NotNull E> slice(final int fromIndex, final int toIndex) {
+    Objects.checkFromToIndex(fromIndex, toIndex, size());
+    if (fromIndex == 0 && toIndex == size()) {
+      return this;
+    }
+    return toBuilder().list(list.subList(fromIndex, toIndex)).indexes(null).build();
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableList<@NotNull E> head(final int n) {
+    return (ImmutableList<@NotNull E>) IList.super.head(n);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableList<@NotNull E> tail(final int n) {
+    return (ImmutableList<@NotNull E>) IList.super.tail(n);
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  public Split<@NotNull ImmutableList<@NotNull E>> splitAt(final int index) {
+    Objects.checkIndex(index, size() + 1);
+    return Split.of(slice(0, index), slice(index, size()));
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="5. converters to family classes">
@@ -724,6 +977,8 @@ public E get(final int index)
   @Contract(value = " -> new", pure = true)
   public List<@NotNull E> unwrap()
   {
+    CollectionMetrics.unwrapped(ImmutableList.class, list.size());
+    CollectionMetrics.copied(ImmutableList.class, Operation.UNWRAP, list.size());
     return list.isEmpty()
       ? Collections.checkedList(List.of(), getComponentTypeFromKey())
       : Collections.checkedList(List.copyOf(list), getComponentTypeFromKey());
@@ -743,6 +998,52 @@ public E get(final int index)
       .collect(ImmutableCollectors.toSet(getKey()));
   }
 
+  /**
+   * Returns the index built by the previous call if it had the same {@code classifier}, or builds it now. The list
+   * keeps only its last grouping index, so a lookup through {@code indexBy(Person::getId, Id[]::new).get(id)} costs
+   * one hash lookup as long as no other classifier is used in between.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public <K> ImmutableListMultimap<@NotNull K, @NotNull E> indexBy(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key)
+  {
+    return indexes().computeIfAbsent(classifier, key, false, () -> IList.super.indexBy(classifier, key));
+  }
+
+  /**
+   * Returns the index built by the previous call if it had the same {@code classifier}, or builds it now. The list
+   * keeps only its last unique index, so a lookup through {@code uniqueIndexBy(Person::getId, Id[]::new).get(id)}
+   * costs one hash lookup as long as no other classifier is used in between.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public <K extends @NotNull Comparable<? super @NotNull K>> ImmutableMap<@NotNull K, @NotNull E> uniqueIndexBy(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull K> classifier,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key)
+  {
+    return indexes().computeIfAbsent(classifier, key, true, () -> IList.super.uniqueIndexBy(classifier, key));
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private IndexCache indexes()
+  {
+    IndexCache cache = indexes;
+    if (cache == null) {
+      cache = new IndexCache();
+      indexes = cache;
+    }
+    return cache;
+  }
+
   /**
    * Returns the element at the specified position in this list.
    *
@@ -818,6 +1119,12 @@ public boolean isSizeGreaterThanOne()
   @Unmodifiable
   @Contract(value = "-> new", pure = true)
   public String toString() {
+    return CollectionEvents.rendered(ImmutableList.class, list.size(), this::render);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  private String render() {
     try {
       final String s = new ObjectMapper().writeValueAsString(list);
       return limit(s, 1000);
@@ -0,0 +1,236 @@
+package de.ochmanski.immutables.immutable;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ochmanski.immutables.equalable.Equalable;
+import de.ochmanski.immutables.metrics.CollectionEvents;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import lombok.*;
+import org.jetbrains.annotations.*;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.SAME_PARAMETER_VALUE;
+
+/**
+ * Read-only multimap, which maps each key to a list of values in the order in which they were put.
+ * <p>All values are stored in one array, grouped by key. {@link #get(Object)} costs one hash lookup and returns
+ * the group as an {@link ImmutableList} which shares that array, so no value is copied. The keys are iterated in
+ * the order in which they were first put.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableListMultimap<Integer, String> byLength = Stream.of("a", "bb", "c")
+ *     .collect(ImmutableCollectors.groupingBy(String::length, Integer[]::new, String[]::new));
+ *   final ImmutableList<String> actual = byLength.get(1); // [a, c]
+ *   }
+ * </pre>
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Value
+@UnmodifiableView
+@ParametersAreNonnullByDefault
+@EqualsAndHashCode(doNotUseGetters = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true, builderMethodName = "internalBuilder", access = AccessLevel.PRIVATE)
+public class ImmutableListMultimap<K, V>
+{
+
+  @Unmodifiable
+  @Getter(AccessLevel.NONE)
+  @NotNull("Given multimap cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given multimap cannot be null.")
+  @Builder.Default
+  FlatMultimap<@NotNull K, @NotNull V> multimap = FlatMultimap.empty();
+
+  @NotNull("Given keyType cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
+  @Builder.Default
+  IntFunction<@NotNull K @NotNull []> key = Equalable.defaultKey();
+
+  @NotNull("Given valueType cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given valueType cannot be null.")
+  @Builder.Default
+  IntFunction<@NotNull V @NotNull []> value = Equalable.defaultKey();
+
+  //<editor-fold defaultstate="collapsed" desc="1. static factory methods">
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K, V> ImmutableListMultimap<@NotNull K, @NotNull V> noneOf(
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    return ImmutableListMultimap.<@NotNull K, @NotNull V>builder(key, value).build();
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  public static <K, V> ImmutableListMultimap<@NotNull K, @NotNull V> of(
+    @NotNull final Map<? extends @NotNull K, ? extends @NotNull Collection<? extends @NotNull V>> map,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    final MultimapBuilder<@NotNull K, @NotNull V, @NotNull ImmutableListMultimap<@NotNull K, @NotNull V>> builder =
+      ImmutableListMultimap.<@NotNull K, @NotNull V>builder(key, value);
+    map.forEach(builder::putAll);
+    return builder.build();
+  }
+
+  /**
+   * Returns a new transient builder. The values are appended to one buffer and grouped by key on
+   * {@link MultimapBuilder#build()}.
+   *
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param value array constructor of the value type, for example {@code Integer[]::new}
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return new single-use builder
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K, V> MultimapBuilder<@NotNull K, @NotNull V, @NotNull ImmutableListMultimap<@NotNull K, @NotNull V>> builder(
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    return new MultimapBuilder<>(key, value, false, storage -> ofTrusted(storage, key, value));
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  private static <K, V> ImmutableListMultimap<@NotNull K, @NotNull V> ofTrusted(
+    @NotNull final FlatMultimap<@NotNull K, @NotNull V> storage,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    CollectionMetrics.created(ImmutableListMultimap.class, storage.size());
+    return ImmutableListMultimap.<@NotNull K, @NotNull V>internalBuilder().multimap(storage).key(key).value(value).build();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. queries">
+
+  /**
+   * Returns the values of the given key, in the order in which they were put, without copying them.
+   *
+   * @param k key whose values are to be returned
+   * @return the values of the key, or an empty list if the key is absent
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableList<@NotNull V> get(@NotNull final K k) {
+    final int group = multimap.groupOf(k);
+    return group < 0
+      ? ImmutableList.<@NotNull V>noneOf(value)
+      : ImmutableList.<@NotNull V>ofTrusted(multimap.list(group), value);
+  }
+
+  /**
+   * Returns the number of values, which is the number of key-value pairs.
+   *
+   * @return the number of values
+   */
+  @Contract(pure = true)
+  public int size() {
+    return multimap.size();
+  }
+
+  @Contract(pure = true)
+  public boolean isEmpty() {
+    return multimap.size() == 0;
+  }
+
+  @Contract(pure = true)
+  public boolean containsKey(@NotNull final K k) {
+    return multimap.groupOf(k) >= 0;
+  }
+
+  @Contract(pure = true)
+  public boolean containsEntry(@NotNull final K k, @NotNull final V v) {
+    return multimap.containsEntry(k, v);
+  }
+
+  /**
+   * Performs the given action for each key and value, grouped by key, without creating entries.
+   *
+   * @param action the action to be performed for each key and value
+   */
+  @Contract(pure = true)
+  public void forEachEntry(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action) {
+    multimap.forEach(action);
+  }
+
+  /**
+   * Performs the given action for each key and its values, without copying the values.
+   *
+   * @param action the action to be performed for each key and its values
+   */
+  @Contract(pure = true)
+  public void forEachKey(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull ImmutableList<@NotNull V>> action) {
+    for (int group = 0; group < multimap.keyCount(); group++) {
+      action.accept(multimap.keyAt(group), ImmutableList.<@NotNull V>ofTrusted(multimap.list(group), value));
+    }
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. converters to family classes">
+  @NotNull
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  public ImmutableSet<@NotNull K> keySet() {
+    return ImmutableSet.<@NotNull K>of(multimap.keys(), key);
+  }
+
+  /**
+   * Returns all values, grouped by key, without copying them.
+   *
+   * @return all values of this multimap
+   */
+  @NotNull
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  public ImmutableList<@NotNull V> values() {
+    return ImmutableList.<@NotNull V>ofTrusted(multimap.values(), value);
+  }
+  //</editor-fold>
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @Contract(value = "-> new", pure = true)
+  public String toString() {
+    return CollectionEvents.rendered(ImmutableListMultimap.class, multimap.size(), this::render);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  private String render() {
+    final Map<@NotNull K, @NotNull List<@NotNull V>> groups = new LinkedHashMap<>();
+    for (int group = 0; group < multimap.keyCount(); group++) {
+      groups.put(multimap.keyAt(group), multimap.list(group));
+    }
+    try {
+      return limit(new ObjectMapper().writeValueAsString(groups), 1000);
+    } catch (JsonProcessingException e) {
+      return groups.toString();
+    }
+  }
+
+  @NotNull
+  @Unmodifiable
+  @SuppressWarnings(SAME_PARAMETER_VALUE)
+  @Contract(value = "_, _ -> new", pure = true)
+  private String limit(@NotNull final String s, final int limit)
+  {
+    final int end = Math.min(s.length(), Math.abs(limit));
+    return s.substring(0, end);
+  }
+}
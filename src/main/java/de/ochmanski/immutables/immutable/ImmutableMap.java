@@ -1,18 +1,31 @@
 package de.ochmanski.immutables.immutable;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ochmanski.immutables.collection.Checked;
 import de.ochmanski.immutables.collection.ICollection;
 import de.ochmanski.immutables.equalable.Equalable;
 import de.ochmanski.immutables.equalable.Equalable.Dummy;
+import de.ochmanski.immutables.metrics.CollectionEvents;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
 import lombok.*;
 import org.jetbrains.annotations.*;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.SAME_PARAMETER_VALUE;
 import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
 
 @Value
@@ -20,7 +33,7 @@
 @ParametersAreNonnullByDefault
 @EqualsAndHashCode(doNotUseGetters = true)
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@Builder(toBuilder = true, access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true, builderMethodName = "internalBuilder", access = AccessLevel.PRIVATE)
 public class ImmutableMap<K, V> implements IMap<@NotNull K, @NotNull V>
 {
 
@@ -29,7 +42,7 @@
   @NotNull("Given map cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given map cannot be null.")
   @Builder.Default
-  Map<@NotNull K, @NotNull V> map = (Map)Collections.checkedMap(Map.of(), Equalable.Dummy.class, Equalable.Dummy.class);
+  Map<@NotNull K, @NotNull V> map = CompactMap.empty();
 
   @NotNull("Given keyType cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
@@ -64,7 +77,7 @@
   @Contract(value = "-> new", pure = true)
   private static ImmutableMap<@NotNull Dummy, @NotNull Dummy> createConstant()
   {
-    return ImmutableMap.<@NotNull Dummy, @NotNull Dummy>builder().build();
+    return ImmutableMap.<@NotNull Dummy, @NotNull Dummy>internalBuilder().build();
   }
   //</editor-fold>
 
@@ -87,8 +100,123 @@
     @NotNull final Map<@NotNull K, @NotNull V> map,
     @NotNull final IntFunction<@NotNull K @NotNull []> key,
     @NotNull final IntFunction<@NotNull V @NotNull []> value) {
-    final Map<@NotNull K, @NotNull V> checkedMap = Collections.checkedMap(Map.copyOf(map), getComponentTypeFromConstructor(key), getComponentTypeFromConstructor(value));
-    return ImmutableMap.<@NotNull K, @NotNull V>builder().map(checkedMap).key(key).value(value).build();
+    final Map<@NotNull K, @NotNull V> storage = validated(CompactMap.copyOf(map), key, value);
+    CollectionMetrics.copiedEntries(ImmutableMap.class, Operation.OF, storage.size());
+    CollectionMetrics.created(ImmutableMap.class, storage.size());
+    return ImmutableMap.<@NotNull K, @NotNull V>internalBuilder().map(storage).key(key).value(value).build();
+  }
+
+  /**
+   * Returns a map for static lookup tables, which are built once, for example at startup, and afterward only read.
+   * <p>The keys are indexed by a minimal perfect hash function. Keys and values are stored in two parallel arrays
+   * of exactly {@code map.size()} elements plus an index of 2 bytes per entry, and every {@code get} and
+   * {@code containsKey} probes a single slot. In exchange, building searches for the hash function, which may take
+   * longer than {@link #of(Map, IntFunction, IntFunction)}. The build time is reported to
+   * {@link CollectionMetricsListener#onBuild(Class, int, long)}.
+   * <p>Keys with the same {@link Object#hashCode()} as an earlier key are kept in a small sorted stash, which is
+   * searched only when the indexed slot holds a different key. If no hash function is found at all, the map is built
+   * like {@link #of(Map, IntFunction, IntFunction)}, which is reported as a slow path.
+   *
+   * @param map entries of the lookup table
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param value array constructor of the value type, for example {@code Integer[]::new}
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return new read-only map
+   * @throws NullPointerException if the map contains a {@code null} key or value
+   * @throws ClassCastException if a key or value is not an instance of the component type of {@code key} or
+   *                            {@code value}
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> ImmutableMap<@NotNull K, @NotNull V> ofStatic(
+    @NotNull final Map<@NotNull K, @NotNull V> map,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    final long start = System.nanoTime();
+    final PerfectHashMap<@NotNull K, @NotNull V> storage = PerfectHashMap.of(map);
+    if (storage == null) {
+      CollectionMetrics.slowPath(ImmutableMap.class, Operation.OF);
+      return of(map, key, value);
+    }
+    validated(storage, key, value);
+    CollectionMetrics.built(ImmutableMap.class, storage.size(), System.nanoTime() - start);
+    CollectionMetrics.copiedEntries(ImmutableMap.class, Operation.OF, storage.size());
+    return ofTrusted(storage, key, value);
+  }
+
+  /**
+   * Returns a new transient builder. The entries are put in place and handed off to the
+   * {@link ImmutableMap} on {@link MapBuilder#build()}, without a final copy.
+   *
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param value array constructor of the value type, for example {@code Integer[]::new}
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return new single-use builder
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> MapBuilder<@NotNull K, @NotNull V> builder(
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    return new MapBuilder<>(key, value, 0);
+  }
+
+  /**
+   * Returns a new transient builder with an internal hash table presized for {@code expectedSize} entries.
+   *
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param value array constructor of the value type, for example {@code Integer[]::new}
+   * @param expectedSize number of entries which are going to be put
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return new single-use builder
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  @NotNull
+  @Contract(value = "_, _, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> MapBuilder<@NotNull K, @NotNull V> builder(
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value,
+    final int expectedSize) {
+    return new MapBuilder<>(key, value, expectedSize);
+  }
+
+  /**
+   * Wraps the given storage without copying or validating it. The caller transfers the ownership of the storage,
+   * guarantees that it is read-only and that all keys and values are instances of the component types of
+   * {@code key} and {@code value}.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <K, V> ImmutableMap<@NotNull K, @NotNull V> ofTrusted(
+    @NotNull final Map<@NotNull K, @NotNull V> storage,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    CollectionMetrics.created(ImmutableMap.class, storage.size());
+    return ImmutableMap.<@NotNull K, @NotNull V>internalBuilder().map(storage).key(key).value(value).build();
+  }
+
+  /**
+   * Verifies once that all keys and values of the freshly copied storage are instances of the component types of
+   * {@code key} and {@code value}, so the storage is held without a checked view.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> param1", pure = true)
+  private static <K, V> Map<@NotNull K, @NotNull V> validated(
+    @NotNull final Map<@NotNull K, @NotNull V> storage,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    Checked.requireInstancesOf(storage.keySet(), getComponentTypeFromConstructor(key));
+    Checked.requireInstancesOf(storage.values(), getComponentTypeFromConstructor(value));
+    return storage;
   }
 
   @NotNull
@@ -112,6 +240,49 @@
     return ImmutableSet.<@NotNull K, @NotNull V>copyOfEntries(map.entrySet(), Entry[]::new);
   }
 
+  @Override
+  @Contract(pure = true)
+  public void forEachEntry(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action) {
+    map.forEach(action);
+  }
+
+  /**
+   * Streams the entries of the backing map. Each {@link Entry} is created when it is consumed, so no entry set is
+   * built up front.
+   */
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public Stream<IMap.@NotNull Entry<@NotNull K, @NotNull V>> stream() {
+    return map.entrySet().stream().map(IMap.Entry::of);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super IMap.@NotNull Entry<@NotNull K, @NotNull V>> consumer) {
+    map.forEach((k, v) -> consumer.accept(IMap.Entry.of(k, v)));
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public Iterator<IMap.@NotNull Entry<@NotNull K, @NotNull V>> iterator() {
+    final Iterator<Map.@NotNull Entry<@NotNull K, @NotNull V>> entries = map.entrySet().iterator();
+    return new Iterator<>()
+    {
+      @Override
+      public boolean hasNext() {
+        return entries.hasNext();
+      }
+
+      @NotNull
+      @Override
+      public IMap.Entry<@NotNull K, @NotNull V> next() {
+        return IMap.Entry.of(entries.next());
+      }
+    };
+  }
+
   @NotNull
   @Override
   @Unmodifiable
@@ -212,9 +383,82 @@ public boolean containsKey(@NotNull final K o) {
   @UnmodifiableView
   @Contract(pure = true)
   public Map<@NotNull K, @NotNull V> unwrap() {
+    CollectionMetrics.unwrapped(ImmutableMap.class, map.size());
+    CollectionMetrics.copiedEntries(ImmutableMap.class, Operation.UNWRAP, map.size());
     return map.isEmpty()
            ? Collections.checkedMap(Map.of(), getComponentTypeFromKey(), getComponentTypeFromValue())
            : Collections.checkedMap(Map.copyOf(map), getComponentTypeFromKey(), getComponentTypeFromValue());
   }
   //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="7. diff">
+
+  /**
+   * Compares two versions of a map and returns the entries which were added, removed and changed.
+   * <p>Versions which share their storage, for example a map and its {@link #deepClone()}, are compared without
+   * looking at any entry. Otherwise, each key of either version is looked up once in the other version.
+   *
+   * @param previous the previous version
+   * @param next the next version
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return the entries only in {@code next} as added, the entries only in {@code previous} as removed, and the
+   * entries of {@code next} whose values differ from {@code previous} as changed
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<? super @NotNull K>, V> MapDiff<@NotNull K, @NotNull V> diff(
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> previous,
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> next)
+  {
+    final MapBuilder<@NotNull K, @NotNull V> added = ImmutableMap.<@NotNull K, @NotNull V>builder(next.key, next.value);
+    final MapBuilder<@NotNull K, @NotNull V> removed = ImmutableMap.<@NotNull K, @NotNull V>builder(previous.key, previous.value);
+    final MapBuilder<@NotNull K, @NotNull V> changed = ImmutableMap.<@NotNull K, @NotNull V>builder(next.key, next.value);
+    if (previous.map != next.map) {
+      next.map.forEach((k, v) -> {
+        final V old = previous.map.get(k);
+        if (old == null) {
+          added.put(k, v);
+        } else if (!old.equals(v)) {
+          changed.put(k, v);
+        }
+      });
+      previous.map.forEach((k, v) -> {
+        if (!next.map.containsKey(k)) {
+          removed.put(k, v);
+        }
+      });
+    }
+    return MapDiff.of(added.build(), removed.build(), changed.build());
+  }
+  //</editor-fold>
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @Contract(value = "-> new", pure = true)
+  public String toString() {
+    return CollectionEvents.rendered(ImmutableMap.class, map.size(), this::render);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  private String render() {
+    try {
+      final String s = new ObjectMapper().writeValueAsString(new TreeMap<>(map));
+      return limit(s, 1000);
+    } catch (JsonProcessingException e) {
+      return map.toString();
+    }
+  }
+
+  @NotNull
+  @Unmodifiable
+  @SuppressWarnings(SAME_PARAMETER_VALUE)
+  @Contract(value = "_, _ -> new", pure = true)
+  private String limit(@NotNull final String s, final int limit)
+  {
+    final int end = Math.min(s.length(), Math.abs(limit));
+    return s.substring(0, end);
+  }
 }
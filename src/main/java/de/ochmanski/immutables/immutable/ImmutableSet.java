@@ -2,8 +2,13 @@
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ochmanski.immutables.collection.Checked;
+import de.ochmanski.immutables.collection.ComponentTypes;
 import de.ochmanski.immutables.collection.ICollection;
 import de.ochmanski.immutables.equalable.Equalable;
+import de.ochmanski.immutables.metrics.CollectionEvents;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
 import lombok.*;
 import org.jetbrains.annotations.*;
 
@@ -20,7 +25,7 @@
 @ParametersAreNonnullByDefault
 @EqualsAndHashCode(doNotUseGetters = true)
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@Builder(toBuilder = true, access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true, builderMethodName = "internalBuilder", access = AccessLevel.PRIVATE)
 public class ImmutableSet<E> implements ISet<@NotNull E>
 {
 
@@ -29,7 +34,7 @@
   @NotNull("Given set cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given set cannot be null.")
   @Builder.Default
-  Set<@NotNull E> set = (Set)Collections.checkedSet(Set.of(), Equalable.Dummy.class);
+  Set<@NotNull E> set = CompactSet.empty();
 
   @NotNull("Given keyType cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
@@ -59,7 +64,7 @@
   @Contract(value = "-> new", pure = true)
   private static ImmutableSet<Equalable.@NotNull Dummy> createConstant()
   {
-    return ImmutableSet.<Equalable.@NotNull Dummy>builder().build();
+    return ImmutableSet.<Equalable.@NotNull Dummy>internalBuilder().build();
   }
   //</editor-fold>
 
@@ -68,10 +73,76 @@
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   public static <S> ImmutableSet<@NotNull S> noneOf(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    return ImmutableSet.of(Set.of(), constructor);
+    return ComponentTypes.empty(constructor, ImmutableSet.class, c -> ImmutableSet.of(Set.of(), c));
+  }
+
+  /**
+   * Returns a new transient builder. The elements are added in place and handed off to the
+   * {@link ImmutableSet} on {@link SetBuilder#build()}, without a final copy.
+   *
+   * @param constructor array constructor of the element type, for example {@code String[]::new}
+   * @param <S> {@code @NotNull S} element
+   * @return new single-use builder
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static <S> SetBuilder<@NotNull S> builder(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    return new SetBuilder<>(constructor, 0);
+  }
+
+  /**
+   * Returns a new transient builder with an internal hash table presized for {@code expectedSize} elements.
+   *
+   * @param constructor array constructor of the element type, for example {@code String[]::new}
+   * @param expectedSize number of elements which are going to be added
+   * @param <S> {@code @NotNull S} element
+   * @return new single-use builder
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S> SetBuilder<@NotNull S> builder(
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor,
+    final int expectedSize)
+  {
+    return new SetBuilder<>(constructor, expectedSize);
+  }
+
+  /**
+   * Wraps the given storage without copying or validating it. The caller transfers the ownership of the storage,
+   * guarantees that it is read-only and that all elements are instances of the component type of {@code constructor}.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new", pure = true)
+  static <S> ImmutableSet<@NotNull S> ofTrusted(
+    @NotNull final Set<@NotNull S> storage,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    CollectionMetrics.created(ImmutableSet.class, storage.size());
+    return ImmutableSet.<@NotNull S>internalBuilder().set(storage).key(constructor).build();
+  }
+
+  /**
+   * Verifies once that all elements of the freshly copied storage are instances of the component type of
+   * {@code constructor}, so the storage is held without a checked view. Callers resolve the placeholder constructor
+   * of the untyped empty collection with {@link ComponentTypes#typedFor} first.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> param1", pure = true)
+  private static <S> Set<@NotNull S> validated(
+    @NotNull final Set<@NotNull S> storage,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
+  {
+    Checked.requireInstancesOf(storage, getComponentTypeFromConstructor(constructor));
+    return storage;
   }
 
   @NotNull
@@ -407,7 +478,7 @@
     @NotNull final S @NotNull [] array,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    return ImmutableSet.<@NotNull S>of(List.of(array), constructor);
+    return ImmutableSet.<@NotNull S>of(Arrays.asList(array), constructor);
   }
 
   @NotNull
@@ -421,8 +492,12 @@
   {
     final Collection<@NotNull S> collection = new HashSet<>(a.unwrap());
     collection.addAll(b.unwrap());
-    final Set<@NotNull S> checkedSet = Collections.checkedSet(Set.copyOf(collection), getComponentTypeFromConstructor(constructor));
-    return ImmutableSet.<@NotNull S>builder().set(checkedSet).key(constructor).build();
+    final Set<@NotNull S> elements = CompactSet.copyOf(collection);
+    final IntFunction<@NotNull S @NotNull []> typed = ComponentTypes.typedFor(constructor, elements);
+    final Set<@NotNull S> storage = validated(elements, typed);
+    CollectionMetrics.copied(ImmutableSet.class, Operation.MERGE, storage.size());
+    CollectionMetrics.created(ImmutableSet.class, storage.size());
+    return ImmutableSet.<@NotNull S>internalBuilder().set(storage).key(typed).build();
   }
 
   @NotNull
@@ -433,8 +508,27 @@
     @NotNull final Collection<@NotNull S> collection,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    final Set<@NotNull S> checkedSet = Collections.checkedSet(Set.copyOf(collection), getComponentTypeFromConstructor(constructor));
-    return ImmutableSet.<@NotNull S>builder().set(checkedSet).key(constructor).build();
+    return ImmutableSet.<@NotNull S>copyOf(collection, constructor, Operation.OF);
+  }
+
+  /**
+   * Copies the given collection and reports the copy to the {@link CollectionMetrics} as the given operation.
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  static <S> ImmutableSet<@NotNull S> copyOf(
+    @NotNull final Collection<@NotNull S> collection,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor,
+    @NotNull final Operation operation)
+  {
+    final Set<@NotNull S> elements = CompactSet.copyOf(collection);
+    final IntFunction<@NotNull S @NotNull []> typed = ComponentTypes.typedFor(constructor, elements);
+    final Set<@NotNull S> storage = validated(elements, typed);
+    CollectionMetrics.copied(ImmutableSet.class, operation, storage.size());
+    CollectionMetrics.created(ImmutableSet.class, storage.size());
+    return ImmutableSet.<@NotNull S>internalBuilder().set(storage).key(typed).build();
   }
 
   @NotNull
@@ -648,6 +742,8 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @UnmodifiableView
   @Contract(value = " -> new", pure = true)
   public Set<@NotNull E> unwrap() {
+    CollectionMetrics.unwrapped(ImmutableSet.class, set.size());
+    CollectionMetrics.copied(ImmutableSet.class, Operation.UNWRAP, set.size());
     return set.isEmpty()
       ? Collections.checkedSet(Set.of(), getComponentTypeFromKey())
       : Collections.checkedSet(Set.copyOf(set), getComponentTypeFromKey());
@@ -711,11 +807,77 @@ public boolean isSizeGreaterThanOne()
   }
   //</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="9. diff">
+
+  /**
+   * Compares two versions of a set and returns the elements which were added and removed.
+   * <p>Versions which share their storage, for example a set and its {@link #deepClone()}, are compared without
+   * looking at any element. Two {@link ImmutableSortedSet}s are compared with
+   * {@link ImmutableSortedSet#diff(ImmutableSortedSet, ImmutableSortedSet)}. Otherwise, each element of either
+   * version is looked up once in the other version. Wrappers such as {@code EqualableSet} are compared through the
+   * set which they wrap.
+   *
+   * @param previous the previous version
+   * @param next the next version
+   * @param <S> {@code @NotNull S} element
+   * @return the elements only in {@code next} as added, and the elements only in {@code previous} as removed
+   */
+  @NotNull
+  @SuppressWarnings({ UNCHECKED, RAWTYPES })
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S> SetDiff<@NotNull S> diff(@NotNull final ISet<@NotNull S> previous, @NotNull final ISet<@NotNull S> next)
+  {
+    final ISet<@NotNull S> before = innermost(previous);
+    final ISet<@NotNull S> after = innermost(next);
+    if (before instanceof ImmutableSortedSet sortedBefore && after instanceof ImmutableSortedSet sortedAfter) {
+      return ImmutableSortedSet.diff(sortedBefore, sortedAfter);
+    }
+    final SetBuilder<@NotNull S> added = ImmutableSet.<@NotNull S>builder(next.getKey());
+    final SetBuilder<@NotNull S> removed = ImmutableSet.<@NotNull S>builder(previous.getKey());
+    if (!shareStorage(before, after)) {
+      after.forEach(e -> {
+        if (!before.contains(e)) {
+          added.add(e);
+        }
+      });
+      before.forEach(e -> {
+        if (!after.contains(e)) {
+          removed.add(e);
+        }
+      });
+    }
+    return SetDiff.of(added.build(), removed.build());
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private static <S> ISet<@NotNull S> innermost(@NotNull final ISet<@NotNull S> set)
+  {
+    ISet<@NotNull S> current = set;
+    for (ISet<@NotNull S> inner = current.getSet(); inner != current; inner = current.getSet()) {
+      current = inner;
+    }
+    return current;
+  }
+
+  @Contract(pure = true)
+  private static boolean shareStorage(@NotNull final ISet<?> a, @NotNull final ISet<?> b)
+  {
+    return a == b || a instanceof ImmutableSet<?> x && b instanceof ImmutableSet<?> y && x.set == y.set;
+  }
+  //</editor-fold>
+
   @NotNull
   @Override
   @Unmodifiable
   @Contract(value = "-> new", pure = true)
   public String toString() {
+    return CollectionEvents.rendered(ImmutableSet.class, set.size(), this::render);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  private String render() {
     try {
       final String s = new ObjectMapper().writeValueAsString(new TreeSet<>(set));
       return limit(s, 1000);
@@ -0,0 +1,541 @@
+package de.ochmanski.immutables.immutable;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ochmanski.immutables.collection.ComponentTypes;
+import de.ochmanski.immutables.equalable.Equalable;
+import de.ochmanski.immutables.equalable.Equalable.Dummy;
+import de.ochmanski.immutables.metrics.CollectionEvents;
+import de.ochmanski.immutables.metrics.CollectionMetrics;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
+import lombok.*;
+import org.jetbrains.annotations.*;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.*;
+
+/**
+ * Read-only map whose entries are ordered by the natural order of their keys.
+ * <p>The keys and values are stored in two parallel arrays, sorted by key. {@link #get(Comparable)},
+ * {@link #floorEntry(Comparable)} and {@link #ceilingEntry(Comparable)} are binary searches in O(log n), and
+ * {@link #subMap(Comparable, Comparable)}, {@link #headMap(Comparable)} and {@link #tailMap(Comparable)} return
+ * views which share the arrays, so they cost O(log n) as well. {@link #put(Comparable, Object)} and
+ * {@link #remove(Comparable)} copy both arrays once.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableSortedMap<Integer, String> map = ImmutableSortedMap.of(Map.of(10, "a", 20, "b"), Integer[]::new, String[]::new);
+ *   final Optional<IMap.Entry<Integer, String>> actual = map.floorEntry(15); // 10=a
+ *   }
+ * </pre>
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Value
+@UnmodifiableView
+@ParametersAreNonnullByDefault
+@EqualsAndHashCode(doNotUseGetters = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true, builderMethodName = "internalBuilder", access = AccessLevel.PRIVATE)
+public class ImmutableSortedMap<K extends @NotNull Comparable<@NotNull K>, V> implements IMap<@NotNull K, @NotNull V>
+{
+
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given map cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given map cannot be null.")
+  @Builder.Default
+  ArraySortedMap<@NotNull K, @NotNull V> map = ArraySortedMap.empty();
+
+  @NotNull("Given keyType cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
+  @Builder.Default
+  IntFunction<@NotNull K @NotNull []> key = Equalable.defaultKey();
+
+  @NotNull("Given valueType cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given valueType cannot be null.")
+  @Builder.Default
+  IntFunction<@NotNull V @NotNull []> value = Equalable.defaultKey();
+
+  //<editor-fold defaultstate="collapsed" desc="1. eager static initializers">
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  @SuppressWarnings({ UNCHECKED, RAWTYPES })
+  public static <K extends @NotNull Comparable<@NotNull K>, V> ImmutableSortedMap<@NotNull K, @NotNull V> empty()
+  {
+    return (ImmutableSortedMap) EMPTY;
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  private static final ImmutableSortedMap<@NotNull Dummy, @NotNull Dummy> EMPTY = createConstant();
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new", pure = true)
+  private static ImmutableSortedMap<@NotNull Dummy, @NotNull Dummy> createConstant()
+  {
+    return ImmutableSortedMap.<@NotNull Dummy, @NotNull Dummy>internalBuilder().build();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. static factory methods">
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<@NotNull K>, V> ImmutableSortedMap<@NotNull K, @NotNull V> noneOf(
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    return ImmutableSortedMap.<@NotNull K, @NotNull V>of(Map.of(), key, value);
+  }
+
+  /**
+   * Copies the given map into two arrays sorted by key. A {@link SortedMap} in natural order is copied without
+   * sorting it again.
+   *
+   * @param map entries of the new map
+   * @param key array constructor of the key type, for example {@code String[]::new}
+   * @param value array constructor of the value type, for example {@code Integer[]::new}
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return new read-only sorted map
+   * @throws NullPointerException if the map contains a {@code null} key or value
+   * @throws ArrayStoreException if a key or value is not an instance of the component type of its constructor
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<@NotNull K>, V> ImmutableSortedMap<@NotNull K, @NotNull V> of(
+    @NotNull final Map<? extends @NotNull K, ? extends @NotNull V> map,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    final ArraySortedMap<@NotNull K, @NotNull V> storage = ArraySortedMap.copyOf(map, key, value);
+    CollectionMetrics.copiedEntries(ImmutableSortedMap.class, Operation.OF, storage.size());
+    return ofTrusted(storage, key, value);
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  public static <K extends @NotNull Comparable<@NotNull K>, V> ImmutableSortedMap<@NotNull K, @NotNull V> copyOf(
+    @NotNull final IMap<@NotNull K, @NotNull V> map) {
+    if (map instanceof ImmutableSortedMap<@NotNull K, @NotNull V> sortedMap) {
+      return sortedMap;
+    }
+    final Map<@NotNull K, @NotNull V> entries = new LinkedHashMap<>(map.size());
+    map.forEachEntry(entries::put);
+    return ImmutableSortedMap.<@NotNull K, @NotNull V>of(entries, map.getKey(), map.getValue());
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new", pure = true)
+  private static <K extends @NotNull Comparable<@NotNull K>, V> ImmutableSortedMap<@NotNull K, @NotNull V> ofTrusted(
+    @NotNull final ArraySortedMap<@NotNull K, @NotNull V> storage,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) {
+    CollectionMetrics.created(ImmutableSortedMap.class, storage.size());
+    return ImmutableSortedMap.<@NotNull K, @NotNull V>internalBuilder().map(storage).key(key).value(value).build();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. implementation of IMap interface">
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  public ImmutableSortedSet<IMap.@NotNull Entry<@NotNull K, @NotNull V>> entrySet() {
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
+    final IntFunction<IMap.@NotNull Entry<@NotNull K, @NotNull V> @NotNull []> entry = Entry[]::new;
+    return ImmutableSortedSet.<@NotNull K, @NotNull V>copyOfEntries(map.entrySet(), entry);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEachEntry(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action) {
+    map.forEach(action);
+  }
+
+  /**
+   * Returns an iterator over the entries of this map in ascending order of their keys.
+   *
+   * @return an iterator over the entries of this map
+   */
+  @NotNull
+  @Override
+  @Contract(value = " -> new", pure = true)
+  public Iterator<IMap.@NotNull Entry<@NotNull K, @NotNull V>> iterator() {
+    final Iterator<Map.@NotNull Entry<@NotNull K, @NotNull V>> entries = map.entrySet().iterator();
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return entries.hasNext();
+      }
+
+      @NotNull
+      @Override
+      public IMap.Entry<@NotNull K, @NotNull V> next() {
+        return IMap.Entry.<@NotNull K, @NotNull V>of(entries.next());
+      }
+    };
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableSet<@NotNull K> findByValue(@NotNull final V value) {
+    final SetBuilder<@NotNull K> keys = ImmutableSet.builder(getKey());
+    map.forEach((k, v) -> {
+      if (Equalable.<@NotNull V>areEqual(v, value)) {
+        keys.add(k);
+      }
+    });
+    return keys.build();
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   *
+   * @return the number of entries in this map
+   */
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Returns {@code true} if this map contains no entries.
+   *
+   * @return {@code true} if this map contains no entries
+   */
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  /**
+   * Returns {@code true} if this map contains a mapping for the specified key, in O(log n).
+   *
+   * @param o key whose presence in this map is to be tested
+   * @return {@code true} if this map contains a mapping for the specified key
+   */
+  @Override
+  public boolean containsKey(@NotNull final K o) {
+    return map.containsKey(o);
+  }
+
+  /**
+   * Returns a deep copy of this {@code ImmutableSortedMap} instance.
+   *
+   * @return a clone of this {@code ImmutableSortedMap} instance
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> deepClone() {
+    return toBuilder().build();
+  }
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = " -> this", pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> getMap() {
+    return this;
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="4. Positional Access Operations">
+  @NotNull
+  @Override
+  public Optional<@Nullable V> get(@NotNull final K key) {
+    return Optional.ofNullable(map.get(key));
+  }
+
+  /**
+   * Returns the entry with the least key, or an empty {@code Optional} if this map is empty.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Optional<IMap.@NotNull Entry<@NotNull K, @NotNull V>> firstEntry() {
+    return entryAt(0);
+  }
+
+  /**
+   * Returns the entry with the greatest key, or an empty {@code Optional} if this map is empty.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Optional<IMap.@NotNull Entry<@NotNull K, @NotNull V>> lastEntry() {
+    return entryAt(map.size() - 1);
+  }
+
+  /**
+   * Returns the entry with the greatest key less than or equal to the given key, in O(log n).
+   *
+   * @param key the key to search for
+   * @return the entry, or an empty {@code Optional} if all keys are greater than {@code key}
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Optional<IMap.@NotNull Entry<@NotNull K, @NotNull V>> floorEntry(@NotNull final K key) {
+    return entryAt(map.floorIndex(key));
+  }
+
+  /**
+   * Returns the entry with the least key greater than or equal to the given key, in O(log n).
+   *
+   * @param key the key to search for
+   * @return the entry, or an empty {@code Optional} if all keys are less than {@code key}
+   */
+  @NotNull
+  @Contract(pure = true)
+  public Optional<IMap.@NotNull Entry<@NotNull K, @NotNull V>> ceilingEntry(@NotNull final K key) {
+    return entryAt(map.ceilingIndex(key));
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  private Optional<IMap.@NotNull Entry<@NotNull K, @NotNull V>> entryAt(final int index) {
+    if (index < 0 || index >= map.size()) {
+      return Optional.empty();
+    }
+    return Optional.of(IMap.Entry.<@NotNull K, @NotNull V>of(Map.entry(map.keyAt(index), map.valueAt(index))));
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="5. range views">
+
+  /**
+   * Returns a view of the entries whose keys range from {@code fromKey}, inclusive, to {@code toKey}, exclusive.
+   * The view shares the arrays of this map, so no entry is copied.
+   *
+   * @param fromKey low endpoint, inclusive
+   * @param toKey high endpoint, exclusive
+   * @return the entries in the given range
+   * @throws IllegalArgumentException if {@code fromKey} is greater than {@code toKey}, or if this map is a view and
+   *                                  either key lies outside of its range
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new", pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> subMap(@NotNull final K fromKey, @NotNull final K toKey) {
+    return toBuilder().map(map.subMap(fromKey, toKey)).build();
+  }
+
+  /**
+   * Returns a view of the entries whose keys are strictly less than {@code toKey}, sharing the arrays of this map.
+   *
+   * @param toKey high endpoint, exclusive
+   * @return the entries below the given key
+   * @throws IllegalArgumentException if this map is a view and {@code toKey} lies outside of its range
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> headMap(@NotNull final K toKey) {
+    return toBuilder().map(map.headMap(toKey)).build();
+  }
+
+  /**
+   * Returns a view of the entries whose keys are greater than or equal to {@code fromKey}, sharing the arrays of
+   * this map.
+   *
+   * @param fromKey low endpoint, inclusive
+   * @return the entries from the given key on
+   * @throws IllegalArgumentException if this map is a view and {@code fromKey} lies outside of its range
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> tailMap(@NotNull final K fromKey) {
+    return toBuilder().map(map.tailMap(fromKey)).build();
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="6. updates">
+
+  /**
+   * Returns a map which additionally maps {@code key} to {@code value}, replacing a previous value of {@code key}.
+   * The keys and values are copied once, into arrays of the new size. The first entry put into the untyped
+   * {@link #empty()} map determines its key and value types.
+   *
+   * @param key key of the entry
+   * @param value value of the entry
+   * @return the updated map, or this map if {@code key} is already mapped to an equal value
+   * @throws NullPointerException if {@code key} or {@code value} is {@code null}
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> put(@NotNull final K key, @NotNull final V value) {
+    final ArraySortedMap<@NotNull K, @NotNull V> updated = map.with(key, value);
+    if (updated == map) {
+      return this;
+    }
+    CollectionMetrics.copiedEntries(ImmutableSortedMap.class, Operation.ADD_ALL, updated.size());
+    return ofTrusted(updated,
+      ComponentTypes.typedFor(getKey(), List.of(key)),
+      ComponentTypes.typedFor(getValue(), List.of(value)));
+  }
+
+  /**
+   * Returns a map without the entry of {@code key}. The remaining keys and values are copied once.
+   *
+   * @param key key of the entry to be removed
+   * @return the updated map, or this map if {@code key} is absent
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableSortedMap<@NotNull K, @NotNull V> remove(@NotNull final K key) {
+    final ArraySortedMap<@NotNull K, @NotNull V> updated = map.without(key);
+    if (updated == map) {
+      return this;
+    }
+    CollectionMetrics.copiedEntries(ImmutableSortedMap.class, Operation.ADD_ALL, updated.size());
+    return ofTrusted(updated, getKey(), getValue());
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="7. converters to family classes">
+  @NotNull
+  @Override
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  public ImmutableSortedSet<@NotNull K> keySet() {
+    return ImmutableSortedSet.<@NotNull K>ofArray(map.keysToArray(), getKey());
+  }
+
+  @NotNull
+  @Override
+  @UnmodifiableView
+  @Contract(value = " -> new", pure = true)
+  public ImmutableList<@NotNull V> values() {
+    final V[] values = map.valuesToArray();
+    CollectionMetrics.copied(ImmutableList.class, Operation.CONVERT, values.length);
+    return ImmutableList.<@NotNull V>ofTrustedArray(values, values.length, getValue());
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="8. bridge for Java Collection API">
+  @NotNull
+  @Override
+  @UnmodifiableView
+  @Contract(pure = true)
+  public SortedMap<@NotNull K, @NotNull V> unwrap() {
+    CollectionMetrics.unwrapped(ImmutableSortedMap.class, map.size());
+    return Collections.checkedSortedMap(Collections.unmodifiableSortedMap(map), getComponentTypeFromKey(),
+      getComponentTypeFromValue());
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="9. diff">
+
+  /**
+   * Compares two versions of a sorted map and returns the entries which were added, removed and changed.
+   * <p>Versions which are views over the same arrays, for example a map and its {@link #headMap(Comparable)}, differ
+   * only at their ends and are compared in time proportional to the difference. Otherwise, both versions are merged
+   * in ascending order of keys, which compares the keys instead of hashing them. Only the keys of the added, removed
+   * and changed entries are hashed, by the {@link ImmutableMap} builders which collect them.
+   *
+   * @param previous the previous version
+   * @param next the next version
+   * @param <K> {@code @NotNull K} key
+   * @param <V> {@code @NotNull V} value
+   * @return the entries only in {@code next} as added, the entries only in {@code previous} as removed, and the
+   * entries of {@code next} whose values differ from {@code previous} as changed
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <K extends @NotNull Comparable<@NotNull K>, V> MapDiff<@NotNull K, @NotNull V> diff(
+    @NotNull final ImmutableSortedMap<@NotNull K, @NotNull V> previous,
+    @NotNull final ImmutableSortedMap<@NotNull K, @NotNull V> next)
+  {
+    final MapBuilder<@NotNull K, @NotNull V> added = ImmutableMap.<@NotNull K, @NotNull V>builder(next.key, next.value);
+    final MapBuilder<@NotNull K, @NotNull V> removed = ImmutableMap.<@NotNull K, @NotNull V>builder(previous.key, previous.value);
+    final MapBuilder<@NotNull K, @NotNull V> changed = ImmutableMap.<@NotNull K, @NotNull V>builder(next.key, next.value);
+    final ArraySortedMap<@NotNull K, @NotNull V> before = previous.map;
+    final ArraySortedMap<@NotNull K, @NotNull V> after = next.map;
+    if (before.sharesEntriesWith(after)) {
+      after.forEachOutside(before, added::put);
+      before.forEachOutside(after, removed::put);
+    } else {
+      int i = 0;
+      int j = 0;
+      while (i < before.size() || j < after.size()) {
+        final int order = i == before.size() ? 1 : j == after.size() ? -1 : before.keyAt(i).compareTo(after.keyAt(j));
+        if (order < 0) {
+          removed.put(before.keyAt(i), before.valueAt(i));
+          i++;
+        } else if (order > 0) {
+          added.put(after.keyAt(j), after.valueAt(j));
+          j++;
+        } else {
+          if (!before.valueAt(i).equals(after.valueAt(j))) {
+            changed.put(after.keyAt(j), after.valueAt(j));
+          }
+          i++;
+          j++;
+        }
+      }
+    }
+    return MapDiff.of(added.build(), removed.build(), changed.build());
+  }
+  //</editor-fold>
+
+  @NotNull
+  @Override
+  @Unmodifiable
+  @Contract(value = "-> new", pure = true)
+  public String toString() {
+    return CollectionEvents.rendered(ImmutableSortedMap.class, map.size(), this::render);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  private String render() {
+    try {
+      final String s = new ObjectMapper().writeValueAsString(map);
+      return limit(s, 1000);
+    } catch (JsonProcessingException e) {
+      return map.toString();
+    }
+  }
+
+  @NotNull
+  @Unmodifiable
+  @SuppressWarnings(SAME_PARAMETER_VALUE)
+  @Contract(value = "_, _ -> new", pure = true)
+  private String limit(@NotNull final String s, final int limit)
+  {
+    final int end = Math.min(s.length(), Math.abs(limit));
+    return s.substring(0, end);
+  }
+}
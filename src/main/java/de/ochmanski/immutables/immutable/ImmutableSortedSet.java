@@ -2,9 +2,10 @@
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import de.ochmanski.immutables.collection.ICollection;
+import de.ochmanski.immutables.collection.ComponentTypes;
 import de.ochmanski.immutables.equalable.Equalable;
 import de.ochmanski.immutables.equalable.EqualableCollection;
+import de.ochmanski.immutables.metrics.CollectionEvents;
 import lombok.*;
 import org.jetbrains.annotations.*;
 
@@ -12,6 +13,7 @@
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static de.ochmanski.immutables.constants.Constants.Warning.*;
@@ -30,7 +32,7 @@
   @NotNull("Given set cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given set cannot be null.")
   @Builder.Default
-  SortedSet<@NotNull E> set = (SortedSet)Collections.checkedSortedSet(Collections.emptySortedSet(), Equalable.Dummy.class);
+  SortedSet<@NotNull E> set = Collections.emptySortedSet();
 
   @NotNull("Given keyType cannot be null.")
   @javax.validation.constraints.NotNull(message = "Given keyType cannot be null.")
@@ -69,10 +71,10 @@
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   public static <S extends @NotNull Comparable<@NotNull S>> ImmutableSortedSet<@NotNull S> noneOf(@NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    return ImmutableSortedSet.of(Set.of(), constructor);
+    return ComponentTypes.empty(constructor, ImmutableSortedSet.class, c -> ImmutableSortedSet.of(Set.of(), c));
   }
 
   @NotNull
@@ -400,7 +402,7 @@
     @NotNull final S @NotNull [] array,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    return ImmutableSortedSet.<@NotNull S>of(List.of(array), constructor);
+    return ImmutableSortedSet.<@NotNull S>of(Arrays.asList(array), constructor);
   }
 
   @NotNull
@@ -411,17 +413,8 @@
     @NotNull final Collection<@NotNull S> collection,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor)
   {
-    final SortedSet<@NotNull S> checkedSet = Collections.checkedSortedSet(new TreeSet<>(collection), getComponentTypeFromConstructor(constructor));
-    return ImmutableSortedSet.<@NotNull S>builder().set(checkedSet).key(constructor).build();
-  }
-
-  @NotNull
-  @Unmodifiable
-  @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
-  private static <S> Class<@NotNull S> getComponentTypeFromConstructor(
-    @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
-    return ICollection.<@NotNull S>getComponentTypeFromConstructor(constructor);
+    final SortedSet<@NotNull S> sortedSet = ArraySortedSet.copyOf(collection, constructor);
+    return ImmutableSortedSet.<@NotNull S>builder().set(sortedSet).key(constructor).build();
   }
 
   @NotNull
@@ -557,8 +550,7 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @Contract(value = " -> new", pure = true)
   public Optional<@Nullable E> findFirst()
   {
-    final Comparator<? super E> c = Comparator.nullsLast(Comparator.naturalOrder());
-    return min(c);
+    return set.isEmpty() ? Optional.empty() : Optional.of(set.first());
   }
 
   @NotNull
@@ -573,8 +565,7 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @Contract(value = " -> new", pure = true)
   public Optional<@Nullable E> findLast()
   {
-    final Comparator<? super E> c = Comparator.nullsFirst(Comparator.naturalOrder());
-    return max(c);
+    return set.isEmpty() ? Optional.empty() : Optional.of(set.last());
   }
 
   @NotNull
@@ -638,12 +629,47 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   @Contract(value = "_ -> new", pure = true)
   public ImmutableSortedSet<@NotNull E> addAll(@NotNull final Stream<? extends @NotNull E> c)
   {
-    return Stream.concat(stream(), c).collect(ImmutableCollectors.toSortedSet(getKey()));
+    final List<@NotNull E> additions = c.collect(Collectors.toList());
+    final IntFunction<@NotNull E @NotNull []> typed = ComponentTypes.typedFor(key, additions);
+    return ImmutableSortedSet.<@NotNull E>builder().set(ArraySortedSet.union(set, additions, typed)).key(typed).build();
   }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="4. Positional Access Operations">
 
+  /**
+   * Returns the element at the specified position in ascending order. Costs O(1).
+   *
+   * @param index index of the element to return
+   * @return the element at the specified position in this set
+   * @throws IndexOutOfBoundsException if the index is out of range ({@code index < 0 || index >= size()})
+   */
+  @NotNull
+  @Contract(pure = true)
+  public E get(final int index)
+  {
+    if (set instanceof ArraySortedSet<@NotNull E> array) {
+      return array.get(index);
+    }
+    Objects.checkIndex(index, set.size());
+    return set.stream().skip(index).findFirst().orElseThrow();
+  }
+
+  /**
+   * Returns the position of the specified element in ascending order, or -1 if this set does not contain it.
+   * Costs O(log n).
+   *
+   * @param o element to search for
+   * @return the index of the element, or -1
+   */
+  @Contract(pure = true)
+  public int indexOf(@NotNull final E o)
+  {
+    if (set instanceof ArraySortedSet<@NotNull E> array) {
+      return array.indexOf(o);
+    }
+    return set.contains(o) ? set.headSet(o).size() : -1;
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="5. converters to family classes">
@@ -678,11 +704,69 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer)
   }
   //</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="7. diff">
+
+  /**
+   * Compares two versions of a sorted set and returns the elements which were added and removed.
+   * <p>Versions which share their storage, for example a set and its {@link #deepClone()}, are compared without
+   * looking at any element. Otherwise, both versions are merged in ascending order, which compares the elements
+   * instead of hashing them. Only the added and removed elements are hashed, by the {@link ImmutableSet} builders
+   * which collect them.
+   *
+   * @param previous the previous version
+   * @param next the next version
+   * @param <S> {@code @NotNull S} element
+   * @return the elements only in {@code next} as added, and the elements only in {@code previous} as removed
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S extends @NotNull Comparable<@NotNull S>> SetDiff<@NotNull S> diff(
+    @NotNull final ImmutableSortedSet<@NotNull S> previous,
+    @NotNull final ImmutableSortedSet<@NotNull S> next)
+  {
+    final SetBuilder<@NotNull S> added = ImmutableSet.<@NotNull S>builder(next.key);
+    final SetBuilder<@NotNull S> removed = ImmutableSet.<@NotNull S>builder(previous.key);
+    if (previous.set != next.set) {
+      final Iterator<@NotNull S> a = previous.set.iterator();
+      final Iterator<@NotNull S> b = next.set.iterator();
+      S x = nextOrNull(a);
+      S y = nextOrNull(b);
+      while (x != null || y != null) {
+        final int order = x == null ? 1 : y == null ? -1 : x.compareTo(y);
+        if (order < 0) {
+          removed.add(x);
+          x = nextOrNull(a);
+        } else if (order > 0) {
+          added.add(y);
+          y = nextOrNull(b);
+        } else {
+          x = nextOrNull(a);
+          y = nextOrNull(b);
+        }
+      }
+    }
+    return SetDiff.of(added.build(), removed.build());
+  }
+
+  @Nullable
+  @Contract(mutates = "param1")
+  private static <S> S nextOrNull(@NotNull final Iterator<@NotNull S> iterator)
+  {
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+  //</editor-fold>
+
   @NotNull
   @Override
   @Unmodifiable
   @Contract(value = "-> new", pure = true)
   public String toString() {
+    return CollectionEvents.rendered(ImmutableSortedSet.class, set.size(), this::render);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  private String render() {
     try {
       final String s = new ObjectMapper().writeValueAsString(set);
       return limit(s, 1000);
@@ -0,0 +1,54 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Memo of the secondary indexes of one immutable list, attached to the list instance on the first lookup.
+ * <p>An index is built on the first lookup and reused by every later lookup with the same classifier, which is
+ * safe because the list never changes. A classifier is matched by identity, so a method reference or a
+ * non-capturing lambda written at one call site always hits the memo.
+ * <p>Only the last index of each kind, grouping and unique, is kept. Looking up with alternating classifiers
+ * rebuilds the index every time, but the memo never holds more than two indexes, however many classifiers a
+ * long-lived list sees.
+ * <p>Lookups read a volatile, immutable entry without locking. Two threads may build the same index concurrently;
+ * both results are equal and the last one is kept.
+ */
+final class IndexCache
+{
+
+  private record Entry(@NotNull Object classifier, @NotNull Object key, @NotNull Object index) {}
+
+  @Nullable
+  private volatile Entry grouping;
+
+  @Nullable
+  private volatile Entry unique;
+
+  @NotNull
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  <I> I computeIfAbsent(@NotNull final Object classifier,
+                        @NotNull final Object key,
+                        final boolean unique,
+                        @NotNull final Supplier<? extends @NotNull I> factory)
+  {
+    final Entry cached = unique ? this.unique : grouping;
+    if (cached != null && cached.classifier() == classifier && cached.key() == key) {
+      return (I) cached.index();
+    }
+    final I index = factory.get();
+    final Entry entry = new Entry(classifier, key, index);
+    if (unique) {
+      this.unique = entry;
+    } else {
+      grouping = entry;
+    }
+    return index;
+  }
+}
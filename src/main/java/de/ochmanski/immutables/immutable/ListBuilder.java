@@ -0,0 +1,150 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Transient, single-owner builder of {@link ImmutableList}.
+ * <p>Elements are appended in place to an internal buffer created with the array constructor of the list.
+ * The buffer is handed off to the {@link ImmutableList} on {@link #build()}. It is copied only when it has spare
+ * capacity, so the list never retains more slots than elements.
+ * <p>The builder can be used only once. Any call after {@link #build()} throws {@link IllegalStateException},
+ * because the buffer is now owned by the immutable list.
+ * <p>This class is not thread-safe.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableList<String> actual = ImmutableList.builder(String[]::new).add("a").addAll(List.of("b", "c")).build();
+ *   }
+ * </pre>
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@ParametersAreNonnullByDefault
+public final class ListBuilder<E>
+{
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  @NotNull
+  private final IntFunction<@NotNull E @NotNull []> key;
+
+  private E[] elements;
+
+  private int size;
+
+  @Contract(pure = true)
+  ListBuilder(@NotNull final IntFunction<@NotNull E @NotNull []> key, final int expectedSize)
+  {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    }
+    this.key = key;
+    this.elements = key.apply(expectedSize == 0 ? DEFAULT_CAPACITY : expectedSize);
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public ListBuilder<@NotNull E> add(@NotNull final E e)
+  {
+    ensureCapacity(size + 1);
+    elements[size++] = Objects.requireNonNull(e, "Given element cannot be null.");
+    return this;
+  }
+
+  @NotNull
+  @SafeVarargs
+  @Contract(value = "_ -> this")
+  public final ListBuilder<@NotNull E> addAll(@NotNull final E @NotNull ... array)
+  {
+    ensureCapacity(size + array.length);
+    for (final E e : array) {
+      elements[size++] = Objects.requireNonNull(e, "Given element cannot be null.");
+    }
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public ListBuilder<@NotNull E> addAll(@NotNull final Collection<? extends @NotNull E> collection)
+  {
+    ensureCapacity(size + collection.size());
+    collection.forEach(this::add);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public ListBuilder<@NotNull E> addAll(@NotNull final ImmutableCollection<? extends @NotNull E> collection)
+  {
+    ensureNotBuilt();
+    collection.forEach(this::add);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public ListBuilder<@NotNull E> addAll(@NotNull final Stream<? extends @NotNull E> stream)
+  {
+    ensureNotBuilt();
+    stream.forEachOrdered(this::add);
+    return this;
+  }
+
+  @Contract(pure = true)
+  public int size()
+  {
+    ensureNotBuilt();
+    return size;
+  }
+
+  /**
+   * Hands the internal buffer off to a new {@link ImmutableList}. The builder cannot be used afterward.
+   * <p>A buffer with spare capacity is trimmed to the size first. This costs one copy, but keeps the slack of the
+   * growth policy, or of an overestimated expected size, out of the long-lived list.
+   *
+   * @return the immutable list containing all elements added so far, in insertion order
+   * @throws IllegalStateException if this builder has already been built
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new")
+  public ImmutableList<@NotNull E> build()
+  {
+    ensureNotBuilt();
+    final E[] buffer = elements;
+    elements = null;
+    if (size == 0) {
+      return ImmutableList.<@NotNull E>noneOf(key);
+    }
+    final E[] trimmed = size > CompactList.MAX_SIZE && size < buffer.length ? Arrays.copyOf(buffer, size) : buffer;
+    return ImmutableList.<@NotNull E>ofTrustedArray(trimmed, size, key);
+  }
+
+  private void ensureNotBuilt()
+  {
+    if (elements == null) {
+      throw new IllegalStateException("This builder has already been built. "
+        + "Please create a new one, for example: ImmutableList.builder(String[]::new)");
+    }
+  }
+
+  private void ensureCapacity(final int minCapacity)
+  {
+    ensureNotBuilt();
+    if (minCapacity > elements.length) {
+      final int grown = elements.length + (elements.length >> 1) + 1;
+      elements = Arrays.copyOf(elements, Math.max(grown, minCapacity));
+    }
+  }
+}
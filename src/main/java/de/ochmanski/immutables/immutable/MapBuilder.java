@@ -0,0 +1,151 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.collection.ComponentTypes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Transient, single-owner builder of {@link ImmutableMap}.
+ * <p>Entries are put in place into an internal hash table, which is handed off to the {@link ImmutableMap}
+ * on {@link #build()}, without a final copy. When a key is put more than once, the last value wins.
+ * <p>The builder can be used only once. Any call after {@link #build()} throws {@link IllegalStateException},
+ * because the hash table is now owned by the immutable map.
+ * <p>This class is not thread-safe.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableMap<String, Integer> actual = ImmutableMap.builder(String[]::new, Integer[]::new)
+ *     .put("a", 1)
+ *     .put("b", 2)
+ *     .build();
+ *   }
+ * </pre>
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@ParametersAreNonnullByDefault
+public final class MapBuilder<K extends @NotNull Comparable<? super @NotNull K>, V>
+{
+
+  @NotNull
+  private final IntFunction<@NotNull K @NotNull []> key;
+
+  @NotNull
+  private final IntFunction<@NotNull V @NotNull []> value;
+
+  @NotNull
+  private final Class<@NotNull K> keyType;
+
+  @NotNull
+  private final Class<@NotNull V> valueType;
+
+  private HashMap<@NotNull K, @NotNull V> entries;
+
+  @Contract(pure = true)
+  MapBuilder(@NotNull final IntFunction<@NotNull K @NotNull []> key,
+             @NotNull final IntFunction<@NotNull V @NotNull []> value,
+             final int expectedSize)
+  {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    }
+    this.key = key;
+    this.value = value;
+    this.keyType = ComponentTypes.elementType(key);
+    this.valueType = ComponentTypes.elementType(value);
+    this.entries = new HashMap<>(Math.max((int) (expectedSize / .75f) + 1, 16));
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> this")
+  public MapBuilder<@NotNull K, @NotNull V> put(@NotNull final K k, @NotNull final V v)
+  {
+    ensureNotBuilt();
+    entries.put(
+      keyType.cast(Objects.requireNonNull(k, "Given key cannot be null.")),
+      valueType.cast(Objects.requireNonNull(v, "Given value cannot be null.")));
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public MapBuilder<@NotNull K, @NotNull V> put(@NotNull final IMap.@NotNull Entry<@NotNull K, @NotNull V> entry)
+  {
+    return put(entry.getKey(), entry.getValue());
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public MapBuilder<@NotNull K, @NotNull V> putAll(@NotNull final Map<? extends @NotNull K, ? extends @NotNull V> map)
+  {
+    ensureNotBuilt();
+    map.forEach(this::put);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public MapBuilder<@NotNull K, @NotNull V> putAll(@NotNull final IMap<@NotNull K, @NotNull V> map)
+  {
+    ensureNotBuilt();
+    map.forEach(this::put);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public MapBuilder<@NotNull K, @NotNull V> remove(@NotNull final K k)
+  {
+    ensureNotBuilt();
+    entries.remove(Objects.requireNonNull(k, "Given key cannot be null."));
+    return this;
+  }
+
+  @Contract(pure = true)
+  public int size()
+  {
+    ensureNotBuilt();
+    return entries.size();
+  }
+
+  /**
+   * Hands the internal hash table off to a new {@link ImmutableMap}. The builder cannot be used afterward.
+   *
+   * @return the immutable map containing all entries put so far
+   * @throws IllegalStateException if this builder has already been built
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new")
+  public ImmutableMap<@NotNull K, @NotNull V> build()
+  {
+    ensureNotBuilt();
+    final HashMap<@NotNull K, @NotNull V> table = entries;
+    entries = null;
+    final IntFunction<@NotNull K @NotNull []> typedKey = ComponentTypes.typedFor(key, table.keySet());
+    final IntFunction<@NotNull V @NotNull []> typedValue = ComponentTypes.typedFor(value, table.values());
+    if (table.size() <= CompactMap.MAX_SIZE) {
+      return ImmutableMap.<@NotNull K, @NotNull V>ofTrusted(CompactMap.copyOf(table), typedKey, typedValue);
+    }
+    return ImmutableMap.<@NotNull K, @NotNull V>ofTrusted(Collections.unmodifiableMap(table), typedKey, typedValue);
+  }
+
+  private void ensureNotBuilt()
+  {
+    if (entries == null) {
+      throw new IllegalStateException("This builder has already been built. "
+        + "Please create a new one, for example: ImmutableMap.builder(String[]::new, String[]::new)");
+    }
+  }
+}
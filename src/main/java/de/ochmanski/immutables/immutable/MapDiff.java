@@ -0,0 +1,77 @@
+package de.ochmanski.immutables.immutable;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Result of {@link ImmutableMap#diff(ImmutableMap, ImmutableMap)} and
+ * {@link ImmutableSortedMap#diff(ImmutableSortedMap, ImmutableSortedMap)}: the entries which were added to, removed
+ * from and changed in the previous version of a map.
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Value
+@UnmodifiableView
+@ParametersAreNonnullByDefault
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MapDiff<K, V>
+{
+
+  /**
+   * Entries whose keys are only in the next version.
+   */
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given added cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given added cannot be null.")
+  ImmutableMap<@NotNull K, @NotNull V> added;
+
+  /**
+   * Entries whose keys are only in the previous version, with their previous values.
+   */
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given removed cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given removed cannot be null.")
+  ImmutableMap<@NotNull K, @NotNull V> removed;
+
+  /**
+   * Entries whose keys are in both versions with different values, with their next values.
+   */
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given changed cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given changed cannot be null.")
+  ImmutableMap<@NotNull K, @NotNull V> changed;
+
+  @NotNull
+  @Contract(value = "_, _, _ -> new", pure = true)
+  public static <K, V> MapDiff<@NotNull K, @NotNull V> of(
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> added,
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> removed,
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> changed)
+  {
+    return new MapDiff<>(added, removed, changed);
+  }
+
+  /**
+   * Returns {@code true} if both versions contain the same entries.
+   */
+  @Contract(pure = true)
+  public boolean isEmpty()
+  {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+}
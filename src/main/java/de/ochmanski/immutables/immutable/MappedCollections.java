@@ -0,0 +1,175 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.codec.ElementCodec;
+import de.ochmanski.immutables.immutable.MappedFile.Kind;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only collections backed by memory-mapped files, for large reference data which is loaded at startup.
+ * <p>Opening a file costs O(1): only the header is read, and the records are paged in by the operating system on first
+ * access. Elements are decoded lazily with the given {@link ElementCodec} on every access and are not cached on the heap,
+ * so several JVMs on one host which open the same file share a single copy in the page cache.
+ * <ul>
+ *   <li>list - positional access decodes a single element</li>
+ *   <li>set - elements are sorted by natural order when written; {@code contains} is a binary search</li>
+ *   <li>map - entries are sorted by key when written; {@code get} and {@code containsKey} are binary searches</li>
+ * </ul>
+ * The returned collections are regular {@link ImmutableList}, {@link ImmutableSet} and {@link ImmutableMap} instances.
+ * Operations which copy the elements, for example {@code toSet()} or {@code deepClone()}, decode the whole file onto the heap.
+ * The file must not be modified while it is open.
+ * <p>Every element is encoded independently, so the dictionary codecs of {@link ElementCodec} write each string literally.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   MappedCollections.writeMap(path, countries, ElementCodec.strings(), ElementCodec.strings());
+ *
+ *   final ImmutableMap<String, String> mapped = MappedCollections.openMap(path, ElementCodec.strings(),
+ *     ElementCodec.strings(), String[]::new, String[]::new);
+ *   }
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+public final class MappedCollections
+{
+
+  private MappedCollections()
+  {
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. list">
+
+  public static <E> void writeList(
+    @NotNull final Path path,
+    @NotNull final ImmutableList<@NotNull E> list,
+    @NotNull final ElementCodec<@NotNull E> codec) throws IOException
+  {
+    writeList(path, list, codec, MappedFile.DEFAULT_CHUNK_SHIFT);
+  }
+
+  static <E> void writeList(
+    @NotNull final Path path,
+    @NotNull final ImmutableList<@NotNull E> list,
+    @NotNull final ElementCodec<@NotNull E> codec,
+    final int chunkShift) throws IOException
+  {
+    MappedFile.write(path, Kind.LIST, list.size(), chunkShift, records -> {
+      for (final E e : list) {
+        records.accept(out -> codec.write(out, e));
+      }
+    });
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new")
+  public static <E> ImmutableList<@NotNull E> openList(
+    @NotNull final Path path,
+    @NotNull final ElementCodec<@NotNull E> codec,
+    @NotNull final IntFunction<@NotNull E @NotNull []> key) throws IOException
+  {
+    return ImmutableList.ofTrusted(new MappedList<>(MappedFile.open(path, Kind.LIST), codec), key);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. set">
+
+  public static <E extends Comparable<? super E>> void writeSet(
+    @NotNull final Path path,
+    @NotNull final ImmutableSet<@NotNull E> set,
+    @NotNull final ElementCodec<@NotNull E> codec) throws IOException
+  {
+    writeSet(path, set, codec, MappedFile.DEFAULT_CHUNK_SHIFT);
+  }
+
+  static <E extends Comparable<? super E>> void writeSet(
+    @NotNull final Path path,
+    @NotNull final ImmutableSet<@NotNull E> set,
+    @NotNull final ElementCodec<@NotNull E> codec,
+    final int chunkShift) throws IOException
+  {
+    final E[] sorted = set.toArray();
+    Arrays.sort(sorted);
+    MappedFile.write(path, Kind.SET, sorted.length, chunkShift, records -> {
+      for (final E e : sorted) {
+        records.accept(out -> codec.write(out, e));
+      }
+    });
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _ -> new")
+  public static <E extends Comparable<? super E>> ImmutableSet<@NotNull E> openSet(
+    @NotNull final Path path,
+    @NotNull final ElementCodec<@NotNull E> codec,
+    @NotNull final IntFunction<@NotNull E @NotNull []> key) throws IOException
+  {
+    final Class<@NotNull E> type = ImmutableList.getComponentTypeFromConstructor(key);
+    return ImmutableSet.ofTrusted(new MappedSet<>(MappedFile.open(path, Kind.SET), codec, type), key);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. map">
+
+  public static <K extends Comparable<? super K>, V> void writeMap(
+    @NotNull final Path path,
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> map,
+    @NotNull final ElementCodec<@NotNull K> keyCodec,
+    @NotNull final ElementCodec<@NotNull V> valueCodec) throws IOException
+  {
+    writeMap(path, map, keyCodec, valueCodec, MappedFile.DEFAULT_CHUNK_SHIFT);
+  }
+
+  static <K extends Comparable<? super K>, V> void writeMap(
+    @NotNull final Path path,
+    @NotNull final ImmutableMap<@NotNull K, @NotNull V> map,
+    @NotNull final ElementCodec<@NotNull K> keyCodec,
+    @NotNull final ElementCodec<@NotNull V> valueCodec,
+    final int chunkShift) throws IOException
+  {
+    @SuppressWarnings({ UNCHECKED, RAWTYPES })
+    final Map.Entry<@NotNull K, @NotNull V>[] sorted = (Map.Entry<@NotNull K, @NotNull V>[]) new Map.Entry[map.size()];
+    final int[] i = { 0 };
+    map.forEachEntry((k, v) -> sorted[i[0]++] = Map.entry(k, v));
+    Arrays.sort(sorted, Map.Entry.comparingByKey());
+    MappedFile.write(path, Kind.MAP, sorted.length, chunkShift, records -> {
+      for (final Map.Entry<@NotNull K, @NotNull V> entry : sorted) {
+        records.accept(out -> {
+          keyCodec.write(out, entry.getKey());
+          valueCodec.write(out, entry.getValue());
+        });
+      }
+    });
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _, _, _, _ -> new")
+  public static <K extends Comparable<? super K>, V> ImmutableMap<@NotNull K, @NotNull V> openMap(
+    @NotNull final Path path,
+    @NotNull final ElementCodec<@NotNull K> keyCodec,
+    @NotNull final ElementCodec<@NotNull V> valueCodec,
+    @NotNull final IntFunction<@NotNull K @NotNull []> key,
+    @NotNull final IntFunction<@NotNull V @NotNull []> value) throws IOException
+  {
+    final Class<@NotNull K> keyType = ImmutableList.getComponentTypeFromConstructor(key);
+    return ImmutableMap.ofTrusted(new MappedMap<>(MappedFile.open(path, Kind.MAP), keyCodec, valueCodec, keyType), key, value);
+  }
+  //</editor-fold>
+}
@@ -0,0 +1,314 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.codec.CodecReader;
+import de.ochmanski.immutables.codec.CodecWriter;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Read-only, memory-mapped file of records, which backs {@link MappedList}, {@link MappedSet} and {@link MappedMap}.
+ * <p>File layout, in big-endian byte order:
+ * <pre>
+ *   0  int   magic {@value #MAGIC}
+ *   4  byte  format version {@value #VERSION}
+ *   5  byte  kind, see {@link Kind}
+ *   6  short reserved
+ *   8  int   number of records
+ *   12 int   log2 of the chunk size
+ *   16 long  position of the offset table
+ *   24 long  length of the data region
+ *   32 ...   data region: records encoded with {@link CodecWriter}
+ *   ...      offset table: one long per record, relative to the start of the data region
+ * </pre>
+ * The data region is mapped in chunks of at most 1 GiB, because a single {@link MappedByteBuffer} cannot exceed 2 GiB.
+ * Records never cross a chunk boundary; the writer pads the data region instead. Every record is encoded with its own
+ * {@link CodecWriter}, so that it can be decoded independently of the others.
+ * <p>Reads are thread-safe, because every access works on its own duplicate of the mapped buffers. The file is unmapped
+ * by the garbage collector once the last collection backed by it becomes unreachable.
+ */
+@ParametersAreNonnullByDefault
+final class MappedFile
+{
+
+  static final int MAGIC = 0x494D4D46;
+
+  static final byte VERSION = 1;
+
+  static final int HEADER_SIZE = 32;
+
+  static final int DEFAULT_CHUNK_SHIFT = 30;
+
+  private static final int MAX_RECORDS = Integer.MAX_VALUE / Long.BYTES;
+
+  private static final int STAGING_SIZE = 1 << 16;
+
+  enum Kind
+  {
+    LIST, SET, MAP
+  }
+
+  @NotNull
+  private final ByteBuffer @NotNull [] chunks;
+
+  @NotNull
+  private final LongBuffer offsets;
+
+  private final int size;
+
+  private final int chunkShift;
+
+  private final long chunkMask;
+
+  private final long dataLength;
+
+  private MappedFile(final ByteBuffer @NotNull [] chunks, final LongBuffer offsets, final int size, final int chunkShift,
+                     final long dataLength)
+  {
+    this.chunks = chunks;
+    this.offsets = offsets;
+    this.size = size;
+    this.chunkShift = chunkShift;
+    this.chunkMask = (1L << chunkShift) - 1;
+    this.dataLength = dataLength;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. reading">
+
+  /**
+   * Maps the given file. Only the header is read eagerly; the records are paged in by the operating system on access.
+   *
+   * @param path file written by {@link #write(Path, Kind, int, int, RecordSource)}
+   * @param kind expected kind of the file
+   * @return mapped file
+   * @throws IOException if the file cannot be read, or if it is not a valid file of the expected kind
+   */
+  @NotNull
+  @Contract(value = "_, _ -> new")
+  static MappedFile open(final Path path, final Kind kind) throws IOException
+  {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("File " + path + " is too short to be a mapped collection.");
+        }
+      }
+      header.flip();
+      if (header.getInt() != MAGIC) {
+        throw new IOException("File " + path + " is not a mapped collection.");
+      }
+      final byte version = header.get();
+      if (version != VERSION) {
+        throw new IOException("File " + path + " has unsupported format version " + version + ".");
+      }
+      final byte kindOrdinal = header.get();
+      if (kindOrdinal < 0 || kindOrdinal >= Kind.values().length) {
+        throw new IOException("File " + path + " has unknown kind " + kindOrdinal + ".");
+      }
+      if (kindOrdinal != kind.ordinal()) {
+        throw new IOException("File " + path + " contains a mapped " + Kind.values()[kindOrdinal] + ", not a " + kind + ".");
+      }
+      header.getShort();
+      final int size = header.getInt();
+      final int chunkShift = header.getInt();
+      final long offsetsPosition = header.getLong();
+      final long dataLength = header.getLong();
+      if (size < 0 || size > MAX_RECORDS || chunkShift <= 0 || chunkShift > DEFAULT_CHUNK_SHIFT || dataLength < 0
+        || offsetsPosition != HEADER_SIZE + dataLength || offsetsPosition + (long) size * Long.BYTES > channel.size()) {
+        throw new IOException("File " + path + " has a corrupted header.");
+      }
+      final long chunkSize = 1L << chunkShift;
+      final ByteBuffer[] chunks = new ByteBuffer[(int) ((dataLength + chunkSize - 1) >>> chunkShift)];
+      for (int i = 0; i < chunks.length; i++) {
+        final long start = (long) i << chunkShift;
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + start, Math.min(chunkSize, dataLength - start));
+      }
+      final LongBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, offsetsPosition, (long) size * Long.BYTES)
+        .order(ByteOrder.BIG_ENDIAN)
+        .asLongBuffer();
+      return new MappedFile(chunks, offsets, size, chunkShift, dataLength);
+    }
+  }
+
+  @Contract(pure = true)
+  int size()
+  {
+    return size;
+  }
+
+  /**
+   * Returns a reader positioned at the beginning of the record with the given index.
+   *
+   * @throws IllegalStateException if the offset table of the file points outside of the data region
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  CodecReader record(final int index)
+  {
+    final long offset = offsets.get(index);
+    if (offset < 0 || offset >= dataLength) {
+      throw new IllegalStateException("Record " + index + " has offset " + offset + " outside of the data region of "
+        + dataLength + " bytes.");
+    }
+    final ByteBuffer chunk = chunks[(int) (offset >>> chunkShift)].duplicate();
+    chunk.position((int) (offset & chunkMask));
+    return CodecReader.of(chunk);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. writing">
+
+  /**
+   * Source of the records of a file. It passes one callback per record, which encodes the record into the given writer.
+   */
+  @FunctionalInterface
+  interface RecordSource
+  {
+    void writeAll(@NotNull final Consumer<@NotNull Consumer<@NotNull CodecWriter>> records);
+  }
+
+  static void write(final Path path, final Kind kind, final int size, final int chunkShift, final RecordSource source)
+    throws IOException
+  {
+    if (size > MAX_RECORDS) {
+      throw new IllegalArgumentException("A mapped collection cannot contain more than " + MAX_RECORDS + " elements: " + size);
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      final RecordWriter writer = new RecordWriter(channel, size, chunkShift);
+      source.writeAll(writer::append);
+      writer.finish(kind);
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  @ParametersAreNonnullByDefault
+  private static final class RecordWriter
+  {
+
+    @NotNull
+    private final FileChannel channel;
+
+    @NotNull
+    private final ByteBuffer staging = ByteBuffer.allocateDirect(STAGING_SIZE);
+
+    private final long @NotNull [] offsets;
+
+    private final int chunkShift;
+
+    private int count;
+
+    /**
+     * Length of the data region written so far, including the bytes still in the staging buffer.
+     */
+    private long dataLength;
+
+    private RecordWriter(final FileChannel channel, final int size, final int chunkShift) throws IOException
+    {
+      this.channel = channel;
+      this.offsets = new long[size];
+      this.chunkShift = chunkShift;
+      channel.position(HEADER_SIZE);
+    }
+
+    private void append(@NotNull final Consumer<@NotNull CodecWriter> record)
+    {
+      if (count == offsets.length) {
+        throw new IllegalStateException("More records than the declared " + offsets.length + " were written.");
+      }
+      final CodecWriter out = CodecWriter.allocate(64);
+      record.accept(out);
+      final ByteBuffer bytes = out.toByteBuffer();
+      final long chunkSize = 1L << chunkShift;
+      if (bytes.remaining() > chunkSize) {
+        throw new IllegalArgumentException("Record " + count + " of " + bytes.remaining() + " bytes exceeds the chunk size of " + chunkSize + " bytes.");
+      }
+      final long chunkEnd = ((dataLength >>> chunkShift) + 1) << chunkShift;
+      if (dataLength + bytes.remaining() > chunkEnd) {
+        pad(chunkEnd - dataLength);
+      }
+      offsets[count++] = dataLength;
+      put(bytes);
+    }
+
+    private void pad(final long padding)
+    {
+      for (long i = 0; i < padding; i++) {
+        ensureStaging(1);
+        staging.put((byte) 0);
+      }
+      dataLength += padding;
+    }
+
+    private void put(@NotNull final ByteBuffer bytes)
+    {
+      dataLength += bytes.remaining();
+      while (bytes.hasRemaining()) {
+        ensureStaging(1);
+        final int n = Math.min(bytes.remaining(), staging.remaining());
+        staging.put(bytes.slice().limit(n));
+        bytes.position(bytes.position() + n);
+      }
+    }
+
+    private void ensureStaging(final int bytes)
+    {
+      if (staging.remaining() < bytes) {
+        flush();
+      }
+    }
+
+    private void flush()
+    {
+      staging.flip();
+      try {
+        while (staging.hasRemaining()) {
+          channel.write(staging);
+        }
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      staging.clear();
+    }
+
+    private void finish(@NotNull final Kind kind) throws IOException
+    {
+      if (count != offsets.length) {
+        throw new IllegalStateException("Only " + count + " of the declared " + offsets.length + " records were written.");
+      }
+      for (final long offset : offsets) {
+        ensureStaging(Long.BYTES);
+        staging.putLong(offset);
+      }
+      flush();
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN)
+        .putInt(MAGIC)
+        .put(VERSION)
+        .put((byte) kind.ordinal())
+        .putShort((short) 0)
+        .putInt(count)
+        .putInt(chunkShift)
+        .putLong(HEADER_SIZE + dataLength)
+        .putLong(dataLength)
+        .flip();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      channel.force(true);
+    }
+  }
+  //</editor-fold>
+}
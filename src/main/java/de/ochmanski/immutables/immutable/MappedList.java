@@ -0,0 +1,61 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.codec.ElementCodec;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Read-only list backed by a {@link MappedFile}. Elements are decoded lazily on every access and never cached.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+final class MappedList<E> extends AbstractList<@NotNull E> implements RandomAccess
+{
+
+  @NotNull
+  private final MappedFile file;
+
+  @NotNull
+  private final ElementCodec<@NotNull E> codec;
+
+  @Contract(pure = true)
+  MappedList(@NotNull final MappedFile file, @NotNull final ElementCodec<@NotNull E> codec)
+  {
+    this.file = file;
+    this.codec = codec;
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public E get(final int index)
+  {
+    Objects.checkIndex(index, file.size());
+    return codec.read(file.record(index));
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return file.size();
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+  {
+    for (int i = 0; i < file.size(); i++) {
+      action.accept(codec.read(file.record(i)));
+    }
+  }
+}
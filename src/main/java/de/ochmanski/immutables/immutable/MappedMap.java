@@ -0,0 +1,139 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.codec.CodecReader;
+import de.ochmanski.immutables.codec.ElementCodec;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only map backed by a {@link MappedFile}, whose records hold a key followed by its value, sorted by key.
+ * <p>{@link #get(Object)} and {@link #containsKey(Object)} are binary searches, which decode O(log n) keys and a single
+ * value. Iteration follows the natural order of the keys.
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Unmodifiable
+@UnmodifiableView
+final class MappedMap<K extends Comparable<? super K>, V> extends AbstractMap<@NotNull K, @NotNull V>
+{
+
+  @NotNull
+  private final MappedFile file;
+
+  @NotNull
+  private final ElementCodec<@NotNull K> keyCodec;
+
+  @NotNull
+  private final ElementCodec<@NotNull V> valueCodec;
+
+  @NotNull
+  private final Class<@NotNull K> keyType;
+
+  @Contract(pure = true)
+  MappedMap(
+    @NotNull final MappedFile file,
+    @NotNull final ElementCodec<@NotNull K> keyCodec,
+    @NotNull final ElementCodec<@NotNull V> valueCodec,
+    @NotNull final Class<@NotNull K> keyType)
+  {
+    this.file = file;
+    this.keyCodec = keyCodec;
+    this.valueCodec = valueCodec;
+    this.keyType = keyType;
+  }
+
+  @Nullable
+  @Override
+  @Contract(pure = true)
+  public V get(@Nullable final Object key)
+  {
+    if (!keyType.isInstance(key)) {
+      return null;
+    }
+    final int index = MappedSet.indexOf(file, keyCodec, keyType.cast(key));
+    if (index < 0) {
+      return null;
+    }
+    final CodecReader in = file.record(index);
+    keyCodec.read(in);
+    return valueCodec.read(in);
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean containsKey(@Nullable final Object key)
+  {
+    return keyType.isInstance(key) && MappedSet.indexOf(file, keyCodec, keyType.cast(key)) >= 0;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return file.size();
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    for (int i = 0; i < file.size(); i++) {
+      final CodecReader in = file.record(i);
+      action.accept(keyCodec.read(in), valueCodec.read(in));
+    }
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Set<@NotNull Entry<@NotNull K, @NotNull V>> entrySet()
+  {
+    return new AbstractSet<>()
+    {
+      @Override
+      public int size()
+      {
+        return file.size();
+      }
+
+      @NotNull
+      @Override
+      public Iterator<@NotNull Entry<@NotNull K, @NotNull V>> iterator()
+      {
+        return new Iterator<>()
+        {
+          private int next;
+
+          @Override
+          public boolean hasNext()
+          {
+            return next < file.size();
+          }
+
+          @NotNull
+          @Override
+          public Entry<@NotNull K, @NotNull V> next()
+          {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final CodecReader in = file.record(next++);
+            return Map.entry(keyCodec.read(in), valueCodec.read(in));
+          }
+        };
+      }
+    };
+  }
+}
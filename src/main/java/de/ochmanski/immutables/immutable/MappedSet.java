@@ -0,0 +1,119 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.codec.ElementCodec;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Read-only set backed by a {@link MappedFile}, whose elements are sorted by their natural order.
+ * <p>{@link #contains(Object)} is a binary search, which decodes O(log n) elements. Iteration follows the natural order.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Unmodifiable
+@UnmodifiableView
+final class MappedSet<E extends Comparable<? super E>> extends AbstractSet<@NotNull E>
+{
+
+  @NotNull
+  private final MappedFile file;
+
+  @NotNull
+  private final ElementCodec<@NotNull E> codec;
+
+  @NotNull
+  private final Class<@NotNull E> type;
+
+  @Contract(pure = true)
+  MappedSet(@NotNull final MappedFile file, @NotNull final ElementCodec<@NotNull E> codec, @NotNull final Class<@NotNull E> type)
+  {
+    this.file = file;
+    this.codec = codec;
+    this.type = type;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean contains(@Nullable final Object o)
+  {
+    return type.isInstance(o) && indexOf(file, codec, type.cast(o)) >= 0;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return file.size();
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Iterator<@NotNull E> iterator()
+  {
+    return new Iterator<>()
+    {
+      private int next;
+
+      @Override
+      public boolean hasNext()
+      {
+        return next < file.size();
+      }
+
+      @NotNull
+      @Override
+      public E next()
+      {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return codec.read(file.record(next++));
+      }
+    };
+  }
+
+  @Override
+  @Contract(pure = true)
+  public void forEach(@NotNull final Consumer<? super @NotNull E> action)
+  {
+    for (int i = 0; i < file.size(); i++) {
+      action.accept(codec.read(file.record(i)));
+    }
+  }
+
+  /**
+   * Binary search over records, which start with an element encoded by {@code codec} and are sorted by natural order.
+   *
+   * @return index of the record, or {@code -(insertion point) - 1} like {@link java.util.Arrays#binarySearch(Object[], Object)}
+   */
+  @Contract(pure = true)
+  static <K extends Comparable<? super K>> int indexOf(
+    @NotNull final MappedFile file,
+    @NotNull final ElementCodec<@NotNull K> codec,
+    @NotNull final K key)
+  {
+    int low = 0;
+    int high = file.size() - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = codec.read(file.record(mid)).compareTo(key);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+}
@@ -0,0 +1,217 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Transient, single-owner builder of {@link ImmutableListMultimap} and {@link ImmutableSetMultimap}.
+ * <p>Each value is appended to one buffer together with the position of its key, so putting a value never creates
+ * a collection per key. On {@link #build()}, the values are moved into their groups with a counting sort, which
+ * writes every value exactly once into the final array. The array is handed off to the multimap without a further
+ * copy.
+ * <p>The builder can be used only once. Any call after {@link #build()} throws {@link IllegalStateException},
+ * because the buffers are now owned by the immutable multimap.
+ * <p>This class is not thread-safe.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableListMultimap<String, Integer> actual = ImmutableListMultimap.builder(String[]::new, Integer[]::new)
+ *     .put("a", 1)
+ *     .put("b", 2)
+ *     .put("a", 3)
+ *     .build();
+ *   }
+ * </pre>
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ * @param <M> type of the built multimap
+ */
+@ParametersAreNonnullByDefault
+public final class MultimapBuilder<K, V, M>
+{
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  @NotNull
+  private final IntFunction<@NotNull K @NotNull []> key;
+
+  @NotNull
+  private final IntFunction<@NotNull V @NotNull []> value;
+
+  @NotNull
+  private final Class<@NotNull K> keyType;
+
+  @NotNull
+  private final Class<@NotNull V> valueType;
+
+  private final boolean distinct;
+
+  @NotNull
+  private final Function<@NotNull FlatMultimap<@NotNull K, @NotNull V>, @NotNull M> finisher;
+
+  @NotNull
+  private final Map<@NotNull K, @NotNull Integer> index = new HashMap<>();
+
+  private K[] keys;
+
+  private V[] values;
+
+  private int[] groups;
+
+  private int size;
+
+  @Contract(pure = true)
+  MultimapBuilder(@NotNull final IntFunction<@NotNull K @NotNull []> key,
+                  @NotNull final IntFunction<@NotNull V @NotNull []> value,
+                  final boolean distinct,
+                  @NotNull final Function<@NotNull FlatMultimap<@NotNull K, @NotNull V>, @NotNull M> finisher)
+  {
+    this.key = key;
+    this.value = value;
+    this.keyType = ImmutableList.getComponentTypeFromConstructor(key);
+    this.valueType = ImmutableList.getComponentTypeFromConstructor(value);
+    this.distinct = distinct;
+    this.finisher = finisher;
+    this.keys = key.apply(DEFAULT_CAPACITY);
+    this.values = value.apply(DEFAULT_CAPACITY);
+    this.groups = new int[DEFAULT_CAPACITY];
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> this")
+  public MultimapBuilder<@NotNull K, @NotNull V, @NotNull M> put(@NotNull final K k, @NotNull final V v)
+  {
+    ensureNotBuilt();
+    final K checkedKey = keyType.cast(Objects.requireNonNull(k, "Given key cannot be null."));
+    final V checkedValue = valueType.cast(Objects.requireNonNull(v, "Given value cannot be null."));
+    Integer group = index.get(checkedKey);
+    if (group == null) {
+      group = index.size();
+      if (group == keys.length) {
+        keys = Arrays.copyOf(keys, grow(keys.length));
+      }
+      keys[group] = checkedKey;
+      index.put(checkedKey, group);
+    }
+    if (size == values.length) {
+      values = Arrays.copyOf(values, grow(values.length));
+      groups = Arrays.copyOf(groups, values.length);
+    }
+    values[size] = checkedValue;
+    groups[size++] = group;
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> this")
+  public MultimapBuilder<@NotNull K, @NotNull V, @NotNull M> putAll(
+    @NotNull final K k,
+    @NotNull final Collection<? extends @NotNull V> collection)
+  {
+    collection.forEach(v -> put(k, v));
+    return this;
+  }
+
+  /**
+   * Puts all values of the other builder, in the order in which they were put. Used to combine the partial results
+   * of a parallel stream.
+   */
+  @NotNull
+  @Contract(value = "_ -> this")
+  public MultimapBuilder<@NotNull K, @NotNull V, @NotNull M> putAll(
+    @NotNull final MultimapBuilder<? extends @NotNull K, ? extends @NotNull V, ?> other)
+  {
+    other.ensureNotBuilt();
+    for (int i = 0; i < other.size; i++) {
+      put(other.keys[other.groups[i]], other.values[i]);
+    }
+    return this;
+  }
+
+  @Contract(pure = true)
+  public int size()
+  {
+    ensureNotBuilt();
+    return size;
+  }
+
+  /**
+   * Groups the values by key and hands them off to a new multimap. The builder cannot be used afterward.
+   *
+   * @return the immutable multimap containing all entries put so far
+   * @throws IllegalStateException if this builder has already been built
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new")
+  public M build()
+  {
+    ensureNotBuilt();
+    final int keyCount = index.size();
+    final int[] offsets = new int[keyCount + 1];
+    for (int i = 0; i < size; i++) {
+      offsets[groups[i] + 1]++;
+    }
+    for (int group = 0; group < keyCount; group++) {
+      offsets[group + 1] += offsets[group];
+    }
+    final int[] cursors = Arrays.copyOf(offsets, keyCount);
+    V[] grouped = value.apply(size);
+    for (int i = 0; i < size; i++) {
+      grouped[cursors[groups[i]]++] = values[i];
+    }
+    if (distinct) {
+      grouped = removeDuplicates(grouped, offsets);
+    }
+    final K[] trimmed = keys.length == keyCount ? keys : Arrays.copyOf(keys, keyCount);
+    values = null;
+    return finisher.apply(new FlatMultimap<>(index, trimmed, offsets, grouped, distinct));
+  }
+
+  /**
+   * Removes repeated values within each group in place, keeps the first occurrence, and moves the offsets.
+   */
+  @NotNull
+  @Contract(mutates = "param1, param2")
+  private V @NotNull [] removeDuplicates(@NotNull final V @NotNull [] grouped, final int @NotNull [] offsets)
+  {
+    final Set<@NotNull V> seen = new HashSet<>();
+    int write = 0;
+    for (int group = 0, keyCount = offsets.length - 1; group < keyCount; group++) {
+      final int start = offsets[group];
+      final int end = offsets[group + 1];
+      offsets[group] = write;
+      seen.clear();
+      for (int i = start; i < end; i++) {
+        if (seen.add(grouped[i])) {
+          grouped[write++] = grouped[i];
+        }
+      }
+    }
+    offsets[offsets.length - 1] = write;
+    return write == grouped.length ? grouped : Arrays.copyOf(grouped, write);
+  }
+
+  @Contract(pure = true)
+  private static int grow(final int length)
+  {
+    return length + (length >> 1) + 1;
+  }
+
+  private void ensureNotBuilt()
+  {
+    if (values == null) {
+      throw new IllegalStateException("This builder has already been built. "
+        + "Please create a new one, for example: ImmutableListMultimap.builder(String[]::new, Integer[]::new)");
+    }
+  }
+}
@@ -0,0 +1,457 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Read-only map indexed by a minimal perfect hash function, built with the hash-and-displace scheme of CHD.
+ * <p>Keys and values are stored in two parallel arrays of exactly {@code size()} elements. The keys are first hashed into
+ * buckets of {@link #LOAD} keys on average. Starting with the largest bucket, every bucket gets the smallest displacement
+ * {@code d} for which the second hash function {@code h(seed + d)} moves all its keys to free slots. Buckets of a single
+ * key skip the search and take a free slot directly, which is stored as a negative displacement.
+ * <p>A lookup therefore costs two hashes, one read of {@link #displacements} and a single {@code equals} call, with no
+ * collision chain and no probing. The index takes 4 bytes per bucket, that is 2 bytes per entry.
+ * <p>Keys with the same {@link Object#hashCode()} cannot be separated by any seed. For each hash code, only the
+ * first key is indexed. The others are kept in a stash behind the indexed slots, sorted by hash code. A lookup
+ * which does not find its key in the indexed slot binary-searches the stash hashes and compares the keys of equal
+ * hash with {@code equals}. The stash is empty unless the map contains such keys, and it stays small for realistic
+ * keys: random strings share a 32-bit hash code about once in 100,000 keys.
+ *
+ * @param <K> {@code @NotNull K} key
+ * @param <V> {@code @NotNull V} value
+ */
+@Unmodifiable
+@UnmodifiableView
+final class PerfectHashMap<K, V> extends AbstractMap<@NotNull K, @NotNull V>
+{
+
+  /**
+   * Average number of keys per bucket.
+   */
+  static final int LOAD = 2;
+
+  /**
+   * Number of seeds which are tried before giving up. A single seed almost always suffices.
+   */
+  private static final int MAX_SEEDS = 64;
+
+  /**
+   * Number of displacements which are tried per bucket before the next seed is tried.
+   */
+  private static final int MAX_DISPLACEMENT = 1 << 16;
+
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+  @NotNull
+  private final Object @NotNull [] keys;
+
+  @NotNull
+  private final Object @NotNull [] values;
+
+  private final int @NotNull [] displacements;
+
+  private final int seed;
+
+  /**
+   * Number of indexed slots. The stashed keys follow them in {@link #keys} and {@link #values}.
+   */
+  private final int indexed;
+
+  /**
+   * Sorted hash codes of the stashed keys: {@code stashHashes[i]} is the hash code of {@code keys[indexed + i]}.
+   */
+  private final int @NotNull [] stashHashes;
+
+  private PerfectHashMap(
+    final Object @NotNull [] keys,
+    final Object @NotNull [] values,
+    final int @NotNull [] displacements,
+    final int seed,
+    final int indexed,
+    final int @NotNull [] stashHashes)
+  {
+    this.keys = keys;
+    this.values = values;
+    this.displacements = displacements;
+    this.seed = seed;
+    this.indexed = indexed;
+    this.stashHashes = stashHashes;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. construction">
+
+  /**
+   * Copies the given map into a new perfect hash map.
+   *
+   * @return new map, or {@code null} if no seed yields a perfect hash function
+   * @throws NullPointerException if the map contains a {@code null} key or value
+   */
+  @Nullable
+  @Contract(pure = true)
+  static <K, V> PerfectHashMap<@NotNull K, @NotNull V> of(@NotNull final Map<@NotNull K, @NotNull V> map)
+  {
+    final int n = map.size();
+    final Object[] sourceKeys = new Object[n];
+    final Object[] sourceValues = new Object[n];
+    final int[] hashes = new int[n];
+    final int[] i = { 0 };
+    map.forEach((k, v) -> {
+      sourceKeys[i[0]] = Objects.requireNonNull(k, "Given map cannot contain null keys.");
+      sourceValues[i[0]] = Objects.requireNonNull(v, "Given map cannot contain null values.");
+      hashes[i[0]] = k.hashCode();
+      i[0]++;
+    });
+    final int[] stashed = stashedByHash(hashes);
+    final int[] indexedMembers = indexedMembers(n, stashed);
+    final int[] indexedHashes = new int[indexedMembers.length];
+    for (int k = 0; k < indexedMembers.length; k++) {
+      indexedHashes[k] = hashes[indexedMembers[k]];
+    }
+    for (int attempt = 0; attempt < MAX_SEEDS; attempt++) {
+      // seeds are spaced, so that the displaced hash functions of two attempts never overlap
+      final int seed = attempt * (MAX_DISPLACEMENT + 1);
+      final PerfectHashMap<@NotNull K, @NotNull V> built =
+        tryBuild(sourceKeys, sourceValues, hashes, indexedMembers, indexedHashes, stashed, seed);
+      if (built != null) {
+        return built;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the positions of all keys whose hash code was already seen at a smaller position, sorted by hash code.
+   */
+  @Contract(pure = true)
+  private static int @NotNull [] stashedByHash(final int @NotNull [] hashes)
+  {
+    final long[] byHash = new long[hashes.length];
+    for (int k = 0; k < hashes.length; k++) {
+      byHash[k] = (long) hashes[k] << 32 | k;
+    }
+    Arrays.sort(byHash);
+    final int[] stashed = new int[hashes.length];
+    int count = 0;
+    for (int k = 1; k < byHash.length; k++) {
+      if (byHash[k] >> 32 == byHash[k - 1] >> 32) {
+        stashed[count++] = (int) byHash[k];
+      }
+    }
+    return Arrays.copyOf(stashed, count);
+  }
+
+  @Contract(pure = true)
+  private static int @NotNull [] indexedMembers(final int n, final int @NotNull [] stashed)
+  {
+    final boolean[] isStashed = new boolean[n];
+    for (final int k : stashed) {
+      isStashed[k] = true;
+    }
+    final int[] indexed = new int[n - stashed.length];
+    int count = 0;
+    for (int k = 0; k < n; k++) {
+      if (!isStashed[k]) {
+        indexed[count++] = k;
+      }
+    }
+    return indexed;
+  }
+
+  /**
+   * Builds the index over the keys at the positions {@code indexedMembers}, which have distinct hash codes, and
+   * appends the stashed keys behind the indexed slots.
+   */
+  @Nullable
+  @Contract(pure = true)
+  private static <K, V> PerfectHashMap<@NotNull K, @NotNull V> tryBuild(
+    final Object @NotNull [] sourceKeys,
+    final Object @NotNull [] sourceValues,
+    final int @NotNull [] sourceHashes,
+    final int @NotNull [] indexedMembers,
+    final int @NotNull [] hashes,
+    final int @NotNull [] stashed,
+    final int seed)
+  {
+    final int n = hashes.length;
+    final int bucketCount = Math.max(1, (n + LOAD - 1) / LOAD);
+    // counting sort of the keys by bucket: the keys of bucket b are members[start[b]..start[b + 1])
+    final int[] start = new int[bucketCount + 1];
+    for (final int hash : hashes) {
+      start[reduce(mix(hash, seed), bucketCount) + 1]++;
+    }
+    for (int b = 0; b < bucketCount; b++) {
+      start[b + 1] += start[b];
+    }
+    final int[] members = new int[n];
+    final int[] fill = Arrays.copyOf(start, bucketCount);
+    for (int k = 0; k < n; k++) {
+      members[fill[reduce(mix(hashes[k], seed), bucketCount)]++] = k;
+    }
+    final int[] displacements = new int[bucketCount];
+    final Object[] keys = new Object[n + stashed.length];
+    final Object[] values = new Object[n + stashed.length];
+    final boolean[] taken = new boolean[n];
+    final int[] slots = new int[n];
+    for (final int b : bucketsBySizeDescending(start)) {
+      final int from = start[b];
+      final int size = start[b + 1] - from;
+      if (size < 2) {
+        break;
+      }
+      final int d = displace(hashes, members, from, size, seed, taken, slots);
+      if (d < 0) {
+        return null;
+      }
+      displacements[b] = d;
+      for (int m = 0; m < size; m++) {
+        taken[slots[m]] = true;
+        place(indexedMembers[members[from + m]], slots[m], sourceKeys, sourceValues, keys, values);
+      }
+    }
+    int free = 0;
+    for (int b = 0; b < bucketCount; b++) {
+      if (start[b + 1] - start[b] == 1) {
+        while (taken[free]) {
+          free++;
+        }
+        taken[free] = true;
+        displacements[b] = -free - 1;
+        place(indexedMembers[members[start[b]]], free, sourceKeys, sourceValues, keys, values);
+      }
+    }
+    final int[] stashHashes = new int[stashed.length];
+    for (int k = 0; k < stashed.length; k++) {
+      stashHashes[k] = sourceHashes[stashed[k]];
+      place(stashed[k], n + k, sourceKeys, sourceValues, keys, values);
+    }
+    return new PerfectHashMap<>(keys, values, displacements, seed, n, stashHashes);
+  }
+
+  /**
+   * Finds the smallest displacement which moves all keys of a bucket to distinct free slots.
+   *
+   * @return displacement, or {@code -1} if none was found; the slots are left in {@code slots[0..size)}
+   */
+  @Contract(mutates = "param7")
+  private static int displace(
+    final int @NotNull [] hashes,
+    final int @NotNull [] members,
+    final int from,
+    final int size,
+    final int seed,
+    final boolean @NotNull [] taken,
+    final int @NotNull [] slots)
+  {
+    final int n = hashes.length;
+    search:
+    for (int d = 1; d <= MAX_DISPLACEMENT; d++) {
+      for (int m = 0; m < size; m++) {
+        final int slot = reduce(mix(hashes[members[from + m]], seed + d), n);
+        if (taken[slot]) {
+          continue search;
+        }
+        for (int p = 0; p < m; p++) {
+          if (slots[p] == slot) {
+            continue search;
+          }
+        }
+        slots[m] = slot;
+      }
+      return d;
+    }
+    return -1;
+  }
+
+  @Contract(pure = true)
+  private static int @NotNull [] bucketsBySizeDescending(final int @NotNull [] start)
+  {
+    final int bucketCount = start.length - 1;
+    int maxSize = 0;
+    for (int b = 0; b < bucketCount; b++) {
+      maxSize = Math.max(maxSize, start[b + 1] - start[b]);
+    }
+    final int[] bySize = new int[maxSize + 2];
+    for (int b = 0; b < bucketCount; b++) {
+      bySize[maxSize - (start[b + 1] - start[b]) + 1]++;
+    }
+    for (int s = 0; s <= maxSize; s++) {
+      bySize[s + 1] += bySize[s];
+    }
+    final int[] order = new int[bucketCount];
+    for (int b = 0; b < bucketCount; b++) {
+      order[bySize[maxSize - (start[b + 1] - start[b])]++] = b;
+    }
+    return order;
+  }
+
+  @Contract(mutates = "param5, param6")
+  private static void place(
+    final int source,
+    final int slot,
+    final Object @NotNull [] sourceKeys,
+    final Object @NotNull [] sourceValues,
+    final Object @NotNull [] keys,
+    final Object @NotNull [] values)
+  {
+    keys[slot] = sourceKeys[source];
+    values[slot] = sourceValues[source];
+  }
+
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. hashing">
+
+  /**
+   * Finalizer of MurmurHash3, applied to the hash code combined with the seed.
+   */
+  @Contract(pure = true)
+  static int mix(final int hash, final int seed)
+  {
+    int x = hash + seed * GOLDEN_RATIO;
+    x ^= x >>> 16;
+    x *= 0x85EBCA6B;
+    x ^= x >>> 13;
+    x *= 0xC2B2AE35;
+    x ^= x >>> 16;
+    return x;
+  }
+
+  /**
+   * Maps a hash uniformly to {@code [0, n)} with a multiplication instead of a division.
+   */
+  @Contract(pure = true)
+  static int reduce(final int hash, final int n)
+  {
+    return (int) (((hash & 0xFFFF_FFFFL) * n) >>> 32);
+  }
+  //</editor-fold>
+
+  @Nullable
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  public V get(@Nullable final Object key)
+  {
+    final int slot = slotOf(key);
+    return slot >= 0 ? (V) values[slot] : null;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean containsKey(@Nullable final Object key)
+  {
+    return slotOf(key) >= 0;
+  }
+
+  /**
+   * Returns the slot which holds the given key, or {@code -1} if the key is absent.
+   */
+  @Contract(value = "null -> -1", pure = true)
+  private int slotOf(@Nullable final Object key)
+  {
+    if (key == null || keys.length == 0) {
+      return -1;
+    }
+    final int hash = key.hashCode();
+    final int d = displacements[reduce(mix(hash, seed), displacements.length)];
+    final int slot = d < 0 ? -d - 1 : reduce(mix(hash, seed + d), indexed);
+    if (key.equals(keys[slot])) {
+      return slot;
+    }
+    return stashHashes.length == 0 ? -1 : stashSlotOf(key, hash);
+  }
+
+  @Contract(pure = true)
+  private int stashSlotOf(@NotNull final Object key, final int hash)
+  {
+    int i = Arrays.binarySearch(stashHashes, hash);
+    if (i < 0) {
+      return -1;
+    }
+    while (i > 0 && stashHashes[i - 1] == hash) {
+      i--;
+    }
+    for (; i < stashHashes.length && stashHashes[i] == hash; i++) {
+      if (key.equals(keys[indexed + i])) {
+        return indexed + i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  @Contract(pure = true)
+  public int size()
+  {
+    return keys.length;
+  }
+
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  @Contract(pure = true)
+  public void forEach(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    for (int slot = 0; slot < keys.length; slot++) {
+      action.accept((K) keys[slot], (V) values[slot]);
+    }
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Set<@NotNull Entry<@NotNull K, @NotNull V>> entrySet()
+  {
+    return new AbstractSet<>()
+    {
+      @Override
+      public int size()
+      {
+        return keys.length;
+      }
+
+      @NotNull
+      @Override
+      public Iterator<@NotNull Entry<@NotNull K, @NotNull V>> iterator()
+      {
+        return new Iterator<>()
+        {
+          private int slot;
+
+          @Override
+          public boolean hasNext()
+          {
+            return slot < keys.length;
+          }
+
+          @NotNull
+          @Override
+          @SuppressWarnings(UNCHECKED)
+          public Entry<@NotNull K, @NotNull V> next()
+          {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final Entry<@NotNull K, @NotNull V> entry = Map.entry((K) keys[slot], (V) values[slot]);
+            slot++;
+            return entry;
+          }
+        };
+      }
+    };
+  }
+}
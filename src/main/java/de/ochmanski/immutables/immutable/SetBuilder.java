@@ -0,0 +1,151 @@
+package de.ochmanski.immutables.immutable;
+
+import de.ochmanski.immutables.collection.ComponentTypes;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Transient, single-owner builder of {@link ImmutableSet}.
+ * <p>Elements are added in place to an internal hash table, which is handed off to the {@link ImmutableSet}
+ * on {@link #build()}, without a final copy. Duplicate elements are ignored.
+ * <p>The builder can be used only once. Any call after {@link #build()} throws {@link IllegalStateException},
+ * because the hash table is now owned by the immutable set.
+ * <p>This class is not thread-safe.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableSet<String> actual = ImmutableSet.builder(String[]::new).add("a").addAll(List.of("b", "c")).build();
+ *   }
+ * </pre>
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@ParametersAreNonnullByDefault
+public final class SetBuilder<E>
+{
+
+  @NotNull
+  private final IntFunction<@NotNull E @NotNull []> key;
+
+  @NotNull
+  private final Class<@NotNull E> type;
+
+  private HashSet<@NotNull E> elements;
+
+  @Contract(pure = true)
+  SetBuilder(@NotNull final IntFunction<@NotNull E @NotNull []> key, final int expectedSize)
+  {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+    }
+    this.key = key;
+    this.type = ComponentTypes.elementType(key);
+    this.elements = new HashSet<>(Math.max((int) (expectedSize / .75f) + 1, 16));
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public SetBuilder<@NotNull E> add(@NotNull final E e)
+  {
+    ensureNotBuilt();
+    elements.add(type.cast(Objects.requireNonNull(e, "Given element cannot be null.")));
+    return this;
+  }
+
+  @NotNull
+  @SafeVarargs
+  @Contract(value = "_ -> this")
+  public final SetBuilder<@NotNull E> addAll(@NotNull final E @NotNull ... array)
+  {
+    for (final E e : array) {
+      add(e);
+    }
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public SetBuilder<@NotNull E> addAll(@NotNull final Collection<? extends @NotNull E> collection)
+  {
+    ensureNotBuilt();
+    collection.forEach(this::add);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public SetBuilder<@NotNull E> addAll(@NotNull final ImmutableCollection<? extends @NotNull E> collection)
+  {
+    ensureNotBuilt();
+    collection.forEach(this::add);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public SetBuilder<@NotNull E> addAll(@NotNull final Stream<? extends @NotNull E> stream)
+  {
+    ensureNotBuilt();
+    stream.forEach(this::add);
+    return this;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> this")
+  public SetBuilder<@NotNull E> remove(@NotNull final E e)
+  {
+    ensureNotBuilt();
+    elements.remove(Objects.requireNonNull(e, "Given element cannot be null."));
+    return this;
+  }
+
+  @Contract(pure = true)
+  public int size()
+  {
+    ensureNotBuilt();
+    return elements.size();
+  }
+
+  /**
+   * Hands the internal hash table off to a new {@link ImmutableSet}. The builder cannot be used afterward.
+   *
+   * @return the immutable set containing all distinct elements added so far
+   * @throws IllegalStateException if this builder has already been built
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new")
+  public ImmutableSet<@NotNull E> build()
+  {
+    ensureNotBuilt();
+    final HashSet<@NotNull E> table = elements;
+    elements = null;
+    if (table.isEmpty()) {
+      return ImmutableSet.<@NotNull E>noneOf(key);
+    }
+    final IntFunction<@NotNull E @NotNull []> typed = ComponentTypes.typedFor(key, table);
+    if (table.size() <= CompactSet.MAX_SIZE) {
+      return ImmutableSet.<@NotNull E>ofTrusted(CompactSet.copyOf(table), typed);
+    }
+    return ImmutableSet.<@NotNull E>ofTrusted(Collections.unmodifiableSet(table), typed);
+  }
+
+  private void ensureNotBuilt()
+  {
+    if (elements == null) {
+      throw new IllegalStateException("This builder has already been built. "
+        + "Please create a new one, for example: ImmutableSet.builder(String[]::new)");
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package de.ochmanski.immutables.immutable;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Result of {@link ImmutableSet#diff(ISet, ISet)} and {@link ImmutableSortedSet#diff(ImmutableSortedSet, ImmutableSortedSet)}:
+ * the elements which were added to and removed from the previous version of a set.
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@Value
+@UnmodifiableView
+@ParametersAreNonnullByDefault
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class SetDiff<E>
+{
+
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given added cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given added cannot be null.")
+  ImmutableSet<@NotNull E> added;
+
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given removed cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given removed cannot be null.")
+  ImmutableSet<@NotNull E> removed;
+
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S> SetDiff<@NotNull S> of(@NotNull final ImmutableSet<@NotNull S> added, @NotNull final ImmutableSet<@NotNull S> removed)
+  {
+    return new SetDiff<>(added, removed);
+  }
+
+  /**
+   * Returns {@code true} if both versions contain the same elements.
+   */
+  @Contract(pure = true)
+  public boolean isEmpty()
+  {
+    return added.isEmpty() && removed.isEmpty();
+  }
+}
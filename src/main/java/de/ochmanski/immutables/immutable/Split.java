@@ -0,0 +1,46 @@
+package de.ochmanski.immutables.immutable;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Result of {@link IList#splitAt(int)}. Both parts are views which share the backing storage of the split list.
+ *
+ * @param <L> {@code @NotNull L} type of both parts
+ */
+@Value
+@UnmodifiableView
+@ParametersAreNonnullByDefault
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class Split<L>
+{
+
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given head cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given head cannot be null.")
+  L head;
+
+  @NonNull
+  @Unmodifiable
+  @UnmodifiableView
+  @NotNull("Given tail cannot be null.")
+  @javax.validation.constraints.NotNull(message = "Given tail cannot be null.")
+  L tail;
+
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S> Split<@NotNull S> of(@NotNull final S head, @NotNull final S tail)
+  {
+    return new Split<>(head, tail);
+  }
+}
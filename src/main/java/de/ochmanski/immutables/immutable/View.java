@@ -0,0 +1,368 @@
+package de.ochmanski.immutables.immutable;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy, immutable projection of an {@link de.ochmanski.immutables.collection.ICollection}.
+ * <p>Transformations like {@link #filter(Predicate)} or {@link #map(Function, IntFunction)} don't copy anything.
+ * They only describe the pipeline, which is evaluated each time the view is iterated. No intermediate
+ * collection is created between the stages.
+ * <p>Use {@link #force()} to materialize the view into an {@link ImmutableList}. When the number of elements
+ * is known upfront, the backing array is allocated exactly once, with the exact size.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ImmutableList<Integer> actual = ImmutableList.of("a", "bb", "ccc").view()
+ *     .filter(s -> s.length() > 1)
+ *     .map(String::length, Integer[]::new)
+ *     .force();
+ *   }
+ * </pre>
+ *
+ * @param <E> {@code @NotNull E} element
+ */
+@UnmodifiableView
+@ParametersAreNonnullByDefault
+public final class View<E> implements Iterable<@NotNull E>
+{
+
+  private static final int UNKNOWN_SIZE = -1;
+
+  @NotNull
+  private final Supplier<@NotNull Iterator<@NotNull E>> source;
+
+  @NotNull
+  private final IntFunction<@NotNull E @NotNull []> key;
+
+  /**
+   * Number of elements of this view, or {@code -1} when it cannot be known without iterating.
+   */
+  private final int knownSize;
+
+  @Contract(pure = true)
+  private View(@NotNull final Supplier<@NotNull Iterator<@NotNull E>> source,
+               @NotNull final IntFunction<@NotNull E @NotNull []> key,
+               final int knownSize)
+  {
+    this.source = source;
+    this.key = key;
+    this.knownSize = knownSize;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. static factory methods">
+
+  @NotNull
+  @Contract(value = "_, _, _ -> new", pure = true)
+  public static <S> View<@NotNull S> of(
+    @NotNull final Iterable<@NotNull S> iterable,
+    @NotNull final IntFunction<@NotNull S @NotNull []> key,
+    final int knownSize)
+  {
+    return new View<>(iterable::iterator, key, knownSize < 0 ? UNKNOWN_SIZE : knownSize);
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public static <S> View<@NotNull S> of(
+    @NotNull final Iterable<@NotNull S> iterable,
+    @NotNull final IntFunction<@NotNull S @NotNull []> key)
+  {
+    return View.<@NotNull S>of(iterable, key, UNKNOWN_SIZE);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. lazy transformations">
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public View<@NotNull E> filter(@NotNull final Predicate<? super @NotNull E> predicate)
+  {
+    Objects.requireNonNull(predicate, "Given predicate cannot be null.");
+    return new View<>(() -> new FilteringIterator<>(source.get(), predicate), key, UNKNOWN_SIZE);
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  public <R> View<@NotNull R> map(
+    @NotNull final Function<? super @NotNull E, ? extends @NotNull R> mapper,
+    @NotNull final IntFunction<@NotNull R @NotNull []> constructor)
+  {
+    Objects.requireNonNull(mapper, "Given mapper cannot be null.");
+    return new View<>(() -> new MappingIterator<>(source.get(), mapper), constructor, knownSize);
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public View<@NotNull E> limit(final long maxSize)
+  {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Given maxSize cannot be negative: " + maxSize);
+    }
+    final int size = knownSize == UNKNOWN_SIZE ? UNKNOWN_SIZE : (int) Math.min(knownSize, maxSize);
+    return new View<>(() -> new LimitingIterator<>(source.get(), maxSize), key, size);
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public View<@NotNull E> skip(final long n)
+  {
+    if (n < 0) {
+      throw new IllegalArgumentException("Given n cannot be negative: " + n);
+    }
+    final int size = knownSize == UNKNOWN_SIZE ? UNKNOWN_SIZE : (int) Math.max(0, knownSize - n);
+    return new View<>(() -> {
+      final Iterator<@NotNull E> iterator = source.get();
+      for (long i = 0; i < n && iterator.hasNext(); i++) {
+        iterator.next();
+      }
+      return iterator;
+    }, key, size);
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public View<@NotNull E> concat(@NotNull final View<? extends @NotNull E> other)
+  {
+    final int size = knownSize == UNKNOWN_SIZE || other.knownSize == UNKNOWN_SIZE
+      ? UNKNOWN_SIZE
+      : addExact(knownSize, other.knownSize);
+    return new View<>(() -> new ConcatIterator<>(source.get(), other.source.get()), key, size);
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="3. terminal operations">
+
+  /**
+   * Evaluates the pipeline and stores the result in a new {@link ImmutableList}.
+   * <p>The elements are written directly into the backing array of the list, without any intermediate collection.
+   *
+   * @return the immutable list containing all elements of this view, in iteration order
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new", pure = true)
+  public ImmutableList<@NotNull E> force()
+  {
+    final ListBuilder<@NotNull E> builder = ImmutableList.<@NotNull E>builder(key, knownSize == UNKNOWN_SIZE ? 0 : knownSize);
+    source.get().forEachRemaining(builder::add);
+    return builder.build();
+  }
+
+  /**
+   * Evaluates the pipeline and stores the distinct elements in a new {@link ImmutableSet}.
+   *
+   * @return the immutable set containing all distinct elements of this view
+   */
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "-> new", pure = true)
+  public ImmutableSet<@NotNull E> forceToSet()
+  {
+    final SetBuilder<@NotNull E> builder = ImmutableSet.<@NotNull E>builder(key, knownSize == UNKNOWN_SIZE ? 0 : knownSize);
+    source.get().forEachRemaining(builder::add);
+    return builder.build();
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Iterator<@NotNull E> iterator()
+  {
+    return source.get();
+  }
+
+  @NotNull
+  @Override
+  @Contract(value = "-> new", pure = true)
+  public Spliterator<@NotNull E> spliterator()
+  {
+    final int characteristics = Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+    if (knownSize == UNKNOWN_SIZE) {
+      return Spliterators.spliteratorUnknownSize(iterator(), characteristics);
+    }
+    return Spliterators.spliterator(iterator(), knownSize, characteristics);
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  public Stream<@NotNull E> stream()
+  {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  public IntFunction<@NotNull E @NotNull []> getKey()
+  {
+    return key;
+  }
+  //</editor-fold>
+
+  @Contract(pure = true)
+  private static int addExact(final int a, final int b)
+  {
+    final int sum = a + b;
+    return sum < 0 ? UNKNOWN_SIZE : sum;
+  }
+
+  @ParametersAreNonnullByDefault
+  private static final class FilteringIterator<E> implements Iterator<@NotNull E>
+  {
+
+    @NotNull
+    private final Iterator<@NotNull E> iterator;
+
+    @NotNull
+    private final Predicate<? super @NotNull E> predicate;
+
+    private E next;
+
+    private FilteringIterator(final Iterator<@NotNull E> iterator, final Predicate<? super @NotNull E> predicate)
+    {
+      this.iterator = iterator;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      while (next == null && iterator.hasNext()) {
+        final E candidate = iterator.next();
+        if (predicate.test(candidate)) {
+          next = candidate;
+        }
+      }
+      return next != null;
+    }
+
+    @NotNull
+    @Override
+    public E next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final E result = next;
+      next = null;
+      return result;
+    }
+  }
+
+  @ParametersAreNonnullByDefault
+  private static final class MappingIterator<E, R> implements Iterator<@NotNull R>
+  {
+
+    @NotNull
+    private final Iterator<@NotNull E> iterator;
+
+    @NotNull
+    private final Function<? super @NotNull E, ? extends @NotNull R> mapper;
+
+    private MappingIterator(final Iterator<@NotNull E> iterator, final Function<? super @NotNull E, ? extends @NotNull R> mapper)
+    {
+      this.iterator = iterator;
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      return iterator.hasNext();
+    }
+
+    @NotNull
+    @Override
+    public R next()
+    {
+      return Objects.requireNonNull(mapper.apply(iterator.next()), "Given mapper cannot return null.");
+    }
+  }
+
+  @ParametersAreNonnullByDefault
+  private static final class LimitingIterator<E> implements Iterator<@NotNull E>
+  {
+
+    @NotNull
+    private final Iterator<@NotNull E> iterator;
+
+    private long remaining;
+
+    private LimitingIterator(final Iterator<@NotNull E> iterator, final long maxSize)
+    {
+      this.iterator = iterator;
+      this.remaining = maxSize;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      return remaining > 0 && iterator.hasNext();
+    }
+
+    @NotNull
+    @Override
+    public E next()
+    {
+      if (remaining <= 0) {
+        throw new NoSuchElementException();
+      }
+      remaining--;
+      return iterator.next();
+    }
+  }
+
+  @ParametersAreNonnullByDefault
+  private static final class ConcatIterator<E> implements Iterator<@NotNull E>
+  {
+
+    @NotNull
+    private final Iterator<? extends @NotNull E> second;
+
+    @NotNull
+    private Iterator<? extends @NotNull E> current;
+
+    private ConcatIterator(final Iterator<? extends @NotNull E> first, final Iterator<? extends @NotNull E> second)
+    {
+      this.current = first;
+      this.second = second;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      if (current.hasNext()) {
+        return true;
+      }
+      current = second;
+      return current.hasNext();
+    }
+
+    @NotNull
+    @Override
+    public E next()
+    {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+  }
+}
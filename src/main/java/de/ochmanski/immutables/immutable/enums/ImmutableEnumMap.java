@@ -16,6 +16,7 @@
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.IntFunction;
 
 import static de.ochmanski.immutables.constants.Constants.Warning.*;
@@ -248,6 +249,13 @@ static void of() {
     return getMap().entrySet();
   }
 
+  @Override
+  @Contract(pure = true)
+  public void forEachEntry(@NotNull final BiConsumer<? super @NotNull K, ? super @NotNull V> action)
+  {
+    map.forEachEntry(action);
+  }
+
   @NotNull
   @Override
   @Unmodifiable
@@ -1,15 +1,15 @@
 package de.ochmanski.immutables.immutable.enums;
 
+import de.ochmanski.immutables.collection.ComponentTypes;
 import de.ochmanski.immutables.collection.ICollection;
 import de.ochmanski.immutables.equalable.Equalable;
 import de.ochmanski.immutables.immutable.ISet;
 import de.ochmanski.immutables.immutable.ImmutableSet;
-import lombok.AccessLevel;
-import lombok.Builder;
-import lombok.RequiredArgsConstructor;
-import lombok.Value;
+import lombok.*;
+import lombok.experimental.NonFinal;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
 
@@ -31,7 +31,7 @@
 @Value
 @UnmodifiableView
 @ParametersAreNonnullByDefault
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
 public class ImmutableEnumSet<E extends @NotNull Enum<@NotNull E>> implements ISet<@NotNull E>
 {
@@ -43,6 +43,15 @@
   @Builder.Default
   ImmutableSet<@NotNull E> set = ImmutableSet.empty();
 
+  /**
+   * Bit vector of {@link #set}, created on the first set operation and never modified afterward.
+   */
+  @Nullable
+  @NonFinal
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  transient volatile EnumSet<@NotNull E> bits;
+
   //<editor-fold defaultstate="collapsed" desc="1. eager static initializers">
 
   @NotNull
@@ -105,11 +114,11 @@ public static void of()
   @NotNull
   @Unmodifiable
   @UnmodifiableView
-  @Contract(value = "_ -> new", pure = true)
+  @Contract(pure = true)
   public static <S extends @NotNull Enum<@NotNull S>> ImmutableEnumSet<@NotNull S> noneOf(
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
-    final Class<@NotNull S> componentTypeE = getComponentTypeFromConstructor(constructor);
-    return ImmutableEnumSet.<@NotNull S>ofEnumSet(EnumSet.<@NotNull S>noneOf(componentTypeE), constructor);
+    return ComponentTypes.empty(constructor, ImmutableEnumSet.class,
+      c -> ImmutableEnumSet.<@NotNull S>ofEnumSet(EnumSet.<@NotNull S>noneOf(getComponentTypeFromConstructor(c)), c));
   }
 
   @NotNull
@@ -264,8 +273,11 @@ public static void of()
   public static <S extends @NotNull Enum<@NotNull S>> ImmutableEnumSet<@NotNull S> of(
     @NotNull final S @NotNull [] array,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
-    final EnumSet<@NotNull S> set = EnumSet.copyOf(List.of(array));
-    return ImmutableEnumSet.<@NotNull S>of(set, constructor);
+    final EnumSet<@NotNull S> set = EnumSet.<@NotNull S>noneOf(getComponentTypeFromConstructor(constructor));
+    for (final S element : array) {
+      set.add(Objects.requireNonNull(element, "Given set cannot contain null elements."));
+    }
+    return ImmutableEnumSet.<@NotNull S>ofEnumSet(set, constructor);
   }
 
   @NotNull
@@ -310,7 +322,18 @@ public static void of()
     @NotNull final EnumSet<@NotNull S> enumSet,
     @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
     final ImmutableSet<@NotNull S> immutableSet = ImmutableSet.<@NotNull S>of(enumSet, constructor);
-    return ImmutableEnumSet.<@NotNull S>of(immutableSet);
+    return ImmutableEnumSet.<@NotNull S>builder().set(immutableSet).bits(enumSet.clone()).build();
+  }
+
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_, _ -> new", pure = true)
+  private static <S extends @NotNull Enum<@NotNull S>> ImmutableEnumSet<@NotNull S> ofBits(
+    @NotNull final EnumSet<@NotNull S> bits,
+    @NotNull final IntFunction<@NotNull S @NotNull []> constructor) {
+    final ImmutableSet<@NotNull S> immutableSet = ImmutableSet.<@NotNull S>of(bits, constructor);
+    return ImmutableEnumSet.<@NotNull S>builder().set(immutableSet).bits(bits).build();
   }
 
   @NotNull
@@ -377,7 +400,7 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer,
     if (isEmpty()) {
       return EnumSet.noneOf(getComponentTypeFromKey());
     }
-    return EnumSet.<@NotNull E>copyOf(set.unwrap());
+    return bits().clone();
   }
 
   @NotNull
@@ -396,6 +419,132 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer,
   public ImmutableEnumSet<? extends @NotNull E> range(@NotNull final E from, @NotNull final E to) {
     return ImmutableEnumSet.<@NotNull E>of(EnumSet.<@NotNull E>range(from, to), getKey());
   }
+
+  /**
+   * Bit-vector variant of {@link ISet#union(ISet)}. Both operands are combined with word-level operations
+   * of {@link EnumSet}.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableEnumSet<@NotNull E> union(@NotNull final ISet<@NotNull E> other)
+  {
+    if (other.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return ImmutableEnumSet.<@NotNull E>copyOf(other);
+    }
+    final EnumSet<@NotNull E> bits = bits().clone();
+    if (!bits.addAll(toEnumSet(other))) {
+      return this;
+    }
+    if (other instanceof ImmutableEnumSet<@NotNull E> that && bits.size() == that.size()) {
+      return that;
+    }
+    return ImmutableEnumSet.<@NotNull E>ofBits(bits, getKey());
+  }
+
+  /**
+   * Bit-vector variant of {@link ISet#intersect(ISet)}. Both operands are combined with word-level operations
+   * of {@link EnumSet}.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableEnumSet<@NotNull E> intersect(@NotNull final ISet<@NotNull E> other)
+  {
+    if (isEmpty()) {
+      return this;
+    }
+    if (other.isEmpty()) {
+      return ImmutableEnumSet.<@NotNull E>noneOf(getKey());
+    }
+    final EnumSet<@NotNull E> bits = bits().clone();
+    if (!bits.retainAll(toEnumSet(other))) {
+      return this;
+    }
+    if (other instanceof ImmutableEnumSet<@NotNull E> that && bits.size() == that.size()) {
+      return that;
+    }
+    return ImmutableEnumSet.<@NotNull E>ofBits(bits, getKey());
+  }
+
+  /**
+   * Bit-vector variant of {@link ISet#difference(ISet)}. Both operands are combined with word-level operations
+   * of {@link EnumSet}.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableEnumSet<@NotNull E> difference(@NotNull final ISet<@NotNull E> other)
+  {
+    if (isEmpty() || other.isEmpty()) {
+      return this;
+    }
+    final EnumSet<@NotNull E> bits = bits().clone();
+    if (!bits.removeAll(toEnumSet(other))) {
+      return this;
+    }
+    return ImmutableEnumSet.<@NotNull E>ofBits(bits, getKey());
+  }
+
+  /**
+   * Bit-vector variant of {@link ISet#symmetricDifference(ISet)}. Both operands are combined with word-level
+   * operations of {@link EnumSet}.
+   */
+  @NotNull
+  @Override
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(pure = true)
+  public ImmutableEnumSet<@NotNull E> symmetricDifference(@NotNull final ISet<@NotNull E> other)
+  {
+    if (other.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return ImmutableEnumSet.<@NotNull E>copyOf(other);
+    }
+    final EnumSet<@NotNull E> bits = bits().clone();
+    final EnumSet<@NotNull E> otherBits = toEnumSet(other);
+    final EnumSet<@NotNull E> common = bits.clone();
+    common.retainAll(otherBits);
+    bits.addAll(otherBits);
+    bits.removeAll(common);
+    return ImmutableEnumSet.<@NotNull E>ofBits(bits, getKey());
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean isSubsetOf(@NotNull final ISet<@NotNull E> other)
+  {
+    if (isEmpty()) {
+      return true;
+    }
+    if (size() > other.size()) {
+      return false;
+    }
+    return toEnumSet(other).containsAll(bits());
+  }
+
+  @Override
+  @Contract(pure = true)
+  public boolean disjoint(@NotNull final ISet<@NotNull E> other)
+  {
+    if (isEmpty() || other.isEmpty()) {
+      return true;
+    }
+    final EnumSet<@NotNull E> bits = bits().clone();
+    bits.retainAll(toEnumSet(other));
+    return bits.isEmpty();
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="4. converters to family classes">
@@ -418,6 +567,52 @@ public void forEachOrdered(@NotNull final Consumer<? super @NotNull E> consumer,
   }
   //</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="5. custom methods">
+  @NotNull
+  @Unmodifiable
+  @UnmodifiableView
+  @Contract(value = "_ -> new", pure = true)
+  private static <S extends @NotNull Enum<@NotNull S>> ImmutableEnumSet<@NotNull S> copyOf(@NotNull final ISet<@NotNull S> other)
+  {
+    if (other instanceof ImmutableEnumSet<@NotNull S> that) {
+      return that;
+    }
+    return ImmutableEnumSet.<@NotNull S>ofBits(toEnumSet(other), other.getKey());
+  }
+
+  /**
+   * Returns the cached bit vector of this set. The result is shared and must not be modified.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private EnumSet<@NotNull E> bits()
+  {
+    EnumSet<@NotNull E> result = bits;
+    if (result == null) {
+      result = EnumSet.<@NotNull E>noneOf(getComponentTypeFromKey());
+      set.forEach(result::add);
+      bits = result;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the bit vector of the given set. The bit vector of an {@link ImmutableEnumSet} is shared and must not be
+   * modified; any other set is copied element by element.
+   */
+  @NotNull
+  @Contract(pure = true)
+  private static <S extends @NotNull Enum<@NotNull S>> EnumSet<@NotNull S> toEnumSet(@NotNull final ISet<@NotNull S> other)
+  {
+    if (other instanceof ImmutableEnumSet<@NotNull S> that) {
+      return that.bits();
+    }
+    final EnumSet<@NotNull S> bits = EnumSet.<@NotNull S>noneOf(other.getComponentTypeFromKey());
+    other.forEach(bits::add);
+    return bits;
+  }
+  //</editor-fold>
+
   @NotNull
   @Override
   @Unmodifiable
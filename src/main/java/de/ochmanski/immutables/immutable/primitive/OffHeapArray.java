@@ -0,0 +1,278 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Sorted array of {@code int} or {@code long} values in direct {@link ByteBuffer}s, outside the Java heap.
+ * <p>A single buffer cannot exceed 2 GiB, so the values are split into chunks of {@code 1 << chunkShift} elements.
+ * Only absolute reads are used and the closed state is published through a volatile field, so an instance can be shared
+ * between threads without synchronization.
+ * <p>After {@link #close()} every access throws {@link IllegalStateException}. The native memory itself is released by
+ * the garbage collector, which frees a direct buffer once it becomes unreachable; Java 17 has no supported API to free it
+ * earlier.
+ */
+@ParametersAreNonnullByDefault
+final class OffHeapArray
+{
+
+  static final int INT_BYTES = Integer.BYTES;
+
+  static final int LONG_BYTES = Long.BYTES;
+
+  /**
+   * Chunks of 1 GiB, for either element width.
+   */
+  static final int DEFAULT_CHUNK_BYTES_SHIFT = 30;
+
+  private static final int MIN_CAPACITY = 16;
+
+  /**
+   * Volatile, so a {@link #close()} in one thread is seen by the reads of every other thread. Each read loads the field
+   * once, so a read which started before the close still completes on the buffers it loaded.
+   */
+  @Nullable
+  private volatile ByteBuffer @Nullable [] chunks;
+
+  private final int width;
+
+  private final int size;
+
+  private final int chunkShift;
+
+  private final int chunkMask;
+
+  private OffHeapArray(final ByteBuffer @NotNull [] chunks, final int width, final int size, final int chunkShift)
+  {
+    this.chunks = chunks;
+    this.width = width;
+    this.size = size;
+    this.chunkShift = chunkShift;
+    this.chunkMask = (1 << chunkShift) - 1;
+  }
+
+  @Contract(pure = true)
+  static int defaultChunkShift(final int width)
+  {
+    return DEFAULT_CHUNK_BYTES_SHIFT - Integer.numberOfTrailingZeros(width);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="1. reading">
+
+  @Contract(pure = true)
+  int size()
+  {
+    return size;
+  }
+
+  @Contract(pure = true)
+  long get(final int index)
+  {
+    Objects.checkIndex(index, size);
+    return load(chunks(), index);
+  }
+
+  /**
+   * Returns the index of the first value which is greater than or equal to {@code key}, searching from {@code from}.
+   * <p>The search gallops from {@code from} before it bisects, so a run of ascending keys costs O(log d) per key,
+   * where d is the distance to the previous result, instead of O(log n).
+   *
+   * @return index in {@code [from, size]}
+   */
+  @Contract(pure = true)
+  int lowerBound(final long key, final int from)
+  {
+    final ByteBuffer[] buffers = chunks();
+    int low = from;
+    int high = from;
+    int step = 1;
+    while (high < size && load(buffers, high) < key) {
+      low = high + 1;
+      high = (int) Math.min(size, (long) high + step);
+      step <<= 1;
+    }
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (load(buffers, mid) < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the index of the first occurrence of {@code key}, or {@code -1}.
+   */
+  @Contract(pure = true)
+  int indexOf(final long key)
+  {
+    final ByteBuffer[] buffers = chunks();
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (load(buffers, mid) < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low < size && load(buffers, low) == key ? low : -1;
+  }
+
+  /**
+   * Membership test for {@code count} keys at once. Ascending runs of keys reuse the previous position as the start of
+   * the next search, so sorted queries are answered in a single merge-like pass.
+   */
+  @Contract(mutates = "param3")
+  void contains(final int count, final IntToLongFunction keys, final boolean @NotNull [] result)
+  {
+    final ByteBuffer[] buffers = chunks();
+    int from = 0;
+    long previous = Long.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      final long key = keys.applyAsLong(i);
+      if (key < previous) {
+        from = 0;
+      }
+      from = lowerBound(key, from);
+      result[i] = from < size && load(buffers, from) == key;
+      previous = key;
+    }
+  }
+
+  @Contract(pure = true)
+  private long load(final ByteBuffer @NotNull [] buffers, final int index)
+  {
+    final ByteBuffer chunk = buffers[index >>> chunkShift];
+    final int offset = (index & chunkMask) * width;
+    return width == LONG_BYTES ? chunk.getLong(offset) : chunk.getInt(offset);
+  }
+
+  private ByteBuffer @NotNull [] chunks()
+  {
+    final ByteBuffer[] buffers = chunks;
+    if (buffers == null) {
+      throw new IllegalStateException("Off-heap collection has already been closed.");
+    }
+    return buffers;
+  }
+
+  @Contract(pure = true)
+  boolean isClosed()
+  {
+    return chunks == null;
+  }
+
+  void close()
+  {
+    chunks = null;
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="2. writing">
+
+  /**
+   * Appends values in ascending order into new direct buffers.
+   */
+  @ParametersAreNonnullByDefault
+  static final class Appender
+  {
+
+    private final int width;
+
+    private final int chunkShift;
+
+    private final boolean distinct;
+
+    private ByteBuffer @NotNull [] chunks = new ByteBuffer[0];
+
+    private int size;
+
+    private long last;
+
+    Appender(final int width, final int expectedSize, final int chunkShift, final boolean distinct)
+    {
+      this.width = width;
+      this.chunkShift = chunkShift;
+      this.distinct = distinct;
+      if (expectedSize > 0) {
+        chunks = new ByteBuffer[] { allocate(Math.min(expectedSize, 1 << chunkShift)) };
+      }
+    }
+
+    /**
+     * Appends a value, which must not be smaller than the previous one. For distinct values, it must be greater.
+     */
+    void add(final long value)
+    {
+      if (size > 0 && (value < last || distinct && value == last)) {
+        throw new IllegalArgumentException("Values must be in " + (distinct ? "strictly " : "") + "ascending order, but " + value + " follows " + last + ".");
+      }
+      if (size == Integer.MAX_VALUE) {
+        throw new IllegalStateException("An off-heap collection cannot contain more than " + Integer.MAX_VALUE + " elements.");
+      }
+      final int chunk = size >>> chunkShift;
+      final int offset = (size & ((1 << chunkShift) - 1)) * width;
+      ensureCapacity(chunk, offset);
+      if (width == LONG_BYTES) {
+        chunks[chunk].putLong(offset, value);
+      } else {
+        chunks[chunk].putInt(offset, (int) value);
+      }
+      last = value;
+      size++;
+    }
+
+    /**
+     * Appends a value unless it equals the previous one. Only used for distinct values from sorted input.
+     */
+    void addIfAbsent(final long value)
+    {
+      if (size == 0 || value != last) {
+        add(value);
+      }
+    }
+
+    @NotNull
+    @Contract(value = "-> new")
+    OffHeapArray build()
+    {
+      final ByteBuffer[] built = chunks;
+      chunks = new ByteBuffer[0];
+      return new OffHeapArray(built, width, size, chunkShift);
+    }
+
+    private void ensureCapacity(final int chunk, final int offset)
+    {
+      if (chunk == chunks.length) {
+        chunks = Arrays.copyOf(chunks, chunk + 1);
+        chunks[chunk] = allocate(MIN_CAPACITY);
+        return;
+      }
+      final ByteBuffer current = chunks[chunk];
+      if (offset == current.capacity()) {
+        final int elements = Math.min(current.capacity() / width * 2, 1 << chunkShift);
+        chunks[chunk] = allocate(elements).put(current.duplicate().clear()).clear();
+      }
+    }
+
+    @NotNull
+    private ByteBuffer allocate(final int elements)
+    {
+      return ByteBuffer.allocateDirect(Math.min(Math.max(elements, MIN_CAPACITY), 1 << chunkShift) * width)
+        .order(ByteOrder.nativeOrder());
+    }
+  }
+  //</editor-fold>
+}
@@ -0,0 +1,158 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only, sorted {@code int} values stored outside the Java heap, see {@link OffHeapIntSet} and {@link OffHeapIntList}.
+ * <p>The values take half the memory of {@link OffHeapLongCollection} and are neither boxed nor scanned by the garbage
+ * collector. Instances are thread-safe. Call {@link #close()} once the collection is no longer used; afterward, every method
+ * except {@link #size()}, {@link #isEmpty()} and {@link #isClosed()} throws {@link IllegalStateException}.
+ */
+@ParametersAreNonnullByDefault
+public abstract sealed class OffHeapIntCollection implements AutoCloseable permits OffHeapIntList, OffHeapIntSet
+{
+
+  @NotNull
+  final OffHeapArray array;
+
+  OffHeapIntCollection(@NotNull final OffHeapArray array)
+  {
+    this.array = array;
+  }
+
+  @Contract(pure = true)
+  public int size()
+  {
+    return array.size();
+  }
+
+  @Contract(pure = true)
+  public boolean isEmpty()
+  {
+    return array.size() == 0;
+  }
+
+  /**
+   * Returns the value at the given position in ascending order.
+   */
+  @Contract(pure = true)
+  public int get(final int index)
+  {
+    return (int) array.get(index);
+  }
+
+  /**
+   * Returns the position of the first occurrence of {@code value}, or {@code -1}. Costs O(log n).
+   */
+  @Contract(pure = true)
+  public int indexOf(final int value)
+  {
+    return array.indexOf(value);
+  }
+
+  @Contract(pure = true)
+  public boolean contains(final int value)
+  {
+    return array.indexOf(value) >= 0;
+  }
+
+  /**
+   * Tests every value of the given array. Sorting the values first makes the lookup a single pass over the collection.
+   *
+   * @return {@code result[i] == contains(values[i])}
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public boolean @NotNull [] contains(final int @NotNull [] values)
+  {
+    final boolean[] result = new boolean[values.length];
+    array.contains(values.length, i -> values[i], result);
+    return result;
+  }
+
+  @Contract(pure = true)
+  public boolean containsAll(final int @NotNull [] values)
+  {
+    for (final boolean contained : contains(values)) {
+      if (!contained) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  public OptionalInt findFirst()
+  {
+    return isEmpty() ? OptionalInt.empty() : OptionalInt.of((int) array.get(0));
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  public OptionalInt findLast()
+  {
+    return isEmpty() ? OptionalInt.empty() : OptionalInt.of((int) array.get(array.size() - 1));
+  }
+
+  @Contract(pure = true)
+  public void forEach(@NotNull final IntConsumer action)
+  {
+    for (int i = 0; i < array.size(); i++) {
+      action.accept((int) array.get(i));
+    }
+  }
+
+  /**
+   * Returns the values in ascending order.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public IntStream stream()
+  {
+    return IntStream.range(0, array.size()).map(this::get);
+  }
+
+  /**
+   * Copies all values onto the heap.
+   */
+  @Contract(value = "-> new", pure = true)
+  public int @NotNull [] toArray()
+  {
+    final int[] values = new int[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (int) array.get(i);
+    }
+    return values;
+  }
+
+  @Contract(pure = true)
+  public boolean isClosed()
+  {
+    return array.isClosed();
+  }
+
+  /**
+   * Makes the collection unusable, so that the off-heap memory can be reclaimed by the next garbage collection.
+   * Closing twice has no effect.
+   */
+  @Override
+  public void close()
+  {
+    array.close();
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(size=" + array.size() + (isClosed() ? ", closed" : "") + ")";
+  }
+}
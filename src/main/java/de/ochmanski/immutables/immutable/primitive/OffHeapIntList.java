@@ -0,0 +1,76 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable sorted list of {@code int} values stored outside the Java heap, which may contain duplicates, for example
+ * offsets of events.
+ * <p>{@link #indexOf(int)} and {@link #contains(int)} are binary searches, and {@link #contains(int[])} answers sorted
+ * queries in a single pass.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   try (OffHeapIntList ids = OffHeapIntList.ofSorted(repository.streamIdsInAscendingOrder())) {
+ *     final boolean[] known = ids.contains(requestedIds);
+ *   }
+ *   }
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+public final class OffHeapIntList extends OffHeapIntCollection
+{
+
+  private OffHeapIntList(@NotNull final OffHeapArray array)
+  {
+    super(array);
+  }
+
+  /**
+   * Copies the given values off-heap in ascending order. The given array is not modified.
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static OffHeapIntList of(final int @NotNull ... values)
+  {
+    final int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    final OffHeapArray.Appender appender = appender(sorted.length, OffHeapArray.defaultChunkShift(OffHeapArray.INT_BYTES));
+    for (final int value : sorted) {
+      appender.add(value);
+    }
+    return new OffHeapIntList(appender.build());
+  }
+
+  /**
+   * Streams the given values off-heap without collecting them on the heap first.
+   *
+   * @param sortedValues values in ascending order
+   * @throws IllegalArgumentException if a value is smaller than its predecessor
+   */
+  @NotNull
+  @Contract(value = "_ -> new")
+  public static OffHeapIntList ofSorted(@NotNull final IntStream sortedValues)
+  {
+    return ofSorted(sortedValues, OffHeapArray.defaultChunkShift(OffHeapArray.INT_BYTES));
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new")
+  static OffHeapIntList ofSorted(@NotNull final IntStream sortedValues, final int chunkShift)
+  {
+    final OffHeapArray.Appender appender = appender(0, chunkShift);
+    sortedValues.sequential().forEachOrdered(appender::add);
+    return new OffHeapIntList(appender.build());
+  }
+
+  @NotNull
+  private static OffHeapArray.Appender appender(final int expectedSize, final int chunkShift)
+  {
+    return new OffHeapArray.Appender(OffHeapArray.INT_BYTES, expectedSize, chunkShift, false);
+  }
+}
@@ -0,0 +1,75 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable set of {@code int} values stored outside the Java heap, for example a membership table of ids.
+ * <p>The values are kept in ascending order, so {@link #contains(int)} is a binary search, and
+ * {@link #contains(int[])} answers sorted queries in a single pass.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   try (OffHeapIntSet ids = OffHeapIntSet.ofSorted(repository.streamIdsInAscendingOrder())) {
+ *     final boolean[] known = ids.contains(requestedIds);
+ *   }
+ *   }
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+public final class OffHeapIntSet extends OffHeapIntCollection
+{
+
+  private OffHeapIntSet(@NotNull final OffHeapArray array)
+  {
+    super(array);
+  }
+
+  /**
+   * Copies the given values off-heap. Duplicates are dropped. The given array is not modified.
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static OffHeapIntSet of(final int @NotNull ... values)
+  {
+    final int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    final OffHeapArray.Appender appender = appender(sorted.length, OffHeapArray.defaultChunkShift(OffHeapArray.INT_BYTES));
+    for (final int value : sorted) {
+      appender.addIfAbsent(value);
+    }
+    return new OffHeapIntSet(appender.build());
+  }
+
+  /**
+   * Streams the given values off-heap without collecting them on the heap first.
+   *
+   * @param sortedValues values in strictly ascending order
+   * @throws IllegalArgumentException if a value is not greater than its predecessor
+   */
+  @NotNull
+  @Contract(value = "_ -> new")
+  public static OffHeapIntSet ofSorted(@NotNull final IntStream sortedValues)
+  {
+    return ofSorted(sortedValues, OffHeapArray.defaultChunkShift(OffHeapArray.INT_BYTES));
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new")
+  static OffHeapIntSet ofSorted(@NotNull final IntStream sortedValues, final int chunkShift)
+  {
+    final OffHeapArray.Appender appender = appender(0, chunkShift);
+    sortedValues.sequential().forEachOrdered(appender::add);
+    return new OffHeapIntSet(appender.build());
+  }
+
+  @NotNull
+  private static OffHeapArray.Appender appender(final int expectedSize, final int chunkShift)
+  {
+    return new OffHeapArray.Appender(OffHeapArray.INT_BYTES, expectedSize, chunkShift, true);
+  }
+}
@@ -0,0 +1,159 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Read-only, sorted {@code long} values stored outside the Java heap, see {@link OffHeapLongSet} and {@link OffHeapLongList}.
+ * <p>The values are neither boxed nor scanned by the garbage collector, which matters for tables of hundreds of millions of
+ * ids. Instances are thread-safe. Call {@link #close()} once the collection is no longer used; afterward, every method
+ * except {@link #size()}, {@link #isEmpty()} and {@link #isClosed()} throws {@link IllegalStateException}.
+ */
+@ParametersAreNonnullByDefault
+public abstract sealed class OffHeapLongCollection implements AutoCloseable permits OffHeapLongList, OffHeapLongSet
+{
+
+  @NotNull
+  final OffHeapArray array;
+
+  OffHeapLongCollection(@NotNull final OffHeapArray array)
+  {
+    this.array = array;
+  }
+
+  @Contract(pure = true)
+  public int size()
+  {
+    return array.size();
+  }
+
+  @Contract(pure = true)
+  public boolean isEmpty()
+  {
+    return array.size() == 0;
+  }
+
+  /**
+   * Returns the value at the given position in ascending order.
+   */
+  @Contract(pure = true)
+  public long get(final int index)
+  {
+    return array.get(index);
+  }
+
+  /**
+   * Returns the position of the first occurrence of {@code value}, or {@code -1}. Costs O(log n).
+   */
+  @Contract(pure = true)
+  public int indexOf(final long value)
+  {
+    return array.indexOf(value);
+  }
+
+  @Contract(pure = true)
+  public boolean contains(final long value)
+  {
+    return array.indexOf(value) >= 0;
+  }
+
+  /**
+   * Tests every value of the given array. Sorting the values first makes the lookup a single pass over the collection.
+   *
+   * @return {@code result[i] == contains(values[i])}
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public boolean @NotNull [] contains(final long @NotNull [] values)
+  {
+    final boolean[] result = new boolean[values.length];
+    array.contains(values.length, i -> values[i], result);
+    return result;
+  }
+
+  @Contract(pure = true)
+  public boolean containsAll(final long @NotNull [] values)
+  {
+    for (final boolean contained : contains(values)) {
+      if (!contained) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  public OptionalLong findFirst()
+  {
+    return isEmpty() ? OptionalLong.empty() : OptionalLong.of(array.get(0));
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  public OptionalLong findLast()
+  {
+    return isEmpty() ? OptionalLong.empty() : OptionalLong.of(array.get(array.size() - 1));
+  }
+
+  @Contract(pure = true)
+  public void forEach(@NotNull final LongConsumer action)
+  {
+    for (int i = 0; i < array.size(); i++) {
+      action.accept(array.get(i));
+    }
+  }
+
+  /**
+   * Returns the values in ascending order.
+   */
+  @NotNull
+  @Contract(pure = true)
+  public LongStream stream()
+  {
+    return IntStream.range(0, array.size()).mapToLong(array::get);
+  }
+
+  /**
+   * Copies all values onto the heap.
+   */
+  @Contract(value = "-> new", pure = true)
+  public long @NotNull [] toArray()
+  {
+    final long[] values = new long[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = array.get(i);
+    }
+    return values;
+  }
+
+  @Contract(pure = true)
+  public boolean isClosed()
+  {
+    return array.isClosed();
+  }
+
+  /**
+   * Makes the collection unusable, so that the off-heap memory can be reclaimed by the next garbage collection.
+   * Closing twice has no effect.
+   */
+  @Override
+  public void close()
+  {
+    array.close();
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(size=" + array.size() + (isClosed() ? ", closed" : "") + ")";
+  }
+}
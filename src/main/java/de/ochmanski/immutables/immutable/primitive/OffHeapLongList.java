@@ -0,0 +1,76 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable sorted list of {@code long} values stored outside the Java heap, which may contain duplicates, for example
+ * timestamps of events.
+ * <p>{@link #indexOf(long)} and {@link #contains(long)} are binary searches, and {@link #contains(long[])} answers sorted
+ * queries in a single pass.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   try (OffHeapLongList ids = OffHeapLongList.ofSorted(repository.streamIdsInAscendingOrder())) {
+ *     final boolean[] known = ids.contains(requestedIds);
+ *   }
+ *   }
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+public final class OffHeapLongList extends OffHeapLongCollection
+{
+
+  private OffHeapLongList(@NotNull final OffHeapArray array)
+  {
+    super(array);
+  }
+
+  /**
+   * Copies the given values off-heap in ascending order. The given array is not modified.
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public static OffHeapLongList of(final long @NotNull ... values)
+  {
+    final long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    final OffHeapArray.Appender appender = appender(sorted.length, OffHeapArray.defaultChunkShift(OffHeapArray.LONG_BYTES));
+    for (final long value : sorted) {
+      appender.add(value);
+    }
+    return new OffHeapLongList(appender.build());
+  }
+
+  /**
+   * Streams the given values off-heap without collecting them on the heap first.
+   *
+   * @param sortedValues values in ascending order
+   * @throws IllegalArgumentException if a value is smaller than its predecessor
+   */
+  @NotNull
+  @Contract(value = "_ -> new")
+  public static OffHeapLongList ofSorted(@NotNull final LongStream sortedValues)
+  {
+    return ofSorted(sortedValues, OffHeapArray.defaultChunkShift(OffHeapArray.LONG_BYTES));
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new")
+  static OffHeapLongList ofSorted(@NotNull final LongStream sortedValues, final int chunkShift)
+  {
+    final OffHeapArray.Appender appender = appender(0, chunkShift);
+    sortedValues.sequential().forEachOrdered(appender::add);
+    return new OffHeapLongList(appender.build());
+  }
+
+  @NotNull
+  private static OffHeapArray.Appender appender(final int expectedSize, final int chunkShift)
+  {
+    return new OffHeapArray.Appender(OffHeapArray.LONG_BYTES, expectedSize, chunkShift, false);
+  }
+}
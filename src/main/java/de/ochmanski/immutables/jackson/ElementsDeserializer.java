@@ -0,0 +1,159 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.databind.util.AccessPattern;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Base class of the deserializers which read a JSON array into an immutable collection.
+ * <p>The tokens are streamed one by one into a transient builder {@code B}, which hands its storage off to the
+ * immutable collection at the end of the array. The element type is taken from the first type parameter of the
+ * deserialized type, and defaults to {@link Object} when it is not known.
+ *
+ * @param <T> deserialized immutable collection
+ * @param <B> transient builder of {@code T}
+ */
+abstract class ElementsDeserializer<T, B> extends StdDeserializer<T> implements ContextualDeserializer
+{
+
+  private static final long serialVersionUID = 1L;
+
+  @NotNull
+  protected final JavaType type;
+
+  @NotNull
+  protected final JavaType elementType;
+
+  @NotNull
+  protected final IntFunction<Object @NotNull []> key;
+
+  @Nullable
+  protected final JsonDeserializer<Object> elementDeserializer;
+
+  protected ElementsDeserializer(@NotNull final JavaType type, @Nullable final JsonDeserializer<Object> elementDeserializer)
+  {
+    super(type);
+    this.type = type;
+    this.elementType = type.containedTypeOrUnknown(0);
+    this.key = arrayConstructor(elementType);
+    this.elementDeserializer = elementDeserializer;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  protected abstract ElementsDeserializer<T, B> withElementDeserializer(@NotNull final JsonDeserializer<Object> elementDeserializer);
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  protected abstract B newBuilder();
+
+  protected abstract void add(@NotNull final B builder, @NotNull final Object element);
+
+  @NotNull
+  protected abstract T build(@NotNull final B builder);
+
+  /**
+   * Validates the element type before the element deserializer is resolved. Does nothing by default.
+   *
+   * @param ctxt current deserialization context
+   * @throws JsonMappingException if the element type cannot be deserialized into {@code T}
+   */
+  protected void validate(@NotNull final DeserializationContext ctxt) throws JsonMappingException
+  {
+  }
+
+  @NotNull
+  @Override
+  public JsonDeserializer<?> createContextual(@NotNull final DeserializationContext ctxt, @Nullable final BeanProperty property)
+    throws JsonMappingException
+  {
+    if (elementDeserializer != null) {
+      return this;
+    }
+    validate(ctxt);
+    return withElementDeserializer(ctxt.findContextualValueDeserializer(elementType, property));
+  }
+
+  @NotNull
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  public T deserialize(@NotNull final JsonParser p, @NotNull final DeserializationContext ctxt) throws IOException
+  {
+    if (!p.isExpectedStartArrayToken()) {
+      return (T) ctxt.handleUnexpectedToken(type, p);
+    }
+    final JsonDeserializer<Object> deserializer = elementDeserializer;
+    if (deserializer == null) {
+      return (T) ctxt.reportBadDefinition(type, "Element deserializer of " + type + " has not been resolved.");
+    }
+    final B builder = newBuilder();
+    JsonToken token;
+    while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == JsonToken.VALUE_NULL) {
+        return (T) ctxt.reportInputMismatch(this, "%s cannot contain null elements.", type.getRawClass().getSimpleName());
+      }
+      add(builder, deserializer.deserialize(p, ctxt));
+    }
+    return build(builder);
+  }
+
+  @Nullable
+  @Override
+  public Object deserializeWithType(
+    @NotNull final JsonParser p,
+    @NotNull final DeserializationContext ctxt,
+    @NotNull final TypeDeserializer typeDeserializer) throws IOException
+  {
+    return typeDeserializer.deserializeTypedFromArray(p, ctxt);
+  }
+
+  @NotNull
+  @Override
+  public AccessPattern getEmptyAccessPattern()
+  {
+    return AccessPattern.DYNAMIC;
+  }
+
+  @NotNull
+  @Override
+  public Object getEmptyValue(@NotNull final DeserializationContext ctxt)
+  {
+    return build(newBuilder());
+  }
+
+  @NotNull
+  @Override
+  public LogicalType logicalType()
+  {
+    return LogicalType.Collection;
+  }
+
+  @NotNull
+  @Contract(pure = true)
+  @SuppressWarnings(UNCHECKED)
+  static <S> IntFunction<S @NotNull []> arrayConstructor(@NotNull final JavaType type)
+  {
+    final Class<?> raw = type.getRawClass();
+    final Class<?> componentType = raw.isPrimitive() ? ClassUtil.wrapperType(raw) : raw;
+    return length -> (S[]) Array.newInstance(componentType, length);
+  }
+}
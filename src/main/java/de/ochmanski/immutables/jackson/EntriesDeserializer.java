@@ -0,0 +1,175 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.databind.util.AccessPattern;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Base class of the deserializers which read a JSON object into an immutable map.
+ * <p>The field names and values are streamed one by one into a transient builder {@code B}, which hands its storage
+ * off to the immutable map at the end of the object. The key and value types are taken from the first and the second
+ * type parameter of the deserialized type, and default to {@link Object} when they are not known.
+ *
+ * @param <T> deserialized immutable map
+ * @param <B> transient builder of {@code T}
+ */
+abstract class EntriesDeserializer<T, B> extends StdDeserializer<T> implements ContextualDeserializer
+{
+
+  private static final long serialVersionUID = 1L;
+
+  @NotNull
+  protected final JavaType type;
+
+  @NotNull
+  protected final JavaType keyType;
+
+  @NotNull
+  protected final JavaType valueType;
+
+  @NotNull
+  protected final IntFunction<Object @NotNull []> key;
+
+  @NotNull
+  protected final IntFunction<Object @NotNull []> value;
+
+  @Nullable
+  protected final KeyDeserializer keyDeserializer;
+
+  @Nullable
+  protected final JsonDeserializer<Object> valueDeserializer;
+
+  protected EntriesDeserializer(
+    @NotNull final JavaType type,
+    @Nullable final KeyDeserializer keyDeserializer,
+    @Nullable final JsonDeserializer<Object> valueDeserializer)
+  {
+    super(type);
+    this.type = type;
+    this.keyType = type.containedTypeOrUnknown(0);
+    this.valueType = type.containedTypeOrUnknown(1);
+    this.key = ElementsDeserializer.arrayConstructor(keyType);
+    this.value = ElementsDeserializer.arrayConstructor(valueType);
+    this.keyDeserializer = keyDeserializer;
+    this.valueDeserializer = valueDeserializer;
+  }
+
+  @NotNull
+  @Contract(value = "_, _ -> new", pure = true)
+  protected abstract EntriesDeserializer<T, B> withDeserializers(
+    @NotNull final KeyDeserializer keyDeserializer,
+    @NotNull final JsonDeserializer<Object> valueDeserializer);
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  protected abstract B newBuilder();
+
+  protected abstract void put(@NotNull final B builder, @NotNull final Object k, @NotNull final Object v);
+
+  @NotNull
+  protected abstract T build(@NotNull final B builder);
+
+  /**
+   * Validates the key and value types before their deserializers are resolved. Does nothing by default.
+   *
+   * @param ctxt current deserialization context
+   * @throws JsonMappingException if the key or value type cannot be deserialized into {@code T}
+   */
+  protected void validate(@NotNull final DeserializationContext ctxt) throws JsonMappingException
+  {
+  }
+
+  @NotNull
+  @Override
+  public JsonDeserializer<?> createContextual(@NotNull final DeserializationContext ctxt, @Nullable final BeanProperty property)
+    throws JsonMappingException
+  {
+    if (keyDeserializer != null && valueDeserializer != null) {
+      return this;
+    }
+    validate(ctxt);
+    return withDeserializers(
+      ctxt.findKeyDeserializer(keyType, property),
+      ctxt.findContextualValueDeserializer(valueType, property));
+  }
+
+  @NotNull
+  @Override
+  @SuppressWarnings(UNCHECKED)
+  public T deserialize(@NotNull final JsonParser p, @NotNull final DeserializationContext ctxt) throws IOException
+  {
+    String name;
+    if (p.isExpectedStartObjectToken()) {
+      name = p.nextFieldName();
+    } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+      name = p.currentName();
+    } else if (p.hasToken(JsonToken.END_OBJECT)) {
+      name = null;
+    } else {
+      return (T) ctxt.handleUnexpectedToken(type, p);
+    }
+    final KeyDeserializer keys = keyDeserializer;
+    final JsonDeserializer<Object> values = valueDeserializer;
+    if (keys == null || values == null) {
+      return (T) ctxt.reportBadDefinition(type, "Key or value deserializer of " + type + " has not been resolved.");
+    }
+    final B builder = newBuilder();
+    for (; name != null; name = p.nextFieldName()) {
+      if (p.nextToken() == JsonToken.VALUE_NULL) {
+        return (T) ctxt.reportInputMismatch(this, "%s cannot contain null values, but key '%s' is null.",
+          type.getRawClass().getSimpleName(), name);
+      }
+      put(builder, keys.deserializeKey(name, ctxt), values.deserialize(p, ctxt));
+    }
+    return build(builder);
+  }
+
+  @Nullable
+  @Override
+  public Object deserializeWithType(
+    @NotNull final JsonParser p,
+    @NotNull final DeserializationContext ctxt,
+    @NotNull final TypeDeserializer typeDeserializer) throws IOException
+  {
+    return typeDeserializer.deserializeTypedFromObject(p, ctxt);
+  }
+
+  @NotNull
+  @Override
+  public AccessPattern getEmptyAccessPattern()
+  {
+    return AccessPattern.DYNAMIC;
+  }
+
+  @NotNull
+  @Override
+  public Object getEmptyValue(@NotNull final DeserializationContext ctxt)
+  {
+    return build(newBuilder());
+  }
+
+  @NotNull
+  @Override
+  public LogicalType logicalType()
+  {
+    return LogicalType.Map;
+  }
+}
@@ -0,0 +1,37 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Reads an {@link EqualableString} from a JSON string.
+ */
+final class EqualableStringDeserializer extends StdScalarDeserializer<EqualableString>
+{
+
+  private static final long serialVersionUID = 1L;
+
+  @NotNull
+  static final EqualableStringDeserializer INSTANCE = new EqualableStringDeserializer();
+
+  private EqualableStringDeserializer()
+  {
+    super(EqualableString.class);
+  }
+
+  @NotNull
+  @Override
+  public EqualableString deserialize(@NotNull final JsonParser p, @NotNull final DeserializationContext ctxt) throws IOException
+  {
+    if (p.hasToken(JsonToken.VALUE_STRING)) {
+      return EqualableString.of(p.getText());
+    }
+    return EqualableString.of(_parseString(p, ctxt, this));
+  }
+}
@@ -0,0 +1,42 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Writes an {@link EqualableString} as a plain JSON string, or JSON {@code null} when it wraps no value.
+ */
+final class EqualableStringSerializer extends StdScalarSerializer<EqualableString>
+{
+
+  private static final long serialVersionUID = 1L;
+
+  @NotNull
+  static final EqualableStringSerializer INSTANCE = new EqualableStringSerializer();
+
+  private EqualableStringSerializer()
+  {
+    super(EqualableString.class);
+  }
+
+  @Override
+  public void serialize(
+    @NotNull final EqualableString value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider) throws IOException
+  {
+    final Optional<@Nullable String> plain = value.ofNullable();
+    if (plain.isEmpty()) {
+      gen.writeNull();
+      return;
+    }
+    gen.writeString(plain.get());
+  }
+}
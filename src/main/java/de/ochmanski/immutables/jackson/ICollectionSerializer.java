@@ -0,0 +1,89 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import de.ochmanski.immutables.collection.ICollection;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+
+/**
+ * Writes any {@link ICollection} as a JSON array, in iteration order.
+ * <p>When the component type of the key is final, the element serializer is resolved once per collection.
+ * Otherwise, it is resolved per runtime class of the elements and cached for the rest of the collection.
+ */
+final class ICollectionSerializer extends StdSerializer<ICollection<?>>
+{
+
+  private static final long serialVersionUID = 1L;
+
+  ICollectionSerializer(@NotNull final JavaType type)
+  {
+    super(type);
+  }
+
+  @Override
+  public boolean isEmpty(@NotNull final SerializerProvider provider, @NotNull final ICollection<?> value)
+  {
+    return value.isEmpty();
+  }
+
+  @Override
+  public void serialize(
+    @NotNull final ICollection<?> value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider) throws IOException
+  {
+    gen.writeStartArray(value);
+    serializeContents(value, gen, provider);
+    gen.writeEndArray();
+  }
+
+  @Override
+  public void serializeWithType(
+    @NotNull final ICollection<?> value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider,
+    @NotNull final TypeSerializer typeSer) throws IOException
+  {
+    final WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_ARRAY));
+    gen.setCurrentValue(value);
+    serializeContents(value, gen, provider);
+    typeSer.writeTypeSuffix(gen, typeId);
+  }
+
+  private static void serializeContents(
+    @NotNull final ICollection<?> value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider) throws IOException
+  {
+    final Class<?> type = value.getComponentTypeFromKey();
+    if (Modifier.isFinal(type.getModifiers())) {
+      final JsonSerializer<Object> serializer = provider.findValueSerializer(type);
+      for (final Object e : value) {
+        serializer.serialize(e, gen, provider);
+      }
+      return;
+    }
+    PropertySerializerMap serializers = PropertySerializerMap.emptyForRootValues();
+    for (final Object e : value) {
+      final Class<?> runtimeType = e.getClass();
+      JsonSerializer<Object> serializer = serializers.serializerFor(runtimeType);
+      if (serializer == null) {
+        final PropertySerializerMap.SerializerAndMapResult result =
+          serializers.findAndAddSecondarySerializer(runtimeType, provider, null);
+        serializers = result.map;
+        serializer = result.serializer;
+      }
+      serializer.serialize(e, gen, provider);
+    }
+  }
+}
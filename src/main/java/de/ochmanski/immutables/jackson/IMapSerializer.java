@@ -0,0 +1,87 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import de.ochmanski.immutables.immutable.IMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+
+/**
+ * Writes any {@link IMap} as a JSON object.
+ * <p>Entries are visited with {@link IMap#forEachEntry(java.util.function.BiConsumer)}, so maps which own their
+ * storage are written without creating an entry set first.
+ */
+final class IMapSerializer extends StdSerializer<IMap<?, ?>>
+{
+
+  private static final long serialVersionUID = 1L;
+
+  IMapSerializer(@NotNull final JavaType type)
+  {
+    super(type);
+  }
+
+  @Override
+  public boolean isEmpty(@NotNull final SerializerProvider provider, @NotNull final IMap<?, ?> value)
+  {
+    return value.isEmpty();
+  }
+
+  @Override
+  public void serialize(
+    @NotNull final IMap<?, ?> value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider) throws IOException
+  {
+    gen.writeStartObject(value);
+    serializeFields(value, gen, provider);
+    gen.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+    @NotNull final IMap<?, ?> value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider,
+    @NotNull final TypeSerializer typeSer) throws IOException
+  {
+    final WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_OBJECT));
+    gen.setCurrentValue(value);
+    serializeFields(value, gen, provider);
+    typeSer.writeTypeSuffix(gen, typeId);
+  }
+
+  private static <K, V> void serializeFields(
+    @NotNull final IMap<K, V> value,
+    @NotNull final JsonGenerator gen,
+    @NotNull final SerializerProvider provider) throws IOException
+  {
+    final JsonSerializer<Object> keySerializer = provider.findKeySerializer(value.getComponentTypeFromKey(), null);
+    final Class<?> valueType = value.getComponentTypeFromValue();
+    @Nullable final JsonSerializer<Object> valueSerializer = Modifier.isFinal(valueType.getModifiers())
+      ? provider.findValueSerializer(valueType)
+      : null;
+    try {
+      value.forEachEntry((k, v) -> {
+        try {
+          keySerializer.serialize(k, gen, provider);
+          (valueSerializer != null ? valueSerializer : provider.findValueSerializer(v.getClass())).serialize(v, gen, provider);
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,403 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.equalable.EqualableList;
+import de.ochmanski.immutables.fluent.FluentEnumMap;
+import de.ochmanski.immutables.immutable.IList;
+import de.ochmanski.immutables.immutable.IMap;
+import de.ochmanski.immutables.immutable.ISet;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.ListBuilder;
+import de.ochmanski.immutables.immutable.MapBuilder;
+import de.ochmanski.immutables.immutable.SetBuilder;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumMap;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.function.IntFunction;
+
+import static de.ochmanski.immutables.constants.Constants.Warning.RAWTYPES;
+import static de.ochmanski.immutables.constants.Constants.Warning.UNCHECKED;
+
+/**
+ * Finds the deserializers of the immutable types. The interfaces {@link IList}, {@link ISet} and {@link IMap} are
+ * deserialized into {@link ImmutableList}, {@link ImmutableSet} and {@link ImmutableMap} respectively.
+ */
+final class ImmutablesDeserializers extends Deserializers.Base
+{
+
+  @Nullable
+  @Override
+  @Contract(pure = true)
+  public JsonDeserializer<?> findBeanDeserializer(
+    @NotNull final JavaType type,
+    @NotNull final DeserializationConfig config,
+    @NotNull final BeanDescription beanDesc)
+  {
+    final Class<?> raw = type.getRawClass();
+    if (raw == ImmutableList.class || raw == IList.class) {
+      return new ImmutableListDeserializer(type, null);
+    }
+    if (raw == ImmutableSet.class || raw == ISet.class) {
+      return new ImmutableSetDeserializer(type, null);
+    }
+    if (raw == ImmutableEnumSet.class) {
+      return new ImmutableEnumSetDeserializer(type, null);
+    }
+    if (raw == EqualableList.class) {
+      return new EqualableListDeserializer(type, null);
+    }
+    if (raw == ImmutableMap.class || raw == IMap.class) {
+      return new ImmutableMapDeserializer(type, null, null);
+    }
+    if (raw == ImmutableEnumMap.class) {
+      return new ImmutableEnumMapDeserializer(type, null, null);
+    }
+    if (raw == FluentEnumMap.class) {
+      return new FluentEnumMapDeserializer(type, null, null);
+    }
+    if (raw == EqualableString.class) {
+      return EqualableStringDeserializer.INSTANCE;
+    }
+    return null;
+  }
+
+  @Contract(pure = true)
+  private static void requireEnum(
+    @NotNull final DeserializationContext ctxt,
+    @NotNull final JavaType type,
+    @NotNull final JavaType enumType) throws JsonMappingException
+  {
+    if (!enumType.isEnumImplType()) {
+      ctxt.reportBadDefinition(type, type.getRawClass().getSimpleName() + " requires an enum type parameter, but was: " + enumType);
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="collections">
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class ImmutableListDeserializer extends ElementsDeserializer<ImmutableList, ListBuilder>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableListDeserializer(@NotNull final JavaType type, @Nullable final JsonDeserializer<Object> elementDeserializer)
+    {
+      super(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableListDeserializer withElementDeserializer(@NotNull final JsonDeserializer<Object> elementDeserializer)
+    {
+      return new ImmutableListDeserializer(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected ListBuilder newBuilder()
+    {
+      return ImmutableList.builder(key);
+    }
+
+    @Override
+    protected void add(@NotNull final ListBuilder builder, @NotNull final Object element)
+    {
+      builder.add(element);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableList build(@NotNull final ListBuilder builder)
+    {
+      return builder.build();
+    }
+  }
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class ImmutableSetDeserializer extends ElementsDeserializer<ImmutableSet, SetBuilder>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableSetDeserializer(@NotNull final JavaType type, @Nullable final JsonDeserializer<Object> elementDeserializer)
+    {
+      super(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableSetDeserializer withElementDeserializer(@NotNull final JsonDeserializer<Object> elementDeserializer)
+    {
+      return new ImmutableSetDeserializer(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected SetBuilder newBuilder()
+    {
+      return ImmutableSet.builder(key);
+    }
+
+    @Override
+    protected void add(@NotNull final SetBuilder builder, @NotNull final Object element)
+    {
+      builder.add(element);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableSet build(@NotNull final SetBuilder builder)
+    {
+      return builder.build();
+    }
+  }
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class ImmutableEnumSetDeserializer extends ElementsDeserializer<ImmutableEnumSet, EnumSet>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableEnumSetDeserializer(@NotNull final JavaType type, @Nullable final JsonDeserializer<Object> elementDeserializer)
+    {
+      super(type, elementDeserializer);
+    }
+
+    @Override
+    protected void validate(@NotNull final DeserializationContext ctxt) throws JsonMappingException
+    {
+      requireEnum(ctxt, type, elementType);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableEnumSetDeserializer withElementDeserializer(@NotNull final JsonDeserializer<Object> elementDeserializer)
+    {
+      return new ImmutableEnumSetDeserializer(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected EnumSet newBuilder()
+    {
+      return EnumSet.noneOf((Class) elementType.getRawClass());
+    }
+
+    @Override
+    protected void add(@NotNull final EnumSet builder, @NotNull final Object element)
+    {
+      builder.add(element);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableEnumSet build(@NotNull final EnumSet builder)
+    {
+      return ImmutableEnumSet.ofEnumSet(builder, (IntFunction) key);
+    }
+  }
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class EqualableListDeserializer extends ElementsDeserializer<EqualableList, ListBuilder>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private EqualableListDeserializer(@NotNull final JavaType type, @Nullable final JsonDeserializer<Object> elementDeserializer)
+    {
+      super(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected EqualableListDeserializer withElementDeserializer(@NotNull final JsonDeserializer<Object> elementDeserializer)
+    {
+      return new EqualableListDeserializer(type, elementDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected ListBuilder newBuilder()
+    {
+      return ImmutableList.builder(key);
+    }
+
+    @Override
+    protected void add(@NotNull final ListBuilder builder, @NotNull final Object element)
+    {
+      builder.add(element);
+    }
+
+    @NotNull
+    @Override
+    protected EqualableList build(@NotNull final ListBuilder builder)
+    {
+      final ImmutableList list = builder.build();
+      return EqualableList.of(list);
+    }
+  }
+  //</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="maps">
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class ImmutableMapDeserializer extends EntriesDeserializer<ImmutableMap, MapBuilder>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableMapDeserializer(
+      @NotNull final JavaType type,
+      @Nullable final KeyDeserializer keyDeserializer,
+      @Nullable final JsonDeserializer<Object> valueDeserializer)
+    {
+      super(type, keyDeserializer, valueDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableMapDeserializer withDeserializers(
+      @NotNull final KeyDeserializer keyDeserializer,
+      @NotNull final JsonDeserializer<Object> valueDeserializer)
+    {
+      return new ImmutableMapDeserializer(type, keyDeserializer, valueDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected MapBuilder newBuilder()
+    {
+      return ImmutableMap.builder((IntFunction) key, value);
+    }
+
+    @Override
+    protected void put(@NotNull final MapBuilder builder, @NotNull final Object k, @NotNull final Object v)
+    {
+      builder.put((Comparable) k, v);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableMap build(@NotNull final MapBuilder builder)
+    {
+      return builder.build();
+    }
+  }
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class ImmutableEnumMapDeserializer extends EntriesDeserializer<ImmutableEnumMap, EnumMap>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableEnumMapDeserializer(
+      @NotNull final JavaType type,
+      @Nullable final KeyDeserializer keyDeserializer,
+      @Nullable final JsonDeserializer<Object> valueDeserializer)
+    {
+      super(type, keyDeserializer, valueDeserializer);
+    }
+
+    @Override
+    protected void validate(@NotNull final DeserializationContext ctxt) throws JsonMappingException
+    {
+      requireEnum(ctxt, type, keyType);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableEnumMapDeserializer withDeserializers(
+      @NotNull final KeyDeserializer keyDeserializer,
+      @NotNull final JsonDeserializer<Object> valueDeserializer)
+    {
+      return new ImmutableEnumMapDeserializer(type, keyDeserializer, valueDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected EnumMap newBuilder()
+    {
+      return new EnumMap((Class) keyType.getRawClass());
+    }
+
+    @Override
+    protected void put(@NotNull final EnumMap builder, @NotNull final Object k, @NotNull final Object v)
+    {
+      builder.put((Enum) k, v);
+    }
+
+    @NotNull
+    @Override
+    protected ImmutableEnumMap build(@NotNull final EnumMap builder)
+    {
+      return ImmutableEnumMap.ofEnumMap(builder, (IntFunction) key, value);
+    }
+  }
+
+  @SuppressWarnings({UNCHECKED, RAWTYPES})
+  private static final class FluentEnumMapDeserializer extends EntriesDeserializer<FluentEnumMap, EnumMap>
+  {
+
+    private static final long serialVersionUID = 1L;
+
+    private FluentEnumMapDeserializer(
+      @NotNull final JavaType type,
+      @Nullable final KeyDeserializer keyDeserializer,
+      @Nullable final JsonDeserializer<Object> valueDeserializer)
+    {
+      super(type, keyDeserializer, valueDeserializer);
+    }
+
+    @Override
+    protected void validate(@NotNull final DeserializationContext ctxt) throws JsonMappingException
+    {
+      requireEnum(ctxt, type, keyType);
+    }
+
+    @NotNull
+    @Override
+    protected FluentEnumMapDeserializer withDeserializers(
+      @NotNull final KeyDeserializer keyDeserializer,
+      @NotNull final JsonDeserializer<Object> valueDeserializer)
+    {
+      return new FluentEnumMapDeserializer(type, keyDeserializer, valueDeserializer);
+    }
+
+    @NotNull
+    @Override
+    protected EnumMap newBuilder()
+    {
+      return new EnumMap((Class) keyType.getRawClass());
+    }
+
+    @Override
+    protected void put(@NotNull final EnumMap builder, @NotNull final Object k, @NotNull final Object v)
+    {
+      builder.put((Enum) k, v);
+    }
+
+    @NotNull
+    @Override
+    protected FluentEnumMap build(@NotNull final EnumMap builder)
+    {
+      final ImmutableEnumMap map = ImmutableEnumMap.ofEnumMap(builder, (IntFunction) key, value);
+      return FluentEnumMap.of(map);
+    }
+  }
+  //</editor-fold>
+}
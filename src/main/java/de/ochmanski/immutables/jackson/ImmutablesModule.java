@@ -0,0 +1,63 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Jackson module for the immutable collections of this library.
+ * <p>Collections are written as JSON arrays and maps as JSON objects. Serializers iterate the backing storage
+ * directly, and resolve the element serializer once per collection from the {@link java.util.function.IntFunction}
+ * key, whenever the element type is final. Deserializers stream the tokens straight into the transient builders,
+ * without an intermediate {@link java.util.ArrayList} or {@link java.util.HashMap}.
+ * <p>Supported types:
+ * <ul>
+ *   <li>{@link de.ochmanski.immutables.immutable.ImmutableList} and {@link de.ochmanski.immutables.immutable.IList}</li>
+ *   <li>{@link de.ochmanski.immutables.immutable.ImmutableSet} and {@link de.ochmanski.immutables.immutable.ISet}</li>
+ *   <li>{@link de.ochmanski.immutables.immutable.ImmutableMap} and {@link de.ochmanski.immutables.immutable.IMap}</li>
+ *   <li>{@link de.ochmanski.immutables.immutable.enums.ImmutableEnumSet}</li>
+ *   <li>{@link de.ochmanski.immutables.immutable.enums.ImmutableEnumMap}</li>
+ *   <li>{@link de.ochmanski.immutables.equalable.EqualableList}</li>
+ *   <li>{@link de.ochmanski.immutables.fluent.FluentEnumMap}</li>
+ *   <li>{@link de.ochmanski.immutables.equalable.Equalable.EqualableString}, as a plain JSON string</li>
+ * </ul>
+ * Any other {@link de.ochmanski.immutables.collection.ICollection} or {@link de.ochmanski.immutables.immutable.IMap}
+ * can be serialized, but not deserialized.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final ObjectMapper mapper = new ObjectMapper().registerModule(new ImmutablesModule());
+ *   final ImmutableList<String> actual = mapper.readValue("[\"a\",\"b\"]", new TypeReference<ImmutableList<String>>() {});
+ *   }
+ * </pre>
+ */
+public final class ImmutablesModule extends Module
+{
+
+  @NotNull
+  private static final Version VERSION = new Version(0, 0, 1, null, "de.ochmanski", "immutables");
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public String getModuleName()
+  {
+    return ImmutablesModule.class.getSimpleName();
+  }
+
+  @NotNull
+  @Override
+  @Contract(pure = true)
+  public Version version()
+  {
+    return VERSION;
+  }
+
+  @Override
+  public void setupModule(@NotNull final SetupContext context)
+  {
+    context.addSerializers(new ImmutablesSerializers());
+    context.addDeserializers(new ImmutablesDeserializers());
+  }
+}
@@ -0,0 +1,38 @@
+package de.ochmanski.immutables.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import de.ochmanski.immutables.collection.ICollection;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.immutable.IMap;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class ImmutablesSerializers extends Serializers.Base
+{
+
+  @Nullable
+  @Override
+  @Contract(pure = true)
+  public JsonSerializer<?> findSerializer(
+    @NotNull final SerializationConfig config,
+    @NotNull final JavaType type,
+    @NotNull final BeanDescription beanDesc)
+  {
+    final Class<?> raw = type.getRawClass();
+    if (ICollection.class.isAssignableFrom(raw)) {
+      return new ICollectionSerializer(type);
+    }
+    if (IMap.class.isAssignableFrom(raw)) {
+      return new IMapSerializer(type);
+    }
+    if (raw == EqualableString.class) {
+      return EqualableStringSerializer.INSTANCE;
+    }
+    return null;
+  }
+}
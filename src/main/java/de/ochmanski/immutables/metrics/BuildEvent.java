@@ -0,0 +1,34 @@
+package de.ochmanski.immutables.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a collection larger than {@link CollectionEvents#THRESHOLD} elements, whose lookup index was
+ * precomputed at construction, for example by {@code ImmutableMap.ofStatic}.
+ */
+@Name(BuildEvent.NAME)
+@Label("Collection Build")
+@Category("Immutables")
+@Description("Construction of the lookup index of an immutable collection")
+@StackTrace
+final class BuildEvent extends Event
+{
+
+  static final String NAME = "de.ochmanski.immutables.Build";
+
+  @Label("Collection Type")
+  Class<?> collectionType;
+
+  @Label("Elements")
+  int elements;
+
+  @Label("Build Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long buildTime;
+}
@@ -0,0 +1,89 @@
+package de.ochmanski.immutables.metrics;
+
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Emits Java Flight Recorder events for expensive operations on large collections.
+ * <p>Events are emitted only for collections with at least {@link #THRESHOLD} elements, which can be configured
+ * with the system property {@value #PROPERTY}. They don't depend on {@link CollectionMetrics#isEnabled()}; a standard
+ * recording is enough, for example {@code -XX:StartFlightRecording}. All events are recorded with a stack trace, which
+ * points at the responsible call site.
+ * <ul>
+ *   <li>{@value CopyEvent#NAME} - elements copied into new storage</li>
+ *   <li>{@value BuildEvent#NAME} - construction of a precomputed lookup index</li>
+ *   <li>{@value ToStringEvent#NAME} - rendering of a collection with {@code toString()}</li>
+ * </ul>
+ */
+public final class CollectionEvents
+{
+
+  @NotNull
+  public static final String PROPERTY = "immutables.jfr.threshold";
+
+  public static final int THRESHOLD = Integer.getInteger(PROPERTY, 1_000);
+
+  private CollectionEvents()
+  {
+  }
+
+  static void copied(@NotNull final Class<?> type, @NotNull final Operation operation, final int elements, final long bytes)
+  {
+    if (elements < THRESHOLD) {
+      return;
+    }
+    final CopyEvent event = new CopyEvent();
+    if (event.shouldCommit()) {
+      event.collectionType = type;
+      event.operation = operation.name();
+      event.elements = elements;
+      event.bytes = bytes;
+      event.commit();
+    }
+  }
+
+  static void built(@NotNull final Class<?> type, final int elements, final long nanos)
+  {
+    if (elements < THRESHOLD) {
+      return;
+    }
+    final BuildEvent event = new BuildEvent();
+    if (event.shouldCommit()) {
+      event.collectionType = type;
+      event.elements = elements;
+      event.buildTime = nanos;
+      event.commit();
+    }
+  }
+
+  /**
+   * Renders a collection and records the time spent as a {@value ToStringEvent#NAME} event.
+   *
+   * @param type collection type, for example {@code ImmutableList.class}
+   * @param elements number of elements of the rendered collection
+   * @param renderer renders the collection
+   * @return the rendered collection
+   */
+  @NotNull
+  @Contract(pure = true)
+  public static String rendered(@NotNull final Class<?> type, final int elements, @NotNull final Supplier<@NotNull String> renderer)
+  {
+    if (elements < THRESHOLD) {
+      return renderer.get();
+    }
+    final ToStringEvent event = new ToStringEvent();
+    event.begin();
+    final String s = renderer.get();
+    event.end();
+    if (event.shouldCommit()) {
+      event.collectionType = type;
+      event.elements = elements;
+      event.length = s.length();
+      event.commit();
+    }
+    return s;
+  }
+}
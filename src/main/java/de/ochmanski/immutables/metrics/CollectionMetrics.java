@@ -0,0 +1,153 @@
+package de.ochmanski.immutables.metrics;
+
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Static registry of {@link CollectionMetricsListener}s.
+ * <p>The metrics are opt-in. They are enabled by starting the JVM with {@code -Dimmutables.metrics=true}.
+ * The property is read once, into a {@code static final} field, so when the metrics are disabled the JIT removes
+ * the instrumentation from the collections entirely.
+ * <p>Example usage:
+ * <pre>
+ *   {@code
+ *   final InMemoryCollectionMetrics metrics = new InMemoryCollectionMetrics();
+ *   CollectionMetrics.register(metrics);
+ *   ...
+ *   final long copies = metrics.getCopies(ImmutableList.class);
+ *   }
+ * </pre>
+ */
+public final class CollectionMetrics
+{
+
+  @NotNull
+  public static final String PROPERTY = "immutables.metrics";
+
+  /**
+   * Estimated size of a single reference, assuming compressed references, which is the default
+   * for heaps smaller than 32 GB.
+   */
+  public static final int REFERENCE_BYTES = 4;
+
+  private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+  @NotNull
+  private static final CollectionMetricsListener @NotNull [] NONE = new CollectionMetricsListener[0];
+
+  @NotNull
+  private static volatile CollectionMetricsListener @NotNull [] listeners = NONE;
+
+  private CollectionMetrics()
+  {
+  }
+
+  @Contract(pure = true)
+  public static boolean isEnabled()
+  {
+    return ENABLED;
+  }
+
+  /**
+   * Registers the given listener. Registering the same listener twice has no effect.
+   * <p>When the metrics are disabled, the listener is registered but never called.
+   */
+  public static synchronized void register(@NotNull final CollectionMetricsListener listener)
+  {
+    Objects.requireNonNull(listener, "Given listener cannot be null.");
+    final CollectionMetricsListener[] current = listeners;
+    if (Arrays.asList(current).contains(listener)) {
+      return;
+    }
+    final CollectionMetricsListener[] next = Arrays.copyOf(current, current.length + 1);
+    next[current.length] = listener;
+    listeners = next;
+  }
+
+  public static synchronized void unregister(@NotNull final CollectionMetricsListener listener)
+  {
+    listeners = Arrays.stream(listeners)
+      .filter(l -> l != listener)
+      .toArray(CollectionMetricsListener[]::new);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="instrumentation points">
+
+  public static void created(@NotNull final Class<?> type, final int size)
+  {
+    if (ENABLED) {
+      for (final CollectionMetricsListener listener : listeners) {
+        listener.onCreate(type, size);
+      }
+    }
+  }
+
+  /**
+   * Reports a copy to the listeners. Copies above {@link CollectionEvents#THRESHOLD} elements are also recorded
+   * by Java Flight Recorder, even when the metrics are disabled.
+   */
+  public static void copied(@NotNull final Class<?> type, @NotNull final Operation operation, final int elements)
+  {
+    final long bytes = (long) elements * REFERENCE_BYTES;
+    CollectionEvents.copied(type, operation, elements, bytes);
+    if (ENABLED) {
+      notifyCopy(type, operation, elements, bytes);
+    }
+  }
+
+  /**
+   * Same as {@link #copied(Class, Operation, int)}, for maps, where every entry holds a key and a value reference.
+   */
+  public static void copiedEntries(@NotNull final Class<?> type, @NotNull final Operation operation, final int entries)
+  {
+    final long bytes = 2L * entries * REFERENCE_BYTES;
+    CollectionEvents.copied(type, operation, entries, bytes);
+    if (ENABLED) {
+      notifyCopy(type, operation, entries, bytes);
+    }
+  }
+
+  /**
+   * Reports the time spent building the lookup index of a collection. Builds above {@link CollectionEvents#THRESHOLD}
+   * elements are also recorded by Java Flight Recorder, even when the metrics are disabled.
+   */
+  public static void built(@NotNull final Class<?> type, final int size, final long nanos)
+  {
+    CollectionEvents.built(type, size, nanos);
+    if (ENABLED) {
+      for (final CollectionMetricsListener listener : listeners) {
+        listener.onBuild(type, size, nanos);
+      }
+    }
+  }
+
+  public static void unwrapped(@NotNull final Class<?> type, final int size)
+  {
+    if (ENABLED) {
+      for (final CollectionMetricsListener listener : listeners) {
+        listener.onUnwrap(type, size);
+      }
+    }
+  }
+
+  public static void slowPath(@NotNull final Class<?> type, @NotNull final Operation operation)
+  {
+    if (ENABLED) {
+      for (final CollectionMetricsListener listener : listeners) {
+        listener.onSlowPath(type, operation);
+      }
+    }
+  }
+  //</editor-fold>
+
+  private static void notifyCopy(@NotNull final Class<?> type, @NotNull final Operation operation, final int elements, final long bytes)
+  {
+    for (final CollectionMetricsListener listener : listeners) {
+      listener.onCopy(type, operation, elements, bytes);
+    }
+  }
+}
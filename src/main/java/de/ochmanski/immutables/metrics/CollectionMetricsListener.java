@@ -0,0 +1,98 @@
+package de.ochmanski.immutables.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives instrumentation events of the immutable collections.
+ * <p>Listeners are registered in {@link CollectionMetrics}. They are only called when the metrics are enabled
+ * with the system property {@value CollectionMetrics#PROPERTY}.
+ * <p>Callbacks run synchronously on the thread which performs the operation, so implementations must be
+ * thread-safe, fast and must not throw. All methods do nothing by default.
+ */
+public interface CollectionMetricsListener
+{
+
+  /**
+   * Called when a new collection of the given type is created.
+   *
+   * @param type collection type, for example {@code ImmutableList.class}
+   * @param size number of elements, or entries of a map
+   */
+  default void onCreate(@NotNull final Class<?> type, final int size)
+  {
+  }
+
+  /**
+   * Called when an operation copies elements into new storage.
+   *
+   * @param type collection type, for example {@code ImmutableList.class}
+   * @param operation the operation which performed the copy
+   * @param elements number of copied elements, or entries of a map
+   * @param bytes estimated number of bytes of the copied references
+   */
+  default void onCopy(@NotNull final Class<?> type, @NotNull final Operation operation, final int elements, final long bytes)
+  {
+  }
+
+  /**
+   * Called when a collection has precomputed its lookup index, for example {@code ImmutableMap.ofStatic}.
+   *
+   * @param type collection type, for example {@code ImmutableMap.class}
+   * @param size number of elements, or entries of a map
+   * @param nanos time spent building the index, in nanoseconds
+   */
+  default void onBuild(@NotNull final Class<?> type, final int size, final long nanos)
+  {
+  }
+
+  /**
+   * Called when the content of a collection is unwrapped into a {@code java.util} collection.
+   *
+   * @param type collection type, for example {@code ImmutableList.class}
+   * @param size number of elements, or entries of a map
+   */
+  default void onUnwrap(@NotNull final Class<?> type, final int size)
+  {
+  }
+
+  /**
+   * Called when an operation cannot use its fast path and falls back to a slower one.
+   *
+   * @param type collection type, for example {@code ImmutableList.class}
+   * @param operation the operation which took the slow path
+   */
+  default void onSlowPath(@NotNull final Class<?> type, @NotNull final Operation operation)
+  {
+  }
+
+  /**
+   * Operations which are reported to the listeners.
+   */
+  enum Operation
+  {
+    /**
+     * Copy of a {@code java.util} collection in a static factory method.
+     */
+    OF,
+    /**
+     * Copy of the accumulated elements in the finisher of a collector.
+     */
+    COLLECT,
+    /**
+     * Concatenation or union of two immutable collections.
+     */
+    MERGE,
+    /**
+     * Adding elements to an immutable collection.
+     */
+    ADD_ALL,
+    /**
+     * Defensive copy returned by {@code unwrap()}.
+     */
+    UNWRAP,
+    /**
+     * Conversion between collection families, for example from {@code String} to {@code EqualableString}.
+     */
+    CONVERT
+  }
+}
@@ -0,0 +1,36 @@
+package de.ochmanski.immutables.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a copy which is larger than {@link CollectionEvents#THRESHOLD} elements.
+ */
+@Name(CopyEvent.NAME)
+@Label("Collection Copy")
+@Category("Immutables")
+@Description("Copy of the elements of an immutable collection into new storage")
+@StackTrace
+final class CopyEvent extends Event
+{
+
+  static final String NAME = "de.ochmanski.immutables.Copy";
+
+  @Label("Collection Type")
+  Class<?> collectionType;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Elements")
+  int elements;
+
+  @Label("Estimated Size")
+  @DataAmount
+  long bytes;
+}
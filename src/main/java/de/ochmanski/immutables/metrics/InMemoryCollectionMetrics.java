@@ -0,0 +1,216 @@
+package de.ochmanski.immutables.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in {@link CollectionMetricsListener}, which counts all events in memory, per collection type.
+ * <p>Construction sizes are recorded in a histogram with power-of-two buckets: bucket {@code 0} counts empty
+ * collections, bucket {@code b > 0} counts sizes in the range {@code [2^(b-1), 2^b)}.
+ * <p>This class is thread-safe. Counters are never reset implicitly; use {@link #reset()}.
+ */
+public final class InMemoryCollectionMetrics implements CollectionMetricsListener
+{
+
+  public static final int BUCKETS = Integer.SIZE;
+
+  @NotNull
+  private final Map<@NotNull Class<?>, @NotNull Counters> counters = new ConcurrentHashMap<>();
+
+  @Override
+  public void onCreate(@NotNull final Class<?> type, final int size)
+  {
+    final Counters c = countersOf(type);
+    c.created.increment();
+    c.sizes[bucket(size)].increment();
+  }
+
+  @Override
+  public void onCopy(@NotNull final Class<?> type, @NotNull final Operation operation, final int elements, final long bytes)
+  {
+    final Counters c = countersOf(type);
+    c.copies[operation.ordinal()].increment();
+    c.copiedElements.add(elements);
+    c.copiedBytes.add(bytes);
+  }
+
+  @Override
+  public void onBuild(@NotNull final Class<?> type, final int size, final long nanos)
+  {
+    final Counters c = countersOf(type);
+    c.builds.increment();
+    c.buildNanos.add(nanos);
+  }
+
+  @Override
+  public void onUnwrap(@NotNull final Class<?> type, final int size)
+  {
+    countersOf(type).unwraps.increment();
+  }
+
+  @Override
+  public void onSlowPath(@NotNull final Class<?> type, @NotNull final Operation operation)
+  {
+    countersOf(type).slowPaths[operation.ordinal()].increment();
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="getters">
+
+  @Contract(pure = true)
+  public long getCreated(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.created.sum();
+  }
+
+  /**
+   * Returns the histogram of construction sizes. See the class description for the bucket boundaries.
+   */
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  public long @NotNull [] getSizeHistogram(@NotNull final Class<?> type)
+  {
+    final long[] histogram = new long[BUCKETS];
+    final Counters c = counters.get(type);
+    if (c != null) {
+      for (int i = 0; i < BUCKETS; i++) {
+        histogram[i] = c.sizes[i].sum();
+      }
+    }
+    return histogram;
+  }
+
+  @Contract(pure = true)
+  public long getCopies(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : sum(c.copies);
+  }
+
+  @Contract(pure = true)
+  public long getCopies(@NotNull final Class<?> type, @NotNull final Operation operation)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.copies[operation.ordinal()].sum();
+  }
+
+  @Contract(pure = true)
+  public long getCopiedElements(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.copiedElements.sum();
+  }
+
+  @Contract(pure = true)
+  public long getCopiedBytes(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.copiedBytes.sum();
+  }
+
+  @Contract(pure = true)
+  public long getBuilds(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.builds.sum();
+  }
+
+  /**
+   * Returns the total time spent building lookup indexes, in nanoseconds.
+   */
+  @Contract(pure = true)
+  public long getBuildNanos(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.buildNanos.sum();
+  }
+
+  @Contract(pure = true)
+  public long getUnwraps(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.unwraps.sum();
+  }
+
+  @Contract(pure = true)
+  public long getSlowPaths(@NotNull final Class<?> type, @NotNull final Operation operation)
+  {
+    final Counters c = counters.get(type);
+    return c == null ? 0 : c.slowPaths[operation.ordinal()].sum();
+  }
+  //</editor-fold>
+
+  public void reset()
+  {
+    counters.clear();
+  }
+
+  @Contract(pure = true)
+  static int bucket(final int size)
+  {
+    return size <= 0 ? 0 : BUCKETS - Integer.numberOfLeadingZeros(size);
+  }
+
+  @NotNull
+  private Counters countersOf(@NotNull final Class<?> type)
+  {
+    final Counters c = counters.get(type);
+    return c != null ? c : counters.computeIfAbsent(type, t -> new Counters());
+  }
+
+  @Contract(pure = true)
+  private static long sum(@NotNull final LongAdder @NotNull [] adders)
+  {
+    long sum = 0;
+    for (final LongAdder adder : adders) {
+      sum += adder.sum();
+    }
+    return sum;
+  }
+
+  @NotNull
+  @Contract(value = "_ -> new", pure = true)
+  private static LongAdder @NotNull [] adders(final int length)
+  {
+    final LongAdder[] adders = new LongAdder[length];
+    for (int i = 0; i < length; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  private static final class Counters
+  {
+
+    @NotNull
+    private final LongAdder created = new LongAdder();
+
+    @NotNull
+    private final LongAdder @NotNull [] sizes = adders(BUCKETS);
+
+    @NotNull
+    private final LongAdder @NotNull [] copies = adders(Operation.values().length);
+
+    @NotNull
+    private final LongAdder copiedElements = new LongAdder();
+
+    @NotNull
+    private final LongAdder copiedBytes = new LongAdder();
+
+    @NotNull
+    private final LongAdder builds = new LongAdder();
+
+    @NotNull
+    private final LongAdder buildNanos = new LongAdder();
+
+    @NotNull
+    private final LongAdder unwraps = new LongAdder();
+
+    @NotNull
+    private final LongAdder @NotNull [] slowPaths = adders(Operation.values().length);
+  }
+}
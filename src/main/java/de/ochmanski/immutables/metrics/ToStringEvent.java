@@ -0,0 +1,32 @@
+package de.ochmanski.immutables.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a {@code toString()} call on a collection larger than {@link CollectionEvents#THRESHOLD}
+ * elements. The duration of the event is the time spent rendering the collection.
+ */
+@Name(ToStringEvent.NAME)
+@Label("Collection toString")
+@Category("Immutables")
+@Description("Rendering of a large immutable collection into a String")
+@StackTrace
+final class ToStringEvent extends Event
+{
+
+  static final String NAME = "de.ochmanski.immutables.ToString";
+
+  @Label("Collection Type")
+  Class<?> collectionType;
+
+  @Label("Elements")
+  int elements;
+
+  @Label("Length")
+  int length;
+}
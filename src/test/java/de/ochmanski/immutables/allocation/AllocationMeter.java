@@ -0,0 +1,78 @@
+package de.ochmanski.immutables.allocation;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how many bytes a piece of code allocates on the heap of the current thread.
+ * <p>Uses {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}, which reads the
+ * allocation counter of the current thread without allocating itself.
+ * <p>The operation is warmed up first, so the measurement reflects the JIT-compiled code. The measurement is
+ * repeated a few times and the smallest result wins, to filter out one-off allocations of the runtime,
+ * for example during deoptimization.
+ */
+final class AllocationMeter
+{
+
+  static final int WARMUP_ITERATIONS = 20_000;
+
+  static final int ITERATIONS = 1_000;
+
+  static final int ATTEMPTS = 3;
+
+  @NotNull
+  private static final com.sun.management.ThreadMXBean THREADS =
+    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /**
+   * Keeps results of the measured operations reachable, so the JIT cannot remove the calls.
+   */
+  @SuppressWarnings("unused")
+  private static volatile long sink;
+
+  private AllocationMeter()
+  {
+  }
+
+  @Contract(pure = true)
+  static boolean isSupported()
+  {
+    return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+  }
+
+  /**
+   * Returns the number of bytes allocated by {@link #ITERATIONS} calls of the given operation, after warm-up.
+   */
+  static long measure(@NotNull final HotPath operation)
+  {
+    run(operation, WARMUP_ITERATIONS);
+    long min = Long.MAX_VALUE;
+    for (int attempt = 0; attempt < ATTEMPTS && min > 0; attempt++) {
+      final long before = THREADS.getCurrentThreadAllocatedBytes();
+      run(operation, ITERATIONS);
+      final long after = THREADS.getCurrentThreadAllocatedBytes();
+      min = Math.min(min, after - before);
+    }
+    return min;
+  }
+
+  private static void run(@NotNull final HotPath operation, final int iterations)
+  {
+    long result = 0;
+    for (int i = 0; i < iterations; i++) {
+      result += operation.run();
+    }
+    sink = result;
+  }
+
+  /**
+   * Operation under measurement. Returns any value derived from the result, to keep the call alive.
+   */
+  @FunctionalInterface
+  interface HotPath
+  {
+    long run();
+  }
+}
@@ -0,0 +1,52 @@
+package de.ochmanski.immutables.allocation;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.allocation.MustNotAllocate.Operation;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class AllocationRegressionTest
+{
+
+  @BeforeAll
+  static void requireAllocationCounter()
+  {
+    assumeTrue(AllocationMeter.isSupported(), "Thread allocation counter is not supported by this JVM.");
+  }
+
+  @TestFactory
+  Stream<DynamicTest> mustNotAllocate()
+  {
+    return MustNotAllocate.operations().stream()
+      .map(operation -> DynamicTest.dynamicTest(operation.toString(), () -> assertDoesNotAllocate(operation)));
+  }
+
+  @Test
+  void meterDetectsAllocation()
+  {
+    final ImmutableList<String> list = ImmutableList.<String>of(List.of("a", "b", "c"), String[]::new);
+    final long actual = AllocationMeter.measure(() -> list.unwrap().size());
+    assertThat(actual).isGreaterThanOrEqualTo(AllocationMeter.ITERATIONS);
+  }
+
+  private static void assertDoesNotAllocate(final Operation operation)
+  {
+    final long actual = AllocationMeter.measure(operation.getPath());
+    assertThat(actual)
+      .as("%s allocated %d bytes in %d calls", operation, actual, AllocationMeter.ITERATIONS)
+      .isZero();
+  }
+}
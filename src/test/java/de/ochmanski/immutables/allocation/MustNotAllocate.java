@@ -0,0 +1,168 @@
+package de.ochmanski.immutables.allocation;
+
+import de.ochmanski.immutables.allocation.AllocationMeter.HotPath;
+import de.ochmanski.immutables.collection.ComponentTypes;
+import de.ochmanski.immutables.collection.ICollection;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.equalable.EqualableList;
+import de.ochmanski.immutables.equalable.EqualableSet;
+import de.ochmanski.immutables.equalable.ServiceState;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.ImmutableSortedSet;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import lombok.Value;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Registry of read operations which must not allocate, per collection type.
+ * <p>Every operation registered here is measured by {@link AllocationRegressionTest} as part of {@code gradle test}.
+ * When a change introduces an allocation on one of these paths, the build fails.
+ * <p>Register only operations which are allocation-free by construction, not ones which rely on escape analysis.
+ * Methods returning {@link java.util.Optional} or a new collection allocate by design and don't belong here.
+ */
+final class MustNotAllocate
+{
+
+  private MustNotAllocate()
+  {
+  }
+
+  @NotNull
+  @Contract(value = "-> new", pure = true)
+  static List<@NotNull Operation> operations()
+  {
+    final List<@NotNull Operation> operations = new ArrayList<>();
+    immutableList(operations);
+    immutableSet(operations);
+    immutableSortedSet(operations);
+    immutableMap(operations);
+    immutableEnumSet(operations);
+    equalableList(operations);
+    equalableSet(operations);
+    fluent(operations);
+    componentTypes(operations);
+    return operations;
+  }
+
+  private static void immutableList(@NotNull final List<@NotNull Operation> operations)
+  {
+    final ImmutableList<@NotNull String> list = ImmutableList.<String>of(List.of("a", "b", "c"), String[]::new);
+    final ImmutableList<@NotNull String> merged = ImmutableList.merge(list, list, String[]::new);
+    operations.add(Operation.of(ImmutableList.class, "size", list::size));
+    operations.add(Operation.of(ImmutableList.class, "isEmpty", () -> flag(list.isEmpty())));
+    operations.add(Operation.of(ImmutableList.class, "contains", () -> flag(list.contains("c"))));
+    operations.add(Operation.of(ImmutableList.class, "get", () -> list.get(1).length()));
+    operations.add(Operation.of(ImmutableList.class, "indexOf", () -> list.indexOf("b")));
+    operations.add(Operation.of(ImmutableList.class, "get after merge", () -> merged.get(4).length()));
+  }
+
+  private static void immutableSet(@NotNull final List<@NotNull Operation> operations)
+  {
+    final ImmutableSet<@NotNull String> set = ImmutableSet.<String>of(List.of("a", "b", "c"), String[]::new);
+    operations.add(Operation.of(ImmutableSet.class, "size", set::size));
+    operations.add(Operation.of(ImmutableSet.class, "isEmpty", () -> flag(set.isEmpty())));
+    operations.add(Operation.of(ImmutableSet.class, "contains", () -> flag(set.contains("c"))));
+  }
+
+  private static void immutableSortedSet(@NotNull final List<@NotNull Operation> operations)
+  {
+    final ImmutableSortedSet<@NotNull String> set = ImmutableSortedSet.of(List.of("a", "b", "c"), String[]::new);
+    operations.add(Operation.of(ImmutableSortedSet.class, "size", set::size));
+    operations.add(Operation.of(ImmutableSortedSet.class, "contains", () -> flag(set.contains("c"))));
+  }
+
+  private static void immutableMap(@NotNull final List<@NotNull Operation> operations)
+  {
+    final ImmutableMap<@NotNull String, @NotNull Integer> map = ImmutableMap.of(Map.of("a", 1, "b", 2), String[]::new, Integer[]::new);
+    operations.add(Operation.of(ImmutableMap.class, "size", map::size));
+    operations.add(Operation.of(ImmutableMap.class, "isEmpty", () -> flag(map.isEmpty())));
+    operations.add(Operation.of(ImmutableMap.class, "containsKey", () -> flag(map.containsKey("b"))));
+  }
+
+  private static void immutableEnumSet(@NotNull final List<@NotNull Operation> operations)
+  {
+    final ImmutableEnumSet<@NotNull DayOfWeek> set = ImmutableEnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY, DayOfWeek[]::new);
+    operations.add(Operation.of(ImmutableEnumSet.class, "size", set::size));
+    operations.add(Operation.of(ImmutableEnumSet.class, "contains", () -> flag(set.contains(DayOfWeek.FRIDAY))));
+  }
+
+  private static void equalableList(@NotNull final List<@NotNull Operation> operations)
+  {
+    final EqualableList<@NotNull EqualableString> list = EqualableList.of("a", "b", "c");
+    final EqualableString element = EqualableString.of("c");
+    operations.add(Operation.of(EqualableList.class, "size", list::size));
+    operations.add(Operation.of(EqualableList.class, "isEmpty", () -> flag(list.isEmpty())));
+    operations.add(Operation.of(EqualableList.class, "contains", () -> flag(list.contains(element))));
+  }
+
+  private static void equalableSet(@NotNull final List<@NotNull Operation> operations)
+  {
+    final EqualableSet<@NotNull EqualableString> set = EqualableSet.of("a", "b", "c");
+    final EqualableString element = EqualableString.of("c");
+    operations.add(Operation.of(EqualableSet.class, "size", set::size));
+    operations.add(Operation.of(EqualableSet.class, "isEmpty", () -> flag(set.isEmpty())));
+    operations.add(Operation.of(EqualableSet.class, "contains", () -> flag(set.contains(element))));
+  }
+
+  private static void fluent(@NotNull final List<@NotNull Operation> operations)
+  {
+    final ServiceState state = ServiceState.RUN_MASTER;
+    final ServiceState[] array = { ServiceState.RUN_SLAVE, ServiceState.RUN_MASTER };
+    final List<@NotNull ServiceState> list = List.of(ServiceState.RUN_SLAVE, ServiceState.RUN_MASTER);
+    final EnumSet<@NotNull ServiceState> enumSet = EnumSet.of(ServiceState.RUN_SLAVE, ServiceState.RUN_MASTER);
+    operations.add(Operation.of(ServiceState.class, "isIn(array)", () -> flag(state.isIn(array))));
+    operations.add(Operation.of(ServiceState.class, "isNotIn(array)", () -> flag(state.isNotIn(array))));
+    operations.add(Operation.of(ServiceState.class, "isIn(Collection)", () -> flag(state.isIn(list))));
+    operations.add(Operation.of(ServiceState.class, "isNotIn(Collection)", () -> flag(state.isNotIn(list))));
+    operations.add(Operation.of(ServiceState.class, "isIn(EnumSet)", () -> flag(state.isIn(enumSet))));
+    operations.add(Operation.of(ServiceState.class, "isNotIn(EnumSet)", () -> flag(state.isNotIn(enumSet))));
+  }
+
+  private static void componentTypes(@NotNull final List<@NotNull Operation> operations)
+  {
+    final IntFunction<@NotNull String @NotNull []> key = String[]::new;
+    final ImmutableList<@NotNull String> list = ImmutableList.<String>of(List.of("a", "b", "c"), key);
+    operations.add(Operation.of(ComponentTypes.class, "getComponentTypeFromKey", () -> list.getComponentTypeFromKey().getModifiers()));
+    operations.add(Operation.of(ComponentTypes.class, "zeroLengthArray", () -> ICollection.zeroLengthArray(key).length));
+    operations.add(Operation.of(ComponentTypes.class, "ImmutableList.noneOf", () -> ImmutableList.noneOf(key).size()));
+    operations.add(Operation.of(ComponentTypes.class, "ImmutableSet.noneOf", () -> ImmutableSet.noneOf(key).size()));
+    operations.add(Operation.of(ComponentTypes.class, "ImmutableEnumSet.noneOf", () -> ImmutableEnumSet.noneOf(DayOfWeek[]::new).size()));
+  }
+
+  @Contract(pure = true)
+  private static long flag(final boolean b)
+  {
+    return b ? 1 : 0;
+  }
+
+  @Value(staticConstructor = "of")
+  static class Operation
+  {
+
+    @NotNull
+    Class<?> type;
+
+    @NotNull
+    String name;
+
+    @NotNull
+    HotPath path;
+
+    @NotNull
+    @Override
+    public String toString()
+    {
+      return type.getSimpleName() + "." + name;
+    }
+  }
+}
@@ -0,0 +1,269 @@
+package de.ochmanski.immutables.codec;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.Id;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumMap;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutableCodecTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  private static final IntFunction<Id[]> ID = Id[]::new;
+
+  @Test
+  void signedVarIntRoundTrip()
+  {
+    final int[] values = { 0, 1, -1, 63, -64, 64, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Integer.MIN_VALUE };
+    final CodecWriter out = CodecWriter.allocate(0);
+    for (final int value : values) {
+      out.writeSignedVarInt(value);
+    }
+
+    final CodecReader in = CodecReader.of(out.toByteBuffer());
+
+    assertThat(IntStream.range(0, values.length).map(i -> in.readSignedVarInt()).toArray()).containsExactly(values);
+  }
+
+  @Test
+  void signedVarLongRoundTrip()
+  {
+    final long[] values = { 0, 1, -1, 127, 128, Long.MAX_VALUE, Long.MIN_VALUE };
+    final CodecWriter out = CodecWriter.allocate(0);
+    for (final long value : values) {
+      out.writeSignedVarLong(value);
+    }
+
+    final CodecReader in = CodecReader.of(out.toByteBuffer());
+
+    assertThat(IntStream.range(0, values.length).mapToLong(i -> in.readSignedVarLong()).toArray()).containsExactly(values);
+  }
+
+  @Test
+  void varIntOfSmallValueTakesOneByte()
+  {
+    assertThat(CodecWriter.allocate(0).writeVarInt(127).position()).isEqualTo(1);
+    assertThat(CodecWriter.allocate(0).writeVarInt(128).position()).isEqualTo(2);
+    assertThat(CodecWriter.allocate(0).writeVarInt(-1).position()).isEqualTo(5);
+  }
+
+  @Test
+  void listRoundTrip()
+  {
+    final ImmutableList<String> list = ImmutableList.of("a", "ż", "a", KEY);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeList(out, list, ElementCodec.strings());
+    final ImmutableList<String> actual = ImmutableCodec.readList(CodecReader.of(out.toByteBuffer()), ElementCodec.strings(), KEY);
+
+    assertThat(actual).isEqualTo(list);
+  }
+
+  @Test
+  void setRoundTrip()
+  {
+    final ImmutableSet<Integer> set = ImmutableSet.of(-1, 0, 1_000_000, Integer[]::new);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeSet(out, set, ElementCodec.integers());
+    final ImmutableSet<Integer> actual = ImmutableCodec.readSet(CodecReader.of(out.toByteBuffer()), ElementCodec.integers(), Integer[]::new);
+
+    assertThat(actual.unwrap()).isEqualTo(Set.of(-1, 0, 1_000_000));
+  }
+
+  @Test
+  void mapRoundTrip()
+  {
+    final Map<String, Long> source = IntStream.range(0, 1_000).boxed()
+      .collect(Collectors.toMap(i -> "key-" + i, i -> (long) i * i));
+    final ImmutableMap<String, Long> map = ImmutableMap.of(source, KEY, Long[]::new);
+    final CodecWriter out = CodecWriter.allocate(16);
+
+    ImmutableCodec.writeMap(out, map, ElementCodec.strings(), ElementCodec.longs());
+    final ImmutableMap<String, Long> actual = ImmutableCodec.readMap(
+      CodecReader.of(out.toByteBuffer()), ElementCodec.strings(), ElementCodec.longs(), KEY, Long[]::new);
+
+    assertThat(actual.unwrap()).isEqualTo(source);
+  }
+
+  @Test
+  void nestedListsRoundTrip()
+  {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final IntFunction<ImmutableList<String>[]> listKey = ImmutableList[]::new;
+    final ImmutableList<ImmutableList<String>> lists = ImmutableList.of(
+      ImmutableList.of("a", KEY), ImmutableList.of("b", "c", KEY), listKey);
+    final ElementCodec<ImmutableList<String>> codec = ElementCodec.lists(ElementCodec.strings(), KEY);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeList(out, lists, codec);
+    final ImmutableList<ImmutableList<String>> actual = ImmutableCodec.readList(CodecReader.of(out.toByteBuffer()), codec, listKey);
+
+    assertThat(actual.get(1)).isEqualTo(ImmutableList.of("b", "c", KEY));
+  }
+
+  @Test
+  void enumSetIsWrittenAsBitmask()
+  {
+    final ImmutableEnumSet<DayOfWeek> set = ImmutableEnumSet.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY, DayOfWeek[]::new);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeEnumSet(out, set);
+    final ImmutableEnumSet<DayOfWeek> actual = ImmutableCodec.readEnumSet(CodecReader.of(out.toByteBuffer()), DayOfWeek[]::new);
+
+    assertThat(out.position()).as("word count and a single varlong word").isEqualTo(2);
+    assertThat(actual.unwrap()).isEqualTo(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY));
+  }
+
+  @Test
+  void emptyEnumSetTakesOneByte()
+  {
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeEnumSet(out, ImmutableEnumSet.noneOf(ChronoUnit[]::new));
+    final ImmutableEnumSet<ChronoUnit> actual = ImmutableCodec.readEnumSet(CodecReader.of(out.toByteBuffer()), ChronoUnit[]::new);
+
+    assertThat(out.position()).isEqualTo(1);
+    assertThat(actual.isEmpty()).isTrue();
+  }
+
+  @Test
+  void enumSetRejectsOrdinalsBeyondUniverse()
+  {
+    final ByteBuffer bytes = CodecWriter.allocate(0).writeVarInt(1).writeVarLong(1L << 7).toByteBuffer();
+
+    assertThatThrownBy(() -> ImmutableCodec.readEnumSet(CodecReader.of(bytes), DayOfWeek[]::new))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Bitmask contains ordinals beyond 7 enum constants.");
+  }
+
+  @Test
+  void enumMapRoundTrip()
+  {
+    final EnumMap<DayOfWeek, EqualableString> source = new EnumMap<>(Map.of(
+      DayOfWeek.FRIDAY, EqualableString.of("weekend"),
+      DayOfWeek.TUESDAY, EqualableString.of("work"),
+      DayOfWeek.MONDAY, EqualableString.of("work")));
+    final ImmutableEnumMap<DayOfWeek, EqualableString> map = ImmutableEnumMap.ofEnumMap(source, DayOfWeek[]::new, EqualableString[]::new);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeEnumMap(out, map, ElementCodec.equalableStrings());
+    final ImmutableEnumMap<DayOfWeek, EqualableString> actual = ImmutableCodec.readEnumMap(
+      CodecReader.of(out.toByteBuffer()), ElementCodec.equalableStrings(), DayOfWeek[]::new, EqualableString[]::new);
+
+    assertThat(actual.unwrap()).isEqualTo(source);
+  }
+
+  @Test
+  void dictionaryWritesRepeatedStringsOnce()
+  {
+    final ImmutableList<Id> ids = ImmutableList.of(Id.of("tenant"), Id.of("tenant"), Id.of("tenant"), ID);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeList(out, ids, ElementCodec.ids());
+    final ImmutableList<Id> actual = ImmutableCodec.readList(CodecReader.of(out.toByteBuffer()), ElementCodec.ids(), ID);
+
+    assertThat(out.position()).as("size, literal of 1 + 1 + 6 bytes, and two references").isEqualTo(1 + 8 + 2);
+    assertThat(actual).isEqualTo(ids);
+  }
+
+  @Test
+  void dictionaryIsSharedAcrossCollectionsOfOneSnapshot()
+  {
+    final ImmutableList<String> list = ImmutableList.of("shared", KEY);
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ImmutableCodec.writeList(out, list, ElementCodec.dictionaryStrings());
+    ImmutableCodec.writeList(out, list, ElementCodec.dictionaryStrings());
+    final CodecReader in = CodecReader.of(out.toByteBuffer());
+
+    assertThat(ImmutableCodec.readList(in, ElementCodec.dictionaryStrings(), KEY)).isEqualTo(list);
+    assertThat(ImmutableCodec.readList(in, ElementCodec.dictionaryStrings(), KEY)).isEqualTo(list);
+    assertThat(in.remaining()).isZero();
+  }
+
+  @Test
+  void equalableStringWrappingNullRoundTrip()
+  {
+    final CodecWriter out = CodecWriter.allocate(0);
+
+    ElementCodec.equalableStrings().write(out, EqualableString.ofNullable(null));
+
+    assertThat(ElementCodec.equalableStrings().read(CodecReader.of(out.toByteBuffer())).ofNullable()).isEmpty();
+  }
+
+  @Test
+  void fixedBufferOverflows()
+  {
+    final CodecWriter out = CodecWriter.of(ByteBuffer.allocate(4));
+
+    assertThatThrownBy(() -> out.writeString("too long"))
+      .isInstanceOf(BufferOverflowException.class);
+  }
+
+  @Test
+  void writesIntoGivenBufferFromItsPosition()
+  {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(64).position(3);
+
+    ImmutableCodec.writeList(CodecWriter.of(buffer), ImmutableList.of("a", KEY), ElementCodec.strings());
+    buffer.flip().position(3);
+
+    assertThat(ImmutableCodec.readList(CodecReader.of(buffer), ElementCodec.strings(), KEY)).isEqualTo(ImmutableList.of("a", KEY));
+  }
+
+  @Test
+  void truncatedInputUnderflows()
+  {
+    final ByteBuffer bytes = CodecWriter.allocate(0).writeVarInt(2).writeString("a").toByteBuffer();
+
+    assertThatThrownBy(() -> ImmutableCodec.readList(CodecReader.of(bytes), ElementCodec.strings(), KEY))
+      .isInstanceOf(BufferUnderflowException.class);
+  }
+
+  @Test
+  void corruptedSizeIsRejectedBeforeAllocation()
+  {
+    final ByteBuffer bytes = CodecWriter.allocate(0).writeVarInt(Integer.MAX_VALUE).toByteBuffer();
+
+    assertThatThrownBy(() -> ImmutableCodec.readList(CodecReader.of(bytes), ElementCodec.strings(), KEY))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageStartingWith("Size 2147483647 exceeds");
+  }
+
+  @Test
+  void unknownOrdinalIsRejected()
+  {
+    final ByteBuffer bytes = CodecWriter.allocate(0).writeVarInt(7).toByteBuffer();
+
+    assertThatThrownBy(() -> ElementCodec.ordinals(DayOfWeek[]::new).read(CodecReader.of(bytes)))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Unknown ordinal 7 of java.time.DayOfWeek.");
+  }
+}
@@ -0,0 +1,77 @@
+package de.ochmanski.immutables.collection;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.equalable.Equalable;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ComponentTypesTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  @Test
+  void resolvesComponentType()
+  {
+    assertThat(ComponentTypes.of(KEY)).isEqualTo(String.class);
+    assertThat(ComponentTypes.of(Integer[]::new)).isEqualTo(Integer.class);
+  }
+
+  @Test
+  void sharesZeroLengthArrayOfStatelessConstructor()
+  {
+    final String[] actual = ComponentTypes.zeroLengthArray(KEY);
+
+    assertThat(actual).isEmpty();
+    assertThat(ComponentTypes.zeroLengthArray(KEY)).isSameAs(actual);
+    assertThat(ComponentTypes.zeroLengthArray(String.class)).isEmpty();
+    assertThat(ComponentTypes.zeroLengthArray(String.class)).isSameAs(ComponentTypes.zeroLengthArray(String.class));
+  }
+
+  @Test
+  void capturingConstructorIsResolvedEveryTime()
+  {
+    final IntFunction<Object[]> strings = capturing(String.class);
+    final IntFunction<Object[]> integers = capturing(Integer.class);
+
+    assertThat(strings.getClass()).isSameAs(integers.getClass());
+    assertThat(ComponentTypes.of(strings)).isEqualTo(String.class);
+    assertThat(ComponentTypes.of(integers)).isEqualTo(Integer.class);
+    assertThat(ComponentTypes.zeroLengthArray(strings)).isNotSameAs(ComponentTypes.zeroLengthArray(strings));
+  }
+
+  @Test
+  void sharesEmptyInstancePerConstructor()
+  {
+    final ImmutableList<String> actual = ImmutableList.noneOf(KEY);
+
+    assertThat(ImmutableList.noneOf(KEY)).isSameAs(actual);
+    assertThat(actual.getKey()).isSameAs(KEY);
+    assertThat(ImmutableList.noneOf(capturing(String.class))).isNotSameAs(ImmutableList.noneOf(capturing(String.class)));
+  }
+
+  @Test
+  void sharesDerivedConstructorWhileInUse()
+  {
+    final IntFunction<Object[]> actual = ComponentTypes.typedFor(Equalable.defaultKey(), List.of("a", "b"));
+
+    assertThat(ComponentTypes.of(actual)).isEqualTo(String.class);
+    assertThat(ComponentTypes.typedFor(Equalable.defaultKey(), List.of("c"))).isSameAs(actual);
+    assertThat(ComponentTypes.typedFor(Equalable.defaultKey(), List.of())).isSameAs(Equalable.defaultKey());
+  }
+
+  private static IntFunction<Object[]> capturing(final Class<?> type)
+  {
+    return n -> (Object[]) Array.newInstance(type, n);
+  }
+}
@@ -5,6 +5,8 @@
 import de.ochmanski.immutables.equalable.Equalable.EqualableString;
 import de.ochmanski.immutables.equalable.EqualableList;
 import de.ochmanski.immutables.equalable.EqualableSet;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.Split;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +14,7 @@
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.IntFunction;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -396,4 +399,29 @@ void createIterableList()
     final Iterable<@NotNull EqualableString> actual = EqualableList.of("A", "B", "C");
     assertThat(actual).extracting(EqualableString::toString).containsExactlyInAnyOrder("A", "B", "C");
   }
+
+  @Test
+  void slice()
+  {
+    final EqualableList<@NotNull EqualableString> list = EqualableList.of("A", "B", "C", "D");
+    final EqualableList<@NotNull EqualableString> actual = list.slice(1, 3);
+    assertThat(actual.map(EqualableString::toString)).containsExactly("B", "C");
+    assertThat(list.slice(0, 4) == list).isTrue();
+    assertThat(list.head(2).map(EqualableString::toString)).containsExactly("A", "B");
+    assertThat(list.tail(1).map(EqualableString::toString)).containsExactly("D");
+    final Split<@NotNull EqualableList<@NotNull EqualableString>> split = list.splitAt(3);
+    assertThat(split.getHead().map(EqualableString::toString)).containsExactly("A", "B", "C");
+    assertThat(split.getTail().map(EqualableString::toString)).containsExactly("D");
+  }
+
+  @Test
+  void uniqueIndexByIsKeptByWrappedList()
+  {
+    final EqualableList<@NotNull EqualableString> list = EqualableList.of("A", "B", "C");
+    final Function<@NotNull EqualableString, @NotNull String> name = EqualableString::toString;
+    final ImmutableMap<@NotNull String, @NotNull EqualableString> actual = list.uniqueIndexBy(name, String[]::new);
+    assertThat(actual.get("B")).contains(EqualableString.of("B"));
+    assertThat(actual.get("Z")).isEmpty();
+    assertThat(list.uniqueIndexBy(name, actual.getKey())).isSameAs(actual);
+  }
 }
@@ -7,6 +7,7 @@
 import de.ochmanski.immutables.equalable.EqualableList;
 import de.ochmanski.immutables.equalable.EqualableSet;
 import de.ochmanski.immutables.immutable.ISet;
+import de.ochmanski.immutables.immutable.SetDiff;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
@@ -514,6 +515,17 @@ void toSet4()
     assertThat(actual).extracting(EqualableString::toString).containsExactlyInAnyOrder("A", "B", "C");
   }
 
+  @Test
+  void diff()
+  {
+    final EqualableSet<@NotNull EqualableString> previous = EqualableSet.of("A", "B");
+    final EqualableSet<@NotNull EqualableString> next = EqualableSet.of("B", "C");
+    final SetDiff<@NotNull EqualableString> actual = EqualableSet.diff(previous, next);
+    assertThat(actual.getAdded().unwrap()).containsExactly(EqualableString.of("C"));
+    assertThat(actual.getRemoved().unwrap()).containsExactly(EqualableString.of("A"));
+    assertThat(EqualableSet.diff(previous, previous).isEmpty()).isTrue();
+  }
+
   @Value
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
   @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
@@ -64,4 +64,14 @@ void ofStream2()
       .extracting(Equalable.EqualableString::orElseBlank)
       .containsExactly("Version 1", "Version 2", "Version 3", "Version 3");
   }
+
+  @Test
+  void positionalAccess()
+  {
+    final EqualableSortedSet<Equalable.EqualableString> actual = EqualableSortedSet.of("b", "c", "a");
+
+    assertThat(actual.get(1).orElseBlank()).isEqualTo("b");
+    assertThat(actual.indexOf(Equalable.EqualableString.of("c"))).isEqualTo(2);
+    assertThat(actual.findLast().map(Equalable.EqualableString::orElseBlank)).contains("c");
+  }
 }
@@ -296,6 +296,7 @@ void toArrayEmpty1()
       .satisfiesAnyOf(
         p -> assertThat(p).hasMessage("Cannot invoke \"java.util.function.IntFunction.apply(int)\" "
           + "because \"constructor\" is null"),
+        p -> assertThat(p).hasMessage("Cannot invoke \"Object.getClass()\" because \"constructor\" is null"),
         p -> assertThat(p).hasMessage("Argument for @NotNull parameter 'constructor' of "
           + "de/ochmanski/fluent/FluentEnumSet.of must not be null"),
         p -> assertThat(p).hasMessage("NotNull annotated argument 1 of "
@@ -426,6 +427,29 @@ void isSameAs()
     assertThat(a == c).isFalse();
   }
 
+  @Test
+  void union()
+  {
+    final FluentEnumSet<@NotNull FluentExample> a = FluentEnumSet.of(FluentExample.A, FluentExample[]::new);
+    final FluentEnumSet<@NotNull FluentExample> b = FluentEnumSet.of(FluentExample.B, FluentExample[]::new);
+    final FluentEnumSet<@NotNull FluentExample> actual = a.union(b);
+    assertThat(actual.unwrap()).containsExactly(FluentExample.A, FluentExample.B);
+    assertThat(a.union(actual)).isSameAs(actual);
+    assertThat(actual.union(b)).isSameAs(actual);
+  }
+
+  @Test
+  void intersectAndDifference()
+  {
+    final FluentEnumSet<@NotNull FluentExample> ab = FluentEnumSet.of(FluentExample.A, FluentExample.B, FluentExample[]::new);
+    final FluentEnumSet<@NotNull FluentExample> bc = FluentEnumSet.of(FluentExample.B, FluentExample.C, FluentExample[]::new);
+    assertThat(ab.intersect(bc).unwrap()).containsExactly(FluentExample.B);
+    assertThat(ab.difference(bc).unwrap()).containsExactly(FluentExample.A);
+    assertThat(ab.symmetricDifference(bc).unwrap()).containsExactly(FluentExample.A, FluentExample.C);
+    assertThat(ab.isSubsetOf(bc)).isFalse();
+    assertThat(ab.disjoint(bc)).isFalse();
+  }
+
   private enum FluentExample implements Fluent<@NotNull FluentExample>
   {
     A,
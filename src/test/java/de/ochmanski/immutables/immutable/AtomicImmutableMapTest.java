@@ -0,0 +1,170 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class AtomicImmutableMapTest {
+
+  @Test
+  void putAndRemovePublishNewSnapshots() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+    final ImmutableMap<String, Integer> before = holder.get();
+    final ImmutableMap<String, Integer> afterPut = holder.put("a", 1);
+    assertThat(afterPut.get("a")).contains(1);
+    assertThat(holder.get()).isSameAs(afterPut);
+    assertThat(before.isEmpty()).isTrue();
+    assertThat(holder.putAll(Map.of("b", 2, "c", 3)).size()).isEqualTo(3);
+    assertThat(holder.remove("a").containsKey("a")).isFalse();
+    assertThat(holder.get().size()).isEqualTo(2);
+  }
+
+  @Test
+  void update() {
+    final AtomicImmutableMap<String, Integer> holder =
+      AtomicImmutableMap.of(ImmutableMap.of(Map.of("a", 1), String[]::new, Integer[]::new));
+    final ImmutableMap<String, Integer> expected = ImmutableMap.of(Map.of("b", 2), String[]::new, Integer[]::new);
+    assertThat(holder.update(map -> expected)).isSameAs(expected);
+    assertThat(holder.get()).isSameAs(expected);
+  }
+
+  @Test
+  void failedUpdateIsRethrownAndLeavesSnapshot() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+    final ImmutableMap<String, Integer> before = holder.put("a", 1);
+    assertThatThrownBy(() -> holder.update(map -> {
+      throw new IllegalStateException("boom");
+    })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    assertThat(holder.get()).isSameAs(before);
+  }
+
+  @Test
+  void errorInUpdateIsRethrownAndDoesNotLoseOtherUpdates() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+    assertThatThrownBy(() -> holder.update(map -> {
+      throw new AssertionError("boom");
+    })).isInstanceOf(AssertionError.class).hasMessage("boom");
+    assertThat(holder.put("a", 1).get("a")).contains(1);
+    assertThat(holder.get().get("a")).contains(1);
+  }
+
+  @Test
+  void errorInBatchDoesNotLoseOtherUpdatesOfTheBatch() throws InterruptedException {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+    final CountDownLatch combining = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Thread slow = new Thread(() -> holder.update(map -> {
+      combining.countDown();
+      awaitUninterruptibly(release);
+      return map;
+    }));
+    final AtomicReference<ImmutableMap<String, Integer>> putResult = new AtomicReference<>();
+    final Thread writer = new Thread(() -> putResult.set(holder.put("a", 1)));
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread failing = new Thread(() -> {
+      try {
+        holder.update(map -> {
+          throw new AssertionError("boom");
+        });
+      } catch (final Throwable e) {
+        failure.set(e);
+      }
+    });
+    slow.start();
+    combining.await();
+    writer.start();
+    failing.start();
+    while (writer.getState() != Thread.State.WAITING || failing.getState() != Thread.State.WAITING) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+    slow.join();
+    writer.join();
+    failing.join();
+
+    assertThat(putResult.get().get("a")).contains(1);
+    assertThat(failure.get()).isInstanceOf(AssertionError.class).hasMessage("boom");
+    assertThat(holder.get().get("a")).contains(1);
+  }
+
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  void ofEmpty() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.of(ImmutableMap.<String, Integer>empty());
+    assertThat(holder.put("a", 1).get("a")).contains(1);
+    assertThat(holder.putAll(Map.of("b", 2)).size()).isEqualTo(2);
+    assertThat(holder.get().getKey().apply(0)).isInstanceOf(String[].class);
+    assertThat(holder.get().getValue().apply(0)).isInstanceOf(Integer[].class);
+  }
+
+  @Test
+  void putAllIntoEmpty() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.of(ImmutableMap.<String, Integer>empty());
+    assertThat(holder.putAll(Map.of("a", 1, "b", 2)).get("b")).contains(2);
+    assertThat(holder.put("c", 3).size()).isEqualTo(3);
+    assertThat(holder.get().getKey().apply(0)).isInstanceOf(String[].class);
+    assertThat(holder.get().getValue().apply(0)).isInstanceOf(Integer[].class);
+  }
+
+  @Test
+  void compareAndSet() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+    final ImmutableMap<String, Integer> expected = holder.get();
+    final ImmutableMap<String, Integer> next = ImmutableMap.of(Map.of("a", 1), String[]::new, Integer[]::new);
+    assertThat(holder.compareAndSet(expected, next)).isTrue();
+    assertThat(holder.compareAndSet(expected, next)).isFalse();
+    assertThat(holder.get()).isSameAs(next);
+  }
+
+  @Test
+  void rejectsNull() {
+    final AtomicImmutableMap<String, Integer> holder = AtomicImmutableMap.noneOf(String[]::new, Integer[]::new);
+    assertThatThrownBy(() -> holder.put("a", null))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given value cannot be null.");
+    assertThatThrownBy(() -> holder.update(map -> null))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given function cannot return null.");
+  }
+
+  @Test
+  void concurrentWritersLoseNoUpdate() {
+    final AtomicImmutableMap<Integer, Integer> holder = AtomicImmutableMap.noneOf(Integer[]::new, Integer[]::new);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<CompletableFuture<Void>> writers = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        final int offset = thread * 500;
+        writers.add(CompletableFuture.runAsync(() -> IntStream.range(offset, offset + 500).forEach(i -> holder.put(i, i)), executor));
+      }
+      CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).join();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(holder.get().size()).isEqualTo(4000);
+    assertThat(holder.get().get(3999)).contains(3999);
+  }
+}
@@ -0,0 +1,73 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class AtomicImmutableSetTest {
+
+  @Test
+  void addAndRemovePublishNewSnapshots() {
+    final AtomicImmutableSet<String> holder = AtomicImmutableSet.noneOf(String[]::new);
+    final ImmutableSet<String> afterAdd = holder.add("a");
+    assertThat(afterAdd.contains("a")).isTrue();
+    assertThat(holder.get()).isSameAs(afterAdd);
+    assertThat(holder.addAll(List.of("b", "c")).size()).isEqualTo(3);
+    assertThat(holder.remove("a").contains("a")).isFalse();
+    assertThat(holder.get().size()).isEqualTo(2);
+  }
+
+  @Test
+  void update() {
+    final AtomicImmutableSet<String> holder = AtomicImmutableSet.of(ImmutableSet.of("a", String[]::new));
+    assertThat(holder.update(set -> ImmutableSet.of("a", "b", set.getKey())).size()).isEqualTo(2);
+    assertThat(holder.get().contains("b")).isTrue();
+  }
+
+  @Test
+  void ofEmpty() {
+    final AtomicImmutableSet<String> holder = AtomicImmutableSet.of(ImmutableSet.<String>empty());
+    assertThat(holder.add("a").contains("a")).isTrue();
+    assertThat(holder.addAll(List.of("b", "c")).size()).isEqualTo(3);
+    assertThat(holder.get().getComponentTypeFromKey()).isSameAs(String.class);
+  }
+
+  @Test
+  void rejectsNull() {
+    final AtomicImmutableSet<String> holder = AtomicImmutableSet.noneOf(String[]::new);
+    assertThatThrownBy(() -> holder.add(null))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given element cannot be null.");
+    assertThat(holder.get().isEmpty()).isTrue();
+  }
+
+  @Test
+  void concurrentWritersLoseNoUpdate() {
+    final AtomicImmutableSet<Integer> holder = AtomicImmutableSet.noneOf(Integer[]::new);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<CompletableFuture<Void>> writers = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        final int offset = thread * 500;
+        writers.add(CompletableFuture.runAsync(() -> IntStream.range(offset, offset + 500).forEach(holder::add), executor));
+      }
+      CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).join();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(holder.get().size()).isEqualTo(4000);
+  }
+}
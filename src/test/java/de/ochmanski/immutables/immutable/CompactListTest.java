@@ -0,0 +1,97 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CompactListTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  @Test
+  void copySelectsSpecializationBySize()
+  {
+    assertThat(CompactList.copyOf(List.of())).isSameAs(CompactList.empty());
+    assertThat(CompactList.copyOf(List.of("a"))).isInstanceOf(CompactList.List1.class);
+    assertThat(CompactList.copyOf(List.of("a", "b"))).isInstanceOf(CompactList.List2.class);
+    assertThat(CompactList.copyOf(List.of("a", "b", "c"))).isInstanceOf(CompactList.List3.class);
+    assertThat(CompactList.copyOf(List.of("a", "b", "c", "d"))).isInstanceOf(CompactList.List4.class);
+  }
+
+  @Test
+  void smallImmutableListsKeepTheirBehavior()
+  {
+    final ImmutableList<String> collected = Stream.of("a", "b").collect(ImmutableCollectors.toList(KEY));
+    final ImmutableList<String> built = ImmutableList.builder(KEY).add("a").add("b").build();
+
+    assertThat(collected.unwrap()).containsExactly("a", "b");
+    assertThat(built.unwrap()).isEqualTo(collected.unwrap());
+    assertThat(built.get(1)).isEqualTo("b");
+    assertThat(built.indexOf("b")).isEqualTo(1);
+    assertThat(ImmutableList.noneOf(KEY).isEmpty()).isTrue();
+  }
+
+  @Test
+  void behavesLikeList()
+  {
+    final List<String> expected = List.of("a", "b", "a", "c");
+
+    final List<String> actual = CompactList.copyOf(expected);
+
+    assertThat(actual).isEqualTo(expected).hasSameHashCodeAs(expected);
+    assertThat(actual.get(3)).isEqualTo("c");
+    assertThat(actual.indexOf("a")).isZero();
+    assertThat(actual.lastIndexOf("a")).isEqualTo(2);
+    assertThat(actual.indexOf("d")).isEqualTo(-1);
+    assertThat(actual.contains("b")).isTrue();
+    assertThat(actual.subList(1, 3)).containsExactly("b", "a");
+    assertThat(actual.toArray(String[]::new)).containsExactly("a", "b", "a", "c");
+    assertThatThrownBy(() -> actual.get(4)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void forEachVisitsElementsInOrder()
+  {
+    final List<String> visited = new ArrayList<>();
+
+    CompactList.copyOf(List.of("a", "b", "c")).forEach(visited::add);
+
+    assertThat(visited).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void isUnmodifiable()
+  {
+    final List<String> actual = CompactList.copyOf(List.of("a"));
+
+    assertThatThrownBy(() -> actual.add("b")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> actual.set(0, "b")).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void rejectsNullElements()
+  {
+    assertThatThrownBy(() -> CompactList.copyOf(Arrays.asList("a", null)))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given list cannot contain null elements.");
+  }
+
+  @Test
+  void largerCollectionsAreNotCompacted()
+  {
+    assertThat(CompactList.copyOf(List.of(1, 2, 3, 4, 5))).isNotInstanceOf(CompactList.class).containsExactly(1, 2, 3, 4, 5);
+  }
+}
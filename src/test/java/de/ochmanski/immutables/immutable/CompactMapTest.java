@@ -0,0 +1,91 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CompactMapTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  private static final IntFunction<Integer[]> VALUE = Integer[]::new;
+
+  @Test
+  void copySelectsSpecializationBySize()
+  {
+    assertThat(CompactMap.copyOf(Map.of())).isSameAs(CompactMap.empty());
+    assertThat(CompactMap.copyOf(Map.of("a", 1))).isInstanceOf(CompactMap.Map1.class);
+    assertThat(CompactMap.copyOf(Map.of("a", 1, "b", 2, "c", 3, "d", 4))).isInstanceOf(CompactMap.Map4.class);
+    assertThat(CompactMap.copyOf(Map.of("a", 1, "b", 2, "c", 3, "d", 4, "e", 5))).isNotInstanceOf(CompactMap.class);
+  }
+
+  @Test
+  void smallImmutableMapsLookUpCompactStorage()
+  {
+    final ImmutableMap<String, Integer> actual = ImmutableMap.builder(KEY, VALUE).put("a", 1).put("b", 2).build();
+
+    assertThat(actual.get("b")).contains(2);
+    assertThat(actual.containsKey("c")).isFalse();
+    assertThat(actual.unwrap()).isEqualTo(Map.of("a", 1, "b", 2));
+  }
+
+  @Test
+  void behavesLikeMap()
+  {
+    final Map<String, Integer> source = new LinkedHashMap<>();
+    source.put("c", 3);
+    source.put("a", 1);
+    source.put("b", 2);
+
+    final Map<String, Integer> actual = CompactMap.copyOf(source);
+
+    assertThat(actual).isInstanceOf(CompactMap.Map3.class).isEqualTo(source).hasSameHashCodeAs(source);
+    assertThat(actual.keySet()).containsExactly("c", "a", "b");
+    assertThat(actual.get("a")).isEqualTo(1);
+    assertThat(actual.get("d")).isNull();
+    assertThat(actual.containsKey("b")).isTrue();
+    assertThat(actual.containsValue(3)).isTrue();
+  }
+
+  @Test
+  void forEachVisitsEntriesInOrder()
+  {
+    final Map<String, Integer> visited = new LinkedHashMap<>();
+
+    CompactMap.copyOf(Map.of("a", 1)).forEach(visited::put);
+
+    assertThat(visited).containsExactly(Map.entry("a", 1));
+  }
+
+  @Test
+  void isUnmodifiable()
+  {
+    final Map<String, Integer> actual = CompactMap.copyOf(Map.of("a", 1));
+
+    assertThatThrownBy(() -> actual.put("b", 2)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> actual.entrySet().iterator().next().setValue(2)).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void rejectsNullValues()
+  {
+    final Map<String, Integer> source = new HashMap<>();
+    source.put("a", null);
+
+    assertThatThrownBy(() -> CompactMap.copyOf(source))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given map cannot contain null values.");
+  }
+}
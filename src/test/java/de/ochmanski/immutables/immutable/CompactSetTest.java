@@ -0,0 +1,72 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CompactSetTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  @Test
+  void copySelectsSpecializationByDistinctSize()
+  {
+    assertThat(CompactSet.copyOf(Set.of())).isSameAs(CompactSet.empty());
+    assertThat(CompactSet.copyOf(List.of("a", "a"))).isInstanceOf(CompactSet.Set1.class);
+    assertThat(CompactSet.copyOf(List.of("a", "b", "a"))).isInstanceOf(CompactSet.Set2.class);
+    assertThat(CompactSet.copyOf(List.of("a", "b", "c"))).isInstanceOf(CompactSet.Set3.class);
+    assertThat(CompactSet.copyOf(List.of("a", "b", "c", "d"))).isInstanceOf(CompactSet.Set4.class);
+    assertThat(CompactSet.copyOf(List.of("a", "b", "c", "d", "e"))).isNotInstanceOf(CompactSet.class);
+  }
+
+  @Test
+  void smallImmutableSetsKeepTheirBehavior()
+  {
+    final ImmutableSet<String> collected = Stream.of("a", "b", "a").collect(ImmutableCollectors.toSet(KEY));
+    final ImmutableSet<String> built = ImmutableSet.builder(KEY).add("b").add("a").build();
+
+    assertThat(collected.unwrap()).isEqualTo(Set.of("a", "b"));
+    assertThat(built.unwrap()).isEqualTo(collected.unwrap());
+    assertThat(built.contains("a")).isTrue();
+    assertThat(built.contains("c")).isFalse();
+  }
+
+  @Test
+  void behavesLikeSet()
+  {
+    final Set<String> expected = Set.of("a", "b", "c");
+
+    final Set<String> actual = CompactSet.copyOf(List.of("c", "a", "b", "a"));
+
+    assertThat(actual).isEqualTo(expected).hasSameHashCodeAs(expected).containsExactly("c", "a", "b");
+    assertThat(actual.contains("b")).isTrue();
+    assertThat(actual.contains("d")).isFalse();
+  }
+
+  @Test
+  void isUnmodifiable()
+  {
+    final Set<String> actual = CompactSet.copyOf(List.of("a"));
+
+    assertThatThrownBy(() -> actual.add("b")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> actual.iterator().remove()).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void containsRejectsNull()
+  {
+    assertThatThrownBy(() -> CompactSet.copyOf(List.of("a")).contains(null)).isInstanceOf(NullPointerException.class);
+  }
+}
@@ -0,0 +1,106 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutableListMultimapTest {
+
+  private static final ImmutableListMultimap<String, Integer> MULTIMAP =
+    ImmutableListMultimap.builder(String[]::new, Integer[]::new)
+      .put("a", 1)
+      .put("b", 2)
+      .put("a", 3)
+      .put("a", 1)
+      .build();
+
+  @Test
+  void getReturnsValuesInPutOrder() {
+    assertThat(MULTIMAP.get("a").unwrap()).containsExactly(1, 3, 1);
+    assertThat(MULTIMAP.get("b").unwrap()).containsExactly(2);
+    assertThat(MULTIMAP.get("c").isEmpty()).isTrue();
+    assertThat(MULTIMAP.size()).isEqualTo(4);
+    assertThat(MULTIMAP.containsKey("b")).isTrue();
+    assertThat(MULTIMAP.containsEntry("a", 3)).isTrue();
+    assertThat(MULTIMAP.containsEntry("b", 3)).isFalse();
+  }
+
+  @Test
+  void keysAndValuesAreGroupedInFirstPutOrder() {
+    assertThat(MULTIMAP.keySet().unwrap()).containsExactlyInAnyOrder("a", "b");
+    assertThat(MULTIMAP.values().unwrap()).containsExactly(1, 3, 1, 2);
+    final List<String> visited = new ArrayList<>();
+    MULTIMAP.forEachEntry((k, v) -> visited.add(k + v));
+    assertThat(visited).containsExactly("a1", "a3", "a1", "b2");
+  }
+
+  @Test
+  void ofMap() {
+    final Map<String, List<Integer>> map = new LinkedHashMap<>();
+    map.put("b", List.of(2));
+    map.put("a", List.of(1, 3, 1));
+    final ImmutableListMultimap<String, Integer> actual = ImmutableListMultimap.of(map, MULTIMAP.getKey(), MULTIMAP.getValue());
+    assertThat(actual).isEqualTo(MULTIMAP);
+    assertThat(actual).hasSameHashCodeAs(MULTIMAP);
+  }
+
+  @Test
+  void groupingBy() {
+    final ImmutableListMultimap<Integer, String> actual = Stream.of("a", "bb", "c", "dd", "eee")
+      .collect(ImmutableCollectors.groupingBy(String::length, Integer[]::new, String[]::new));
+    assertThat(actual.get(1).unwrap()).containsExactly("a", "c");
+    assertThat(actual.get(2).unwrap()).containsExactly("bb", "dd");
+    assertThat(actual.get(3).unwrap()).containsExactly("eee");
+  }
+
+  @Test
+  void groupingByInParallelKeepsEncounterOrder() {
+    final ImmutableListMultimap<Integer, Integer> actual = IntStream.range(0, 10_000).boxed().parallel()
+      .collect(ImmutableCollectors.groupingBy(i -> i % 3, Integer[]::new, Integer[]::new));
+    assertThat(actual.size()).isEqualTo(10_000);
+    assertThat(actual.get(0).unwrap()).isSorted().hasSize(3334);
+    assertThat(actual.get(2).unwrap()).isSorted().hasSize(3333);
+  }
+
+  @Test
+  void builderCanBeBuiltOnce() {
+    final MultimapBuilder<String, Integer, ImmutableListMultimap<String, Integer>> builder =
+      ImmutableListMultimap.builder(String[]::new, Integer[]::new);
+    builder.put("a", 1).build();
+    assertThatThrownBy(() -> builder.put("b", 2)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void builderRejectsNull() {
+    final MultimapBuilder<String, Integer, ImmutableListMultimap<String, Integer>> builder =
+      ImmutableListMultimap.builder(String[]::new, Integer[]::new);
+    assertThatThrownBy(() -> builder.put("a", null))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given value cannot be null.");
+    assertThatThrownBy(() -> builder.put(null, 1))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given key cannot be null.");
+  }
+
+  @Test
+  void empty() {
+    final ImmutableListMultimap<String, Integer> actual = ImmutableListMultimap.noneOf(String[]::new, Integer[]::new);
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.get("a").isEmpty()).isTrue();
+    assertThat(actual.keySet().isEmpty()).isTrue();
+  }
+}
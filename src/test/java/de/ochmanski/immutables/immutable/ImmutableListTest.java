@@ -14,6 +14,13 @@
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -46,6 +53,25 @@ void empty()
     assertThat(actual.toArray()).isEmpty();
   }
 
+  @Test
+  void addToEmpty()
+  {
+    final ImmutableList<String> actual = ImmutableList.<String>empty().add("x").add("y");
+
+    assertThat(actual.unwrap()).containsExactly("x", "y");
+    assertThat(actual.getComponentTypeFromKey()).isSameAs(String.class);
+    assertThat(actual.toArray()).isInstanceOf(String[].class).containsExactly("x", "y");
+    assertThat(actual).isEqualTo(ImmutableList.<String>empty().add("x").add("y"));
+  }
+
+  @Test
+  void addAllToEmptyReturnsTheOtherList()
+  {
+    final ImmutableList<String> other = ImmutableList.of("x", "y", String[]::new);
+
+    assertThat(ImmutableList.<String>empty().addAll(other)).isSameAs(other);
+  }
+
   @Test
   void of0()
   {
@@ -339,6 +365,320 @@ void toStringTestArray22() {
       .hasNoCause();
   }
 
+  @Test
+  void builder() {
+    final ImmutableList<String> actual = ImmutableList.builder(String[]::new)
+      .add("a")
+      .addAll("b", "c")
+      .addAll(List.of("d"))
+      .addAll(ImmutableList.of("e", "f"))
+      .build();
+    assertThat(actual.unwrap()).containsExactly("a", "b", "c", "d", "e", "f");
+    assertThat(actual.getComponentTypeFromKey()).isSameAs(String.class);
+  }
+
+  @Test
+  void builderGrowsPastExpectedSize() {
+    final ListBuilder<Integer> builder = ImmutableList.builder(Integer[]::new, 1);
+    IntStream.range(0, 100).boxed().forEach(builder::add);
+    final ImmutableList<Integer> actual = builder.build();
+    assertThat(actual.size()).isEqualTo(100);
+    assertThat(actual.get(99)).isEqualTo(99);
+  }
+
+  @Test
+  void builderEmpty() {
+    final ImmutableList<String> actual = ImmutableList.builder(String[]::new).build();
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.unwrap()).isEmpty();
+  }
+
+  @Test
+  void builderCannotBeReused() {
+    final ListBuilder<String> builder = ImmutableList.builder(String[]::new).add("a");
+    builder.build();
+    assertThatThrownBy(() -> builder.add("b")).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void builderRejectsNull() {
+    assertThatThrownBy(() -> ImmutableList.builder(String[]::new).add(null))
+      .isInstanceOfAny(NullPointerException.class, IllegalArgumentException.class);
+  }
+
+  @Test
+  void viewIsLazy() {
+    final AtomicInteger calls = new AtomicInteger();
+    final View<Integer> view = ImmutableList.of("a", "bb", "ccc").view()
+      .map(s -> {
+        calls.incrementAndGet();
+        return s.length();
+      }, Integer[]::new);
+    assertThat(calls).hasValue(0);
+    assertThat(view.force().unwrap()).containsExactly(1, 2, 3);
+    assertThat(calls).hasValue(3);
+  }
+
+  @Test
+  void viewPipeline() {
+    final ImmutableList<String> actual = ImmutableList.of("a", "b", "c", "d", "e").view()
+      .skip(1)
+      .filter(s -> !s.equals("c"))
+      .limit(2)
+      .concat(ImmutableList.of("x").view())
+      .force();
+    assertThat(actual.unwrap()).containsExactly("b", "d", "x");
+  }
+
+  @Test
+  void viewForceToSet() {
+    final ImmutableSet<String> actual = ImmutableList.of("a", "b", "a").view().forceToSet();
+    assertThat(actual.unwrap()).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  void viewCanBeIteratedMoreThanOnce() {
+    final View<String> view = ImmutableList.of("a", "b").view().filter(s -> s.equals("b"));
+    assertThat(view).containsExactly("b");
+    assertThat(view.stream()).containsExactly("b");
+  }
+
+  @Test
+  void slice() {
+    final ImmutableList<String> list = ImmutableList.of("a", "b", "c", "d", "e");
+    final ImmutableList<String> actual = list.slice(1, 4);
+    assertThat(actual.unwrap()).containsExactly("b", "c", "d");
+    assertThat(actual.slice(1, 2).unwrap()).containsExactly("c");
+    assertThat(list.slice(0, 5)).isSameAs(list);
+    assertThat(list.slice(2, 2).isEmpty()).isTrue();
+    assertThatThrownBy(() -> list.slice(3, 6)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> list.slice(3, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void sliceOfBuiltList() {
+    final ImmutableList<String> list = ImmutableList.builder(String[]::new).addAll("a", "b", "c", "d").build();
+    final ImmutableList<String> actual = list.slice(1, 3);
+    assertThat(actual.unwrap()).containsExactly("b", "c");
+    assertThat(actual.get(1)).isEqualTo("c");
+    assertThatThrownBy(() -> actual.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void headAndTail() {
+    final ImmutableList<String> list = ImmutableList.of("a", "b", "c");
+    assertThat(list.head(2).unwrap()).containsExactly("a", "b");
+    assertThat(list.tail(2).unwrap()).containsExactly("b", "c");
+    assertThat(list.head(10)).isSameAs(list);
+    assertThat(list.tail(0).isEmpty()).isTrue();
+    assertThatThrownBy(() -> list.head(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void splitAt() {
+    final ImmutableList<String> list = ImmutableList.of("a", "b", "c");
+    final Split<ImmutableList<String>> actual = list.splitAt(1);
+    assertThat(actual.getHead().unwrap()).containsExactly("a");
+    assertThat(actual.getTail().unwrap()).containsExactly("b", "c");
+    assertThat(list.splitAt(3).getTail().isEmpty()).isTrue();
+    assertThatThrownBy(() -> list.splitAt(4)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void mergeManyShards() {
+    ImmutableList<Integer> actual = ImmutableList.noneOf(Integer[]::new);
+    for (int shard = 0; shard < 1000; shard++) {
+      final ImmutableList<Integer> part = ImmutableList.builder(Integer[]::new)
+        .addAll(shard * 3, shard * 3 + 1, shard * 3 + 2)
+        .build();
+      actual = ImmutableList.merge(actual, part, Integer[]::new);
+    }
+    assertThat(actual.size()).isEqualTo(3000);
+    assertThat(actual.get(0)).isEqualTo(0);
+    assertThat(actual.get(1500)).isEqualTo(1500);
+    assertThat(actual.get(2999)).isEqualTo(2999);
+    assertThat(actual.unwrap()).containsExactlyElementsOf(IntStream.range(0, 3000).boxed().toList());
+    assertThat(actual.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2999 * 3000 / 2);
+  }
+
+  @Test
+  void concatListStaysBalanced() {
+    List<Integer> rope = List.of();
+    for (int i = 0; i < 4096; i++) {
+      rope = ConcatList.concat(rope, List.of(i));
+      rope = ConcatList.concat(List.of(-i), rope);
+    }
+    assertThat(rope).hasSize(8192);
+    assertThat(ConcatList.depth(rope)).isLessThanOrEqualTo(20);
+    assertThat(rope.get(0)).isEqualTo(-4095);
+    assertThat(rope.get(8191)).isEqualTo(4095);
+  }
+
+  @Test
+  void concatListCoalescesSmallPiecesAtAnyDepth() {
+    List<Integer> rope = List.of();
+    for (int i = 0; i < 1024; i++) {
+      rope = ConcatList.concat(rope, List.of(i));
+    }
+    final List<Integer> previous = rope;
+    rope = ConcatList.concat(rope, List.of(1024));
+    rope = ConcatList.concat(List.of(-1), rope);
+    assertThat(ConcatList.depth(previous)).isLessThanOrEqualTo(7);
+    assertThat(previous).hasSize(1024).containsExactlyElementsOf(IntStream.range(0, 1024).boxed().toList());
+    assertThat(rope).containsExactlyElementsOf(IntStream.rangeClosed(-1, 1024).boxed().toList());
+  }
+
+  @Test
+  void addAllImmutableList() {
+    final ImmutableList<String> a = ImmutableList.of("a", "b");
+    final ImmutableList<String> actual = a.addAll(ImmutableList.of("c"));
+    assertThat(actual.unwrap()).containsExactly("a", "b", "c");
+    assertThat(a.unwrap()).containsExactly("a", "b");
+  }
+
+  @Test
+  void ofValidatesElementTypesOnce() {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final List<String> polluted = (List) List.of("a", 1);
+    assertThatThrownBy(() -> ImmutableList.<String>of(polluted, String[]::new))
+      .isInstanceOf(ClassCastException.class)
+      .hasMessage("Given collection cannot contain an element of class java.lang.Integer, because its element type is class java.lang.String.");
+  }
+
+  @Test
+  void ofAcceptsSubtypesOfComponentType() {
+    final ImmutableList<Number> actual = ImmutableList.<Number>of(List.of(1, 2L, 3.5, 4f, (short) 5), Number[]::new);
+    assertThat(actual.unwrap()).containsExactly(1, 2L, 3.5, 4f, (short) 5);
+  }
+
+  @Test
+  void ofArrayCopiesTheArrayOnce() {
+    final String[] array = { "a", "b", "c", "d", "e", "f" };
+    final ImmutableList<String> actual = ImmutableList.<String>of(array, String[]::new);
+    array[0] = "z";
+    assertThat(actual.unwrap()).containsExactly("a", "b", "c", "d", "e", "f");
+  }
+
+  @Test
+  void ofArrayRejectsNullElements() {
+    final String[] array = { "a", "b", "c", "d", null, "f" };
+    assertThatThrownBy(() -> ImmutableList.<String>of(array, String[]::new))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given list cannot contain null elements.");
+  }
+
+  @Test
+  void ofArrayValidatesElementTypes() {
+    final Comparable<?>[] array = { "a", "b", "c", "d", "e", 6 };
+    final IntFunction<Comparable<?>[]> key = String[]::new;
+    assertThatThrownBy(() -> ImmutableList.of(array, key))
+      .isInstanceOf(ClassCastException.class)
+      .hasMessage("Given collection cannot contain an element of class java.lang.Integer, because its element type is class java.lang.String.");
+  }
+
+  @Test
+  void copyInto() {
+    final ImmutableList<String> first = ImmutableList.<String>of(new String[]{ "a", "b", "c", "d", "e" }, String[]::new);
+    final ImmutableList<String> second = ImmutableList.of("f", "g", String[]::new);
+    final String[] dest = new String[8];
+    final int next = first.copyInto(dest, 1);
+    assertThat(next).isEqualTo(6);
+    assertThat(second.copyInto(dest, next)).isEqualTo(8);
+    assertThat(dest).containsExactly(null, "a", "b", "c", "d", "e", "f", "g");
+  }
+
+  @Test
+  void copyIntoRejectsTooSmallArray() {
+    final ImmutableList<String> list = ImmutableList.of("a", "b", "c", String[]::new);
+    final String[] dest = new String[3];
+    assertThatThrownBy(() -> list.copyInto(dest, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThat(dest).containsOnlyNulls();
+  }
+
+  @Test
+  void forEachIndexed() {
+    final ImmutableList<String> small = ImmutableList.of("a", "b", String[]::new);
+    final ImmutableList<String> large = ImmutableList.<String>of(new String[]{ "a", "b", "c", "d", "e" }, String[]::new);
+    final List<String> actual = new ArrayList<>();
+    small.forEachIndexed((element, index) -> actual.add(index + element));
+    large.forEachIndexed((element, index) -> actual.add(index + element));
+    assertThat(actual).containsExactly("0a", "1b", "0a", "1b", "2c", "3d", "4e");
+  }
+
+  @Test
+  void indexBy() {
+    final ImmutableList<String> list = ImmutableList.<String>of(new String[]{ "a", "bb", "c", "dd", "eee" }, String[]::new);
+    final ImmutableListMultimap<Integer, String> actual = list.indexBy(String::length, Integer[]::new);
+    assertThat(actual.get(1).unwrap()).containsExactly("a", "c");
+    assertThat(actual.get(3).unwrap()).containsExactly("eee");
+    assertThat(actual.get(4).isEmpty()).isTrue();
+  }
+
+  @Test
+  void indexByBuildsTheIndexOnce() {
+    final ImmutableList<String> list = ImmutableList.<String>of(new String[]{ "a", "bb", "c", "dd", "eee" }, String[]::new);
+    final AtomicInteger calls = new AtomicInteger();
+    final Function<String, Integer> length = s -> {
+      calls.incrementAndGet();
+      return s.length();
+    };
+    for (final String s : list) {
+      assertThat(list.indexBy(length, Integer[]::new).get(s.length()).contains(s)).isTrue();
+    }
+    assertThat(calls).hasValue(5);
+  }
+
+  @Test
+  void indexByKeepsOnlyTheLastIndex() {
+    final ImmutableList<String> list = ImmutableList.of("a", "bb", "ccc", String[]::new);
+    final Function<String, Integer> length = String::length;
+    final Function<String, Character> first = s -> s.charAt(0);
+    final ImmutableListMultimap<Integer, String> byLength = list.indexBy(length, Integer[]::new);
+    final ImmutableMap<Integer, String> uniqueByLength = list.uniqueIndexBy(length, Integer[]::new);
+
+    assertThat(list.indexBy(length, byLength.getKey())).isSameAs(byLength);
+    assertThat(list.indexBy(first, Character[]::new).get('b').unwrap()).containsExactly("bb");
+    assertThat(list.indexBy(length, byLength.getKey())).isNotSameAs(byLength).isEqualTo(byLength);
+    assertThat(list.uniqueIndexBy(length, uniqueByLength.getKey())).isSameAs(uniqueByLength);
+  }
+
+  @Test
+  void sliceDoesNotShareTheIndex() {
+    final ImmutableList<String> list = ImmutableList.of("a", "bb", "cc", String[]::new);
+    final Function<String, Integer> length = String::length;
+    final IntFunction<Integer[]> key = Integer[]::new;
+    list.indexBy(length, key);
+
+    assertThat(list.slice(0, 2).indexBy(length, key).get(2).unwrap()).containsExactly("bb");
+  }
+
+  @Test
+  void uniqueIndexBy() {
+    final ImmutableList<String> list = ImmutableList.of("a", "bb", "ccc", String[]::new);
+    final ImmutableMap<Integer, String> actual = list.uniqueIndexBy(String::length, Integer[]::new);
+    assertThat(actual.get(2)).contains("bb");
+    assertThat(actual.get(4)).isEmpty();
+    final Function<String, Integer> length = String::length;
+    assertThat(list.uniqueIndexBy(length, actual.getKey())).isSameAs(list.uniqueIndexBy(length, actual.getKey()));
+  }
+
+  @Test
+  void uniqueIndexByRejectsDuplicateKeys() {
+    final ImmutableList<String> list = ImmutableList.of("a", "bb", "c", String[]::new);
+    assertThatThrownBy(() -> list.uniqueIndexBy(String::length, Integer[]::new))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Given classifier computes the same key for more than one element: 1");
+  }
+
+  @Test
+  void indexDoesNotAffectEquality() {
+    final ImmutableList<String> list = ImmutableList.of("a", "bb", String[]::new);
+    final ImmutableList<String> other = ImmutableList.of("a", "bb", list.getKey());
+    list.indexBy(String::length, Integer[]::new);
+    assertThat(list).isEqualTo(other).hasSameHashCodeAs(other);
+  }
+
   @Value
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
   @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
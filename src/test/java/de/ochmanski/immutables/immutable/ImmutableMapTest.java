@@ -0,0 +1,150 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutableMapTest {
+
+  @Test
+  void builder() {
+    final ImmutableMap<String, Integer> actual = ImmutableMap.builder(String[]::new, Integer[]::new)
+      .put("a", 1)
+      .put("b", 2)
+      .putAll(Map.of("c", 3))
+      .put("a", 4)
+      .build();
+    assertThat(actual.size()).isEqualTo(3);
+    assertThat(actual.get("a")).contains(4);
+    assertThat(actual.get("b")).contains(2);
+    assertThat(actual.get("c")).contains(3);
+  }
+
+  @Test
+  void builderEmpty() {
+    final ImmutableMap<String, Integer> actual = ImmutableMap.builder(String[]::new, Integer[]::new, 0).build();
+    assertThat(actual.isEmpty()).isTrue();
+  }
+
+  @Test
+  void builderCannotBeReused() {
+    final MapBuilder<String, Integer> builder = ImmutableMap.builder(String[]::new, Integer[]::new).put("a", 1);
+    builder.build();
+    assertThatThrownBy(() -> builder.put("b", 2)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void builderRejectsNull() {
+    assertThatThrownBy(() -> ImmutableMap.builder(String[]::new, Integer[]::new).put("a", null))
+      .isInstanceOfAny(NullPointerException.class, IllegalArgumentException.class);
+  }
+
+  @Test
+  void toStringIsSortedJson() {
+    final ImmutableMap<String, Integer> actual = ImmutableMap.builder(String[]::new, Integer[]::new)
+      .put("b", 2)
+      .put("a", 1)
+      .build();
+    assertThat(actual).hasToString("{\"a\":1,\"b\":2}");
+  }
+
+  @Test
+  void ofStaticLooksUpEveryKey() {
+    final Map<String, Integer> source = IntStream.range(0, 10_000).boxed()
+      .collect(Collectors.toMap(i -> "key-" + i, Function.identity()));
+    final ImmutableMap<String, Integer> actual = ImmutableMap.ofStatic(source, String[]::new, Integer[]::new);
+    assertThat(actual.size()).isEqualTo(10_000);
+    source.forEach((k, v) -> assertThat(actual.get(k)).contains(v));
+    assertThat(actual.get("key-10000")).isEmpty();
+    assertThat(actual.containsKey("key-0")).isTrue();
+    assertThat(actual).isEqualTo(ImmutableMap.of(source, actual.getKey(), actual.getValue()));
+  }
+
+  @Test
+  void ofStaticWithEqualHashCodes() {
+    final ImmutableMap<String, Integer> actual = ImmutableMap.ofStatic(Map.of("Aa", 1, "BB", 2), String[]::new, Integer[]::new);
+    assertThat(actual.get("Aa")).contains(1);
+    assertThat(actual.get("BB")).contains(2);
+  }
+
+  @Test
+  void ofStaticEmpty() {
+    final ImmutableMap<String, Integer> actual = ImmutableMap.ofStatic(Map.of(), String[]::new, Integer[]::new);
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.get("a")).isEmpty();
+  }
+
+  @Test
+  void ofValidatesKeyAndValueTypesOnce() {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final Map<String, Integer> polluted = (Map) Map.of("a", 1, "b", "2");
+    assertThatThrownBy(() -> ImmutableMap.of(polluted, String[]::new, Integer[]::new))
+      .isInstanceOf(ClassCastException.class)
+      .hasMessage("Given collection cannot contain an element of class java.lang.String, because its element type is class java.lang.Integer.");
+  }
+
+  @Test
+  void ofStaticValidatesKeyAndValueTypes() {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final Map<Integer, Integer> polluted = (Map) Map.of("a", 1);
+    assertThatThrownBy(() -> ImmutableMap.ofStatic(polluted, Integer[]::new, Integer[]::new))
+      .isInstanceOf(ClassCastException.class)
+      .hasMessage("Given collection cannot contain an element of class java.lang.String, because its element type is class java.lang.Integer.");
+  }
+
+  @Test
+  void ofStaticRejectsNull() {
+    final Map<String, Integer> source = new HashMap<>();
+    source.put("a", null);
+    assertThatThrownBy(() -> ImmutableMap.ofStatic(source, String[]::new, Integer[]::new))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given map cannot contain null values.");
+  }
+
+  @Test
+  void diff() {
+    final ImmutableMap<String, Integer> previous = ImmutableMap.of(Map.of("a", 1, "b", 2, "c", 3), String[]::new, Integer[]::new);
+    final ImmutableMap<String, Integer> next = ImmutableMap.of(Map.of("b", 2, "c", 30, "d", 4), previous.getKey(), previous.getValue());
+    final MapDiff<String, Integer> actual = ImmutableMap.diff(previous, next);
+    assertThat(actual.getAdded().unwrap()).containsExactlyEntriesOf(Map.of("d", 4));
+    assertThat(actual.getRemoved().unwrap()).containsExactlyEntriesOf(Map.of("a", 1));
+    assertThat(actual.getChanged().unwrap()).containsExactlyEntriesOf(Map.of("c", 30));
+    assertThat(ImmutableMap.diff(next, next.deepClone()).isEmpty()).isTrue();
+  }
+
+  @Test
+  void entriesAreCreatedFromTheBackingMap() {
+    final ImmutableMap<String, Integer> map = ImmutableMap.of(Map.of("a", 1, "b", 2, "c", 3, "d", 4, "e", 5), String[]::new, Integer[]::new);
+    final Map<String, Integer> streamed = map.stream().collect(Collectors.toMap(IMap.Entry::getKey, IMap.Entry::getValue));
+    final Map<String, Integer> iterated = new HashMap<>();
+    map.iterator().forEachRemaining(e -> iterated.put(e.getKey(), e.getValue()));
+    final Map<String, Integer> visited = new HashMap<>();
+    map.forEach(e -> visited.put(e.getKey(), e.getValue()));
+    assertThat(streamed).isEqualTo(map.unwrap());
+    assertThat(iterated).isEqualTo(map.unwrap());
+    assertThat(visited).isEqualTo(map.unwrap());
+  }
+
+  @Test
+  void entryComparatorsAreCached() {
+    final IMap.Entry<String, Integer> entry = IMap.Entry.of("a", 1);
+    assertThat(IMap.Entry.<String, Integer>of(entry)).isSameAs(entry);
+    assertThat(IMap.Entry.<String, Integer>comparingByKey()).isSameAs(IMap.Entry.<String, Integer>comparingByKey());
+    assertThat(IMap.Entry.<String, Integer>comparingByValue()).isSameAs(IMap.Entry.<String, Integer>comparingByValue());
+    assertThat(entry.compareTo(IMap.Entry.of("b", 0))).isNegative();
+    assertThat(entry.deepClone()).isEqualTo(entry).isNotSameAs(entry);
+  }
+}
@@ -0,0 +1,98 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutableSetMultimapTest {
+
+  private static final ImmutableSetMultimap<String, Integer> MULTIMAP =
+    ImmutableSetMultimap.builder(String[]::new, Integer[]::new)
+      .put("a", 1)
+      .put("b", 2)
+      .put("a", 3)
+      .put("a", 1)
+      .put("b", 2)
+      .build();
+
+  @Test
+  void getReturnsDistinctValues() {
+    assertThat(MULTIMAP.get("a").unwrap()).containsExactlyInAnyOrder(1, 3);
+    assertThat(MULTIMAP.get("b").unwrap()).containsExactly(2);
+    assertThat(MULTIMAP.get("a").contains(3)).isTrue();
+    assertThat(MULTIMAP.get("c").isEmpty()).isTrue();
+    assertThat(MULTIMAP.size()).isEqualTo(3);
+    assertThat(MULTIMAP.values().unwrap()).containsExactly(1, 3, 2);
+  }
+
+  @Test
+  void equalityIgnoresValueOrder() {
+    final Map<String, List<Integer>> map = new LinkedHashMap<>();
+    map.put("b", List.of(2));
+    map.put("a", List.of(3, 1));
+    final ImmutableSetMultimap<String, Integer> actual = ImmutableSetMultimap.of(map, MULTIMAP.getKey(), MULTIMAP.getValue());
+    assertThat(actual).isEqualTo(MULTIMAP);
+    assertThat(actual).hasSameHashCodeAs(MULTIMAP);
+  }
+
+  @Test
+  void groupingByToSet() {
+    final ImmutableSetMultimap<Integer, String> actual = Stream.of("a", "bb", "a", "dd", "bb")
+      .collect(ImmutableCollectors.groupingByToSet(String::length, Integer[]::new, String[]::new));
+    assertThat(actual.get(1).unwrap()).containsExactly("a");
+    assertThat(actual.get(2).unwrap()).containsExactlyInAnyOrder("bb", "dd");
+    assertThat(actual.size()).isEqualTo(3);
+  }
+
+  @Test
+  void groupingByToSetInParallel() {
+    final ImmutableSetMultimap<Integer, Integer> actual = IntStream.range(0, 10_000).map(i -> i % 100).boxed().parallel()
+      .collect(ImmutableCollectors.groupingByToSet(i -> i % 2, Integer[]::new, Integer[]::new));
+    assertThat(actual.size()).isEqualTo(100);
+    assertThat(actual.get(0).size()).isEqualTo(50);
+  }
+
+  @Test
+  void largeGroupsAreSearchedByHashCode() {
+    final List<String> colliding = List.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa");
+    final MultimapBuilder<String, String, ImmutableSetMultimap<String, String>> builder =
+      ImmutableSetMultimap.builder(String[]::new, String[]::new);
+    IntStream.range(0, 1_000).forEach(i -> builder.put("large", "v" + i));
+    colliding.forEach(v -> builder.put("large", v));
+    builder.put("small", "Aa");
+    final ImmutableSetMultimap<String, String> actual = builder.build();
+
+    assertThat(actual.get("large").contains("v999")).isTrue();
+    assertThat(actual.get("large").contains("v1000")).isFalse();
+    colliding.forEach(v -> assertThat(actual.get("large").contains(v)).isTrue());
+    assertThat(actual.get("large").contains("AaAaAa")).isFalse();
+    assertThat(actual.get("small").contains("BB")).isFalse();
+    assertThat(actual.containsEntry("large", "BBBB")).isTrue();
+
+    final Map<String, List<String>> reversed = new LinkedHashMap<>();
+    reversed.put("small", List.of("Aa"));
+    reversed.put("large", actual.get("large").stream().sorted(Comparator.reverseOrder()).toList());
+    assertThat(ImmutableSetMultimap.of(reversed, actual.getKey(), actual.getValue())).isEqualTo(actual);
+  }
+
+  @Test
+  void builderRejectsWrongType() {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final MultimapBuilder<Object, Object, ?> builder =
+      (MultimapBuilder) ImmutableSetMultimap.builder(String[]::new, Integer[]::new);
+    assertThatThrownBy(() -> builder.put("a", "b")).isInstanceOf(ClassCastException.class);
+  }
+}
@@ -13,6 +13,9 @@
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -43,6 +46,16 @@ void empty()
     assertThat(actual.toArray()).isEmpty();
   }
 
+  @Test
+  void addToEmpty()
+  {
+    final ISet<String> actual = ImmutableSet.<String>empty().add("x").add("y");
+
+    assertThat(actual.unwrap()).containsExactlyInAnyOrder("x", "y");
+    assertThat(actual.getComponentTypeFromKey()).isSameAs(String.class);
+    assertThat(actual.toArray()).isInstanceOf(String[].class);
+  }
+
   @Test
   void of0() {
     @NotNull final ISet<Dummy2> actual = ImmutableSet.noneOf(Dummy2[]::new);
@@ -308,6 +321,124 @@ void toStringTestArray22() {
       .hasNoCause();
   }
 
+  @Test
+  void builder() {
+    final ImmutableSet<String> actual = ImmutableSet.builder(String[]::new)
+      .add("a")
+      .addAll("b", "a")
+      .addAll(List.of("c", "b"))
+      .build();
+    assertThat(actual.unwrap()).containsExactlyInAnyOrder("a", "b", "c");
+    assertThat(actual.unwrap()).isEqualTo(Set.of("a", "b", "c"));
+    assertThat(actual.getComponentTypeFromKey()).isSameAs(String.class);
+  }
+
+  @Test
+  void builderEmpty() {
+    final ImmutableSet<String> actual = ImmutableSet.builder(String[]::new, 16).build();
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.unwrap()).isEmpty();
+  }
+
+  @Test
+  void builderCannotBeReused() {
+    final SetBuilder<String> builder = ImmutableSet.builder(String[]::new).add("a");
+    builder.build();
+    assertThatThrownBy(() -> builder.add("b")).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void builderRejectsNull() {
+    assertThatThrownBy(() -> ImmutableSet.builder(String[]::new).add(null))
+      .isInstanceOfAny(NullPointerException.class, IllegalArgumentException.class);
+  }
+
+  @Test
+  void union() {
+    final ImmutableSet<String> a = ImmutableSet.<String>of(Set.of("a", "b"), String[]::new);
+    final ImmutableSet<String> b = ImmutableSet.<String>of(Set.of("b", "c", "d"), String[]::new);
+    assertThat(a.union(b).unwrap()).containsExactlyInAnyOrder("a", "b", "c", "d");
+    final ISet<String> bcd = ImmutableSet.<String>of(Set.of("b", "c"), String[]::new);
+    assertThat(bcd.union(b)).isSameAs(b);
+    assertThat(b.union(bcd)).isSameAs(b);
+  }
+
+  @Test
+  void intersect() {
+    final ImmutableSet<String> a = ImmutableSet.<String>of(Set.of("a", "b"), String[]::new);
+    final ImmutableSet<String> b = ImmutableSet.<String>of(Set.of("b", "c", "d"), String[]::new);
+    assertThat(a.intersect(b).unwrap()).containsExactly("b");
+    final ImmutableSet<String> c = ImmutableSet.<String>of(Set.of("c"), String[]::new);
+    assertThat(b.intersect(c)).isSameAs(c);
+    assertThat(a.intersect(c).isEmpty()).isTrue();
+  }
+
+  @Test
+  void difference() {
+    final ImmutableSet<String> a = ImmutableSet.<String>of(Set.of("a", "b"), String[]::new);
+    final ImmutableSet<String> b = ImmutableSet.<String>of(Set.of("b", "c", "d"), String[]::new);
+    assertThat(a.difference(b).unwrap()).containsExactly("a");
+    assertThat(b.difference(a).unwrap()).containsExactlyInAnyOrder("c", "d");
+    assertThat(a.difference(ImmutableSet.of("z"))).isSameAs(a);
+  }
+
+  @Test
+  void symmetricDifference() {
+    final ImmutableSet<String> a = ImmutableSet.<String>of(Set.of("a", "b"), String[]::new);
+    final ImmutableSet<String> b = ImmutableSet.<String>of(Set.of("b", "c"), String[]::new);
+    assertThat(a.symmetricDifference(b).unwrap()).containsExactlyInAnyOrder("a", "c");
+    assertThat(a.symmetricDifference(ImmutableSet.noneOf(String[]::new))).isSameAs(a);
+  }
+
+  @Test
+  void ofValidatesElementTypesOnce() {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final List<String> polluted = (List) List.of("a", "b", "c", "d", "e", 6);
+    assertThatThrownBy(() -> ImmutableSet.<String>of(polluted, String[]::new))
+      .isInstanceOf(ClassCastException.class)
+      .hasMessageContaining("java.lang.Integer");
+  }
+
+  @Test
+  void copyInto() {
+    final ImmutableSet<String> set = ImmutableSet.ofArray(new String[]{ "a", "b", "a" });
+    final String[] dest = new String[3];
+    assertThat(set.copyInto(dest, 1)).isEqualTo(3);
+    assertThat(dest[0]).isNull();
+    assertThat(List.of(dest[1], dest[2])).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  void isSubsetOfAndDisjoint() {
+    final ImmutableSet<String> a = ImmutableSet.<String>of(Set.of("a"), String[]::new);
+    final ImmutableSet<String> ab = ImmutableSet.<String>of(Set.of("a", "b"), String[]::new);
+    final ImmutableSet<String> c = ImmutableSet.<String>of(Set.of("c"), String[]::new);
+    assertThat(a.isSubsetOf(ab)).isTrue();
+    assertThat(ab.isSubsetOf(a)).isFalse();
+    assertThat(ab.disjoint(c)).isTrue();
+    assertThat(c.disjoint(ab)).isTrue();
+    assertThat(a.disjoint(ab)).isFalse();
+  }
+
+  @Test
+  void diff()
+  {
+    final ImmutableSet<String> previous = ImmutableSet.of("a", "b", "c", String[]::new);
+    final ImmutableSet<String> next = ImmutableSet.of("b", "c", "d", previous.getKey());
+    final SetDiff<String> actual = ImmutableSet.diff(previous, next);
+    assertThat(actual.getAdded().unwrap()).containsExactly("d");
+    assertThat(actual.getRemoved().unwrap()).containsExactly("a");
+    assertThat(actual.isEmpty()).isFalse();
+  }
+
+  @Test
+  void diffOfSharedStorageIsEmpty()
+  {
+    final ImmutableSet<String> previous = ImmutableSet.of("a", "b", String[]::new);
+    assertThat(ImmutableSet.diff(previous, previous.deepClone()).isEmpty()).isTrue();
+  }
+
   @Value
   @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
   @Builder(toBuilder = true, access = AccessLevel.PRIVATE)
@@ -0,0 +1,149 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutableSortedMapTest {
+
+  private static final ImmutableSortedMap<Integer, String> MAP =
+    ImmutableSortedMap.of(Map.of(30, "c", 10, "a", 20, "b", 40, "d"), Integer[]::new, String[]::new);
+
+  @Test
+  void ofSortsByKey() {
+    final List<Integer> keys = new ArrayList<>();
+    MAP.forEachEntry((k, v) -> keys.add(k));
+    assertThat(keys).containsExactly(10, 20, 30, 40);
+    assertThat(MAP.keySet().unwrap()).containsExactly(10, 20, 30, 40);
+    assertThat(MAP.values().unwrap()).containsExactly("a", "b", "c", "d");
+    assertThat(MAP).extracting(IMap.Entry::getKey).containsExactly(10, 20, 30, 40);
+  }
+
+  @Test
+  void get() {
+    assertThat(MAP.get(20)).contains("b");
+    assertThat(MAP.get(25)).isEmpty();
+    assertThat(MAP.containsKey(40)).isTrue();
+    assertThat(MAP.containsKey(5)).isFalse();
+  }
+
+  @Test
+  void floorAndCeilingEntry() {
+    assertThat(MAP.floorEntry(25)).map(IMap.Entry::getKey).contains(20);
+    assertThat(MAP.floorEntry(20)).map(IMap.Entry::getValue).contains("b");
+    assertThat(MAP.floorEntry(5)).isEmpty();
+    assertThat(MAP.ceilingEntry(25)).map(IMap.Entry::getKey).contains(30);
+    assertThat(MAP.ceilingEntry(30)).map(IMap.Entry::getValue).contains("c");
+    assertThat(MAP.ceilingEntry(45)).isEmpty();
+    assertThat(MAP.firstEntry()).map(IMap.Entry::getKey).contains(10);
+    assertThat(MAP.lastEntry()).map(IMap.Entry::getKey).contains(40);
+  }
+
+  @Test
+  void subMapSharesStorage() {
+    final ImmutableSortedMap<Integer, String> actual = MAP.subMap(15, 40);
+    assertThat(actual.size()).isEqualTo(2);
+    assertThat(actual.keySet().unwrap()).containsExactly(20, 30);
+    assertThat(actual.floorEntry(45)).map(IMap.Entry::getKey).contains(30);
+    assertThat(actual.ceilingEntry(5)).map(IMap.Entry::getKey).contains(20);
+    assertThat(actual.get(10)).isEmpty();
+    assertThat(actual).isEqualTo(ImmutableSortedMap.of(Map.of(20, "b", 30, "c"), MAP.getKey(), MAP.getValue()));
+    assertThat(MAP.headMap(30).keySet().unwrap()).containsExactly(10, 20);
+    assertThat(MAP.tailMap(30).keySet().unwrap()).containsExactly(30, 40);
+    assertThatThrownBy(() -> MAP.subMap(40, 10)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void viewsRejectBoundsOutsideOfTheirRange() {
+    final ImmutableSortedMap<Integer, String> view = MAP.subMap(15, 35);
+    assertThat(view.headMap(35).keySet().unwrap()).containsExactly(20, 30);
+    assertThat(view.tailMap(15).keySet().unwrap()).containsExactly(20, 30);
+    assertThat(view.subMap(20, 25).keySet().unwrap()).containsExactly(20);
+    assertThatThrownBy(() -> view.headMap(40)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> view.tailMap(10)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> view.tailMap(35)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> view.subMap(10, 20)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MAP.headMap(25).tailMap(30)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void putAndRemove() {
+    final ImmutableSortedMap<Integer, String> added = MAP.subMap(10, 40).put(25, "x");
+    assertThat(added.keySet().unwrap()).containsExactly(10, 20, 25, 30);
+    assertThat(added.put(25, "x")).isSameAs(added);
+    assertThat(added.put(25, "y").get(25)).contains("y");
+    final ImmutableSortedMap<Integer, String> removed = added.remove(10);
+    assertThat(removed.keySet().unwrap()).containsExactly(20, 25, 30);
+    assertThat(removed.remove(99)).isSameAs(removed);
+    assertThat(MAP.keySet().unwrap()).containsExactly(10, 20, 30, 40);
+  }
+
+  @Test
+  void ofSortedMapDoesNotSortAgain() {
+    final TreeMap<String, Integer> sorted = new TreeMap<>(Map.of("b", 2, "a", 1));
+    final ImmutableSortedMap<String, Integer> actual = ImmutableSortedMap.of(sorted, String[]::new, Integer[]::new);
+    assertThat(actual.unwrap()).containsExactlyEntriesOf(sorted);
+  }
+
+  @Test
+  void ofRejectsNull() {
+    final Map<String, Integer> map = new HashMap<>();
+    map.put("a", null);
+    assertThatThrownBy(() -> ImmutableSortedMap.of(map, String[]::new, Integer[]::new))
+      .isInstanceOf(NullPointerException.class)
+      .hasMessage("Given map cannot contain null values.");
+  }
+
+  @Test
+  void empty() {
+    final ImmutableSortedMap<String, Integer> actual = ImmutableSortedMap.noneOf(String[]::new, Integer[]::new);
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.floorEntry("a")).isEmpty();
+    assertThat(actual.firstEntry()).isEmpty();
+    assertThat(actual.put("a", 1).get("a")).contains(1);
+  }
+
+  @Test
+  void putIntoEmpty() {
+    final ImmutableSortedMap<String, Integer> actual = ImmutableSortedMap.<String, Integer>empty().put("b", 2).put("a", 1);
+    assertThat(actual.keySet().stream()).containsExactly("a", "b");
+    assertThat(actual.values().unwrap()).containsExactly(1, 2);
+    assertThat(actual.getKey().apply(0)).isInstanceOf(String[].class);
+    assertThat(actual.getValue().apply(0)).isInstanceOf(Integer[].class);
+  }
+
+  @Test
+  void unwrapIsReadOnly() {
+    assertThatThrownBy(() -> MAP.unwrap().put(50, "e")).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void diffMergesInKeyOrder() {
+    final ImmutableSortedMap<Integer, String> next = MAP.remove(10).put(20, "x").put(50, "e");
+    final MapDiff<Integer, String> actual = ImmutableSortedMap.diff(MAP, next);
+    assertThat(actual.getAdded().unwrap()).containsExactlyEntriesOf(Map.of(50, "e"));
+    assertThat(actual.getRemoved().unwrap()).containsExactlyEntriesOf(Map.of(10, "a"));
+    assertThat(actual.getChanged().unwrap()).containsExactlyEntriesOf(Map.of(20, "x"));
+  }
+
+  @Test
+  void diffOfViewsComparesOnlyTheEnds() {
+    final MapDiff<Integer, String> actual = ImmutableSortedMap.diff(MAP.headMap(30), MAP.tailMap(20));
+    assertThat(actual.getAdded().unwrap()).containsOnlyKeys(30, 40);
+    assertThat(actual.getRemoved().unwrap()).containsOnlyKeys(10);
+    assertThat(actual.getChanged().isEmpty()).isTrue();
+    assertThat(ImmutableSortedMap.diff(MAP, MAP.subMap(10, 50)).isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,157 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutableSortedSetTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  @Test
+  void collectorSortsAndDeduplicates()
+  {
+    final ImmutableSortedSet<String> actual = Stream.of("c", "a", "b", "a").collect(ImmutableCollectors.toSortedSet(KEY));
+
+    assertThat(actual.stream()).containsExactly("a", "b", "c");
+    assertThat(actual.size()).isEqualTo(3);
+  }
+
+  @Test
+  void positionalAccess()
+  {
+    final ImmutableSortedSet<Integer> actual = ImmutableSortedSet.of(List.of(30, 10, 20), Integer[]::new);
+
+    assertThat(actual.get(0)).isEqualTo(10);
+    assertThat(actual.get(2)).isEqualTo(30);
+    assertThat(actual.indexOf(20)).isEqualTo(1);
+    assertThat(actual.indexOf(25)).isEqualTo(-1);
+    assertThatThrownBy(() -> actual.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void positionalAccessOnEmptySet()
+  {
+    final ImmutableSortedSet<String> actual = ImmutableSortedSet.empty();
+
+    assertThat(actual.indexOf("a")).isEqualTo(-1);
+    assertThat(actual.findFirst()).isEmpty();
+    assertThatThrownBy(() -> actual.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void addToEmpty()
+  {
+    final ImmutableSortedSet<String> actual = ImmutableSortedSet.<String>empty().add("x").add("a");
+
+    assertThat(actual.stream()).containsExactly("a", "x");
+    assertThat(actual.get(1)).isEqualTo("x");
+    assertThat(actual.getComponentTypeFromKey()).isSameAs(String.class);
+  }
+
+  @Test
+  void firstAndLast()
+  {
+    final ImmutableSortedSet<String> actual = ImmutableSortedSet.of("m", "z", "a");
+
+    assertThat(actual.findFirst()).contains("a");
+    assertThat(actual.findLast()).contains("z");
+  }
+
+  @Test
+  void addAllMergesWithoutDuplicates()
+  {
+    final ImmutableSortedSet<String> set = ImmutableSortedSet.of("b", "d", "f");
+
+    final ImmutableSortedSet<String> actual = set.addAll(List.of("a", "d", "g", "a"));
+
+    assertThat(actual.stream()).containsExactly("a", "b", "d", "f", "g");
+    assertThat(set.stream()).as("original is unchanged").containsExactly("b", "d", "f");
+    assertThat(actual.indexOf("g")).isEqualTo(4);
+  }
+
+  @Test
+  void addToEmptySet()
+  {
+    final ImmutableSortedSet<String> actual = ImmutableSortedSet.noneOf(KEY).add("a");
+
+    assertThat(actual.stream()).containsExactly("a");
+  }
+
+  @Test
+  void equalToTreeBackedSet()
+  {
+    final ImmutableSortedSet<String> actual = ImmutableSortedSet.of("a", "b");
+
+    assertThat(actual.unwrap()).isEqualTo(Set.of("a", "b"));
+    assertThat(actual).isEqualTo(ImmutableSortedSet.of(List.of("b", "a"), actual.getKey()));
+  }
+
+  @Test
+  void unwrappedViewsShareTheArray()
+  {
+    final SortedSet<String> actual = (SortedSet<String>) ImmutableSortedSet.of("a", "c", "e", "g").unwrap();
+
+    assertThat(actual.subSet("b", "f")).containsExactly("c", "e");
+    assertThat(actual.headSet("e")).containsExactly("a", "c");
+    assertThat(actual.tailSet("e")).containsExactly("e", "g");
+    assertThat(actual.first()).isEqualTo("a");
+  }
+
+  @Test
+  void viewsRejectBoundsOutsideOfTheirRange()
+  {
+    final SortedSet<String> actual = (SortedSet<String>) ImmutableSortedSet.of("a", "c", "e", "g").unwrap();
+    final SortedSet<String> view = actual.subSet("b", "f");
+
+    assertThat(view.headSet("f")).containsExactly("c", "e");
+    assertThat(view.tailSet("b")).containsExactly("c", "e");
+    assertThat(view.subSet("c", "d")).containsExactly("c");
+    assertThatThrownBy(() -> view.headSet("g")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> view.tailSet("a")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> view.tailSet("f")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> view.subSet("a", "c")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> actual.headSet("d").tailSet("e")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void elementOfWrongTypeIsRejected()
+  {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final List<String> raw = (List) List.of(1);
+
+    assertThatThrownBy(() -> ImmutableSortedSet.of(raw, KEY)).isInstanceOf(ArrayStoreException.class);
+  }
+
+  @Test
+  void containsOfOtherTypeIsFalse()
+  {
+    final ImmutableSortedSet<String> actual = ImmutableSortedSet.of("a");
+
+    assertThat(actual.getSet().unwrap().contains(1)).isFalse();
+  }
+
+  @Test
+  void diffMergesInAscendingOrder() {
+    final ImmutableSortedSet<String> previous = ImmutableSortedSet.of("a", "b", "d");
+    final ImmutableSortedSet<String> next = ImmutableSortedSet.of("b", "c", "d", "e");
+    final SetDiff<String> actual = ImmutableSortedSet.diff(previous, next);
+    assertThat(actual.getAdded().unwrap()).containsExactlyInAnyOrder("c", "e");
+    assertThat(actual.getRemoved().unwrap()).containsExactly("a");
+    assertThat(ImmutableSet.diff(previous, next)).isEqualTo(actual);
+    assertThat(ImmutableSortedSet.diff(next, next).isEmpty()).isTrue();
+  }
+}
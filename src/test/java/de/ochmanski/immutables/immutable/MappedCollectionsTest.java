@@ -0,0 +1,223 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.codec.ElementCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class MappedCollectionsTest
+{
+
+  private static final IntFunction<String[]> KEY = String[]::new;
+
+  private static final IntFunction<Integer[]> VALUE = Integer[]::new;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void listRoundTrip() throws IOException
+  {
+    final Path path = dir.resolve("list.bin");
+    final ImmutableList<String> list = ImmutableList.of("c", "ż", "a", "c", KEY);
+
+    MappedCollections.writeList(path, list, ElementCodec.strings());
+    final ImmutableList<String> actual = MappedCollections.openList(path, ElementCodec.strings(), KEY);
+
+    assertThat(actual.size()).isEqualTo(4);
+    assertThat(actual.get(1)).isEqualTo("ż");
+    assertThat(actual.unwrap()).containsExactly("c", "ż", "a", "c");
+    assertThat(actual).isEqualTo(list);
+  }
+
+  @Test
+  void setIsSortedAndSearchable() throws IOException
+  {
+    final Path path = dir.resolve("set.bin");
+    final ImmutableSet<Integer> set = ImmutableSet.of(42, -7, 1_000_000, VALUE);
+
+    MappedCollections.writeSet(path, set, ElementCodec.integers());
+    final ImmutableSet<Integer> actual = MappedCollections.openSet(path, ElementCodec.integers(), VALUE);
+
+    assertThat(actual.contains(42)).isTrue();
+    assertThat(actual.contains(43)).isFalse();
+    assertThat(actual.stream()).containsExactly(-7, 42, 1_000_000);
+    assertThat(actual.unwrap()).isEqualTo(Set.of(42, -7, 1_000_000));
+  }
+
+  @Test
+  void mapLooksUpEveryKey() throws IOException
+  {
+    final Path path = dir.resolve("map.bin");
+    final Map<String, Integer> source = IntStream.range(0, 1_000).boxed()
+      .collect(Collectors.toMap(i -> "key-" + i, i -> i * i));
+
+    MappedCollections.writeMap(path, ImmutableMap.of(source, KEY, VALUE), ElementCodec.strings(), ElementCodec.integers());
+    final ImmutableMap<String, Integer> actual = MappedCollections.openMap(
+      path, ElementCodec.strings(), ElementCodec.integers(), KEY, VALUE);
+
+    assertThat(actual.size()).isEqualTo(1_000);
+    source.forEach((k, v) -> assertThat(actual.get(k)).contains(v));
+    assertThat(actual.get("missing")).isEmpty();
+    assertThat(actual.containsKey("key-999")).isTrue();
+    assertThat(actual.unwrap()).isEqualTo(source);
+  }
+
+  @Test
+  void mapIteratesInKeyOrder() throws IOException
+  {
+    final Path path = dir.resolve("map.bin");
+    final ImmutableMap<String, Integer> map = ImmutableMap.of(Map.of("b", 2, "c", 3, "a", 1), KEY, VALUE);
+    final List<String> keys = new ArrayList<>();
+
+    MappedCollections.writeMap(path, map, ElementCodec.strings(), ElementCodec.integers());
+    MappedCollections.openMap(path, ElementCodec.strings(), ElementCodec.integers(), KEY, VALUE)
+      .forEachEntry((k, v) -> keys.add(k + "=" + v));
+
+    assertThat(keys).containsExactly("a=1", "b=2", "c=3");
+  }
+
+  @Test
+  void recordsDoNotCrossChunkBoundaries() throws IOException
+  {
+    final Path path = dir.resolve("chunks.bin");
+    final List<String> source = IntStream.range(0, 500).mapToObj(i -> "element-" + "x".repeat(i % 40) + i).toList();
+    final ImmutableList<String> list = ImmutableList.of(source, KEY);
+
+    MappedCollections.writeList(path, list, ElementCodec.strings(), 8);
+    final ImmutableList<String> actual = MappedCollections.openList(path, ElementCodec.strings(), KEY);
+
+    assertThat(actual.unwrap()).isEqualTo(source);
+  }
+
+  @Test
+  void recordLargerThanChunkIsRejected()
+  {
+    final ImmutableList<String> list = ImmutableList.of("x".repeat(300), KEY);
+
+    assertThatThrownBy(() -> MappedCollections.writeList(dir.resolve("large.bin"), list, ElementCodec.strings(), 8))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageStartingWith("Record 0 of 302 bytes exceeds the chunk size of 256 bytes.");
+  }
+
+  @Test
+  void emptySetRoundTrip() throws IOException
+  {
+    final Path path = dir.resolve("empty.bin");
+
+    MappedCollections.writeSet(path, ImmutableSet.noneOf(KEY), ElementCodec.strings());
+    final ImmutableSet<String> actual = MappedCollections.openSet(path, ElementCodec.strings(), KEY);
+
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.contains("a")).isFalse();
+  }
+
+  @Test
+  void openingFileOfOtherKindFails() throws IOException
+  {
+    final Path path = dir.resolve("list.bin");
+    MappedCollections.writeList(path, ImmutableList.of("a", KEY), ElementCodec.strings());
+
+    assertThatThrownBy(() -> MappedCollections.openSet(path, ElementCodec.strings(), KEY))
+      .isInstanceOf(IOException.class)
+      .hasMessageEndingWith("contains a mapped LIST, not a SET.");
+  }
+
+  @Test
+  void openingFileOfUnknownKindFails() throws IOException
+  {
+    final Path path = dir.resolve("list.bin");
+    MappedCollections.writeList(path, ImmutableList.of("a", KEY), ElementCodec.strings());
+    final byte[] bytes = Files.readAllBytes(path);
+    bytes[5] = (byte) 0xFF;
+    Files.write(path, bytes);
+
+    assertThatThrownBy(() -> MappedCollections.openSet(path, ElementCodec.strings(), KEY))
+      .isInstanceOf(IOException.class)
+      .hasMessageEndingWith("has unknown kind -1.");
+  }
+
+  @Test
+  void openingFileWithNegativeDataLengthFails() throws IOException
+  {
+    final Path path = dir.resolve("list.bin");
+    MappedCollections.writeList(path, ImmutableList.of("a", KEY), ElementCodec.strings());
+    final byte[] bytes = Files.readAllBytes(path);
+    ByteBuffer.wrap(bytes).putLong(16, -8).putLong(24, -40);
+    Files.write(path, bytes);
+
+    assertThatThrownBy(() -> MappedCollections.openList(path, ElementCodec.strings(), KEY))
+      .isInstanceOf(IOException.class)
+      .hasMessageEndingWith("has a corrupted header.");
+  }
+
+  @Test
+  void readingRecordOutsideOfDataRegionFails() throws IOException
+  {
+    final Path path = dir.resolve("list.bin");
+    MappedCollections.writeList(path, ImmutableList.of("a", "b", KEY), ElementCodec.strings());
+    final byte[] bytes = Files.readAllBytes(path);
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    buffer.putLong((int) buffer.getLong(16) + Long.BYTES, 1L << 40);
+    Files.write(path, bytes);
+    final ImmutableList<String> actual = MappedCollections.openList(path, ElementCodec.strings(), KEY);
+
+    assertThat(actual.get(0)).isEqualTo("a");
+    assertThatThrownBy(() -> actual.get(1))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageStartingWith("Record 1 has offset 1099511627776 outside of the data region of ");
+  }
+
+  @Test
+  void openingForeignFileFails() throws IOException
+  {
+    final Path path = Files.write(dir.resolve("foreign.bin"), new byte[64]);
+
+    assertThatThrownBy(() -> MappedCollections.openList(path, ElementCodec.strings(), KEY))
+      .isInstanceOf(IOException.class)
+      .hasMessageEndingWith("is not a mapped collection.");
+  }
+
+  @Test
+  void openingTruncatedFileFails() throws IOException
+  {
+    final Path path = Files.write(dir.resolve("short.bin"), new byte[4]);
+
+    assertThatThrownBy(() -> MappedCollections.openList(path, ElementCodec.strings(), KEY))
+      .isInstanceOf(IOException.class)
+      .hasMessageEndingWith("is too short to be a mapped collection.");
+  }
+
+  @Test
+  void mappedCollectionsAreEqualToHeapCollections() throws IOException
+  {
+    final Path path = dir.resolve("set.bin");
+    final ImmutableSet<String> set = ImmutableSet.of("a", "b", KEY);
+
+    MappedCollections.writeSet(path, set, ElementCodec.strings());
+    final Optional<String> first = MappedCollections.openSet(path, ElementCodec.strings(), KEY).stream().findFirst();
+
+    assertThat(first).contains("a");
+    assertThat(MappedCollections.openSet(path, ElementCodec.strings(), KEY).unwrap()).isEqualTo(set.unwrap());
+  }
+}
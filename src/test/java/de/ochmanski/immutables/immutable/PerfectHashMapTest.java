@@ -0,0 +1,108 @@
+package de.ochmanski.immutables.immutable;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class PerfectHashMapTest
+{
+
+  @Test
+  void everySizeUpToThousandIsIndexed()
+  {
+    for (int size = 0; size <= 1_000; size++) {
+      final Map<Integer, Integer> source = IntStream.range(0, size).boxed()
+        .collect(Collectors.toMap(i -> i * 31, Function.identity()));
+
+      final PerfectHashMap<Integer, Integer> actual = PerfectHashMap.of(source);
+
+      assertThat(actual).as("size %d", size).isNotNull().isEqualTo(source);
+      for (int i = 0; i < size; i++) {
+        assertThat(actual.get(i * 31)).isEqualTo(i);
+      }
+    }
+  }
+
+  @Test
+  void absentKeysAreNotFound()
+  {
+    final Map<Long, String> source = IntStream.range(0, 5_000).boxed()
+      .collect(Collectors.toMap(i -> (long) i << 32, String::valueOf));
+    final PerfectHashMap<Long, String> actual = PerfectHashMap.of(source);
+
+    assertThat(actual).isNotNull();
+    assertThat(IntStream.range(0, 5_000).filter(i -> actual.containsKey(((long) i << 32) + 1))).isEmpty();
+    assertThat(actual.get("0")).isNull();
+    assertThat(actual.get(null)).isNull();
+  }
+
+  @Test
+  void equalHashCodesAreStashed()
+  {
+    final PerfectHashMap<String, Integer> actual = PerfectHashMap.of(Map.of("Aa", 1, "BB", 2, "AaAa", 3, "BBBB", 4, "AaBB", 5));
+
+    assertThat(actual).isNotNull().hasSize(5);
+    assertThat(actual.get("Aa")).isEqualTo(1);
+    assertThat(actual.get("BB")).isEqualTo(2);
+    assertThat(actual.get("AaAa")).isEqualTo(3);
+    assertThat(actual.get("BBBB")).isEqualTo(4);
+    assertThat(actual.get("AaBB")).isEqualTo(5);
+    assertThat(actual.containsKey("BBAa")).isFalse();
+  }
+
+  @Test
+  void collidingKeysMixedIntoLargeMapAreFound()
+  {
+    final Map<String, Integer> source = IntStream.range(0, 100_000).boxed()
+      .collect(Collectors.toMap(i -> "key-" + i, Function.identity()));
+    // "Aa" and "BB" have the same hash code, so every pair below collides with its partner
+    final String[] halves = { "Aa", "BB" };
+    for (int i = 0; i < 64; i++) {
+      final StringBuilder key = new StringBuilder("key-");
+      for (int bit = 0; bit < 6; bit++) {
+        key.append(halves[(i >> bit) & 1]);
+      }
+      source.put(key.toString(), -i - 1);
+    }
+    final PerfectHashMap<String, Integer> actual = PerfectHashMap.of(source);
+
+    assertThat(actual).isNotNull().isEqualTo(source);
+    source.forEach((k, v) -> assertThat(actual.get(k)).isEqualTo(v));
+    assertThat(actual.containsKey("key-AaAaAaAaAaAaAa")).isFalse();
+    assertThat(actual.containsKey("key-100000")).isFalse();
+  }
+
+  @Test
+  void iterationVisitsEveryEntryOnce()
+  {
+    final Map<String, Integer> source = IntStream.range(0, 100).boxed()
+      .collect(Collectors.toMap(String::valueOf, Function.identity()));
+    final PerfectHashMap<String, Integer> actual = PerfectHashMap.of(source);
+    final Map<String, Integer> visited = new HashMap<>();
+
+    assertThat(actual).isNotNull();
+    actual.forEach((k, v) -> assertThat(visited.put(k, v)).isNull());
+
+    assertThat(visited).isEqualTo(source);
+    assertThat(actual.entrySet()).hasSize(100).containsAll(source.entrySet());
+  }
+
+  @Test
+  void reduceStaysInRange()
+  {
+    assertThat(PerfectHashMap.reduce(-1, 7)).isEqualTo(6);
+    assertThat(PerfectHashMap.reduce(0, 7)).isZero();
+    assertThat(PerfectHashMap.reduce(Integer.MIN_VALUE, 10)).isEqualTo(5);
+  }
+}
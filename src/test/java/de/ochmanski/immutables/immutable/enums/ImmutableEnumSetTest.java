@@ -45,6 +45,14 @@ void empty()
     assertThat(array).isEmpty();
   }
 
+  @Test
+  void ofEmptyArray()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> actual = ImmutableEnumSet.of(new Dummy[0], Dummy[]::new);
+    assertThat(actual.isEmpty()).isTrue();
+    assertThat(actual.toArray().getClass().getComponentType()).isEqualTo(Dummy.class);
+  }
+
   @Test
   void noneOf()
   {
@@ -134,6 +142,7 @@ void toArrayEmpty1()
       .satisfiesAnyOf(
         p -> assertThat(p).hasMessage(
           "Cannot invoke \"java.util.function.IntFunction.apply(int)\" because \"constructor\" is null"),
+        p -> assertThat(p).hasMessage("Cannot invoke \"Object.getClass()\" because \"constructor\" is null"),
         p -> assertThat(p).hasMessage("Argument for @NotNull parameter 'constructor' of "
           + "de/ochmanski/immutable/enums/ImmutableEnumSet.of must not be null"),
         p -> assertThat(p).hasMessage("NotNull annotated argument 1 of "
@@ -309,6 +318,84 @@ void findAny()
     assertThat(actual).get().isIn(Dummy.A, Dummy.B, Dummy.C);
   }
 
+  @Test
+  void union()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> b = ImmutableEnumSet.of(Dummy.B, Dummy.C, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> actual = a.union(b);
+    assertThat(actual.unwrap()).containsExactly(Dummy.A, Dummy.B, Dummy.C);
+    assertThat(actual.union(a)).isSameAs(actual);
+    assertThat(a.union(actual)).isSameAs(actual);
+  }
+
+  @Test
+  void intersect()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy.B, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> b = ImmutableEnumSet.of(Dummy.B, Dummy.C, Dummy[]::new);
+    assertThat(a.intersect(b).unwrap()).containsExactly(Dummy.B);
+    final ImmutableEnumSet<@NotNull Dummy> all = ImmutableEnumSet.allOf(Dummy[]::new);
+    assertThat(a.intersect(all)).isSameAs(a);
+    assertThat(all.intersect(a)).isSameAs(a);
+    assertThat(a.intersect(ImmutableEnumSet.noneOf(Dummy[]::new)).isEmpty()).isTrue();
+  }
+
+  @Test
+  void difference()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy.B, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> b = ImmutableEnumSet.of(Dummy.B, Dummy.C, Dummy[]::new);
+    assertThat(a.difference(b).unwrap()).containsExactly(Dummy.A);
+    assertThat(a.difference(ImmutableEnumSet.of(Dummy.C, Dummy[]::new))).isSameAs(a);
+  }
+
+  @Test
+  void symmetricDifference()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy.B, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> b = ImmutableEnumSet.of(Dummy.B, Dummy.C, Dummy[]::new);
+    assertThat(a.symmetricDifference(b).unwrap()).containsExactly(Dummy.A, Dummy.C);
+    assertThat(a.symmetricDifference(ImmutableEnumSet.noneOf(Dummy[]::new))).isSameAs(a);
+  }
+
+  @Test
+  void isSubsetOfAndDisjoint()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> ab = ImmutableEnumSet.of(Dummy.A, Dummy.B, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> c = ImmutableEnumSet.of(Dummy.C, Dummy[]::new);
+    assertThat(a.isSubsetOf(ab)).isTrue();
+    assertThat(ab.isSubsetOf(a)).isFalse();
+    assertThat(a.isSubsetOf(c)).isFalse();
+    assertThat(ab.disjoint(c)).isTrue();
+    assertThat(ab.disjoint(a)).isFalse();
+  }
+
+  @Test
+  void unionWithImmutableSet()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy[]::new);
+    final ImmutableSet<@NotNull Dummy> b = ImmutableSet.of(Dummy.B, Dummy[]::new);
+    assertThat(a.union(b).unwrap()).containsExactly(Dummy.A, Dummy.B);
+    assertThat(b.union(a).unwrap()).containsExactlyInAnyOrder(Dummy.A, Dummy.B);
+  }
+
+  @Test
+  void setOperationsDoNotModifyTheOperands()
+  {
+    final ImmutableEnumSet<@NotNull Dummy> a = ImmutableEnumSet.of(Dummy.A, Dummy.B, Dummy[]::new);
+    final ImmutableEnumSet<@NotNull Dummy> b = ImmutableEnumSet.of(Dummy.B, Dummy.C, Dummy[]::new);
+    assertThat(a.union(b).unwrap()).containsExactly(Dummy.A, Dummy.B, Dummy.C);
+    assertThat(a.intersect(b).unwrap()).containsExactly(Dummy.B);
+    assertThat(a.difference(b).unwrap()).containsExactly(Dummy.A);
+    assertThat(a.symmetricDifference(b).unwrap()).containsExactly(Dummy.A, Dummy.C);
+    assertThat(a.disjoint(b)).isFalse();
+    assertThat(a.unwrap()).containsExactly(Dummy.A, Dummy.B);
+    assertThat(b.unwrap()).containsExactly(Dummy.B, Dummy.C);
+    assertThat(a).isEqualTo(ImmutableEnumSet.of(Dummy.A, Dummy.B, a.getKey()));
+  }
+
   private enum Dummy implements Fluent<@NotNull Dummy>
   {
     A,
@@ -0,0 +1,35 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OffHeapIntSetTest
+{
+
+  @Test
+  void storesNegativeAndExtremeValues()
+  {
+    try (OffHeapIntSet set = OffHeapIntSet.of(Integer.MAX_VALUE, -1, Integer.MIN_VALUE, -1)) {
+      assertThat(set.toArray()).containsExactly(Integer.MIN_VALUE, -1, Integer.MAX_VALUE);
+      assertThat(set.contains(-1)).isTrue();
+      assertThat(set.findLast()).hasValue(Integer.MAX_VALUE);
+    }
+  }
+
+  @Test
+  void bulkContainsAcrossChunks()
+  {
+    try (OffHeapIntSet set = OffHeapIntSet.ofSorted(IntStream.range(0, 500).map(i -> 2 * i), 3)) {
+      assertThat(set.contains(new int[] { 0, 1, 2, 998, 999, 4 })).containsExactly(true, false, true, true, false, true);
+      assertThat(set.stream().sum()).isEqualTo(249_500);
+    }
+  }
+}
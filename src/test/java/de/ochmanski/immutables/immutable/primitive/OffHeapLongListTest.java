@@ -0,0 +1,53 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OffHeapLongListTest
+{
+
+  @Test
+  void ofSortsAndKeepsDuplicates()
+  {
+    try (OffHeapLongList list = OffHeapLongList.of(3, 1, 3, 2, 3)) {
+      assertThat(list.toArray()).containsExactly(1, 2, 3, 3, 3);
+      assertThat(list.indexOf(3)).as("first occurrence").isEqualTo(2);
+      assertThat(list.get(4)).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void ofSortedAcceptsEqualNeighbours()
+  {
+    try (OffHeapLongList list = OffHeapLongList.ofSorted(LongStream.of(1, 1, 2, 2), 2)) {
+      assertThat(list.size()).isEqualTo(4);
+      assertThat(list.contains(new long[] { 2, 1, 0 })).containsExactly(true, true, false);
+    }
+  }
+
+  @Test
+  void ofSortedRejectsDescendingValues()
+  {
+    assertThatThrownBy(() -> OffHeapLongList.ofSorted(LongStream.of(2, 1)))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Values must be in ascending order, but 1 follows 2.");
+  }
+
+  @Test
+  void indexOutOfBounds()
+  {
+    try (OffHeapLongList list = OffHeapLongList.of(1)) {
+      assertThatThrownBy(() -> list.get(1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package de.ochmanski.immutables.immutable.primitive;
+
+import annotations.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OffHeapLongSetTest
+{
+
+  @Test
+  void ofSortsAndDropsDuplicates()
+  {
+    final long[] values = { 5, Long.MIN_VALUE, 3, 5, Long.MAX_VALUE, 3 };
+
+    try (OffHeapLongSet set = OffHeapLongSet.of(values)) {
+      assertThat(set.toArray()).containsExactly(Long.MIN_VALUE, 3, 5, Long.MAX_VALUE);
+      assertThat(set.size()).isEqualTo(4);
+      assertThat(values).as("input is not modified").containsExactly(5, Long.MIN_VALUE, 3, 5, Long.MAX_VALUE, 3);
+    }
+  }
+
+  @Test
+  void containsSingleValue()
+  {
+    try (OffHeapLongSet set = OffHeapLongSet.of(10, 20, 30)) {
+      assertThat(set.contains(20)).isTrue();
+      assertThat(set.contains(25)).isFalse();
+      assertThat(set.contains(31)).isFalse();
+      assertThat(set.indexOf(30)).isEqualTo(2);
+      assertThat(set.indexOf(9)).isEqualTo(-1);
+    }
+  }
+
+  @Test
+  void bulkContainsAnswersSortedAndUnsortedQueries()
+  {
+    try (OffHeapLongSet set = OffHeapLongSet.ofSorted(LongStream.range(0, 10_000).map(i -> i * 3))) {
+      assertThat(set.contains(new long[] { -3, 0, 1, 3, 2_997, 29_997, 30_000 }))
+        .containsExactly(false, true, false, true, true, true, false);
+      assertThat(set.contains(new long[] { 29_997, 6, 7, 0 })).containsExactly(true, true, false, true);
+      assertThat(set.containsAll(new long[] { 9, 3, 0 })).isTrue();
+      assertThat(set.containsAll(new long[] { 9, 4 })).isFalse();
+    }
+  }
+
+  @Test
+  void valuesSpanSeveralChunks()
+  {
+    try (OffHeapLongSet set = OffHeapLongSet.ofSorted(LongStream.range(0, 1_000).map(i -> i * i), 4)) {
+      assertThat(set.size()).isEqualTo(1_000);
+      assertThat(set.get(999)).isEqualTo(998_001);
+      assertThat(set.stream().skip(15).limit(3)).containsExactly(225L, 256L, 289L);
+      assertThat(set.contains(LongStream.range(0, 1_000).map(i -> i * i + 1).toArray()))
+        .as("only 0 + 1 is a square")
+        .containsOnlyOnce(true);
+      assertThat(set.findFirst()).hasValue(0);
+      assertThat(set.findLast()).hasValue(998_001);
+    }
+  }
+
+  @Test
+  void ofSortedRejectsUnsortedValues()
+  {
+    assertThatThrownBy(() -> OffHeapLongSet.ofSorted(LongStream.of(1, 3, 2)))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Values must be in strictly ascending order, but 2 follows 3.");
+  }
+
+  @Test
+  void ofSortedRejectsDuplicates()
+  {
+    assertThatThrownBy(() -> OffHeapLongSet.ofSorted(LongStream.of(1, 1)))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Values must be in strictly ascending order, but 1 follows 1.");
+  }
+
+  @Test
+  void emptySet()
+  {
+    try (OffHeapLongSet set = OffHeapLongSet.of()) {
+      assertThat(set.isEmpty()).isTrue();
+      assertThat(set.contains(0)).isFalse();
+      assertThat(set.contains(new long[] { 0 })).containsExactly(false);
+      assertThat(set.findFirst()).isEmpty();
+    }
+  }
+
+  @Test
+  void closedSetCannotBeRead()
+  {
+    final OffHeapLongSet set = OffHeapLongSet.of(1, 2);
+
+    set.close();
+    set.close();
+
+    assertThat(set.isClosed()).isTrue();
+    assertThat(set).hasToString("OffHeapLongSet(size=2, closed)");
+    assertThatThrownBy(() -> set.contains(1))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Off-heap collection has already been closed.");
+  }
+}
@@ -0,0 +1,204 @@
+package de.ochmanski.immutables.jackson;
+
+import annotations.UnitTest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.equalable.EqualableList;
+import de.ochmanski.immutables.equalable.ServiceState;
+import de.ochmanski.immutables.fluent.FluentEnumMap;
+import de.ochmanski.immutables.immutable.IList;
+import de.ochmanski.immutables.immutable.IMap;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumMap;
+import de.ochmanski.immutables.immutable.enums.ImmutableEnumSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ImmutablesModuleTest
+{
+
+  private final ObjectMapper mapper = new ObjectMapper().registerModule(new ImmutablesModule());
+
+  @Test
+  void listRoundTrip() throws JsonProcessingException
+  {
+    final ImmutableList<String> list = ImmutableList.of("a", "b", "c", String[]::new);
+
+    final String json = mapper.writeValueAsString(list);
+    final ImmutableList<String> actual = mapper.readValue(json, new TypeReference<ImmutableList<String>>() {});
+
+    assertThat(json).isEqualTo("[\"a\",\"b\",\"c\"]");
+    assertThat(actual.unwrap()).containsExactly("a", "b", "c");
+    assertThat(actual.getComponentTypeFromKey()).isEqualTo(String.class);
+  }
+
+  @Test
+  void listUsesRuntimeTypeOfElementsWhenComponentTypeIsNotFinal() throws JsonProcessingException
+  {
+    final ImmutableList<Number> list = ImmutableList.of(1, 2L, 3.5, Number[]::new);
+
+    assertThat(mapper.writeValueAsString(list)).isEqualTo("[1,2,3.5]");
+  }
+
+  @Test
+  void interfaceIsDeserializedIntoImmutableList() throws JsonProcessingException
+  {
+    final IList<Integer> actual = mapper.readValue("[3,1,2]", new TypeReference<IList<Integer>>() {});
+
+    assertThat(actual).isInstanceOf(ImmutableList.class);
+    assertThat(actual.getComponentTypeFromKey()).isEqualTo(Integer.class);
+    assertThat(((ImmutableList<Integer>) actual).unwrap()).containsExactly(3, 1, 2);
+  }
+
+  @Test
+  void setRoundTrip() throws JsonProcessingException
+  {
+    final ImmutableSet<String> set = ImmutableSet.of("a", "b", String[]::new);
+
+    final String json = mapper.writeValueAsString(set);
+    final ImmutableSet<String> actual = mapper.readValue(json, new TypeReference<ImmutableSet<String>>() {});
+
+    assertThat(actual.unwrap()).isEqualTo(Set.of("a", "b"));
+  }
+
+  @Test
+  void enumSetRoundTrip() throws JsonProcessingException
+  {
+    final ImmutableEnumSet<DayOfWeek> set = ImmutableEnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY, DayOfWeek[]::new);
+
+    final String json = mapper.writeValueAsString(set);
+    final ImmutableEnumSet<DayOfWeek> actual = mapper.readValue(json, new TypeReference<ImmutableEnumSet<DayOfWeek>>() {});
+
+    assertThat(mapper.readValue(json, String[].class)).containsExactlyInAnyOrder("MONDAY", "FRIDAY");
+    assertThat(actual.unwrap()).isEqualTo(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+  }
+
+  @Test
+  void enumSetRequiresEnumElements()
+  {
+    assertThatThrownBy(() -> mapper.readValue("[\"a\"]", new TypeReference<ImmutableEnumSet<?>>() {}))
+      .isInstanceOf(InvalidDefinitionException.class)
+      .hasMessageContaining("requires an enum type parameter");
+  }
+
+  @Test
+  void equalableListRoundTrip() throws JsonProcessingException
+  {
+    final EqualableList<EqualableString> list = EqualableList.of("a", "b");
+
+    final String json = mapper.writeValueAsString(list);
+    final EqualableList<EqualableString> actual = mapper.readValue(json, new TypeReference<EqualableList<EqualableString>>() {});
+
+    assertThat(json).isEqualTo("[\"a\",\"b\"]");
+    assertThat(actual.stream().map(EqualableString::orElseBlank)).containsExactly("a", "b");
+  }
+
+  @Test
+  void mapRoundTrip() throws JsonProcessingException
+  {
+    final ImmutableMap<String, Integer> map = ImmutableMap.of(Map.of("a", 1, "b", 2), String[]::new, Integer[]::new);
+
+    final String json = mapper.writeValueAsString(map);
+    final ImmutableMap<String, Integer> actual = mapper.readValue(json, new TypeReference<ImmutableMap<String, Integer>>() {});
+
+    assertThat(mapper.readTree(json)).isEqualTo(mapper.readTree("{\"a\":1,\"b\":2}"));
+    assertThat(actual.unwrap()).isEqualTo(Map.of("a", 1, "b", 2));
+    assertThat(actual.getComponentTypeFromValue()).isEqualTo(Integer.class);
+  }
+
+  @Test
+  void enumMapRoundTrip() throws JsonProcessingException
+  {
+    final EnumMap<DayOfWeek, String> enumMap = new EnumMap<>(Map.of(DayOfWeek.MONDAY, "a"));
+    final ImmutableEnumMap<DayOfWeek, String> map = ImmutableEnumMap.ofEnumMap(enumMap, DayOfWeek[]::new, String[]::new);
+
+    final String json = mapper.writeValueAsString(map);
+    final ImmutableEnumMap<DayOfWeek, String> actual = mapper.readValue(json, new TypeReference<ImmutableEnumMap<DayOfWeek, String>>() {});
+
+    assertThat(json).isEqualTo("{\"MONDAY\":\"a\"}");
+    assertThat(actual.unwrap()).isEqualTo(enumMap);
+  }
+
+  @Test
+  void fluentEnumMapRoundTrip() throws JsonProcessingException
+  {
+    final String json = "{\"START\":\"a\",\"RUN_MASTER\":\"b\"}";
+
+    final FluentEnumMap<ServiceState, EqualableString> actual = mapper.readValue(json, new TypeReference<FluentEnumMap<ServiceState, EqualableString>>() {});
+
+    assertThat(actual.unwrap()).containsOnlyKeys(ServiceState.START, ServiceState.RUN_MASTER);
+    assertThat(mapper.readTree(mapper.writeValueAsString(actual))).isEqualTo(mapper.readTree(json));
+  }
+
+  @Test
+  void nestedCollectionsInRecord() throws JsonProcessingException
+  {
+    final String json = "{\"names\":[\"a\",\"b\"],\"counts\":{\"x\":[1,2]}}";
+
+    final Holder actual = mapper.readValue(json, Holder.class);
+
+    assertThat(((ImmutableList<String>) actual.names()).unwrap()).containsExactly("a", "b");
+    assertThat(actual.counts().getComponentTypeFromValue()).isEqualTo(ImmutableList.class);
+    assertThat(mapper.writeValueAsString(actual)).isEqualTo(json);
+  }
+
+  @Test
+  void emptyArrayIsEmptyList() throws JsonProcessingException
+  {
+    final ImmutableList<String> actual = mapper.readValue("[]", new TypeReference<ImmutableList<String>>() {});
+
+    assertThat(actual.isEmpty()).isTrue();
+  }
+
+  @Test
+  void nullElementIsRejected()
+  {
+    assertThatThrownBy(() -> mapper.readValue("[\"a\",null]", new TypeReference<ImmutableList<String>>() {}))
+      .isInstanceOf(MismatchedInputException.class)
+      .hasMessageContaining("ImmutableList cannot contain null elements.");
+  }
+
+  @Test
+  void nullValueIsRejected()
+  {
+    assertThatThrownBy(() -> mapper.readValue("{\"a\":null}", new TypeReference<ImmutableMap<String, String>>() {}))
+      .isInstanceOf(MismatchedInputException.class)
+      .hasMessageContaining("ImmutableMap cannot contain null values, but key 'a' is null.");
+  }
+
+  @Test
+  void objectIsNotAList()
+  {
+    assertThatThrownBy(() -> mapper.readValue("{}", new TypeReference<ImmutableList<String>>() {}))
+      .isInstanceOf(MismatchedInputException.class);
+  }
+
+  @Test
+  void unwrappedCollectionsAreNotAffected() throws JsonProcessingException
+  {
+    assertThat(mapper.writeValueAsString(List.of("a"))).isEqualTo("[\"a\"]");
+  }
+
+  record Holder(IList<String> names, IMap<String, ImmutableList<Integer>> counts)
+  {
+  }
+}
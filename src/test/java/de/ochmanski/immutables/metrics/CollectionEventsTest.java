@@ -0,0 +1,96 @@
+package de.ochmanski.immutables.metrics;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CollectionEventsTest
+{
+
+  private static final int LARGE = CollectionEvents.THRESHOLD;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void recordsLargeCopies() throws IOException
+  {
+    final List<String> strings = IntStream.range(0, LARGE).mapToObj(Integer::toString).toList();
+    final List<RecordedEvent> actual = record(CopyEvent.NAME, () -> {
+      final ImmutableSet<String> set = ImmutableSet.<String>of(strings, String[]::new);
+      set.unwrap();
+      strings.stream().collect(ImmutableCollectors.toList(String[]::new));
+      ImmutableList.<String>of(List.of("small"), String[]::new);
+    });
+
+    assertThat(actual).hasSize(3);
+    assertThat(actual).extracting(e -> e.getString("operation")).containsExactly("OF", "UNWRAP", "COLLECT");
+    assertThat(actual).allSatisfy(e -> {
+      assertThat(e.getInt("elements")).isEqualTo(LARGE);
+      assertThat(e.getStackTrace()).isNotNull();
+    });
+    assertThat(actual.get(0).getClass("collectionType").getName()).isEqualTo(ImmutableSet.class.getName());
+    assertThat(actual.get(2).getClass("collectionType").getName()).isEqualTo(ImmutableList.class.getName());
+  }
+
+  @Test
+  void recordsLargeMapUnwrap() throws IOException
+  {
+    final Map<String, Integer> source = IntStream.range(0, LARGE).boxed()
+      .collect(Collectors.toMap(i -> Integer.toString(i), Function.identity()));
+    final ImmutableMap<String, Integer> map = ImmutableMap.of(source, String[]::new, Integer[]::new);
+    final List<RecordedEvent> actual = record(CopyEvent.NAME, map::unwrap);
+
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0).getString("operation")).isEqualTo("UNWRAP");
+    assertThat(actual.get(0).getLong("bytes")).isEqualTo(2L * LARGE * CollectionMetrics.REFERENCE_BYTES);
+  }
+
+  @Test
+  void recordsLargeToString() throws IOException
+  {
+    final ImmutableList<Integer> list = ImmutableList.<Integer>of(IntStream.range(0, LARGE).boxed().toList(), Integer[]::new);
+    final List<RecordedEvent> actual = record(ToStringEvent.NAME, list::toString);
+
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0).getInt("elements")).isEqualTo(LARGE);
+    assertThat(actual.get(0).getInt("length")).isEqualTo(list.toString().length());
+  }
+
+  private List<RecordedEvent> record(final String eventName, final Runnable runnable) throws IOException
+  {
+    final Path file = directory.resolve(eventName + ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName).withStackTrace().withoutThreshold();
+      recording.start();
+      runnable.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file).stream()
+      .filter(e -> e.getEventType().getName().equals(eventName))
+      .filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == Thread.currentThread().getId())
+      .toList();
+  }
+}
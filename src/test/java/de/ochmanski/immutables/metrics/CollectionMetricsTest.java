@@ -0,0 +1,51 @@
+package de.ochmanski.immutables.metrics;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CollectionMetricsTest
+{
+
+  private final InMemoryCollectionMetrics metrics = new InMemoryCollectionMetrics();
+
+  @BeforeEach
+  void register()
+  {
+    CollectionMetrics.register(metrics);
+  }
+
+  @AfterEach
+  void unregister()
+  {
+    CollectionMetrics.unregister(metrics);
+  }
+
+  @Test
+  void isDisabledByDefault()
+  {
+    assertThat(CollectionMetrics.isEnabled()).as("-D%s is not set by the test task", CollectionMetrics.PROPERTY).isFalse();
+  }
+
+  @Test
+  void disabledMetricsNeverCallListeners()
+  {
+    final ImmutableList<String> list = ImmutableList.<String>of(List.of("a", "b", "c"), String[]::new);
+    list.unwrap();
+
+    assertThat(metrics.getCreated(ImmutableList.class)).isZero();
+    assertThat(metrics.getCopies(ImmutableList.class)).isZero();
+    assertThat(metrics.getUnwraps(ImmutableList.class)).isZero();
+  }
+
+}
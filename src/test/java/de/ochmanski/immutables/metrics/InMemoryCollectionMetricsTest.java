@@ -0,0 +1,148 @@
+package de.ochmanski.immutables.metrics;
+
+import annotations.UnitTest;
+import de.ochmanski.immutables.equalable.Equalable.EqualableString;
+import de.ochmanski.immutables.equalable.EqualableList;
+import de.ochmanski.immutables.immutable.ImmutableCollectors;
+import de.ochmanski.immutables.immutable.ImmutableList;
+import de.ochmanski.immutables.immutable.ImmutableMap;
+import de.ochmanski.immutables.immutable.ImmutableSet;
+import de.ochmanski.immutables.metrics.CollectionMetricsListener.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class InMemoryCollectionMetricsTest
+{
+
+  private final InMemoryCollectionMetrics metrics = new InMemoryCollectionMetrics();
+
+  @BeforeEach
+  void register()
+  {
+    assertThat(CollectionMetrics.isEnabled()).as("-D%s=true is set by the metricsTest task", CollectionMetrics.PROPERTY).isTrue();
+    CollectionMetrics.register(metrics);
+  }
+
+  @AfterEach
+  void unregister()
+  {
+    CollectionMetrics.unregister(metrics);
+  }
+
+  @Test
+  void countsCopiesAndUnwraps()
+  {
+    final ImmutableList<String> list = ImmutableList.<String>of(List.of("a", "b", "c"), String[]::new);
+    list.unwrap();
+    list.unwrap();
+
+    assertThat(metrics.getCreated(ImmutableList.class)).isEqualTo(1);
+    assertThat(metrics.getCopies(ImmutableList.class, Operation.OF)).isEqualTo(1);
+    assertThat(metrics.getCopies(ImmutableList.class, Operation.UNWRAP)).isEqualTo(2);
+    assertThat(metrics.getCopies(ImmutableList.class)).isEqualTo(3);
+    assertThat(metrics.getCopiedElements(ImmutableList.class)).isEqualTo(9);
+    assertThat(metrics.getCopiedBytes(ImmutableList.class)).isEqualTo(9L * CollectionMetrics.REFERENCE_BYTES);
+    assertThat(metrics.getUnwraps(ImmutableList.class)).isEqualTo(2);
+  }
+
+  @Test
+  void countsCollectorFinisher()
+  {
+    final ImmutableSet<String> set = Stream.of("a", "b").collect(ImmutableCollectors.toSet(String[]::new));
+    assertThat(set.size()).isEqualTo(2);
+    assertThat(metrics.getCopies(ImmutableSet.class, Operation.COLLECT)).isEqualTo(1);
+    assertThat(metrics.getCopies(ImmutableSet.class, Operation.OF)).isZero();
+  }
+
+  @Test
+  void countsMergeSlowPath()
+  {
+    final ImmutableList<Integer> integers = ImmutableList.<Integer>of(List.of(1, 2), Integer[]::new);
+    final ImmutableList<Object> objects = ImmutableList.<Object>ofCollection(List.of(3), Object[]::new);
+    metrics.reset();
+
+    ImmutableList.<Integer>merge(integers, integers, Integer[]::new);
+    assertThat(metrics.getSlowPaths(ImmutableList.class, Operation.MERGE)).isZero();
+    assertThat(metrics.getCopies(ImmutableList.class, Operation.MERGE)).isZero();
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final ImmutableList<Integer> polluted = (ImmutableList) objects;
+    ImmutableList.<Integer>merge(integers, polluted, Integer[]::new);
+    assertThat(metrics.getSlowPaths(ImmutableList.class, Operation.MERGE)).isEqualTo(1);
+    assertThat(metrics.getCopies(ImmutableList.class, Operation.MERGE)).isEqualTo(1);
+  }
+
+  @Test
+  void countsMapEntries()
+  {
+    final ImmutableMap<String, Integer> map = ImmutableMap.of(Map.of("a", 1, "b", 2), String[]::new, Integer[]::new);
+    map.unwrap();
+    assertThat(metrics.getCopies(ImmutableMap.class)).isEqualTo(2);
+    assertThat(metrics.getCopiedBytes(ImmutableMap.class)).isEqualTo(2L * 2 * 2 * CollectionMetrics.REFERENCE_BYTES);
+    assertThat(metrics.getUnwraps(ImmutableMap.class)).isEqualTo(1);
+  }
+
+  @Test
+  void countsStaticMapBuilds()
+  {
+    ImmutableMap.ofStatic(Map.of("a", 1, "b", 2), String[]::new, Integer[]::new);
+    ImmutableMap.ofStatic(Map.of("Aa", 1, "BB", 2), String[]::new, Integer[]::new);
+
+    assertThat(metrics.getBuilds(ImmutableMap.class)).as("equal hash codes are stashed").isEqualTo(2);
+    assertThat(metrics.getBuildNanos(ImmutableMap.class)).isPositive();
+    assertThat(metrics.getSlowPaths(ImmutableMap.class, Operation.OF)).isZero();
+    assertThat(metrics.getCreated(ImmutableMap.class)).isEqualTo(2);
+  }
+
+  @Test
+  void countsEqualableConversion()
+  {
+    final EqualableList<EqualableString> list = EqualableList.of(List.of("a", "b"));
+    assertThat(list.size()).isEqualTo(2);
+    assertThat(metrics.getCopies(EqualableList.class, Operation.CONVERT)).isEqualTo(1);
+    assertThat(metrics.getCreated(EqualableList.class)).isEqualTo(1);
+  }
+
+  @Test
+  void sizeHistogram()
+  {
+    ImmutableList.<String>of(List.of(), String[]::new);
+    ImmutableList.<String>of(List.of("a"), String[]::new);
+    ImmutableList.<String>of(List.of("a", "b", "c"), String[]::new);
+    final long[] actual = metrics.getSizeHistogram(ImmutableList.class);
+    assertThat(actual).hasSize(InMemoryCollectionMetrics.BUCKETS);
+    assertThat(actual[0]).isEqualTo(1);
+    assertThat(actual[1]).isEqualTo(1);
+    assertThat(actual[2]).isEqualTo(1);
+  }
+
+  @Test
+  void bucket()
+  {
+    assertThat(InMemoryCollectionMetrics.bucket(0)).isZero();
+    assertThat(InMemoryCollectionMetrics.bucket(1)).isEqualTo(1);
+    assertThat(InMemoryCollectionMetrics.bucket(2)).isEqualTo(2);
+    assertThat(InMemoryCollectionMetrics.bucket(3)).isEqualTo(2);
+    assertThat(InMemoryCollectionMetrics.bucket(1024)).isEqualTo(11);
+    assertThat(InMemoryCollectionMetrics.bucket(Integer.MAX_VALUE)).isEqualTo(31);
+  }
+
+  @Test
+  void registerIsIdempotent()
+  {
+    CollectionMetrics.register(metrics);
+    ImmutableList.<String>of(List.of("a"), String[]::new);
+    assertThat(metrics.getCreated(ImmutableList.class)).isEqualTo(1);
+  }
+}